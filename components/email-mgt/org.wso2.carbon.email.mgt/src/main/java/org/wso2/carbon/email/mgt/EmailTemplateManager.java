@@ -16,10 +16,14 @@
 
 package org.wso2.carbon.email.mgt;
 
+import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtException;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
+import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerException;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface EmailTemplateManager {
 
@@ -249,4 +253,66 @@ public interface EmailTemplateManager {
 
         throw new I18nEmailMgtException("Method not implemented");
     }
+
+    /**
+     * Resolve the email template to be used for a notification, falling back from the application template to the
+     * organization template and the system default template, and from the given locale to the default locale.
+     *
+     * @param templateType    Email template type.
+     * @param locale          Locale of the email template.
+     * @param tenantDomain    Tenant domain.
+     * @param applicationUuid Application UUID. Can be null to resolve the organization template.
+     * @return Resolved email template.
+     * @throws I18nEmailMgtException If an error occurred or no template was found in the fallback chain.
+     */
+    default EmailTemplate resolveEmailTemplate(String templateType, String locale, String tenantDomain,
+                                               String applicationUuid) throws I18nEmailMgtException {
+
+        throw new I18nEmailMgtException("Method not implemented");
+    }
+
+    /**
+     * Find the email template to be used for a notification, falling back in the same way as
+     * {@link #resolveEmailTemplate(String, String, String, String)}. A template which is not found in the fallback
+     * chain is reported with an empty result instead of an exception.
+     *
+     * @param templateType    Email template type.
+     * @param locale          Locale of the email template.
+     * @param tenantDomain    Tenant domain.
+     * @param applicationUuid Application UUID. Can be null to resolve the organization template.
+     * @return Resolved email template, or an empty result if no template was found in the fallback chain.
+     * @throws I18nEmailMgtException If an error occurred while resolving the email template.
+     */
+    default Optional<EmailTemplate> findEmailTemplate(String templateType, String locale, String tenantDomain,
+                                                      String applicationUuid) throws I18nEmailMgtException {
+
+        try {
+            return Optional.of(resolveEmailTemplate(templateType, locale, tenantDomain, applicationUuid));
+        } catch (I18nEmailMgtException e) {
+            if (I18nMgtConstants.ErrorCodes.EMAIL_TEMPLATE_TYPE_NODE_FOUND.equals(e.getErrorCode())) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Find a notification template of the given channel, falling back to the organization template in the default
+     * locale of the channel. A template which is not found is reported with an empty result instead of an exception.
+     *
+     * @param notificationChannel Notification channel.
+     * @param templateType        Template type.
+     * @param locale              Locale of the template.
+     * @param tenantDomain        Tenant domain.
+     * @param applicationUuid     Application UUID. Can be null to get the organization template.
+     * @return Notification template, or an empty result if the template was not found.
+     * @throws NotificationTemplateManagerException If an error occurred while getting the notification template.
+     */
+    default Optional<NotificationTemplate> findNotificationTemplate(String notificationChannel, String templateType,
+                                                                    String locale, String tenantDomain,
+                                                                    String applicationUuid)
+            throws NotificationTemplateManagerException {
+
+        throw new NotificationTemplateManagerException("Method not implemented");
+    }
 }
@@ -31,7 +31,10 @@ import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtServerException;
 import org.wso2.carbon.email.mgt.exceptions.I18nMgtEmailConfigException;
 import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
+import org.wso2.carbon.email.mgt.model.TemplateResolution;
+import org.wso2.carbon.email.mgt.util.ApplicationContextUtil;
 import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
+import org.wso2.carbon.email.mgt.util.OrganizationContextUtil;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementServerException;
 import org.wso2.carbon.identity.base.IdentityValidationUtil;
 import org.wso2.carbon.identity.governance.IdentityGovernanceUtil;
@@ -43,12 +46,11 @@ import org.wso2.carbon.identity.governance.exceptions.notiification.Notification
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
 import org.wso2.carbon.identity.governance.service.notification.NotificationTemplateManager;
-import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
-import org.wso2.carbon.identity.organization.management.service.util.OrganizationManagementUtil;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.DEFAULT_EMAIL_LOCALE;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.DEFAULT_SMS_NOTIFICATION_LOCALE;
@@ -169,7 +171,7 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
     public List<String> getAvailableTemplateTypes(String tenantDomain) throws I18nEmailMgtServerException {
 
         try {
-            if (OrganizationManagementUtil.isOrganization(tenantDomain)) {
+            if (OrganizationContextUtil.isOrganization(tenantDomain)) {
                 // Return the root organization's email template types.
                 tenantDomain = getRootOrgTenantDomain(tenantDomain);
             }
@@ -187,7 +189,7 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
     public List<EmailTemplate> getAllEmailTemplates(String tenantDomain) throws I18nEmailMgtException {
 
         try {
-            if (OrganizationManagementUtil.isOrganization(tenantDomain)) {
+            if (OrganizationContextUtil.isOrganization(tenantDomain)) {
                 // Return the root organization's email templates.
                 tenantDomain = getRootOrgTenantDomain(tenantDomain);
             }
@@ -207,7 +209,7 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
             throws I18nEmailMgtException {
 
         try {
-            if (OrganizationManagementUtil.isOrganization(tenantDomain)) {
+            if (OrganizationContextUtil.isOrganization(tenantDomain)) {
                 // Return the root organization's email template.
                 tenantDomain = getRootOrgTenantDomain(tenantDomain);
             }
@@ -222,7 +224,7 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
             throws I18nEmailMgtException {
 
         try {
-            if (OrganizationManagementUtil.isOrganization(tenantDomain)) {
+            if (OrganizationContextUtil.isOrganization(tenantDomain)) {
                 // Return the root organization's email template type.
                 tenantDomain = getRootOrgTenantDomain(tenantDomain);
             }
@@ -283,13 +285,34 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
     public NotificationTemplate getNotificationTemplate(String notificationChannel, String templateType, String locale,
                                                         String tenantDomain, String applicationUuid) throws NotificationTemplateManagerException {
 
+        Optional<NotificationTemplate> notificationTemplate = findNotificationTemplate(notificationChannel,
+                templateType, locale, tenantDomain, applicationUuid);
+        if (!notificationTemplate.isPresent()) {
+            // Template is not available in the default locale. Therefore, breaking the flow at the consuming side
+            // to avoid NPE.
+            String defaultLocale = normalizeLocaleFormat(
+                    getDefaultNotificationLocale(resolveNotificationChannel(notificationChannel)));
+            String error = String.format(IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getMessage(),
+                    templateType, defaultLocale, tenantDomain);
+            throw new NotificationTemplateManagerServerException(
+                    IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getCode(), error);
+        }
+        return notificationTemplate.get();
+    }
+
+    @Override
+    public Optional<NotificationTemplate> findNotificationTemplate(String notificationChannel, String templateType,
+                                                                   String locale, String tenantDomain,
+                                                                   String applicationUuid)
+            throws NotificationTemplateManagerException {
+
         try {
-            if (OrganizationManagementUtil.isOrganization(tenantDomain)) {
+            if (OrganizationContextUtil.isOrganization(tenantDomain)) {
                 // Return the root organization's notification template.
                 tenantDomain = getRootOrgTenantDomain(tenantDomain);
                 // If it's application specific template is required, get the root organization's application.
                 if (StringUtils.isNotBlank(applicationUuid)) {
-                    applicationUuid = I18nMgtDataHolder.getInstance().getApplicationManagementService().getMainAppId(applicationUuid);
+                    applicationUuid = ApplicationContextUtil.getMainApplicationId(applicationUuid, tenantDomain);
                 }
             }
         } catch (OrganizationManagementException e) {
@@ -305,32 +328,25 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
         validateDisplayNameOfTemplateType(templateType);
         NotificationTemplate notificationTemplate = templatePersistenceManager.getNotificationTemplate(templateType,
                 locale, notificationChannel, applicationUuid, tenantDomain);
+        if (notificationTemplate != null) {
+            return Optional.of(notificationTemplate);
+        }
 
-        // Handle not having the requested SMS template type in required locale for this tenantDomain.
-        if (notificationTemplate == null) {
-            String defaultLocale = getDefaultNotificationLocale(notificationChannel);
-            if (StringUtils.equalsIgnoreCase(defaultLocale, locale)) {
-
-                // Template is not available in the default locale. Therefore, breaking the flow at the consuming side
-                // to avoid NPE.
-                String error = String
-                        .format(IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getMessage(),
-                                templateType, locale, tenantDomain);
-                throw new NotificationTemplateManagerServerException(
-                        IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getCode(), error);
-            } else {
-                if (log.isDebugEnabled()) {
-                    String message = String
-                            .format("'%s' template in '%s' locale was not found in '%s' tenant. Trying to return the "
-                                            + "template in default locale : '%s'", templateType, locale, tenantDomain,
-                                    defaultLocale);
-                    log.debug(message);
-                }
-                // Try to get the template type in default locale.
-                return getNotificationTemplate(notificationChannel, templateType, defaultLocale, tenantDomain);
-            }
+        // Handle not having the requested template type in required locale for this tenantDomain.
+        String defaultLocale = normalizeLocaleFormat(getDefaultNotificationLocale(notificationChannel));
+        if (StringUtils.equalsIgnoreCase(defaultLocale, locale)) {
+            return Optional.empty();
+        }
+        if (log.isDebugEnabled()) {
+            String message = String
+                    .format("'%s' template in '%s' locale was not found in '%s' tenant. Trying to return the "
+                                    + "template in default locale : '%s'", templateType, locale, tenantDomain,
+                            defaultLocale);
+            log.debug(message);
         }
-        return notificationTemplate;
+        // Try to get the template type in default locale.
+        return Optional.ofNullable(templatePersistenceManager.getNotificationTemplate(templateType, defaultLocale,
+                notificationChannel, null, tenantDomain));
     }
 
     /**
@@ -610,31 +626,157 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
                     tenantDomain, applicationUuid);
             return buildEmailTemplate(notificationTemplate);
         } catch (NotificationTemplateManagerException exception) {
-            String errorCode = exception.getErrorCode();
-            String errorMsg = exception.getMessage();
-            Throwable throwable = exception.getCause();
-
-            // Match NotificationTemplateManagerExceptions with the existing I18nEmailMgtException error types.
-            if (StringUtils.isNotEmpty(exception.getErrorCode())) {
-                if (IdentityMgtConstants.ErrorMessages.ERROR_CODE_INVALID_NOTIFICATION_TEMPLATE.getCode()
-                        .equals(errorCode) || IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_CONTENT_IN_TEMPLATE
-                        .getCode().equals(errorCode) ||
-                        I18nMgtConstants.ErrorMessages.ERROR_CODE_INVALID_CHARACTERS_IN_TEMPLATE_NAME.getCode()
-                                .equals(errorCode) ||
-                        I18nMgtConstants.ErrorMessages.ERROR_CODE_INVALID_CHARACTERS_IN_LOCALE
-                                .getCode().equals(errorCode)) {
-                    throw new I18nEmailMgtClientException(errorMsg, throwable);
-                } else if (IdentityMgtConstants.ErrorMessages.ERROR_CODE_INVALID_EMAIL_TEMPLATE_CONTENT.getCode()
-                        .equals(errorCode)) {
-                    throw new I18nMgtEmailConfigException(errorMsg, throwable);
-                } else if (IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getCode()
-                        .equals(errorCode)) {
-                    throw new I18nEmailMgtInternalException(I18nMgtConstants.ErrorCodes.EMAIL_TEMPLATE_TYPE_NODE_FOUND,
-                            errorMsg, throwable);
+            throw toI18nEmailMgtException(exception);
+        }
+    }
+
+    @Override
+    public EmailTemplate resolveEmailTemplate(String templateType, String locale, String tenantDomain,
+                                              String applicationUuid) throws I18nEmailMgtException {
+
+        try {
+            TemplateResolution templateResolution = resolveNotificationTemplate(
+                    NotificationChannels.EMAIL_CHANNEL.getChannelType(), templateType, locale, tenantDomain,
+                    applicationUuid);
+            return buildResolvedEmailTemplate(templateResolution);
+        } catch (NotificationTemplateManagerException exception) {
+            throw toI18nEmailMgtException(exception);
+        }
+    }
+
+    @Override
+    public Optional<EmailTemplate> findEmailTemplate(String templateType, String locale, String tenantDomain,
+                                                     String applicationUuid) throws I18nEmailMgtException {
+
+        try {
+            return findTemplateResolution(NotificationChannels.EMAIL_CHANNEL.getChannelType(), templateType, locale,
+                    tenantDomain, applicationUuid).map(this::buildResolvedEmailTemplate);
+        } catch (NotificationTemplateManagerException exception) {
+            throw toI18nEmailMgtException(exception);
+        }
+    }
+
+    private EmailTemplate buildResolvedEmailTemplate(TemplateResolution templateResolution) {
+
+        EmailTemplate emailTemplate = buildEmailTemplate(templateResolution.getTemplate());
+        emailTemplate.setCompiledContent(templateResolution.getCompiledContent());
+        return emailTemplate;
+    }
+
+    /**
+     * Resolve a notification template through the application, organization and system default templates in the
+     * given locale and then in the default locale of the channel, in a single pass over the template storage.
+     *
+     * @param notificationChannel Notification channel.
+     * @param templateType        Template type.
+     * @param locale              Locale of the template.
+     * @param tenantDomain        Tenant domain.
+     * @param applicationUuid     Application UUID. Can be null to resolve the organization template.
+     * @return Resolved template along with the level it was resolved from.
+     * @throws NotificationTemplateManagerException If an error occurred or no template was found.
+     */
+    public TemplateResolution resolveNotificationTemplate(String notificationChannel, String templateType,
+                                                          String locale, String tenantDomain, String applicationUuid)
+            throws NotificationTemplateManagerException {
+
+        Optional<TemplateResolution> templateResolution = findTemplateResolution(notificationChannel, templateType,
+                locale, tenantDomain, applicationUuid);
+        if (!templateResolution.isPresent()) {
+            String error = String.format(IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getMessage(),
+                    templateType, normalizeLocaleFormat(locale), tenantDomain);
+            throw new NotificationTemplateManagerServerException(
+                    IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getCode(), error);
+        }
+        return templateResolution.get();
+    }
+
+    /**
+     * Resolve a notification template in the same way as
+     * {@link #resolveNotificationTemplate(String, String, String, String, String)}, without treating a template
+     * which is not found in the fallback chain as an error.
+     *
+     * @param notificationChannel Notification channel.
+     * @param templateType        Template type.
+     * @param locale              Locale of the template.
+     * @param tenantDomain        Tenant domain.
+     * @param applicationUuid     Application UUID. Can be null to resolve the organization template.
+     * @return Resolved template along with the level it was resolved from, or an empty result if no template was
+     * found.
+     * @throws NotificationTemplateManagerException If an error occurred while resolving the template.
+     */
+    private Optional<TemplateResolution> findTemplateResolution(String notificationChannel, String templateType,
+                                                                String locale, String tenantDomain,
+                                                                String applicationUuid)
+            throws NotificationTemplateManagerException {
+
+        try {
+            if (OrganizationContextUtil.isOrganization(tenantDomain)) {
+                // Resolve the root organization's notification template.
+                tenantDomain = getRootOrgTenantDomain(tenantDomain);
+                if (StringUtils.isNotBlank(applicationUuid)) {
+                    applicationUuid = ApplicationContextUtil.getMainApplicationId(applicationUuid, tenantDomain);
                 }
             }
-            throw new I18nEmailMgtServerException(exception.getMessage(), exception.getCause());
+        } catch (OrganizationManagementException e) {
+            throw new NotificationTemplateManagerException(e.getMessage(), e);
+        } catch (IdentityApplicationManagementServerException e) {
+            throw new NotificationTemplateManagerException(ERROR_CODE_ERROR_RESOLVING_MAIN_APPLICATION.getCode(),
+                    ERROR_CODE_ERROR_RESOLVING_MAIN_APPLICATION.getMessage(), e);
+        }
+        notificationChannel = resolveNotificationChannel(notificationChannel);
+        validateTemplateLocale(locale);
+        locale = normalizeLocaleFormat(locale);
+        validateDisplayNameOfTemplateType(templateType);
+        String defaultLocale = normalizeLocaleFormat(getDefaultNotificationLocale(notificationChannel));
+
+        TemplateResolution templateResolution = templatePersistenceManager.resolveTemplate(templateType, locale,
+                defaultLocale, notificationChannel, applicationUuid, tenantDomain);
+        if (templateResolution == null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("'%s' template requested in '%s' locale for application: %s was not found " +
+                        "in '%s' tenant.", templateType, locale, applicationUuid, tenantDomain));
+            }
+            return Optional.empty();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("'%s' template requested in '%s' locale for application: %s in '%s' tenant was " +
+                            "resolved from the %s level in '%s' locale.", templateType, locale, applicationUuid,
+                    tenantDomain, templateResolution.getLevel(), templateResolution.getLocale()));
+        }
+        return Optional.of(templateResolution);
+    }
+
+    /**
+     * Match a NotificationTemplateManagerException with the existing I18nEmailMgtException error types.
+     *
+     * @param exception NotificationTemplateManagerException.
+     * @return Matching I18nEmailMgtException.
+     */
+    private I18nEmailMgtException toI18nEmailMgtException(NotificationTemplateManagerException exception) {
+
+        String errorCode = exception.getErrorCode();
+        String errorMsg = exception.getMessage();
+        Throwable throwable = exception.getCause();
+
+        if (StringUtils.isNotEmpty(exception.getErrorCode())) {
+            if (IdentityMgtConstants.ErrorMessages.ERROR_CODE_INVALID_NOTIFICATION_TEMPLATE.getCode()
+                    .equals(errorCode) || IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_CONTENT_IN_TEMPLATE
+                    .getCode().equals(errorCode) ||
+                    I18nMgtConstants.ErrorMessages.ERROR_CODE_INVALID_CHARACTERS_IN_TEMPLATE_NAME.getCode()
+                            .equals(errorCode) ||
+                    I18nMgtConstants.ErrorMessages.ERROR_CODE_INVALID_CHARACTERS_IN_LOCALE
+                            .getCode().equals(errorCode)) {
+                return new I18nEmailMgtClientException(errorMsg, throwable);
+            } else if (IdentityMgtConstants.ErrorMessages.ERROR_CODE_INVALID_EMAIL_TEMPLATE_CONTENT.getCode()
+                    .equals(errorCode)) {
+                return new I18nMgtEmailConfigException(errorMsg, throwable);
+            } else if (IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getCode()
+                    .equals(errorCode)) {
+                return new I18nEmailMgtInternalException(I18nMgtConstants.ErrorCodes.EMAIL_TEMPLATE_TYPE_NODE_FOUND,
+                        errorMsg, throwable);
+            }
         }
+        return new I18nEmailMgtServerException(exception.getMessage(), exception.getCause());
     }
 
     /**
@@ -826,9 +968,6 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
      */
     private String getRootOrgTenantDomain(String tenantDomain) throws OrganizationManagementException {
 
-        OrganizationManager organizationManager = I18nMgtDataHolder.getInstance().getOrganizationManager();
-        String orgId = organizationManager.resolveOrganizationId(tenantDomain);
-        String primaryOrgId = organizationManager.getPrimaryOrganizationId(orgId);
-        return organizationManager.resolveTenantDomain(primaryOrgId);
+        return OrganizationContextUtil.getRootOrganizationTenantDomain(tenantDomain);
     }
 }
@@ -22,11 +22,12 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.email.mgt.constants.TemplateMgtConstants;
-import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
 import org.wso2.carbon.email.mgt.store.SystemDefaultTemplateManager;
 import org.wso2.carbon.email.mgt.store.TemplatePersistenceManager;
 import org.wso2.carbon.email.mgt.store.TemplatePersistenceManagerFactory;
+import org.wso2.carbon.email.mgt.util.ApplicationContextUtil;
 import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
+import org.wso2.carbon.email.mgt.util.OrganizationContextUtil;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementServerException;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerClientException;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerException;
@@ -35,9 +36,7 @@ import org.wso2.carbon.identity.governance.exceptions.notiification.Notification
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
 import org.wso2.carbon.identity.governance.service.notification.NotificationTemplateManager;
-import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
-import org.wso2.carbon.identity.organization.management.service.util.OrganizationManagementUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -74,7 +73,7 @@ public class NotificationTemplateManagerImpl implements NotificationTemplateMana
             throws NotificationTemplateManagerException {
 
          try {
-             if (OrganizationManagementUtil.isOrganization(tenantDomain)) {
+             if (OrganizationContextUtil.isOrganization(tenantDomain)) {
                  // Return the root organization's template types.
                  tenantDomain = getRootOrgTenantDomain(tenantDomain);
              }
@@ -193,7 +192,7 @@ public class NotificationTemplateManagerImpl implements NotificationTemplateMana
             throws NotificationTemplateManagerException {
 
         try {
-            if (OrganizationManagementUtil.isOrganization(tenantDomain)) {
+            if (OrganizationContextUtil.isOrganization(tenantDomain)) {
                 // Return the root organization's email templates.
                 tenantDomain = getRootOrgTenantDomain(tenantDomain);
             }
@@ -227,7 +226,7 @@ public class NotificationTemplateManagerImpl implements NotificationTemplateMana
             throws NotificationTemplateManagerException {
 
         try {
-            if (OrganizationManagementUtil.isOrganization(tenantDomain)) {
+            if (OrganizationContextUtil.isOrganization(tenantDomain)) {
                 // Return the root organization's email templates.
                 tenantDomain = getRootOrgTenantDomain(tenantDomain);
             }
@@ -258,13 +257,12 @@ public class NotificationTemplateManagerImpl implements NotificationTemplateMana
             throws NotificationTemplateManagerException {
 
         try {
-            if (OrganizationManagementUtil.isOrganization(tenantDomain)) {
+            if (OrganizationContextUtil.isOrganization(tenantDomain)) {
                 // To return the root organization's notification template.
                 tenantDomain = getRootOrgTenantDomain(tenantDomain);
                 // If it's application specific template is required, get the root organization's application.
                 if (StringUtils.isNotBlank(applicationUuid)) {
-                    applicationUuid = I18nMgtDataHolder.getInstance().getApplicationManagementService()
-                            .getMainAppId(applicationUuid);
+                    applicationUuid = ApplicationContextUtil.getMainApplicationId(applicationUuid, tenantDomain);
                 }
             }
         } catch (OrganizationManagementException e) {
@@ -578,10 +576,7 @@ public class NotificationTemplateManagerImpl implements NotificationTemplateMana
 
     private String getRootOrgTenantDomain(String tenantDomain) throws OrganizationManagementException {
 
-        OrganizationManager organizationManager = I18nMgtDataHolder.getInstance().getOrganizationManager();
-        String orgId = organizationManager.resolveOrganizationId(tenantDomain);
-        String primaryOrgId = organizationManager.getPrimaryOrganizationId(orgId);
-        return organizationManager.resolveTenantDomain(primaryOrgId);
+        return OrganizationContextUtil.getRootOrganizationTenantDomain(tenantDomain);
     }
 
     private NotificationTemplateManagerServerException handleServerException(String errorMsg, Throwable ex)
@@ -19,12 +19,12 @@
 package org.wso2.carbon.email.mgt.cache;
 
 import org.wso2.carbon.identity.core.cache.BaseCache;
-import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 
 /**
  * Cache implementation for AppNotificationTemplates.
  */
-public class AppNotificationTemplateCache extends BaseCache<AppNotificationTemplateCacheKey, NotificationTemplate> {
+public class AppNotificationTemplateCache
+        extends BaseCache<AppNotificationTemplateCacheKey, NotificationTemplateCacheEntry> {
 
     private static final String CACHE_NAME = "AppNotificationTemplateCache";
     private static final AppNotificationTemplateCache instance = new AppNotificationTemplateCache();
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import java.io.Serializable;
+
+/**
+ * Cache entry of {@link ApplicationUuidCache} and {@link MainApplicationIdCache}. An entry without an application id
+ * records that the application is not known, or is not shared from a main application, so that it is not looked up
+ * again for every notification.
+ */
+public class ApplicationIdCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 3320562893061872154L;
+
+    private final String applicationId;
+
+    public ApplicationIdCacheEntry(String applicationId) {
+
+        this.applicationId = applicationId;
+    }
+
+    /**
+     * Get the resolved application id.
+     *
+     * @return Application id, or null if there is no such application.
+     */
+    public String getApplicationId() {
+
+        return applicationId;
+    }
+}
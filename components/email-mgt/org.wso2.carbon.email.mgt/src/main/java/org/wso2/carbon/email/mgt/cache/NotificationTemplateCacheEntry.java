@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import org.wso2.carbon.email.mgt.util.TemplateContentInterner;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import java.io.Serializable;
+
+/**
+ * Cache entry for {@link OrgNotificationTemplateCache} and {@link AppNotificationTemplateCache}. An entry without a
+ * template records that the template does not exist in the storage, so that lookups for templates served from the
+ * system defaults do not reach the database each time. The content of cached templates is interned with the
+ * {@link TemplateContentInterner}, so that templates with identical content share it.
+ */
+public class NotificationTemplateCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = -6591528432418835620L;
+
+    private final NotificationTemplate notificationTemplate;
+
+    public NotificationTemplateCacheEntry(NotificationTemplate notificationTemplate) {
+
+        this.notificationTemplate = TemplateContentInterner.intern(notificationTemplate);
+    }
+
+    /**
+     * Get the cached notification template.
+     *
+     * @return Notification template, or null if the template does not exist.
+     */
+    public NotificationTemplate getNotificationTemplate() {
+
+        return notificationTemplate;
+    }
+
+    public boolean isTemplateExists() {
+
+        return notificationTemplate != null;
+    }
+}
@@ -19,12 +19,12 @@
 package org.wso2.carbon.email.mgt.cache;
 
 import org.wso2.carbon.identity.core.cache.BaseCache;
-import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 
 /**
  * Cache implementation for OrgNotificationTemplates.
  */
-public class OrgNotificationTemplateCache extends BaseCache<OrgNotificationTemplateCacheKey, NotificationTemplate> {
+public class OrgNotificationTemplateCache
+        extends BaseCache<OrgNotificationTemplateCacheKey, NotificationTemplateCacheEntry> {
 
     private static final String CACHE_NAME = "OrgNotificationTemplateCache";
     private static final OrgNotificationTemplateCache instance = new OrgNotificationTemplateCache();
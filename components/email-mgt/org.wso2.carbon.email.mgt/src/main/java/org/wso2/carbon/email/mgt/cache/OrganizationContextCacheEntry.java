@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import java.io.Serializable;
+
+/**
+ * Cache entry of {@link OrganizationContextCache}, holding what is known about the organization of a tenant domain.
+ * Values are resolved on first use, so a value that is not resolved yet is null. Entries are immutable, and a
+ * resolved value is added by replacing the entry with a copy holding the value.
+ */
+public class OrganizationContextCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = -3861617356212396521L;
+
+    private final String organizationId;
+    private final Boolean organization;
+    private final String rootTenantDomain;
+    private final String organizationName;
+
+    public OrganizationContextCacheEntry() {
+
+        this(null, null, null, null);
+    }
+
+    private OrganizationContextCacheEntry(String organizationId, Boolean organization, String rootTenantDomain,
+                                          String organizationName) {
+
+        this.organizationId = organizationId;
+        this.organization = organization;
+        this.rootTenantDomain = rootTenantDomain;
+        this.organizationName = organizationName;
+    }
+
+    /**
+     * Get the id of the organization of the tenant domain.
+     *
+     * @return Organization id, or null if not resolved yet.
+     */
+    public String getOrganizationId() {
+
+        return organizationId;
+    }
+
+    /**
+     * Get whether the tenant domain belongs to a sub organization.
+     *
+     * @return True if the tenant domain is of a sub organization, or null if not resolved yet.
+     */
+    public Boolean isOrganization() {
+
+        return organization;
+    }
+
+    /**
+     * Get the tenant domain of the root organization the tenant domain belongs to.
+     *
+     * @return Root organization tenant domain, or null if not resolved yet.
+     */
+    public String getRootTenantDomain() {
+
+        return rootTenantDomain;
+    }
+
+    /**
+     * Get the human readable name of the organization of the tenant domain.
+     *
+     * @return Organization name, or null if not resolved yet.
+     */
+    public String getOrganizationName() {
+
+        return organizationName;
+    }
+
+    public OrganizationContextCacheEntry withOrganizationId(String organizationId) {
+
+        return new OrganizationContextCacheEntry(organizationId, organization, rootTenantDomain, organizationName);
+    }
+
+    public OrganizationContextCacheEntry withOrganization(boolean organization) {
+
+        return new OrganizationContextCacheEntry(organizationId, organization, rootTenantDomain, organizationName);
+    }
+
+    public OrganizationContextCacheEntry withRootTenantDomain(String rootTenantDomain) {
+
+        return new OrganizationContextCacheEntry(organizationId, organization, rootTenantDomain, organizationName);
+    }
+
+    public OrganizationContextCacheEntry withOrganizationName(String organizationName) {
+
+        return new OrganizationContextCacheEntry(organizationId, organization, rootTenantDomain, organizationName);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import org.wso2.carbon.email.mgt.model.PartiallyRenderedTemplate;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache implementation for notification templates with the tenant invariant placeholders substituted.
+ */
+public class PartiallyRenderedTemplateCache
+        extends BaseCache<PartiallyRenderedTemplateCacheKey, PartiallyRenderedTemplate> {
+
+    private static final String CACHE_NAME = "PartiallyRenderedTemplateCache";
+    private static final PartiallyRenderedTemplateCache instance = new PartiallyRenderedTemplateCache();
+
+    private PartiallyRenderedTemplateCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static PartiallyRenderedTemplateCache getInstance() {
+
+        return instance;
+    }
+}
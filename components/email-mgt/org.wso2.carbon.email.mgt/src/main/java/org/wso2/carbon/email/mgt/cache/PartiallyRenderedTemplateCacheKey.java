@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class represent cache key for {@link PartiallyRenderedTemplateCache}.
+ * The substituted placeholder values are a part of the key, so a change in eg: the branding preferences of the
+ * tenant results in a different key rather than a stale entry. Only the values of the placeholders used in the
+ * template are expected in the key, and its hash is computed once when the key is created.
+ */
+public class PartiallyRenderedTemplateCacheKey implements Serializable {
+
+    private static final long serialVersionUID = -3528871626145906412L;
+
+    private String locale;
+    private String templateType;
+    private String applicationUuid;
+    private HashMap<String, String> placeholderValues;
+    private int hashCode;
+
+    public PartiallyRenderedTemplateCacheKey(String locale, String templateType, String applicationUuid,
+                                             Map<String, String> placeholderValues) {
+
+        this.locale = locale;
+        this.templateType = templateType.toLowerCase();
+        this.applicationUuid = applicationUuid;
+        this.placeholderValues = new HashMap<>(placeholderValues);
+        this.hashCode = Objects.hash(this.locale, this.templateType, applicationUuid, this.placeholderValues);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PartiallyRenderedTemplateCacheKey cacheKey = (PartiallyRenderedTemplateCacheKey) o;
+        return hashCode == cacheKey.hashCode &&
+                Objects.equals(locale, cacheKey.locale) &&
+                Objects.equals(templateType, cacheKey.templateType) &&
+                Objects.equals(applicationUuid, cacheKey.applicationUuid) &&
+                Objects.equals(placeholderValues, cacheKey.placeholderValues);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return hashCode;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import org.wso2.carbon.email.mgt.model.TemplateResolution;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache implementation for notification templates resolved through the template fallback chain.
+ */
+public class TemplateResolutionCache extends BaseCache<TemplateResolutionCacheKey, TemplateResolution> {
+
+    private static final String CACHE_NAME = "NotificationTemplateResolutionCache";
+    private static final TemplateResolutionCache instance = new TemplateResolutionCache();
+
+    private TemplateResolutionCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static TemplateResolutionCache getInstance() {
+
+        return instance;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * This class represent cache key for {@link TemplateResolutionCache}.
+ */
+public class TemplateResolutionCacheKey implements Serializable {
+
+    private static final long serialVersionUID = 2384419605781937265L;
+
+    private String displayName;
+    private String locale;
+    private String defaultLocale;
+    private String notificationChannel;
+    private String applicationUuid;
+
+    public TemplateResolutionCacheKey(String displayName, String locale, String defaultLocale,
+                                      String notificationChannel, String applicationUuid) {
+
+        this.displayName = displayName;
+        this.locale = locale;
+        this.defaultLocale = defaultLocale;
+        this.notificationChannel = notificationChannel;
+        this.applicationUuid = applicationUuid;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TemplateResolutionCacheKey cacheKey = (TemplateResolutionCacheKey) o;
+        return Objects.equals(displayName, cacheKey.displayName) &&
+                Objects.equals(locale, cacheKey.locale) &&
+                Objects.equals(defaultLocale, cacheKey.defaultLocale) &&
+                Objects.equals(notificationChannel, cacheKey.notificationChannel) &&
+                Objects.equals(applicationUuid, cacheKey.applicationUuid);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(displayName, locale, defaultLocale, notificationChannel, applicationUuid);
+    }
+}
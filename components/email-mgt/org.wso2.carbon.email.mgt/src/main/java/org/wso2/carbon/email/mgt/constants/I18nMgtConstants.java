@@ -66,6 +66,10 @@ public class I18nMgtConstants {
     public static final String NOTIFICATION_TEMPLATES_LEGACY_TENANTS = "NotificationTemplates.LegacyTenants.Tenant";
     public static final String NOTIFICATION_TEMPLATES_ENABLE_UNICODE_SUPPORT =
             "NotificationTemplates.EnableUnicodeSupport";
+    public static final String NOTIFICATION_TEMPLATES_ENABLE_CONTENT_COMPRESSION =
+            "NotificationTemplates.EnableContentCompression";
+    public static final String NOTIFICATION_TEMPLATES_ENABLE_BINARY_CONTENT =
+            "NotificationTemplates.EnableBinaryContent";
 
     public static final String SERVICE_PROPERTY_KEY_SERVICE_NAME = "service.name";
     public static final String SERVICE_PROPERTY_VAL_EMAIL_TEMPLATE_MANAGER = "EmailTemplateManager";
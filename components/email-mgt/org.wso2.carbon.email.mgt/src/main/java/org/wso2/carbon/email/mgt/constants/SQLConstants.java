@@ -44,130 +44,207 @@ public class SQLConstants {
     public static final String INSERT_ORG_NOTIFICATION_TEMPLATE_SQL =
             "INSERT INTO IDN_NOTIFICATION_ORG_TEMPLATE " +
                     "(TEMPLATE_KEY, LOCALE, CONTENT, CONTENT_TYPE, TYPE_ID, TENANT_ID) " +
-                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :CONTENT;, :CONTENT_TYPE;, (" +
-                    GET_NOTIFICATION_TYPE_ID_SQL + "), :TENANT_ID;)";
+                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :CONTENT;, :CONTENT_TYPE;, :TYPE_ID;, :TENANT_ID;)";
     public static final String INSERT_ORG_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL =
             "INSERT INTO IDN_NOTIFICATION_ORG_TEMPLATE " +
                     "(TEMPLATE_KEY, LOCALE, SUBJECT, BODY, FOOTER, CONTENT_TYPE, TYPE_ID, TENANT_ID) " +
-                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :SUBJECT;, :BODY;, :FOOTER;, :CONTENT_TYPE;, (" +
-                    GET_NOTIFICATION_TYPE_ID_SQL + "), :TENANT_ID;)";
+                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :SUBJECT;, :BODY;, :FOOTER;, :CONTENT_TYPE;, :TYPE_ID;, " +
+                    ":TENANT_ID;)";
     public static final String INSERT_ORG_NOTIFICATION_TEMPLATE_HYBRID_SQL =
             "INSERT INTO IDN_NOTIFICATION_ORG_TEMPLATE " +
                     "(TEMPLATE_KEY, LOCALE, CONTENT, SUBJECT, BODY, FOOTER, CONTENT_TYPE, TYPE_ID, TENANT_ID) " +
-                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :CONTENT;, :SUBJECT;, :BODY;, :FOOTER;, :CONTENT_TYPE;, (" +
-                    GET_NOTIFICATION_TYPE_ID_SQL + "), :TENANT_ID;)";
+                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :CONTENT;, :SUBJECT;, :BODY;, :FOOTER;, :CONTENT_TYPE;, " +
+                    ":TYPE_ID;, :TENANT_ID;)";
     public static final String GET_ORG_NOTIFICATION_TEMPLATE_SQL =
             "SELECT CONTENT, CONTENT_TYPE FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String GET_ORG_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL =
             "SELECT SUBJECT, BODY, FOOTER, CONTENT_TYPE FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String GET_ORG_NOTIFICATION_TEMPLATE_HYBRID_SQL =
             "SELECT CONTENT, SUBJECT, BODY, FOOTER, CONTENT_TYPE FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String IS_ORG_NOTIFICATION_TEMPLATE_EXISTS_SQL =
             "SELECT ID FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
                     "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String LIST_ORG_NOTIFICATION_TEMPLATES_BY_TYPE_SQL =
             "SELECT CONTENT, CONTENT_TYPE, LOCALE FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
-                    "WHERE TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL + ") AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String LIST_ORG_NOTIFICATION_TEMPLATES_BY_TYPE_WITHOUT_UNICODE_SQL =
             "SELECT SUBJECT, BODY, FOOTER, CONTENT_TYPE, LOCALE FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
-                    "WHERE TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL + ") AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String LIST_ORG_NOTIFICATION_TEMPLATES_BY_TYPE_HYBRID_SQL =
             "SELECT CONTENT, SUBJECT, BODY, FOOTER, CONTENT_TYPE, LOCALE FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
-                    "WHERE TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL + ") AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String UPDATE_ORG_NOTIFICATION_TEMPLATE_SQL =
             "UPDATE IDN_NOTIFICATION_ORG_TEMPLATE " +
                     "SET CONTENT = :CONTENT;, CONTENT_TYPE = :CONTENT_TYPE; " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String UPDATE_ORG_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL =
             "UPDATE IDN_NOTIFICATION_ORG_TEMPLATE " +
                     "SET SUBJECT = :SUBJECT;, BODY = :BODY;, FOOTER = :FOOTER;, CONTENT_TYPE = :CONTENT_TYPE; " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String UPDATE_ORG_NOTIFICATION_TEMPLATE_HYBRID_SQL =
             "UPDATE IDN_NOTIFICATION_ORG_TEMPLATE " +
                     "SET CONTENT = :CONTENT;, SUBJECT = :SUBJECT;, BODY = :BODY;, FOOTER = :FOOTER;, CONTENT_TYPE = :CONTENT_TYPE; " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String DELETE_ORG_NOTIFICATION_TEMPLATE_SQL =
-            "DELETE FROM IDN_NOTIFICATION_ORG_TEMPLATE WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" +
-                    GET_NOTIFICATION_TYPE_ID_SQL + ") AND TENANT_ID = :TENANT_ID;";
+            "DELETE FROM IDN_NOTIFICATION_ORG_TEMPLATE WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; " +
+                    "AND TENANT_ID = :TENANT_ID;";
     public static final String DELETE_ORG_NOTIFICATION_TEMPLATES_BY_TYPE_SQL =
-            "DELETE FROM IDN_NOTIFICATION_ORG_TEMPLATE WHERE TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND TENANT_ID = :TENANT_ID;";
+            "DELETE FROM IDN_NOTIFICATION_ORG_TEMPLATE WHERE TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
+
+    // Batched template lookups. The IN clauses are expanded with one named parameter per value, so lookups are run in
+    // chunks of rows to stay within the values allowed in an IN clause, eg: 1000 in Oracle, and the parameters
+    // allowed in a statement, eg: 2100 in MSSQL.
+    public static final int TEMPLATE_LOOKUP_CHUNK_SIZE = 500;
+    public static final String GET_ORG_NOTIFICATION_TEMPLATES_SQL =
+            "SELECT CONTENT, CONTENT_TYPE, TEMPLATE_KEY, TYPE_ID FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
+                    "WHERE TEMPLATE_KEY IN (%s) AND TYPE_ID IN (%s) AND TENANT_ID = :TENANT_ID;";
+    public static final String GET_ORG_NOTIFICATION_TEMPLATES_WITHOUT_UNICODE_SQL =
+            "SELECT SUBJECT, BODY, FOOTER, CONTENT_TYPE, TEMPLATE_KEY, TYPE_ID FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
+                    "WHERE TEMPLATE_KEY IN (%s) AND TYPE_ID IN (%s) AND TENANT_ID = :TENANT_ID;";
+    public static final String GET_ORG_NOTIFICATION_TEMPLATES_HYBRID_SQL =
+            "SELECT CONTENT, SUBJECT, BODY, FOOTER, CONTENT_TYPE, TEMPLATE_KEY, TYPE_ID " +
+                    "FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
+                    "WHERE TEMPLATE_KEY IN (%s) AND TYPE_ID IN (%s) AND TENANT_ID = :TENANT_ID;";
+
+    // Bulk template import and export.
+    public static final String LIST_ORG_NOTIFICATION_TEMPLATE_KEYS_SQL =
+            "SELECT TEMPLATE_KEY, TYPE_ID FROM IDN_NOTIFICATION_ORG_TEMPLATE " +
+                    "WHERE TEMPLATE_KEY IN (%s) AND TYPE_ID IN (%s) AND TENANT_ID = :TENANT_ID;";
+    public static final String EXPORT_ORG_NOTIFICATION_TEMPLATES_SQL =
+            "SELECT T.NAME, O.CONTENT, O.CONTENT_TYPE, O.LOCALE FROM IDN_NOTIFICATION_ORG_TEMPLATE O " +
+                    "INNER JOIN IDN_NOTIFICATION_TYPE T ON O.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND O.TENANT_ID = :TENANT_ID;";
+    public static final String EXPORT_ORG_NOTIFICATION_TEMPLATES_WITHOUT_UNICODE_SQL =
+            "SELECT T.NAME, O.SUBJECT, O.BODY, O.FOOTER, O.CONTENT_TYPE, O.LOCALE " +
+                    "FROM IDN_NOTIFICATION_ORG_TEMPLATE O INNER JOIN IDN_NOTIFICATION_TYPE T ON O.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND O.TENANT_ID = :TENANT_ID;";
+    public static final String EXPORT_ORG_NOTIFICATION_TEMPLATES_HYBRID_SQL =
+            "SELECT T.NAME, O.CONTENT, O.SUBJECT, O.BODY, O.FOOTER, O.CONTENT_TYPE, O.LOCALE " +
+                    "FROM IDN_NOTIFICATION_ORG_TEMPLATE O INNER JOIN IDN_NOTIFICATION_TYPE T ON O.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND O.TENANT_ID = :TENANT_ID;";
 
     // sql constants for app notification template
     public static final String INSERT_APP_NOTIFICATION_TEMPLATE_SQL =
             "INSERT INTO IDN_NOTIFICATION_APP_TEMPLATE " +
                     "(TEMPLATE_KEY, LOCALE, CONTENT, CONTENT_TYPE, TYPE_ID, APP_ID, TENANT_ID) " +
-                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :CONTENT;, :CONTENT_TYPE;, (" +
-                    GET_NOTIFICATION_TYPE_ID_SQL + "), :APP_ID;, :TENANT_ID;)";
+                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :CONTENT;, :CONTENT_TYPE;, :TYPE_ID;, :APP_ID;, :TENANT_ID;)";
     public static final String INSERT_APP_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL =
             "INSERT INTO IDN_NOTIFICATION_APP_TEMPLATE " +
                     "(TEMPLATE_KEY, LOCALE, SUBJECT, BODY, FOOTER, CONTENT_TYPE, TYPE_ID, APP_ID, TENANT_ID) " +
-                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :SUBJECT;, :BODY;, :FOOTER;, :CONTENT_TYPE;, (" +
-                    GET_NOTIFICATION_TYPE_ID_SQL + "), :APP_ID;, :TENANT_ID;)";
+                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :SUBJECT;, :BODY;, :FOOTER;, :CONTENT_TYPE;, :TYPE_ID;, " +
+                    ":APP_ID;, :TENANT_ID;)";
     public static final String INSERT_APP_NOTIFICATION_TEMPLATE_HYBRID_SQL =
             "INSERT INTO IDN_NOTIFICATION_APP_TEMPLATE " +
                     "(TEMPLATE_KEY, LOCALE, CONTENT, SUBJECT, BODY, FOOTER, CONTENT_TYPE, TYPE_ID, APP_ID, TENANT_ID) " +
-                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :CONTENT;, :SUBJECT;, :BODY;, :FOOTER;, :CONTENT_TYPE;, (" +
-                    GET_NOTIFICATION_TYPE_ID_SQL + "), :APP_ID;, :TENANT_ID;)";
+                    "VALUES (:TEMPLATE_KEY;, :LOCALE;, :CONTENT;, :SUBJECT;, :BODY;, :FOOTER;, :CONTENT_TYPE;, " +
+                    ":TYPE_ID;, :APP_ID;, :TENANT_ID;)";
     public static final String GET_APP_NOTIFICATION_TEMPLATE_SQL =
             "SELECT CONTENT, CONTENT_TYPE FROM IDN_NOTIFICATION_APP_TEMPLATE " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; " +
+                    "AND TENANT_ID = :TENANT_ID;";
     public static final String GET_APP_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL =
             "SELECT SUBJECT, BODY, FOOTER, CONTENT_TYPE FROM IDN_NOTIFICATION_APP_TEMPLATE " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; " +
+                    "AND TENANT_ID = :TENANT_ID;";
     public static final String GET_APP_NOTIFICATION_TEMPLATE_HYBRID_SQL =
             "SELECT CONTENT, SUBJECT, BODY, FOOTER, CONTENT_TYPE FROM IDN_NOTIFICATION_APP_TEMPLATE " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; " +
+                    "AND TENANT_ID = :TENANT_ID;";
     public static final String IS_APP_NOTIFICATION_TEMPLATE_EXISTS_SQL =
             "SELECT ID FROM IDN_NOTIFICATION_APP_TEMPLATE " +
                     "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; " +
                     "AND TENANT_ID = :TENANT_ID;";
     public static final String LIST_APP_NOTIFICATION_TEMPLATES_BY_APP_SQL =
             "SELECT CONTENT, CONTENT_TYPE, LOCALE FROM IDN_NOTIFICATION_APP_TEMPLATE " +
-                    "WHERE TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String LIST_APP_NOTIFICATION_TEMPLATES_BY_APP_WITHOUT_UNICODE_SQL =
             "SELECT SUBJECT, BODY, FOOTER, CONTENT_TYPE, LOCALE FROM IDN_NOTIFICATION_APP_TEMPLATE " +
-                    "WHERE TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String LIST_APP_NOTIFICATION_TEMPLATES_BY_APP_HYBRID_SQL =
             "SELECT CONTENT, SUBJECT, BODY, FOOTER, CONTENT_TYPE, LOCALE FROM IDN_NOTIFICATION_APP_TEMPLATE " +
-                    "WHERE TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String UPDATE_APP_NOTIFICATION_TEMPLATE_SQL =
             "UPDATE IDN_NOTIFICATION_APP_TEMPLATE " +
                     "SET CONTENT = :CONTENT;, CONTENT_TYPE = :CONTENT_TYPE; " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; " +
+                    "AND TENANT_ID = :TENANT_ID;";
     public static final String UPDATE_APP_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL =
             "UPDATE IDN_NOTIFICATION_APP_TEMPLATE " +
                     "SET SUBJECT = :SUBJECT;, BODY = :BODY;, FOOTER = :FOOTER;, CONTENT_TYPE = :CONTENT_TYPE; " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; " +
+                    "AND TENANT_ID = :TENANT_ID;";
     public static final String UPDATE_APP_NOTIFICATION_TEMPLATE_HYBRID_SQL =
             "UPDATE IDN_NOTIFICATION_APP_TEMPLATE " +
                     "SET CONTENT = :CONTENT;, SUBJECT = :SUBJECT;, BODY = :BODY;, FOOTER = :FOOTER;, CONTENT_TYPE = :CONTENT_TYPE; " +
-                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+                    "WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; " +
+                    "AND TENANT_ID = :TENANT_ID;";
     public static final String DELETE_APP_NOTIFICATION_TEMPLATE_SQL =
-            "DELETE FROM IDN_NOTIFICATION_APP_TEMPLATE WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = (" +
-                    GET_NOTIFICATION_TYPE_ID_SQL + ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+            "DELETE FROM IDN_NOTIFICATION_APP_TEMPLATE WHERE TEMPLATE_KEY = :TEMPLATE_KEY; AND TYPE_ID = :TYPE_ID; " +
+                    "AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
     public static final String DELETE_APP_NOTIFICATION_TEMPLATES_BY_TYPE_SQL =
-            "DELETE FROM IDN_NOTIFICATION_APP_TEMPLATE WHERE TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+            "DELETE FROM IDN_NOTIFICATION_APP_TEMPLATE WHERE TYPE_ID = :TYPE_ID; AND APP_ID = :APP_ID; " +
+                    "AND TENANT_ID = :TENANT_ID;";
     public static final String DELETE_ALL_APP_NOTIFICATION_TEMPLATES_BY_TYPE_SQL =
-            "DELETE FROM IDN_NOTIFICATION_APP_TEMPLATE WHERE TYPE_ID = (" + GET_NOTIFICATION_TYPE_ID_SQL +
-                    ") AND TENANT_ID = :TENANT_ID;";
+            "DELETE FROM IDN_NOTIFICATION_APP_TEMPLATE WHERE TYPE_ID = :TYPE_ID; AND TENANT_ID = :TENANT_ID;";
+    public static final String GET_APP_NOTIFICATION_TEMPLATES_SQL =
+            "SELECT CONTENT, CONTENT_TYPE, TEMPLATE_KEY, TYPE_ID, APP_ID FROM IDN_NOTIFICATION_APP_TEMPLATE " +
+                    "WHERE TEMPLATE_KEY IN (%s) AND TYPE_ID IN (%s) AND APP_ID IN (%s) AND TENANT_ID = :TENANT_ID;";
+    public static final String GET_APP_NOTIFICATION_TEMPLATES_WITHOUT_UNICODE_SQL =
+            "SELECT SUBJECT, BODY, FOOTER, CONTENT_TYPE, TEMPLATE_KEY, TYPE_ID, APP_ID " +
+                    "FROM IDN_NOTIFICATION_APP_TEMPLATE " +
+                    "WHERE TEMPLATE_KEY IN (%s) AND TYPE_ID IN (%s) AND APP_ID IN (%s) AND TENANT_ID = :TENANT_ID;";
+    public static final String GET_APP_NOTIFICATION_TEMPLATES_HYBRID_SQL =
+            "SELECT CONTENT, SUBJECT, BODY, FOOTER, CONTENT_TYPE, TEMPLATE_KEY, TYPE_ID, APP_ID " +
+                    "FROM IDN_NOTIFICATION_APP_TEMPLATE " +
+                    "WHERE TEMPLATE_KEY IN (%s) AND TYPE_ID IN (%s) AND APP_ID IN (%s) AND TENANT_ID = :TENANT_ID;";
+    public static final String LIST_APP_NOTIFICATION_TEMPLATE_KEYS_SQL =
+            "SELECT TEMPLATE_KEY, TYPE_ID FROM IDN_NOTIFICATION_APP_TEMPLATE " +
+                    "WHERE TEMPLATE_KEY IN (%s) AND TYPE_ID IN (%s) AND APP_ID = :APP_ID; AND TENANT_ID = :TENANT_ID;";
+    public static final String EXPORT_APP_NOTIFICATION_TEMPLATES_SQL =
+            "SELECT T.NAME, A.CONTENT, A.CONTENT_TYPE, A.LOCALE FROM IDN_NOTIFICATION_APP_TEMPLATE A " +
+                    "INNER JOIN IDN_NOTIFICATION_TYPE T ON A.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND A.APP_ID = :APP_ID; AND A.TENANT_ID = :TENANT_ID;";
+    public static final String EXPORT_APP_NOTIFICATION_TEMPLATES_WITHOUT_UNICODE_SQL =
+            "SELECT T.NAME, A.SUBJECT, A.BODY, A.FOOTER, A.CONTENT_TYPE, A.LOCALE " +
+                    "FROM IDN_NOTIFICATION_APP_TEMPLATE A INNER JOIN IDN_NOTIFICATION_TYPE T ON A.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND A.APP_ID = :APP_ID; AND A.TENANT_ID = :TENANT_ID;";
+    public static final String EXPORT_APP_NOTIFICATION_TEMPLATES_HYBRID_SQL =
+            "SELECT T.NAME, A.CONTENT, A.SUBJECT, A.BODY, A.FOOTER, A.CONTENT_TYPE, A.LOCALE " +
+                    "FROM IDN_NOTIFICATION_APP_TEMPLATE A INNER JOIN IDN_NOTIFICATION_TYPE T ON A.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND A.APP_ID = :APP_ID; AND A.TENANT_ID = :TENANT_ID;";
+
+    // Keyset paginated template listings. The template table is aliased as N, so that the projected columns, the
+    // template type filter and the row limiting clause are formatted into the listings of both the template tables.
+    public static final String LIST_ORG_NOTIFICATION_TEMPLATES_PAGE_SQL =
+            "SELECT N.ID, T.NAME, N.LOCALE, N.CONTENT_TYPE%s FROM IDN_NOTIFICATION_ORG_TEMPLATE N " +
+                    "INNER JOIN IDN_NOTIFICATION_TYPE T ON N.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND N.TENANT_ID = :TENANT_ID; AND N.ID > :ID; %s" +
+                    "ORDER BY N.ID %s";
+    public static final String LIST_APP_NOTIFICATION_TEMPLATES_PAGE_SQL =
+            "SELECT N.ID, T.NAME, N.LOCALE, N.CONTENT_TYPE%s FROM IDN_NOTIFICATION_APP_TEMPLATE N " +
+                    "INNER JOIN IDN_NOTIFICATION_TYPE T ON N.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND N.APP_ID = :APP_ID; AND N.TENANT_ID = :TENANT_ID; " +
+                    "AND N.ID > :ID; %s" +
+                    "ORDER BY N.ID %s";
+    public static final String TEMPLATES_PAGE_CONTENT_COLUMNS = ", N.CONTENT";
+    public static final String TEMPLATES_PAGE_CONTENT_COLUMNS_WITHOUT_UNICODE = ", N.SUBJECT, N.BODY, N.FOOTER";
+    public static final String TEMPLATES_PAGE_CONTENT_COLUMNS_HYBRID = ", N.CONTENT, N.SUBJECT, N.BODY, N.FOOTER";
+    public static final String TEMPLATES_PAGE_TYPE_FILTER = "AND N.TYPE_ID = :TYPE_ID; ";
+    public static final String TEMPLATES_PAGE_LIMIT = "LIMIT %d";
+    public static final String TEMPLATES_PAGE_LIMIT_FETCH_FIRST = "FETCH FIRST %d ROWS ONLY";
+    // MSSQL only accepts a fetch clause after an offset clause.
+    public static final String TEMPLATES_PAGE_LIMIT_MSSQL = "OFFSET 0 ROWS FETCH FIRST %d ROWS ONLY";
+
+    // sql constants for the template override manifest
+    public static final String GET_TEMPLATE_OVERRIDE_MANIFEST_SQL =
+            "SELECT T.TYPE_KEY, T.NAME, O.TEMPLATE_KEY, '' AS APP_ID FROM IDN_NOTIFICATION_TYPE T " +
+                    "LEFT OUTER JOIN IDN_NOTIFICATION_ORG_TEMPLATE O ON O.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND T.TENANT_ID = :TENANT_ID; " +
+                    "UNION ALL " +
+                    "SELECT T.TYPE_KEY, T.NAME, A.TEMPLATE_KEY, A.APP_ID FROM IDN_NOTIFICATION_TYPE T " +
+                    "INNER JOIN IDN_NOTIFICATION_APP_TEMPLATE A ON A.TYPE_ID = T.ID " +
+                    "WHERE T.CHANNEL = :CHANNEL; AND T.TENANT_ID = :TENANT_ID;";
 }
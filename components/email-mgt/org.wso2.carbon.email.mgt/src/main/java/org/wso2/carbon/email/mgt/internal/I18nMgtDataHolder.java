@@ -39,6 +39,8 @@ public class I18nMgtDataHolder{
     private List<String> legacyTenants = new ArrayList<>();
     private boolean isUnicodeSupported = false;
     private boolean isUnicodeSupportedInHybridMode = false;
+    private boolean isContentCompressionEnabled = false;
+    private boolean isBinaryContentEnabled = false;
 
     private static I18nMgtDataHolder instance = new I18nMgtDataHolder();
 
@@ -202,4 +204,45 @@ public class I18nMgtDataHolder{
 
         return isUnicodeSupportedInHybridMode;
     }
+
+    /**
+     * Sets whether the template content is compressed when stored in the database.
+     *
+     * @param isContentCompressionEnabled true to compress the template content, false to store it uncompressed.
+     */
+    public void setContentCompressionEnabled(boolean isContentCompressionEnabled) {
+
+        this.isContentCompressionEnabled = isContentCompressionEnabled;
+    }
+
+    /**
+     * Gets whether the template content is compressed when stored in the database.
+     *
+     * @return true if the template content is compressed.
+     */
+    public boolean isContentCompressionEnabled() {
+
+        return isContentCompressionEnabled;
+    }
+
+    /**
+     * Sets whether the template content is stored in the binary format. Content is stored in the legacy JSON format
+     * otherwise, so that nodes of earlier versions can read it during a rolling upgrade.
+     *
+     * @param isBinaryContentEnabled true to store the template content in the binary format.
+     */
+    public void setBinaryContentEnabled(boolean isBinaryContentEnabled) {
+
+        this.isBinaryContentEnabled = isBinaryContentEnabled;
+    }
+
+    /**
+     * Gets whether the template content is stored in the binary format.
+     *
+     * @return true if the template content is stored in the binary format.
+     */
+    public boolean isBinaryContentEnabled() {
+
+        return isBinaryContentEnabled;
+    }
 }
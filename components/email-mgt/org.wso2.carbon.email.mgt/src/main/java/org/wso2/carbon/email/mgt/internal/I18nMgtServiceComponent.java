@@ -31,8 +31,10 @@ import org.wso2.carbon.email.mgt.NotificationTemplateManagerImpl;
 import org.wso2.carbon.email.mgt.SMSProviderPayloadTemplateManager;
 import org.wso2.carbon.email.mgt.SMSProviderPayloadTemplateManagerImpl;
 import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
+import org.wso2.carbon.email.mgt.listener.NotificationTemplateApplicationMgtListener;
 import org.wso2.carbon.email.mgt.model.SMSProviderTemplate;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
 import org.wso2.carbon.identity.core.persistence.registry.RegistryResourceMgtService;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
@@ -69,6 +71,8 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NOTIFICATION_TEMPLATES_LEGACY_TENANTS;
+import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NOTIFICATION_TEMPLATES_ENABLE_BINARY_CONTENT;
+import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NOTIFICATION_TEMPLATES_ENABLE_CONTENT_COMPRESSION;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NOTIFICATION_TEMPLATES_ENABLE_UNICODE_SUPPORT;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.SERVICE_PROPERTY_KEY_SERVICE_NAME;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.SERVICE_PROPERTY_VAL_EMAIL_TEMPLATE_MANAGER;
@@ -103,6 +107,10 @@ public class I18nMgtServiceComponent {
             String unicodeSupportType = IdentityUtil.getProperty(NOTIFICATION_TEMPLATES_ENABLE_UNICODE_SUPPORT);
             I18nMgtDataHolder.getInstance().setUnicodeSupport(Boolean.parseBoolean(unicodeSupportType));
             I18nMgtDataHolder.getInstance().setHybrid("hybrid".equalsIgnoreCase(unicodeSupportType));
+            I18nMgtDataHolder.getInstance().setContentCompressionEnabled(
+                    Boolean.parseBoolean(IdentityUtil.getProperty(NOTIFICATION_TEMPLATES_ENABLE_CONTENT_COMPRESSION)));
+            I18nMgtDataHolder.getInstance().setBinaryContentEnabled(
+                    Boolean.parseBoolean(IdentityUtil.getProperty(NOTIFICATION_TEMPLATES_ENABLE_BINARY_CONTENT)));
 
             // Register Email Mgt Service as an OSGi service.
             EmailTemplateManagerImpl emailTemplateManager = new EmailTemplateManagerImpl();
@@ -157,6 +165,9 @@ public class I18nMgtServiceComponent {
                 log.error("Error registering SMS Provider Payload Template Mgt Service.");
             }
 
+            bundleCtx.registerService(ApplicationMgtListener.class.getName(),
+                    new NotificationTemplateApplicationMgtListener(), null);
+
             // Load SMS service providers' sms send API payloads.
             loadDefaultSMSProviderPostBodyTemplates();
             log.debug("I18n Management is activated");
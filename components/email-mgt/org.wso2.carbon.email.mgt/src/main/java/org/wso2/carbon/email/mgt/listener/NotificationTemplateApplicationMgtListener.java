@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.listener;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.email.mgt.store.dao.cache.CacheBackedTemplateOverrideManifestDAO;
+import org.wso2.carbon.email.mgt.util.ApplicationContextUtil;
+import org.wso2.carbon.email.mgt.util.OrganizationContextUtil;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.listener.AbstractApplicationMgtListener;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+/**
+ * Clears the application ids cached for notification template selection when an application is created, updated or
+ * deleted. Main application ids are cached in the root organization tenant, so the entries of the root organization
+ * are cleared as well when the application belongs to a sub organization. The application templates of a deleted
+ * application are removed by the storage along with the application, so the cached template override manifests of
+ * the tenant are cleared as well when an application is deleted.
+ */
+public class NotificationTemplateApplicationMgtListener extends AbstractApplicationMgtListener {
+
+    private static final Log log = LogFactory.getLog(NotificationTemplateApplicationMgtListener.class);
+    private static final int DEFAULT_ORDER_ID = 250;
+
+    private final CacheBackedTemplateOverrideManifestDAO templateOverrideManifestDAO =
+            new CacheBackedTemplateOverrideManifestDAO();
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return DEFAULT_ORDER_ID;
+    }
+
+    @Override
+    public boolean doPostCreateApplication(ServiceProvider serviceProvider, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        clearApplicationContext(tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateApplication(ServiceProvider serviceProvider, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        clearApplicationContext(tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteApplication(String applicationName, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        clearApplicationContext(tenantDomain);
+        int tenantId = OrganizationContextUtil.getTenantId(tenantDomain);
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            templateOverrideManifestDAO.clearTemplateOverrideManifests(tenantId);
+        }
+        return true;
+    }
+
+    private void clearApplicationContext(String tenantDomain) {
+
+        ApplicationContextUtil.clear(tenantDomain);
+        try {
+            String rootTenantDomain = OrganizationContextUtil.getRootOrganizationTenantDomain(tenantDomain);
+            if (rootTenantDomain != null && !rootTenantDomain.equals(tenantDomain)) {
+                ApplicationContextUtil.clear(rootTenantDomain);
+            }
+        } catch (OrganizationManagementException e) {
+            log.error("Error while resolving the root organization of tenant: " + tenantDomain +
+                    ". Cached main application ids of the root organization are not cleared.", e);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.wso2.carbon.email.mgt.model;
 
+import org.wso2.carbon.email.mgt.util.CompiledTemplateContent;
+
 import java.io.Serializable;
 
 /**
@@ -32,6 +34,7 @@ public class EmailTemplate implements Serializable {
 	private String templateDisplayName;
 	private String locale;
 	private String emailContentType;
+	private transient CompiledTemplateContent compiledContent;
 
 
 	public String getSubject() {
@@ -40,6 +43,7 @@ public class EmailTemplate implements Serializable {
 
 	public void setSubject(String subject) {
 		this.subject = subject;
+		this.compiledContent = null;
 	}
 
 	public String getBody() {
@@ -48,6 +52,7 @@ public class EmailTemplate implements Serializable {
 
 	public void setBody(String body) {
 		this.body = body;
+		this.compiledContent = null;
 	}
 
 	public String getFooter() {
@@ -56,6 +61,7 @@ public class EmailTemplate implements Serializable {
 
 	public void setFooter(String footer) {
 		this.footer = footer;
+		this.compiledContent = null;
 	}
 
 	public String getTemplateType() {
@@ -90,6 +96,39 @@ public class EmailTemplate implements Serializable {
 		this.emailContentType = emailContentType;
 	}
 
+	/**
+	 * Get the placeholders used in the subject, body and footer of this template.
+	 *
+	 * @return Placeholder manifest of the template.
+	 */
+	public PlaceholderManifest getPlaceholderManifest() {
+		return getCompiledContent().getPlaceholderManifest();
+	}
+
+	/**
+	 * Get the compiled subject, body and footer of this template.
+	 *
+	 * @return Compiled content of the template.
+	 */
+	public CompiledTemplateContent getCompiledContent() {
+		if (compiledContent == null) {
+			compiledContent = CompiledTemplateContent.of(subject, body, footer);
+		}
+		return compiledContent;
+	}
+
+	/**
+	 * Reuse content already compiled from the same subject, body and footer, eg: the compiled content of a cached
+	 * template. Content compiled from a different subject, body or footer is ignored.
+	 *
+	 * @param compiledContent Compiled content.
+	 */
+	public void setCompiledContent(CompiledTemplateContent compiledContent) {
+		if (compiledContent != null && compiledContent.isCompiledFrom(subject, body, footer)) {
+			this.compiledContent = compiledContent;
+		}
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder stringBuilder = new StringBuilder();
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.model;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.Objects;
+
+/**
+ * Identifies a notification template in a batched template lookup. Template types and locales are compared
+ * ignoring case, in the same way the templates are keyed in the storage.
+ */
+public final class NotificationTemplateKey {
+
+    private final String displayName;
+    private final String locale;
+    private final String notificationChannel;
+    private final String applicationUuid;
+
+    /**
+     * Create a template key.
+     *
+     * @param displayName         Display name of the template type.
+     * @param locale              Locale of the template.
+     * @param notificationChannel Notification channel.
+     * @param applicationUuid     Application UUID, or null for the organization template.
+     */
+    public NotificationTemplateKey(String displayName, String locale, String notificationChannel,
+                                   String applicationUuid) {
+
+        this.displayName = displayName;
+        this.locale = locale;
+        this.notificationChannel = notificationChannel;
+        this.applicationUuid = StringUtils.isBlank(applicationUuid) ? null : applicationUuid;
+    }
+
+    public String getDisplayName() {
+
+        return displayName;
+    }
+
+    public String getLocale() {
+
+        return locale;
+    }
+
+    public String getNotificationChannel() {
+
+        return notificationChannel;
+    }
+
+    public String getApplicationUuid() {
+
+        return applicationUuid;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        NotificationTemplateKey that = (NotificationTemplateKey) o;
+        return StringUtils.equalsIgnoreCase(displayName, that.displayName) &&
+                StringUtils.equalsIgnoreCase(locale, that.locale) &&
+                Objects.equals(notificationChannel, that.notificationChannel) &&
+                Objects.equals(applicationUuid, that.applicationUuid);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(StringUtils.lowerCase(displayName), StringUtils.lowerCase(locale), notificationChannel,
+                applicationUuid);
+    }
+
+    @Override
+    public String toString() {
+
+        return notificationChannel + " template " + locale + " of type " + displayName +
+                (applicationUuid == null ? "" : " of application " + applicationUuid);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.model;
+
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of notification templates listed with a cursor, along with the cursor of the next page.
+ */
+public final class NotificationTemplatePage {
+
+    /**
+     * Fields of the templates included in a page.
+     */
+    public enum Projection {
+
+        /**
+         * Type, display name, locale, channel and content type of the templates, without the subject, body and
+         * footer.
+         */
+        METADATA,
+
+        /**
+         * All the fields of the templates.
+         */
+        CONTENT;
+
+        /**
+         * Get the fields of the template included in this projection.
+         *
+         * @param notificationTemplate Notification template.
+         * @return The given template, or a copy of it without the content for the metadata projection.
+         */
+        public NotificationTemplate apply(NotificationTemplate notificationTemplate) {
+
+            if (this == CONTENT) {
+                return notificationTemplate;
+            }
+            NotificationTemplate metadata = new NotificationTemplate();
+            metadata.setType(notificationTemplate.getType());
+            metadata.setDisplayName(notificationTemplate.getDisplayName());
+            metadata.setLocale(notificationTemplate.getLocale());
+            metadata.setNotificationChannel(notificationTemplate.getNotificationChannel());
+            metadata.setContentType(notificationTemplate.getContentType());
+            return metadata;
+        }
+    }
+
+    private final List<NotificationTemplate> notificationTemplates;
+    private final String nextCursor;
+
+    public NotificationTemplatePage(List<NotificationTemplate> notificationTemplates, String nextCursor) {
+
+        this.notificationTemplates = Collections.unmodifiableList(notificationTemplates);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<NotificationTemplate> getNotificationTemplates() {
+
+        return notificationTemplates;
+    }
+
+    /**
+     * Get the cursor to list the next page. Cursors are opaque to the callers and are only valid with the
+     * implementation which issued them.
+     *
+     * @return Cursor of the next page, or null if this is the last page.
+     */
+    public String getNextCursor() {
+
+        return nextCursor;
+    }
+
+    public boolean hasNextPage() {
+
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.model;
+
+import org.wso2.carbon.email.mgt.util.CompiledTemplate;
+import org.wso2.carbon.email.mgt.util.CompiledTemplateContent;
+import org.wso2.carbon.email.mgt.util.TemplateContentInterner;
+
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Subject, body and footer of a notification template with the tenant invariant placeholders, eg: branding and server
+ * URL placeholders, already substituted. Only the per user placeholders are left to be rendered for each
+ * notification. The source content is kept so that a partially rendered template is only used for the template
+ * content it was rendered from. The partially rendered content is compiled once and kept along with it.
+ */
+public final class PartiallyRenderedTemplate implements Serializable {
+
+    private static final long serialVersionUID = 6018573421837750946L;
+
+    private final String sourceSubject;
+    private final String sourceBody;
+    private final String sourceFooter;
+    private final String subject;
+    private final String body;
+    private final String footer;
+    private transient volatile CompiledTemplateContent compiledContent;
+
+    private PartiallyRenderedTemplate(String sourceSubject, String sourceBody, String sourceFooter, String subject,
+                                      String body, String footer) {
+
+        this.sourceSubject = sourceSubject;
+        this.sourceBody = sourceBody;
+        this.sourceFooter = sourceFooter;
+        this.subject = subject;
+        this.body = body;
+        this.footer = footer;
+    }
+
+    /**
+     * Substitute the given placeholder values in the subject, body and footer of a template.
+     *
+     * @param emailTemplate Template to render.
+     * @param values        Tenant invariant placeholder values.
+     * @return Partially rendered template.
+     * @throws UnsupportedEncodingException If a {{url:key}} value cannot be URL encoded.
+     */
+    public static PartiallyRenderedTemplate render(EmailTemplate emailTemplate, Map<String, String> values)
+            throws UnsupportedEncodingException {
+
+        CompiledTemplateContent compiledContent = emailTemplate.getCompiledContent();
+        return new PartiallyRenderedTemplate(emailTemplate.getSubject(), emailTemplate.getBody(),
+                emailTemplate.getFooter(), renderPartially(compiledContent.getSubject(), values),
+                renderPartially(compiledContent.getBody(), values),
+                renderPartially(compiledContent.getFooter(), values));
+    }
+
+    private static String renderPartially(CompiledTemplate compiledTemplate, Map<String, String> values)
+            throws UnsupportedEncodingException {
+
+        if (compiledTemplate == null) {
+            return null;
+        }
+        String rendered = compiledTemplate.renderPartially(values);
+        // Content which cannot be rendered in two stages is rendered as a whole for each notification.
+        return rendered != null ? TemplateContentInterner.intern(rendered) : compiledTemplate.getContent();
+    }
+
+    /**
+     * Check whether this was rendered from the current content of the given template.
+     *
+     * @param emailTemplate Email template.
+     * @return True if the subject, body and footer of the template are the ones this was rendered from.
+     */
+    public boolean isRenderedFrom(EmailTemplate emailTemplate) {
+
+        return Objects.equals(sourceBody, emailTemplate.getBody()) &&
+                Objects.equals(sourceSubject, emailTemplate.getSubject()) &&
+                Objects.equals(sourceFooter, emailTemplate.getFooter());
+    }
+
+    public String getSubject() {
+
+        return subject;
+    }
+
+    public String getBody() {
+
+        return body;
+    }
+
+    public String getFooter() {
+
+        return footer;
+    }
+
+    /**
+     * Get the compiled form of the partially rendered subject, body and footer.
+     *
+     * @return Compiled content.
+     */
+    public CompiledTemplateContent getCompiledContent() {
+
+        CompiledTemplateContent content = compiledContent;
+        if (content == null) {
+            content = CompiledTemplateContent.of(subject, body, footer);
+            compiledContent = content;
+        }
+        return content;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.model;
+
+import org.wso2.carbon.email.mgt.util.CompiledTemplate;
+import org.wso2.carbon.email.mgt.util.CompiledTemplateContent;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Immutable set of placeholders used in the subject, body and footer of a notification template, classified by the
+ * family of values they resolve to. The manifest of a template is built from its compiled content and kept along with
+ * it, see {@link CompiledTemplateContent#getPlaceholderManifest()}, so resolving placeholder values for a notification
+ * does not need to scan the template text.
+ */
+public final class PlaceholderManifest implements Serializable {
+
+    private static final long serialVersionUID = -2870932655467614375L;
+
+    public static final String CONFIG_PLACEHOLDER_PREFIX = "server.placeholder";
+    public static final String BRANDING_PLACEHOLDER_PREFIX = "organization.";
+    public static final String ORGANIZATION_NAME_PLACEHOLDER = "organization-name";
+    public static final String USER_CLAIM_PLACEHOLDER_PREFIX = "user.claim";
+    public static final String IDENTITY_CLAIM_PLACEHOLDER_PREFIX = "user.claim.identity";
+
+    private final Set<String> placeholders;
+    private final Set<String> configPlaceholders;
+    private final Set<String> brandingPlaceholders;
+    private final Set<String> userClaimPlaceholders;
+    private final Set<String> identityClaimPlaceholders;
+    private final Set<String> urlPlaceholders;
+
+    private PlaceholderManifest(Set<String> placeholders) {
+
+        Set<String> config = new LinkedHashSet<>();
+        Set<String> branding = new LinkedHashSet<>();
+        Set<String> userClaims = new LinkedHashSet<>();
+        Set<String> identityClaims = new LinkedHashSet<>();
+        Set<String> urls = new LinkedHashSet<>();
+        for (String placeholder : placeholders) {
+            if (placeholder.startsWith(CompiledTemplate.URL_PLACEHOLDER_PREFIX)) {
+                urls.add(placeholder);
+            }
+            if (placeholder.startsWith(CONFIG_PLACEHOLDER_PREFIX)) {
+                config.add(placeholder);
+            }
+            if (placeholder.startsWith(BRANDING_PLACEHOLDER_PREFIX) ||
+                    ORGANIZATION_NAME_PLACEHOLDER.equals(placeholder)) {
+                branding.add(placeholder);
+            }
+            // Claim placeholders are matched anywhere in the name so that {{url:user.claim.x}} is resolved as well.
+            if (placeholder.contains(IDENTITY_CLAIM_PLACEHOLDER_PREFIX)) {
+                identityClaims.add(placeholder);
+            } else if (placeholder.contains(USER_CLAIM_PLACEHOLDER_PREFIX)) {
+                userClaims.add(placeholder);
+            }
+        }
+        this.placeholders = Collections.unmodifiableSet(placeholders);
+        this.configPlaceholders = Collections.unmodifiableSet(config);
+        this.brandingPlaceholders = Collections.unmodifiableSet(branding);
+        this.userClaimPlaceholders = Collections.unmodifiableSet(userClaims);
+        this.identityClaimPlaceholders = Collections.unmodifiableSet(identityClaims);
+        this.urlPlaceholders = Collections.unmodifiableSet(urls);
+    }
+
+    /**
+     * Get the placeholder manifest of a notification template.
+     *
+     * @param notificationTemplate Notification template.
+     * @return Placeholder manifest.
+     */
+    public static PlaceholderManifest of(NotificationTemplate notificationTemplate) {
+
+        return of(notificationTemplate.getSubject(), notificationTemplate.getBody(), notificationTemplate.getFooter());
+    }
+
+    /**
+     * Get the placeholder manifest of the given template content.
+     *
+     * @param subject Template subject. Can be null.
+     * @param body    Template body. Can be null.
+     * @param footer  Template footer. Can be null.
+     * @return Placeholder manifest.
+     */
+    public static PlaceholderManifest of(String subject, String body, String footer) {
+
+        return CompiledTemplateContent.of(subject, body, footer).getPlaceholderManifest();
+    }
+
+    /**
+     * Build the placeholder manifest of the given compiled template content.
+     *
+     * @param compiledContent Compiled template content.
+     * @return Placeholder manifest.
+     */
+    public static PlaceholderManifest of(CompiledTemplateContent compiledContent) {
+
+        Set<String> placeholders = new LinkedHashSet<>();
+        addPlaceholders(compiledContent.getBody(), placeholders);
+        addPlaceholders(compiledContent.getSubject(), placeholders);
+        addPlaceholders(compiledContent.getFooter(), placeholders);
+        return new PlaceholderManifest(placeholders);
+    }
+
+    private static void addPlaceholders(CompiledTemplate compiledTemplate, Set<String> placeholders) {
+
+        if (compiledTemplate != null) {
+            placeholders.addAll(compiledTemplate.getPlaceholders());
+        }
+    }
+
+    /**
+     * Check whether the template uses the given placeholder.
+     *
+     * @param placeholder Placeholder name.
+     * @return True if the placeholder is used in the template.
+     */
+    public boolean contains(String placeholder) {
+
+        return placeholders.contains(placeholder);
+    }
+
+    /**
+     * Get all placeholders used in the template.
+     *
+     * @return Placeholder names, including any {{url:}} prefix.
+     */
+    public Set<String> getPlaceholders() {
+
+        return placeholders;
+    }
+
+    /**
+     * Get the placeholders resolved from the placeholder values in the identity config file.
+     *
+     * @return Config file placeholders.
+     */
+    public Set<String> getConfigPlaceholders() {
+
+        return configPlaceholders;
+    }
+
+    /**
+     * Get the placeholders resolved from the organization branding preferences.
+     *
+     * @return Branding placeholders.
+     */
+    public Set<String> getBrandingPlaceholders() {
+
+        return brandingPlaceholders;
+    }
+
+    /**
+     * Get the placeholders resolved from user claims, excluding identity claims.
+     *
+     * @return User claim placeholders.
+     */
+    public Set<String> getUserClaimPlaceholders() {
+
+        return userClaimPlaceholders;
+    }
+
+    /**
+     * Get the placeholders resolved from user identity claims.
+     *
+     * @return Identity claim placeholders.
+     */
+    public Set<String> getIdentityClaimPlaceholders() {
+
+        return identityClaimPlaceholders;
+    }
+
+    /**
+     * Get the placeholders whose values are URL encoded.
+     *
+     * @return URL placeholders, including the {{url:}} prefix.
+     */
+    public Set<String> getUrlPlaceholders() {
+
+        return urlPlaceholders;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.model;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Template types and the organization and application templates with user defined content, of a notification
+ * channel of a tenant. The manifest is loaded with a single query, so existence checks and lookups of templates
+ * served from the system defaults are answered without querying the template tables. Manifests are immutable, and a
+ * write is reflected by replacing the manifest with an updated copy.
+ */
+public final class TemplateOverrideManifest implements Serializable {
+
+    private static final long serialVersionUID = 7391626010482263478L;
+
+    // Display names of the template types, keyed by the template type key.
+    private final Map<String, String> templateTypes;
+    // Templates with user defined content, keyed by the template type key.
+    private final Map<String, Set<TemplateKey>> templates;
+
+    private TemplateOverrideManifest(Map<String, String> templateTypes, Map<String, Set<TemplateKey>> templates) {
+
+        this.templateTypes = templateTypes;
+        this.templates = templates;
+    }
+
+    /**
+     * Check whether the template type exists.
+     *
+     * @param templateType Template type key or display name.
+     * @return True if the template type exists.
+     */
+    public boolean containsTemplateType(String templateType) {
+
+        return templateTypes.containsKey(templateType.toLowerCase());
+    }
+
+    /**
+     * Get the display names of the template types.
+     *
+     * @return Template type display names.
+     */
+    public List<String> getTemplateTypeDisplayNames() {
+
+        return new ArrayList<>(templateTypes.values());
+    }
+
+    /**
+     * Check whether a template with user defined content exists for the given template type and locale.
+     *
+     * @param templateType    Template type key or display name.
+     * @param locale          Locale of the template.
+     * @param applicationUuid Application UUID, or null for the organization template.
+     * @return True if the template exists.
+     */
+    public boolean containsTemplate(String templateType, String locale, String applicationUuid) {
+
+        Set<TemplateKey> templateKeys = templates.get(templateType.toLowerCase());
+        return templateKeys != null && templateKeys.contains(new TemplateKey(locale, applicationUuid));
+    }
+
+    /**
+     * Check whether any template with user defined content exists for the given template type.
+     *
+     * @param templateType    Template type key or display name.
+     * @param applicationUuid Application UUID, or null for the organization templates.
+     * @return True if a template exists in any locale.
+     */
+    public boolean containsTemplates(String templateType, String applicationUuid) {
+
+        Set<TemplateKey> templateKeys = templates.get(templateType.toLowerCase());
+        if (templateKeys == null) {
+            return false;
+        }
+        String application = normalizeApplication(applicationUuid);
+        for (TemplateKey templateKey : templateKeys) {
+            if (Objects.equals(templateKey.applicationUuid, application)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public TemplateOverrideManifest withTemplateType(String templateType, String displayName) {
+
+        Map<String, String> updatedTemplateTypes = new HashMap<>(templateTypes);
+        updatedTemplateTypes.put(templateType.toLowerCase(), displayName);
+        return new TemplateOverrideManifest(updatedTemplateTypes, templates);
+    }
+
+    /**
+     * Get a copy of the manifest without the given template type and its templates.
+     *
+     * @param templateType Template type key or display name.
+     * @return Updated manifest.
+     */
+    public TemplateOverrideManifest withoutTemplateType(String templateType) {
+
+        Map<String, String> updatedTemplateTypes = new HashMap<>(templateTypes);
+        updatedTemplateTypes.remove(templateType.toLowerCase());
+        Map<String, Set<TemplateKey>> updatedTemplates = new HashMap<>(templates);
+        updatedTemplates.remove(templateType.toLowerCase());
+        return new TemplateOverrideManifest(updatedTemplateTypes, updatedTemplates);
+    }
+
+    public TemplateOverrideManifest withTemplate(String templateType, String locale, String applicationUuid) {
+
+        Set<TemplateKey> templateKeys = new HashSet<>(getTemplateKeys(templateType));
+        templateKeys.add(new TemplateKey(locale, applicationUuid));
+        return withTemplateKeys(templateType, templateKeys);
+    }
+
+    public TemplateOverrideManifest withoutTemplate(String templateType, String locale, String applicationUuid) {
+
+        Set<TemplateKey> templateKeys = new HashSet<>(getTemplateKeys(templateType));
+        templateKeys.remove(new TemplateKey(locale, applicationUuid));
+        return withTemplateKeys(templateType, templateKeys);
+    }
+
+    /**
+     * Get a copy of the manifest without the templates of the given template type and application.
+     *
+     * @param templateType    Template type key or display name.
+     * @param applicationUuid Application UUID, or null to remove the organization templates.
+     * @return Updated manifest.
+     */
+    public TemplateOverrideManifest withoutTemplates(String templateType, String applicationUuid) {
+
+        String application = normalizeApplication(applicationUuid);
+        Set<TemplateKey> templateKeys = new HashSet<>(getTemplateKeys(templateType));
+        templateKeys.removeIf(templateKey -> Objects.equals(templateKey.applicationUuid, application));
+        return withTemplateKeys(templateType, templateKeys);
+    }
+
+    /**
+     * Get a copy of the manifest without the application templates of the given template type, of all applications.
+     *
+     * @param templateType Template type key or display name.
+     * @return Updated manifest.
+     */
+    public TemplateOverrideManifest withoutApplicationTemplates(String templateType) {
+
+        Set<TemplateKey> templateKeys = new HashSet<>(getTemplateKeys(templateType));
+        templateKeys.removeIf(templateKey -> templateKey.applicationUuid != null);
+        return withTemplateKeys(templateType, templateKeys);
+    }
+
+    private Set<TemplateKey> getTemplateKeys(String templateType) {
+
+        Set<TemplateKey> templateKeys = templates.get(templateType.toLowerCase());
+        return templateKeys != null ? templateKeys : Collections.emptySet();
+    }
+
+    private TemplateOverrideManifest withTemplateKeys(String templateType, Set<TemplateKey> templateKeys) {
+
+        Map<String, Set<TemplateKey>> updatedTemplates = new HashMap<>(templates);
+        if (templateKeys.isEmpty()) {
+            updatedTemplates.remove(templateType.toLowerCase());
+        } else {
+            updatedTemplates.put(templateType.toLowerCase(), templateKeys);
+        }
+        return new TemplateOverrideManifest(templateTypes, updatedTemplates);
+    }
+
+    private static String normalizeApplication(String applicationUuid) {
+
+        return StringUtils.isBlank(applicationUuid) ? null : applicationUuid;
+    }
+
+    /**
+     * Builder used to load a manifest from the storage.
+     */
+    public static class Builder {
+
+        private final Map<String, String> templateTypes = new HashMap<>();
+        private final Map<String, Set<TemplateKey>> templates = new HashMap<>();
+
+        public Builder addTemplateType(String templateType, String displayName) {
+
+            templateTypes.put(templateType.toLowerCase(), displayName);
+            return this;
+        }
+
+        public Builder addTemplate(String templateType, String locale, String applicationUuid) {
+
+            templates.computeIfAbsent(templateType.toLowerCase(), key -> new HashSet<>())
+                    .add(new TemplateKey(locale, applicationUuid));
+            return this;
+        }
+
+        public TemplateOverrideManifest build() {
+
+            return new TemplateOverrideManifest(new HashMap<>(templateTypes), new HashMap<>(templates));
+        }
+    }
+
+    /**
+     * Locale and application of a template. Locales are compared in lower case, as the templates are keyed in the
+     * storage.
+     */
+    private static final class TemplateKey implements Serializable {
+
+        private static final long serialVersionUID = -1284660358011493652L;
+
+        private final String locale;
+        private final String applicationUuid;
+
+        private TemplateKey(String locale, String applicationUuid) {
+
+            this.locale = locale.toLowerCase();
+            this.applicationUuid = normalizeApplication(applicationUuid);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TemplateKey that = (TemplateKey) o;
+            return Objects.equals(locale, that.locale) && Objects.equals(applicationUuid, that.applicationUuid);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(locale, applicationUuid);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.model;
+
+import org.wso2.carbon.email.mgt.util.CompiledTemplateContent;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import java.io.Serializable;
+
+/**
+ * Notification template resolved through the application, organization and system default templates, along with the
+ * level and the locale it was resolved from. The compiled content of the template is kept along with the resolution,
+ * so that a resolution served from the {@link org.wso2.carbon.email.mgt.cache.TemplateResolutionCache} is compiled
+ * only once.
+ */
+public final class TemplateResolution implements Serializable {
+
+    private static final long serialVersionUID = -4375512204370868315L;
+
+    /**
+     * Level of the template fallback chain a template was resolved from.
+     */
+    public enum Level {
+        APPLICATION,
+        ORGANIZATION,
+        SYSTEM_DEFAULT
+    }
+
+    private final NotificationTemplate template;
+    private final Level level;
+    private final String locale;
+    private transient volatile CompiledTemplateContent compiledContent;
+
+    public TemplateResolution(NotificationTemplate template, Level level, String locale) {
+
+        this.template = template;
+        this.level = level;
+        this.locale = locale;
+    }
+
+    public NotificationTemplate getTemplate() {
+
+        return template;
+    }
+
+    public Level getLevel() {
+
+        return level;
+    }
+
+    /**
+     * Get the locale the template was resolved in, which is the default locale if the template is not available in
+     * the requested locale.
+     *
+     * @return Locale of the resolved template.
+     */
+    public String getLocale() {
+
+        return locale;
+    }
+
+    /**
+     * Get the compiled subject, body and footer of the resolved template.
+     *
+     * @return Compiled content of the template.
+     */
+    public CompiledTemplateContent getCompiledContent() {
+
+        CompiledTemplateContent content = compiledContent;
+        if (content == null || !content.isCompiledFrom(template.getSubject(), template.getBody(),
+                template.getFooter())) {
+            content = CompiledTemplateContent.of(template.getSubject(), template.getBody(), template.getFooter());
+            compiledContent = content;
+        }
+        return content;
+    }
+}
@@ -22,12 +22,16 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.email.mgt.model.NotificationTemplateKey;
+import org.wso2.carbon.email.mgt.model.NotificationTemplatePage;
 import org.wso2.carbon.email.mgt.store.dao.AppNotificationTemplateDAO;
 import org.wso2.carbon.email.mgt.store.dao.cache.CacheBackedAppNotificationTemplateDAO;
 import org.wso2.carbon.email.mgt.store.dao.cache.CacheBackedNotificationTypeDAO;
 import org.wso2.carbon.email.mgt.store.dao.NotificationTypeDAO;
 import org.wso2.carbon.email.mgt.store.dao.OrgNotificationTemplateDAO;
+import org.wso2.carbon.email.mgt.store.dao.TemplateOverrideManifestDAO;
 import org.wso2.carbon.email.mgt.store.dao.cache.CacheBackedOrgNotificationTemplateDAO;
+import org.wso2.carbon.email.mgt.store.dao.cache.CacheBackedTemplateOverrideManifestDAO;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import org.wso2.carbon.user.api.UserStoreException;
@@ -35,18 +39,29 @@ import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * This class is responsible for managing the notification templates in the database.
+ * Existence checks and listings are answered from the template override manifest of the channel, so the template
+ * tables are queried only for templates known to exist.
  */
 public class DBBasedTemplateManager implements TemplatePersistenceManager {
 
     private static final Log log = LogFactory.getLog(DBBasedTemplateManager.class);
+    private static final int TEMPLATE_IMPORT_CHUNK_SIZE = 100;
 
     private final NotificationTypeDAO notificationTypeDAO = new CacheBackedNotificationTypeDAO();
     private final OrgNotificationTemplateDAO orgNotificationTemplateDAO = new CacheBackedOrgNotificationTemplateDAO();
     private final AppNotificationTemplateDAO appNotificationTemplateDAO = new CacheBackedAppNotificationTemplateDAO();
+    private final TemplateOverrideManifestDAO templateOverrideManifestDAO =
+            new CacheBackedTemplateOverrideManifestDAO();
 
     @Override
     public void addNotificationTemplateType(String displayName, String notificationChannel, String tenantDomain)
@@ -70,9 +85,8 @@ public class DBBasedTemplateManager implements TemplatePersistenceManager {
         String templateTypeKey = displayName.toLowerCase();
         int tenantId = getTenantId(tenantDomain);
 
-        String templateTypeDisplayName =
-                notificationTypeDAO.getNotificationTemplateType(templateTypeKey, notificationChannel, tenantId);
-        boolean isNotificationTemplateTypeExists = StringUtils.isNotBlank(templateTypeDisplayName);
+        boolean isNotificationTemplateTypeExists = templateOverrideManifestDAO
+                .getTemplateOverrideManifest(notificationChannel, tenantId).containsTemplateType(templateTypeKey);
 
         if (log.isDebugEnabled()) {
             log.debug(String.format("%s template type: %s for tenant: %s is exists: %s.",
@@ -86,8 +100,9 @@ public class DBBasedTemplateManager implements TemplatePersistenceManager {
     public List<String> listNotificationTemplateTypes(String notificationChannel, String tenantDomain)
             throws NotificationTemplateManagerServerException {
 
-        List<String> templateTypesDisplayNames =
-                notificationTypeDAO.listNotificationTemplateTypes(notificationChannel, getTenantId(tenantDomain));
+        List<String> templateTypesDisplayNames = templateOverrideManifestDAO
+                .getTemplateOverrideManifest(notificationChannel, getTenantId(tenantDomain))
+                .getTemplateTypeDisplayNames();
 
         if (log.isDebugEnabled()) {
             log.debug(String.format("%s template types for tenant: %s successfully listed.",
@@ -164,6 +179,55 @@ public class DBBasedTemplateManager implements TemplatePersistenceManager {
         }
     }
 
+    @Override
+    public void addOrUpdateNotificationTemplates(List<NotificationTemplate> notificationTemplates,
+                                                 String applicationUuid, String tenantDomain)
+            throws NotificationTemplateManagerServerException {
+
+        int tenantId = getTenantId(tenantDomain);
+
+        Set<String> templateTypes = new HashSet<>();
+        for (NotificationTemplate notificationTemplate : notificationTemplates) {
+            String displayName = notificationTemplate.getDisplayName();
+            String notificationChannel = notificationTemplate.getNotificationChannel();
+            if (templateTypes.add(notificationChannel + ":" + displayName.toLowerCase()) &&
+                    !isNotificationTemplateTypeExists(displayName, notificationChannel, tenantDomain)) {
+                addNotificationTemplateType(displayName, notificationChannel, tenantDomain);
+            }
+        }
+
+        // Each chunk is stored in its own transaction, so that a large import does not hold a long running
+        // transaction, and the caches are updated once per chunk.
+        for (int from = 0; from < notificationTemplates.size(); from += TEMPLATE_IMPORT_CHUNK_SIZE) {
+            List<NotificationTemplate> chunk = notificationTemplates.subList(from,
+                    Math.min(from + TEMPLATE_IMPORT_CHUNK_SIZE, notificationTemplates.size()));
+            if (StringUtils.isBlank(applicationUuid)) {
+                orgNotificationTemplateDAO.addOrUpdateNotificationTemplates(chunk, tenantId);
+            } else {
+                appNotificationTemplateDAO.addOrUpdateNotificationTemplates(chunk, applicationUuid, tenantId);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("%d templates of application: %s for tenant: %s successfully added or " +
+                        "updated.", chunk.size(), applicationUuid, tenantDomain));
+            }
+        }
+    }
+
+    @Override
+    public void exportNotificationTemplates(String notificationChannel, String applicationUuid, String tenantDomain,
+                                            Consumer<NotificationTemplate> templateConsumer)
+            throws NotificationTemplateManagerServerException {
+
+        int tenantId = getTenantId(tenantDomain);
+
+        if (StringUtils.isBlank(applicationUuid)) {
+            orgNotificationTemplateDAO.exportNotificationTemplates(notificationChannel, tenantId, templateConsumer);
+        } else {
+            appNotificationTemplateDAO.exportNotificationTemplates(notificationChannel, applicationUuid, tenantId,
+                    templateConsumer);
+        }
+    }
+
     @Override
     public boolean isNotificationTemplateExists(String displayName, String locale, String notificationChannel,
                                                 String applicationUuid, String tenantDomain)
@@ -172,22 +236,16 @@ public class DBBasedTemplateManager implements TemplatePersistenceManager {
         String templateTypeKey = displayName.toLowerCase();
         int tenantId = getTenantId(tenantDomain);
 
-        boolean isNotificationTemplateExists;
+        boolean isNotificationTemplateExists = templateOverrideManifestDAO
+                .getTemplateOverrideManifest(notificationChannel, tenantId)
+                .containsTemplate(templateTypeKey, locale, applicationUuid);
         if (StringUtils.isBlank(applicationUuid)) {
-            isNotificationTemplateExists =
-                    orgNotificationTemplateDAO.isNotificationTemplateExists(locale, templateTypeKey,
-                            notificationChannel, tenantId);
-
             if (log.isDebugEnabled()) {
                 log.debug(String.format(
                         "Org %s template with locale: %s for type: %s for tenant: %s is exists: %s.",
                         notificationChannel, locale, displayName, tenantDomain, isNotificationTemplateExists));
             }
         } else {
-            isNotificationTemplateExists =
-                    appNotificationTemplateDAO.isNotificationTemplateExists(locale, templateTypeKey, notificationChannel,
-                            applicationUuid, tenantId);
-
             if (log.isDebugEnabled()) {
                 log.debug(String.format("App %s template with locale: %s for type: %s for application: %s " +
                                 "for tenant: %s is exists: %s.", notificationChannel, locale, displayName,
@@ -206,6 +264,16 @@ public class DBBasedTemplateManager implements TemplatePersistenceManager {
         String templateTypeKey = displayName.toLowerCase();
         int tenantId = getTenantId(tenantDomain);
 
+        if (!templateOverrideManifestDAO.getTemplateOverrideManifest(notificationChannel, tenantId)
+                .containsTemplate(templateTypeKey, locale, applicationUuid)) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("%s template with locale: %s for type: %s for application: %s for tenant: %s " +
+                                "is not in the template override manifest.", notificationChannel, locale, displayName,
+                        applicationUuid, tenantDomain));
+            }
+            return null;
+        }
+
         NotificationTemplate notificationTemplate;
         if (StringUtils.isBlank(applicationUuid)) {
             notificationTemplate =
@@ -231,6 +299,47 @@ public class DBBasedTemplateManager implements TemplatePersistenceManager {
         return notificationTemplate;
     }
 
+    @Override
+    public Map<NotificationTemplateKey, NotificationTemplate> getNotificationTemplates(
+            Collection<NotificationTemplateKey> templateKeys, String tenantDomain)
+            throws NotificationTemplateManagerServerException {
+
+        int tenantId = getTenantId(tenantDomain);
+
+        // Templates which are not in the template override manifest are not looked up in the storage.
+        List<NotificationTemplateKey> orgTemplateKeys = new ArrayList<>();
+        List<NotificationTemplateKey> appTemplateKeys = new ArrayList<>();
+        for (NotificationTemplateKey templateKey : templateKeys) {
+            if (!templateOverrideManifestDAO.getTemplateOverrideManifest(templateKey.getNotificationChannel(),
+                    tenantId).containsTemplate(templateKey.getDisplayName(), templateKey.getLocale(),
+                    templateKey.getApplicationUuid())) {
+                continue;
+            }
+            if (templateKey.getApplicationUuid() == null) {
+                orgTemplateKeys.add(templateKey);
+            } else {
+                appTemplateKeys.add(templateKey);
+            }
+        }
+
+        Map<NotificationTemplateKey, NotificationTemplate> notificationTemplates = new HashMap<>();
+        if (!orgTemplateKeys.isEmpty()) {
+            notificationTemplates.putAll(orgNotificationTemplateDAO.getNotificationTemplates(orgTemplateKeys,
+                    tenantId));
+        }
+        if (!appTemplateKeys.isEmpty()) {
+            notificationTemplates.putAll(appNotificationTemplateDAO.getNotificationTemplates(appTemplateKeys,
+                    tenantId));
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("%s of %s templates for tenant: %s successfully retrieved.",
+                    notificationTemplates.size(), templateKeys.size(), tenantDomain));
+        }
+
+        return notificationTemplates;
+    }
+
     @Override
     public List<NotificationTemplate> listNotificationTemplates(String templateType, String notificationChannel,
                                                                 String applicationUuid, String tenantDomain)
@@ -238,6 +347,11 @@ public class DBBasedTemplateManager implements TemplatePersistenceManager {
 
         int tenantId = getTenantId(tenantDomain);
 
+        if (!templateOverrideManifestDAO.getTemplateOverrideManifest(notificationChannel, tenantId)
+                .containsTemplates(templateType, applicationUuid)) {
+            return new ArrayList<>();
+        }
+
         List<NotificationTemplate> notificationTemplates;
         if (StringUtils.isBlank(applicationUuid)) {
             notificationTemplates =
@@ -277,6 +391,38 @@ public class DBBasedTemplateManager implements TemplatePersistenceManager {
         return templateList;
     }
 
+    @Override
+    public NotificationTemplatePage getNotificationTemplatePage(String templateType, String notificationChannel,
+                                                                String applicationUuid, String tenantDomain,
+                                                                NotificationTemplatePage.Projection projection,
+                                                                String cursor, int limit)
+            throws NotificationTemplateManagerServerException {
+
+        if (limit < 1) {
+            throw new NotificationTemplateManagerServerException("Invalid page size: " + limit);
+        }
+        // The cursor is the row id of the last template of the previous page.
+        int afterId;
+        try {
+            afterId = cursor == null ? 0 : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new NotificationTemplateManagerServerException("Invalid page cursor: " + cursor, e);
+        }
+        int tenantId = getTenantId(tenantDomain);
+
+        if (templateType != null && !templateOverrideManifestDAO.getTemplateOverrideManifest(notificationChannel,
+                tenantId).containsTemplates(templateType, applicationUuid)) {
+            return new NotificationTemplatePage(new ArrayList<>(), null);
+        }
+
+        if (StringUtils.isBlank(applicationUuid)) {
+            return orgNotificationTemplateDAO.getNotificationTemplatePage(templateType, notificationChannel, tenantId,
+                    projection, afterId, limit);
+        }
+        return appNotificationTemplateDAO.getNotificationTemplatePage(templateType, notificationChannel,
+                applicationUuid, tenantId, projection, afterId, limit);
+    }
+
     @Override
     public void deleteNotificationTemplate(String displayName, String locale, String notificationChannel,
                                            String applicationUuid, String tenantDomain)
@@ -24,10 +24,12 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCache;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtException;
 import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
 import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
+import org.wso2.carbon.email.mgt.util.OrganizationContextUtil;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.core.persistence.registry.RegistryResourceMgtService;
 import org.wso2.carbon.identity.governance.IdentityMgtConstants;
@@ -40,6 +42,7 @@ import org.wso2.carbon.registry.core.RegistryConstants;
 import org.wso2.carbon.registry.core.Resource;
 import org.wso2.carbon.registry.core.ResourceImpl;
 import org.wso2.carbon.registry.core.exceptions.RegistryException;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -132,6 +135,7 @@ public class RegistryBasedTemplateManager implements TemplatePersistenceManager
         } catch (IdentityRuntimeException e) {
             throw new NotificationTemplateManagerServerException("Error while deleting notification template type.", e);
         }
+        clearResolvedTemplates(tenantDomain);
     }
 
     @Override
@@ -160,6 +164,7 @@ public class RegistryBasedTemplateManager implements TemplatePersistenceManager
         } catch (IdentityRuntimeException e) {
             throw new NotificationTemplateManagerServerException("Error while adding notification template.", e);
         }
+        clearResolvedTemplates(tenantDomain);
     }
 
     @Override
@@ -264,6 +269,7 @@ public class RegistryBasedTemplateManager implements TemplatePersistenceManager
                     locale, tenantDomain);
             throw new NotificationTemplateManagerServerException(msg, e);
         }
+        clearResolvedTemplates(tenantDomain);
     }
 
     @Override
@@ -294,6 +300,7 @@ public class RegistryBasedTemplateManager implements TemplatePersistenceManager
         } catch (IdentityRuntimeException | RegistryException e) {
             throw new NotificationTemplateManagerServerException("Error while deleting notification templates.", e);
         }
+        clearResolvedTemplates(tenantDomain);
     }
 
     @Override
@@ -311,6 +318,20 @@ public class RegistryBasedTemplateManager implements TemplatePersistenceManager
         } catch (IdentityRuntimeException | RegistryException e) {
             throw new NotificationTemplateManagerServerException("Error while deleting notification templates.", e);
         }
+        clearResolvedTemplates(tenantDomain);
+    }
+
+    /**
+     * Clear the template resolutions of the tenant, since they may have been resolved from a template that changed.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    private void clearResolvedTemplates(String tenantDomain) {
+
+        int tenantId = OrganizationContextUtil.getTenantId(tenantDomain);
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            TemplateResolutionCache.getInstance().clear(tenantId);
+        }
     }
 
     /**
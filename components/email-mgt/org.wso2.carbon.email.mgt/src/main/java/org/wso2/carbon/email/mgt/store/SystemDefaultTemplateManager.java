@@ -239,6 +239,7 @@ public class SystemDefaultTemplateManager implements TemplatePersistenceManager
 
     /**
      * Populates the in-memory store with default templates, organizing them by display name and locale.
+     * Placeholder manifests of the default templates are built up front as well.
      *
      * @param templates The list of templates to populate the store with.
      * @return A map of template display names to maps of locale to templates.
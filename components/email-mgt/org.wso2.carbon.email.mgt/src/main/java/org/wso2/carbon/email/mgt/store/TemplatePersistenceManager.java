@@ -18,10 +18,19 @@
 
 package org.wso2.carbon.email.mgt.store;
 
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.email.mgt.model.NotificationTemplateKey;
+import org.wso2.carbon.email.mgt.model.NotificationTemplatePage;
+import org.wso2.carbon.email.mgt.model.TemplateResolution;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This interface is used to manage the persistence of notification templates.
@@ -97,6 +106,24 @@ public interface TemplatePersistenceManager {
     void addOrUpdateNotificationTemplate(NotificationTemplate notificationTemplate, String applicationUuid,
                                          String tenantDomain) throws NotificationTemplateManagerServerException;
 
+    /**
+     * Update the given notification templates if they exist, or add them if they do not exist. Implementations backed
+     * by a database store the templates in chunks, with batched statements and a single transaction per chunk.
+     *
+     * @param notificationTemplates Notification templates.
+     * @param applicationUuid       Application UUID. Can be null to store organization templates.
+     * @param tenantDomain          Tenant domain.
+     * @throws NotificationTemplateManagerServerException If an error occurred while adding or updating the templates.
+     */
+    default void addOrUpdateNotificationTemplates(List<NotificationTemplate> notificationTemplates,
+                                                  String applicationUuid, String tenantDomain)
+            throws NotificationTemplateManagerServerException {
+
+        for (NotificationTemplate notificationTemplate : notificationTemplates) {
+            addOrUpdateNotificationTemplate(notificationTemplate, applicationUuid, tenantDomain);
+        }
+    }
+
     /**
      * Check whether the specified notification template exists.
      *
@@ -127,6 +154,71 @@ public interface TemplatePersistenceManager {
                                                  String applicationUuid, String tenantDomain)
             throws NotificationTemplateManagerServerException;
 
+    /**
+     * Get the specified notification templates. Implementations backed by a database fetch the templates with a
+     * single query per template table, instead of a query per template.
+     *
+     * @param templateKeys          Keys of the templates. Keys without an application UUID refer to organization
+     *                              templates.
+     * @param tenantDomain          Tenant domain.
+     * @return Templates keyed by the given keys. Templates which do not exist are not included.
+     * @throws NotificationTemplateManagerServerException If an error occurred while retrieving the templates.
+     */
+    default Map<NotificationTemplateKey, NotificationTemplate> getNotificationTemplates(
+            Collection<NotificationTemplateKey> templateKeys, String tenantDomain)
+            throws NotificationTemplateManagerServerException {
+
+        Map<NotificationTemplateKey, NotificationTemplate> notificationTemplates = new HashMap<>();
+        for (NotificationTemplateKey templateKey : templateKeys) {
+            NotificationTemplate notificationTemplate = getNotificationTemplate(templateKey.getDisplayName(),
+                    templateKey.getLocale(), templateKey.getNotificationChannel(), templateKey.getApplicationUuid(),
+                    tenantDomain);
+            if (notificationTemplate != null) {
+                notificationTemplates.put(templateKey, notificationTemplate);
+            }
+        }
+        return notificationTemplates;
+    }
+
+    /**
+     * Resolve a notification template by walking the template fallback chain once. The application template in the
+     * given locale is looked up first, followed by the organization template in the given locale and then the
+     * organization template in the default locale.
+     *
+     * @param displayName           Display Name.
+     * @param locale                Locale of the template.
+     * @param defaultLocale         Locale to fall back to if the template is not available in the given locale.
+     * @param notificationChannel   Notification channel.
+     * @param applicationUuid       Application UUID. Can be null to resolve an organization template.
+     * @param tenantDomain          Tenant domain.
+     * @return Resolved template along with the level it was resolved from, or null if no template is found.
+     * @throws NotificationTemplateManagerServerException If an error occurred while retrieving the template.
+     */
+    default TemplateResolution resolveTemplate(String displayName, String locale, String defaultLocale,
+                                               String notificationChannel, String applicationUuid,
+                                               String tenantDomain) throws NotificationTemplateManagerServerException {
+
+        if (StringUtils.isNotBlank(applicationUuid)) {
+            NotificationTemplate notificationTemplate = getNotificationTemplate(displayName, locale,
+                    notificationChannel, applicationUuid, tenantDomain);
+            if (notificationTemplate != null) {
+                return new TemplateResolution(notificationTemplate, TemplateResolution.Level.APPLICATION, locale);
+            }
+        }
+        NotificationTemplate notificationTemplate = getNotificationTemplate(displayName, locale, notificationChannel,
+                null, tenantDomain);
+        if (notificationTemplate != null) {
+            return new TemplateResolution(notificationTemplate, TemplateResolution.Level.ORGANIZATION, locale);
+        }
+        if (StringUtils.equalsIgnoreCase(locale, defaultLocale)) {
+            return null;
+        }
+        notificationTemplate = getNotificationTemplate(displayName, defaultLocale, notificationChannel, null,
+                tenantDomain);
+        return notificationTemplate == null ? null :
+                new TemplateResolution(notificationTemplate, TemplateResolution.Level.ORGANIZATION, defaultLocale);
+    }
+
     /**
      * Get the list of notification templates for given template type, channel, application and tenant.
      *
@@ -152,6 +244,84 @@ public interface TemplatePersistenceManager {
     List<NotificationTemplate> listAllNotificationTemplates(String notificationChannel, String tenantDomain)
             throws NotificationTemplateManagerServerException;
 
+    /**
+     * Get a page of the notification templates of the given channel and application. Implementations backed by a
+     * database select only the templates of the page with a keyset paginated query, instead of loading all the
+     * templates of the tenant.
+     *
+     * @param templateType          Template type, or null to list the templates of all the template types.
+     * @param notificationChannel   Notification channel.
+     * @param applicationUuid       Application UUID. Can be null to list organization templates.
+     * @param tenantDomain          Tenant domain.
+     * @param projection            Fields of the templates to include in the page.
+     * @param cursor                Cursor of the page returned with the previous page, or null to get the first page.
+     * @param limit                 Maximum number of templates in the page.
+     * @return Page of notification templates.
+     * @throws NotificationTemplateManagerServerException If the cursor or the limit is invalid, or if an error
+     *                                                    occurred while retrieving the templates.
+     */
+    default NotificationTemplatePage getNotificationTemplatePage(String templateType, String notificationChannel,
+                                                                 String applicationUuid, String tenantDomain,
+                                                                 NotificationTemplatePage.Projection projection,
+                                                                 String cursor, int limit)
+            throws NotificationTemplateManagerServerException {
+
+        if (limit < 1) {
+            throw new NotificationTemplateManagerServerException("Invalid page size: " + limit);
+        }
+        // All the templates are listed and the page is taken from the offset, which is used as the cursor.
+        int offset;
+        try {
+            offset = cursor == null ? 0 : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new NotificationTemplateManagerServerException("Invalid page cursor: " + cursor, e);
+        }
+        if (offset < 0) {
+            throw new NotificationTemplateManagerServerException("Invalid page cursor: " + cursor);
+        }
+        List<NotificationTemplate> notificationTemplates = new ArrayList<>();
+        if (templateType != null) {
+            notificationTemplates.addAll(listNotificationTemplates(templateType, notificationChannel,
+                    applicationUuid, tenantDomain));
+        } else if (StringUtils.isBlank(applicationUuid)) {
+            notificationTemplates.addAll(listAllNotificationTemplates(notificationChannel, tenantDomain));
+        } else {
+            for (String type : listNotificationTemplateTypes(notificationChannel, tenantDomain)) {
+                notificationTemplates.addAll(listNotificationTemplates(type, notificationChannel, applicationUuid,
+                        tenantDomain));
+            }
+        }
+
+        List<NotificationTemplate> page = new ArrayList<>();
+        int end = (int) Math.min((long) offset + limit, notificationTemplates.size());
+        for (int i = offset; i < end; i++) {
+            page.add(projection.apply(notificationTemplates.get(i)));
+        }
+        return new NotificationTemplatePage(page, end < notificationTemplates.size() ? String.valueOf(end) : null);
+    }
+
+    /**
+     * Pass each stored notification template of the given channel and application to the consumer. Implementations
+     * backed by a database read the templates with a single query and do not collect them to a list.
+     *
+     * @param notificationChannel   Notification channel.
+     * @param applicationUuid       Application UUID. Can be null to export organization templates.
+     * @param tenantDomain          Tenant domain.
+     * @param templateConsumer      Consumer of the templates.
+     * @throws NotificationTemplateManagerServerException If an error occurred while retrieving the templates.
+     */
+    default void exportNotificationTemplates(String notificationChannel, String applicationUuid, String tenantDomain,
+                                             Consumer<NotificationTemplate> templateConsumer)
+            throws NotificationTemplateManagerServerException {
+
+        for (String templateType : listNotificationTemplateTypes(notificationChannel, tenantDomain)) {
+            for (NotificationTemplate notificationTemplate : listNotificationTemplates(templateType,
+                    notificationChannel, applicationUuid, tenantDomain)) {
+                templateConsumer.accept(notificationTemplate);
+            }
+        }
+    }
+
     /**
      * Delete specified notification template.
      *
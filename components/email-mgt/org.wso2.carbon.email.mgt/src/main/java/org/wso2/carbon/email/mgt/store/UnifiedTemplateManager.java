@@ -18,15 +18,28 @@
 
 package org.wso2.carbon.email.mgt.store;
 
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCache;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCacheKey;
+import org.wso2.carbon.email.mgt.model.NotificationTemplateKey;
+import org.wso2.carbon.email.mgt.model.NotificationTemplatePage;
+import org.wso2.carbon.email.mgt.model.TemplateResolution;
+import org.wso2.carbon.email.mgt.util.OrganizationContextUtil;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * This class serves as a unified template management system that delegates the template persistence operations
@@ -35,6 +48,9 @@ import java.util.Set;
  */
 public class UnifiedTemplateManager implements TemplatePersistenceManager {
 
+    private static final Log log = LogFactory.getLog(UnifiedTemplateManager.class);
+    private static final String STORED_TEMPLATES_CURSOR_PREFIX = "s";
+    private static final String DEFAULT_TEMPLATES_CURSOR_PREFIX = "d";
     private final TemplatePersistenceManager templatePersistenceManager;
     private final SystemDefaultTemplateManager systemDefaultTemplateManager = new SystemDefaultTemplateManager();
 
@@ -119,6 +135,37 @@ public class UnifiedTemplateManager implements TemplatePersistenceManager {
         }
     }
 
+    @Override
+    public void addOrUpdateNotificationTemplates(List<NotificationTemplate> notificationTemplates,
+                                                 String applicationUuid, String tenantDomain)
+            throws NotificationTemplateManagerServerException {
+
+        List<NotificationTemplate> customizedTemplates = new ArrayList<>();
+        for (NotificationTemplate notificationTemplate : notificationTemplates) {
+            if (systemDefaultTemplateManager.hasSameTemplate(notificationTemplate)) {
+                // Templates having the system default content are not stored. Handled one by one, as a stored copy of
+                // such a template has to be deleted.
+                addOrUpdateNotificationTemplate(notificationTemplate, applicationUuid, tenantDomain);
+            } else {
+                customizedTemplates.add(notificationTemplate);
+            }
+        }
+        if (!customizedTemplates.isEmpty()) {
+            templatePersistenceManager.addOrUpdateNotificationTemplates(customizedTemplates, applicationUuid,
+                    tenantDomain);
+        }
+    }
+
+    @Override
+    public void exportNotificationTemplates(String notificationChannel, String applicationUuid, String tenantDomain,
+                                            Consumer<NotificationTemplate> templateConsumer)
+            throws NotificationTemplateManagerServerException {
+
+        // Only the stored templates are exported, as the system default templates are available in every tenant.
+        templatePersistenceManager.exportNotificationTemplates(notificationChannel, applicationUuid, tenantDomain,
+                templateConsumer);
+    }
+
     @Override
     public boolean isNotificationTemplateExists(String displayName, String locale, String notificationChannel,
                                                 String applicationUuid, String tenantDomain)
@@ -145,6 +192,109 @@ public class UnifiedTemplateManager implements TemplatePersistenceManager {
         }
     }
 
+    @Override
+    public Map<NotificationTemplateKey, NotificationTemplate> getNotificationTemplates(
+            Collection<NotificationTemplateKey> templateKeys, String tenantDomain)
+            throws NotificationTemplateManagerServerException {
+
+        Map<NotificationTemplateKey, NotificationTemplate> notificationTemplates =
+                new HashMap<>(templatePersistenceManager.getNotificationTemplates(templateKeys, tenantDomain));
+        for (NotificationTemplateKey templateKey : templateKeys) {
+            if (notificationTemplates.containsKey(templateKey)) {
+                continue;
+            }
+            NotificationTemplate notificationTemplate = systemDefaultTemplateManager.getNotificationTemplate(
+                    templateKey.getDisplayName(), templateKey.getLocale(), templateKey.getNotificationChannel(),
+                    templateKey.getApplicationUuid(), tenantDomain);
+            if (notificationTemplate != null) {
+                notificationTemplates.put(templateKey, notificationTemplate);
+            }
+        }
+        return notificationTemplates;
+    }
+
+    /**
+     * Resolve a notification template through the application template, the organization template and the system
+     * default template in the given locale, followed by the organization template and the system default template in
+     * the default locale. Resolutions are cached per tenant and the cache is cleared whenever a template of the
+     * tenant is written to the storage.
+     */
+    @Override
+    public TemplateResolution resolveTemplate(String displayName, String locale, String defaultLocale,
+                                              String notificationChannel, String applicationUuid,
+                                              String tenantDomain) throws NotificationTemplateManagerServerException {
+
+        int tenantId = OrganizationContextUtil.getTenantId(tenantDomain);
+        TemplateResolutionCacheKey cacheKey = new TemplateResolutionCacheKey(displayName, locale, defaultLocale,
+                notificationChannel, applicationUuid);
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            TemplateResolution templateResolution =
+                    TemplateResolutionCache.getInstance().getValueFromCache(cacheKey, tenantId);
+            if (templateResolution != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Cache hit in TemplateResolutionCache for template: " + displayName + ", locale: " +
+                            locale + ", application: " + applicationUuid + " in channel: " + notificationChannel +
+                            " for tenant: " + tenantDomain);
+                }
+                return templateResolution;
+            }
+        }
+
+        // Fetch the stored templates of both locales in a single round-trip and walk the fallback chain in memory.
+        NotificationTemplateKey appTemplateKey = StringUtils.isNotBlank(applicationUuid) ?
+                new NotificationTemplateKey(displayName, locale, notificationChannel, applicationUuid) : null;
+        NotificationTemplateKey orgTemplateKey =
+                new NotificationTemplateKey(displayName, locale, notificationChannel, null);
+        NotificationTemplateKey defaultLocaleOrgTemplateKey = StringUtils.equalsIgnoreCase(locale, defaultLocale) ?
+                null : new NotificationTemplateKey(displayName, defaultLocale, notificationChannel, null);
+        List<NotificationTemplateKey> templateKeys = new ArrayList<>();
+        if (appTemplateKey != null) {
+            templateKeys.add(appTemplateKey);
+        }
+        templateKeys.add(orgTemplateKey);
+        if (defaultLocaleOrgTemplateKey != null) {
+            templateKeys.add(defaultLocaleOrgTemplateKey);
+        }
+        Map<NotificationTemplateKey, NotificationTemplate> storedTemplates =
+                templatePersistenceManager.getNotificationTemplates(templateKeys, tenantDomain);
+
+        TemplateResolution templateResolution = resolveTemplateFromStoredTemplates(storedTemplates, appTemplateKey,
+                orgTemplateKey, tenantDomain);
+        if (templateResolution == null && defaultLocaleOrgTemplateKey != null) {
+            templateResolution = resolveTemplateFromStoredTemplates(storedTemplates, null,
+                    defaultLocaleOrgTemplateKey, tenantDomain);
+        }
+        if (templateResolution != null && tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            TemplateResolutionCache.getInstance().addToCache(cacheKey, templateResolution, tenantId);
+        }
+        return templateResolution;
+    }
+
+    private TemplateResolution resolveTemplateFromStoredTemplates(
+            Map<NotificationTemplateKey, NotificationTemplate> storedTemplates, NotificationTemplateKey appTemplateKey,
+            NotificationTemplateKey orgTemplateKey, String tenantDomain)
+            throws NotificationTemplateManagerServerException {
+
+        String locale = orgTemplateKey.getLocale();
+        NotificationTemplate notificationTemplate;
+        if (appTemplateKey != null) {
+            notificationTemplate = storedTemplates.get(appTemplateKey);
+            if (notificationTemplate != null) {
+                return new TemplateResolution(notificationTemplate, TemplateResolution.Level.APPLICATION, locale);
+            }
+        }
+        notificationTemplate = storedTemplates.get(orgTemplateKey);
+        if (notificationTemplate != null) {
+            return new TemplateResolution(notificationTemplate, TemplateResolution.Level.ORGANIZATION, locale);
+        }
+        notificationTemplate = systemDefaultTemplateManager.getNotificationTemplate(orgTemplateKey.getDisplayName(),
+                locale, orgTemplateKey.getNotificationChannel(), null, tenantDomain);
+        if (notificationTemplate != null) {
+            return new TemplateResolution(notificationTemplate, TemplateResolution.Level.SYSTEM_DEFAULT, locale);
+        }
+        return null;
+    }
+
     @Override
     public List<NotificationTemplate> listNotificationTemplates(String templateType, String notificationChannel,
                                                                 String applicationUuid, String tenantDomain)
@@ -181,6 +331,64 @@ public class UnifiedTemplateManager implements TemplatePersistenceManager {
         return mergeAndRemoveDuplicateTemplates(dbBasedTemplates, inMemoryBasedTemplates);
     }
 
+    @Override
+    public NotificationTemplatePage getNotificationTemplatePage(String templateType, String notificationChannel,
+                                                                String applicationUuid, String tenantDomain,
+                                                                NotificationTemplatePage.Projection projection,
+                                                                String cursor, int limit)
+            throws NotificationTemplateManagerServerException {
+
+        // System default templates are only available at the organization level.
+        if (StringUtils.isNotBlank(applicationUuid)) {
+            return templatePersistenceManager.getNotificationTemplatePage(templateType, notificationChannel,
+                    applicationUuid, tenantDomain, projection, cursor, limit);
+        }
+
+        // Stored templates are listed first, followed by the system default templates which are not overridden by a
+        // stored template. The cursor is prefixed with the source of the next page.
+        List<NotificationTemplate> notificationTemplates = new ArrayList<>();
+        int defaultTemplateIndex = 0;
+        if (cursor == null || cursor.startsWith(STORED_TEMPLATES_CURSOR_PREFIX)) {
+            NotificationTemplatePage storedTemplatePage = templatePersistenceManager.getNotificationTemplatePage(
+                    templateType, notificationChannel, null, tenantDomain, projection,
+                    cursor == null ? null : cursor.substring(STORED_TEMPLATES_CURSOR_PREFIX.length()), limit);
+            if (storedTemplatePage.hasNextPage()) {
+                return new NotificationTemplatePage(storedTemplatePage.getNotificationTemplates(),
+                        STORED_TEMPLATES_CURSOR_PREFIX + storedTemplatePage.getNextCursor());
+            }
+            notificationTemplates.addAll(storedTemplatePage.getNotificationTemplates());
+        } else {
+            try {
+                defaultTemplateIndex = cursor.startsWith(DEFAULT_TEMPLATES_CURSOR_PREFIX) ?
+                        Integer.parseInt(cursor.substring(DEFAULT_TEMPLATES_CURSOR_PREFIX.length())) : -1;
+            } catch (NumberFormatException e) {
+                throw new NotificationTemplateManagerServerException("Invalid page cursor: " + cursor, e);
+            }
+            if (defaultTemplateIndex < 0) {
+                throw new NotificationTemplateManagerServerException("Invalid page cursor: " + cursor);
+            }
+        }
+
+        // Default templates are sorted, so that the cursor refers to the same template on every node.
+        List<NotificationTemplate> defaultTemplates = new ArrayList<>(templateType == null ?
+                systemDefaultTemplateManager.listAllNotificationTemplates(notificationChannel, tenantDomain) :
+                systemDefaultTemplateManager.listNotificationTemplates(templateType, notificationChannel, null,
+                        tenantDomain));
+        defaultTemplates.sort(Comparator.comparing(NotificationTemplate::getDisplayName)
+                .thenComparing(NotificationTemplate::getLocale));
+        for (int i = defaultTemplateIndex; i < defaultTemplates.size(); i++) {
+            if (notificationTemplates.size() == limit) {
+                return new NotificationTemplatePage(notificationTemplates, DEFAULT_TEMPLATES_CURSOR_PREFIX + i);
+            }
+            NotificationTemplate defaultTemplate = defaultTemplates.get(i);
+            if (!templatePersistenceManager.isNotificationTemplateExists(defaultTemplate.getDisplayName(),
+                    defaultTemplate.getLocale(), notificationChannel, null, tenantDomain)) {
+                notificationTemplates.add(projection.apply(defaultTemplate));
+            }
+        }
+        return new NotificationTemplatePage(notificationTemplates, null);
+    }
+
     @Override
     public void deleteNotificationTemplate(String displayName, String locale, String notificationChannel,
                                            String applicationUuid, String tenantDomain)
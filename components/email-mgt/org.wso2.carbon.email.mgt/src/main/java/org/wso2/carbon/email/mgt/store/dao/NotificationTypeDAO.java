@@ -26,10 +26,12 @@ import org.wso2.carbon.identity.governance.exceptions.notiification.Notification
 import java.util.List;
 
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.CHANNEL;
+import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.ID;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.NAME;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.TENANT_ID;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.TYPE_KEY;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.DELETE_NOTIFICATION_TYPE_BY_ID_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_NOTIFICATION_TYPE_ID_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_NOTIFICATION_TYPE_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.INSERT_NOTIFICATION_TYPE_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.LIST_NOTIFICATION_TYPES_SQL;
@@ -82,6 +84,39 @@ public class NotificationTypeDAO {
         return displayName;
     }
 
+    /**
+     * Get the id of a template type, which is bound to the notification template queries.
+     *
+     * @param type        Template type key.
+     * @param channelName Notification channel.
+     * @param tenantId    Tenant id.
+     * @return Template type id, or null if the template type does not exist.
+     * @throws NotificationTemplateManagerServerException If an error occurred while retrieving the id.
+     */
+    public Integer getNotificationTemplateTypeId(String type, String channelName, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
+        Integer typeId;
+
+        try {
+            typeId = namedJdbcTemplate.fetchSingleRecord(GET_NOTIFICATION_TYPE_ID_SQL,
+                    (resultSet, rowNumber) -> resultSet.getInt(ID),
+                    preparedStatement -> {
+                        preparedStatement.setString(TYPE_KEY, type);
+                        preparedStatement.setString(CHANNEL, channelName);
+                        preparedStatement.setInt(TENANT_ID, tenantId);
+                    });
+        } catch (DataAccessException e) {
+            String error =
+                    String.format("Error while retrieving the id of %s template type %s from %s tenant.", channelName,
+                            type, tenantId);
+            throw new NotificationTemplateManagerServerException(error, e);
+        }
+
+        return typeId;
+    }
+
     public List<String> listNotificationTemplateTypes(String channelName, int tenantId)
             throws NotificationTemplateManagerServerException {
 
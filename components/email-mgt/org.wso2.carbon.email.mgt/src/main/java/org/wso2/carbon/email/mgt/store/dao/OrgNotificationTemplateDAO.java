@@ -19,8 +19,13 @@
 package org.wso2.carbon.email.mgt.store.dao;
 
 import org.wso2.carbon.database.utils.jdbc.NamedJdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.NamedPreparedStatement;
+import org.wso2.carbon.database.utils.jdbc.NamedQueryFilter;
 import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.database.utils.jdbc.exceptions.TransactionException;
 import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.email.mgt.model.NotificationTemplateKey;
+import org.wso2.carbon.email.mgt.model.NotificationTemplatePage;
 import org.wso2.carbon.identity.core.util.JdbcUtils;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
@@ -28,7 +33,18 @@ import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.BODY;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.CHANNEL;
@@ -37,14 +53,19 @@ import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationT
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.FOOTER;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.ID;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.LOCALE;
+import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.NAME;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.SUBJECT;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.TEMPLATE_KEY;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.TENANT_ID;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.TYPE_ID;
-import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.TYPE_KEY;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.DELETE_ORG_NOTIFICATION_TEMPLATES_BY_TYPE_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.DELETE_ORG_NOTIFICATION_TEMPLATE_SQL;
-import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_NOTIFICATION_TYPE_ID_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.EXPORT_ORG_NOTIFICATION_TEMPLATES_HYBRID_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.EXPORT_ORG_NOTIFICATION_TEMPLATES_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.EXPORT_ORG_NOTIFICATION_TEMPLATES_WITHOUT_UNICODE_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_ORG_NOTIFICATION_TEMPLATES_HYBRID_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_ORG_NOTIFICATION_TEMPLATES_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_ORG_NOTIFICATION_TEMPLATES_WITHOUT_UNICODE_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_ORG_NOTIFICATION_TEMPLATE_HYBRID_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_ORG_NOTIFICATION_TEMPLATE_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_ORG_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL;
@@ -52,13 +73,22 @@ import static org.wso2.carbon.email.mgt.constants.SQLConstants.INSERT_ORG_NOTIFI
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.INSERT_ORG_NOTIFICATION_TEMPLATE_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.INSERT_ORG_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.IS_ORG_NOTIFICATION_TEMPLATE_EXISTS_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.LIST_ORG_NOTIFICATION_TEMPLATES_PAGE_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.LIST_ORG_NOTIFICATION_TEMPLATE_KEYS_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.LIST_ORG_NOTIFICATION_TEMPLATES_BY_TYPE_HYBRID_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.LIST_ORG_NOTIFICATION_TEMPLATES_BY_TYPE_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.LIST_ORG_NOTIFICATION_TEMPLATES_BY_TYPE_WITHOUT_UNICODE_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.TEMPLATES_PAGE_CONTENT_COLUMNS;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.TEMPLATES_PAGE_CONTENT_COLUMNS_HYBRID;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.TEMPLATES_PAGE_CONTENT_COLUMNS_WITHOUT_UNICODE;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.TEMPLATE_LOOKUP_CHUNK_SIZE;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.UPDATE_ORG_NOTIFICATION_TEMPLATE_HYBRID_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.UPDATE_ORG_NOTIFICATION_TEMPLATE_SQL;
 import static org.wso2.carbon.email.mgt.constants.SQLConstants.UPDATE_ORG_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL;
 import static org.wso2.carbon.email.mgt.util.I18nEmailUtil.getContentByteArray;
+import static org.wso2.carbon.email.mgt.util.I18nEmailUtil.getInClauseParameterName;
+import static org.wso2.carbon.email.mgt.util.I18nEmailUtil.getInClauseParameters;
+import static org.wso2.carbon.email.mgt.util.I18nEmailUtil.getTemplatesPageSql;
 import static org.wso2.carbon.email.mgt.util.I18nEmailUtil.setContent;
 
 /**
@@ -68,6 +98,25 @@ public class OrgNotificationTemplateDAO {
 
     private boolean isUnicodeSupported = I18nMgtDataHolder.getInstance().isUnicodeSupported();
     private boolean isHybrid = I18nMgtDataHolder.getInstance().isHybrid();
+    private boolean isContentCompressionEnabled = I18nMgtDataHolder.getInstance().isContentCompressionEnabled();
+    private boolean isBinaryContentEnabled = I18nMgtDataHolder.getInstance().isBinaryContentEnabled();
+    private final NotificationTypeDAO notificationTypeDAO;
+
+    public OrgNotificationTemplateDAO() {
+
+        this(new NotificationTypeDAO());
+    }
+
+    /**
+     * Create the DAO with the given notification type DAO, which is used to resolve the template type ids bound to the
+     * template queries.
+     *
+     * @param notificationTypeDAO Notification type DAO.
+     */
+    public OrgNotificationTemplateDAO(NotificationTypeDAO notificationTypeDAO) {
+
+        this.notificationTypeDAO = notificationTypeDAO;
+    }
 
     public void addNotificationTemplate(NotificationTemplate notificationTemplate, int tenantId)
             throws NotificationTemplateManagerServerException {
@@ -76,8 +125,17 @@ public class OrgNotificationTemplateDAO {
         String locale = notificationTemplate.getLocale();
         String channelName = notificationTemplate.getNotificationChannel();
 
+        Integer typeId = notificationTypeDAO.getNotificationTemplateTypeId(displayName.toLowerCase(), channelName,
+                tenantId);
+        if (typeId == null) {
+            String error = String.format("Error while adding %s template %s of type %s to %s tenant. " +
+                    "Template type does not exist.", channelName, locale, displayName, tenantId);
+            throw new NotificationTemplateManagerServerException(error);
+        }
+
         NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
-        byte[] contentByteArray = getContentByteArray(notificationTemplate);
+        byte[] contentByteArray = getContentByteArray(notificationTemplate, isBinaryContentEnabled,
+                isContentCompressionEnabled);
         int contentLength = contentByteArray.length;
         try (InputStream contentStream = new ByteArrayInputStream(contentByteArray)) {
             String insertOrgNotificationTemplateSql = isUnicodeSupported ? INSERT_ORG_NOTIFICATION_TEMPLATE_SQL:
@@ -99,9 +157,7 @@ public class OrgNotificationTemplateDAO {
                     preparedStatement.setString(FOOTER, notificationTemplate.getFooter());
                 }
                 preparedStatement.setString(CONTENT_TYPE, notificationTemplate.getContentType());
-                preparedStatement.setString(TYPE_KEY, displayName.toLowerCase());
-                preparedStatement.setString(CHANNEL, channelName);
-                preparedStatement.setInt(TENANT_ID, tenantId);
+                preparedStatement.setInt(TYPE_ID, typeId);
                 preparedStatement.setInt(TENANT_ID, tenantId);
             }), notificationTemplate, false);
         } catch (DataAccessException e) {
@@ -118,6 +174,12 @@ public class OrgNotificationTemplateDAO {
                                                         int tenantId)
             throws NotificationTemplateManagerServerException {
 
+        Integer typeId = notificationTypeDAO.getNotificationTemplateTypeId(templateType.toLowerCase(), channelName,
+                tenantId);
+        if (typeId == null) {
+            return null;
+        }
+
         NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
         NotificationTemplate notificationTemplate;
 
@@ -128,22 +190,7 @@ public class OrgNotificationTemplateDAO {
             notificationTemplate = namedJdbcTemplate.fetchSingleRecord(getOrgNotificationTemplateSql,
                     (resultSet, rowNumber) -> {
                         NotificationTemplate notificationTemplateResult = new NotificationTemplate();
-                        if (isUnicodeSupported) {
-                            setContent(resultSet.getBinaryStream(CONTENT), notificationTemplateResult);
-                        } else if (isHybrid) {
-                            setContent(resultSet.getBinaryStream(CONTENT), notificationTemplateResult);
-                            if (notificationTemplateResult.getSubject() == null
-                                    && notificationTemplateResult.getBody() == null
-                                    && notificationTemplateResult.getFooter() == null) {
-                                notificationTemplateResult.setSubject(resultSet.getString(SUBJECT));
-                                notificationTemplateResult.setBody(resultSet.getString(BODY));
-                                notificationTemplateResult.setFooter(resultSet.getString(FOOTER));
-                            }
-                        } else {
-                            notificationTemplateResult.setSubject(resultSet.getString(SUBJECT));
-                            notificationTemplateResult.setBody(resultSet.getString(BODY));
-                            notificationTemplateResult.setFooter(resultSet.getString(FOOTER));
-                        }
+                        setTemplateContent(resultSet, notificationTemplateResult);
                         notificationTemplateResult.setContentType(resultSet.getString(CONTENT_TYPE));
                         notificationTemplateResult.setLocale(locale);
                         notificationTemplateResult.setType(templateType);
@@ -152,9 +199,7 @@ public class OrgNotificationTemplateDAO {
                     },
                     preparedStatement -> {
                         preparedStatement.setString(TEMPLATE_KEY, locale.toLowerCase());
-                        preparedStatement.setString(TYPE_KEY, templateType.toLowerCase());
-                        preparedStatement.setString(CHANNEL, channelName);
-                        preparedStatement.setInt(TENANT_ID, tenantId);
+                        preparedStatement.setInt(TYPE_ID, typeId);
                         preparedStatement.setInt(TENANT_ID, tenantId);
                     });
         } catch (DataAccessException e) {
@@ -167,25 +212,104 @@ public class OrgNotificationTemplateDAO {
         return notificationTemplate;
     }
 
+    /**
+     * Get the organization templates of the given keys, with a single query per chunk of keys.
+     *
+     * @param templateKeys Keys of the templates. Application UUIDs of the keys are not considered.
+     * @param tenantId     Tenant id.
+     * @return Templates keyed by the given keys. Templates which do not exist are not included.
+     * @throws NotificationTemplateManagerServerException If an error occurred while retrieving the templates.
+     */
+    public Map<NotificationTemplateKey, NotificationTemplate> getNotificationTemplates(
+            Collection<NotificationTemplateKey> templateKeys, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        Map<NotificationTemplateKey, NotificationTemplate> notificationTemplates = new HashMap<>();
+        // A template row is identified by the template type id and the template key within the tenant.
+        Map<String, NotificationTemplateKey> keysByRow = new LinkedHashMap<>();
+        Map<String, Integer> typeIdsByRow = new HashMap<>();
+        for (NotificationTemplateKey templateKey : templateKeys) {
+            Integer typeId = notificationTypeDAO.getNotificationTemplateTypeId(
+                    templateKey.getDisplayName().toLowerCase(), templateKey.getNotificationChannel(), tenantId);
+            if (typeId == null) {
+                continue;
+            }
+            String row = typeId + ":" + templateKey.getLocale().toLowerCase();
+            keysByRow.put(row, templateKey);
+            typeIdsByRow.put(row, typeId);
+        }
+        if (keysByRow.isEmpty()) {
+            return notificationTemplates;
+        }
+
+        String getOrgNotificationTemplatesSql = isUnicodeSupported ? GET_ORG_NOTIFICATION_TEMPLATES_SQL :
+                isHybrid ? GET_ORG_NOTIFICATION_TEMPLATES_HYBRID_SQL :
+                        GET_ORG_NOTIFICATION_TEMPLATES_WITHOUT_UNICODE_SQL;
+        NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
+        List<String> rows = new ArrayList<>(keysByRow.keySet());
+        try {
+            for (int from = 0; from < rows.size(); from += TEMPLATE_LOOKUP_CHUNK_SIZE) {
+                Set<Integer> typeIds = new LinkedHashSet<>();
+                Set<String> templateKeyValues = new LinkedHashSet<>();
+                for (String row : rows.subList(from, Math.min(from + TEMPLATE_LOOKUP_CHUNK_SIZE, rows.size()))) {
+                    typeIds.add(typeIdsByRow.get(row));
+                    templateKeyValues.add(keysByRow.get(row).getLocale().toLowerCase());
+                }
+                List<Integer> typeIdList = new ArrayList<>(typeIds);
+                List<String> templateKeyList = new ArrayList<>(templateKeyValues);
+                String getOrgNotificationTemplatesChunkSql = String.format(getOrgNotificationTemplatesSql,
+                        getInClauseParameters(TEMPLATE_KEY, templateKeyList.size()),
+                        getInClauseParameters(TYPE_ID, typeIdList.size()));
+                namedJdbcTemplate.executeQuery(getOrgNotificationTemplatesChunkSql,
+                        (resultSet, rowNumber) -> {
+                            // Rows of other combinations of the requested types and locales are skipped.
+                            NotificationTemplateKey templateKey = keysByRow.get(resultSet.getInt(TYPE_ID) + ":" +
+                                    resultSet.getString(TEMPLATE_KEY));
+                            if (templateKey == null) {
+                                return null;
+                            }
+                            NotificationTemplate notificationTemplateResult = new NotificationTemplate();
+                            setTemplateContent(resultSet, notificationTemplateResult);
+                            notificationTemplateResult.setContentType(resultSet.getString(CONTENT_TYPE));
+                            notificationTemplateResult.setLocale(templateKey.getLocale());
+                            notificationTemplateResult.setType(templateKey.getDisplayName().toLowerCase());
+                            notificationTemplateResult.setDisplayName(templateKey.getDisplayName().toLowerCase());
+                            notificationTemplates.put(templateKey, notificationTemplateResult);
+                            return null;
+                        },
+                        preparedStatement -> {
+                            for (int i = 0; i < templateKeyList.size(); i++) {
+                                preparedStatement.setString(getInClauseParameterName(TEMPLATE_KEY, i),
+                                        templateKeyList.get(i));
+                            }
+                            for (int i = 0; i < typeIdList.size(); i++) {
+                                preparedStatement.setInt(getInClauseParameterName(TYPE_ID, i), typeIdList.get(i));
+                            }
+                            preparedStatement.setInt(TENANT_ID, tenantId);
+                        });
+            }
+        } catch (DataAccessException e) {
+            String error = String.format("Error while retrieving %s templates from %s tenant.", templateKeys,
+                    tenantId);
+            throw new NotificationTemplateManagerServerException(error, e);
+        }
+
+        return notificationTemplates;
+    }
+
     public boolean isNotificationTemplateExists(String locale, String templateType, String channelName,
                                                         int tenantId)
             throws NotificationTemplateManagerServerException {
 
+        Integer typeId = notificationTypeDAO.getNotificationTemplateTypeId(templateType.toLowerCase(), channelName,
+                tenantId);
+        if (typeId == null) {
+            return false;
+        }
+
         NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
 
         try {
-            Integer typeId = namedJdbcTemplate.fetchSingleRecord(GET_NOTIFICATION_TYPE_ID_SQL,
-                    (resultSet, rowNumber) -> resultSet.getInt(ID),
-                    preparedStatement -> {
-                        preparedStatement.setString(TYPE_KEY, templateType.toLowerCase());
-                        preparedStatement.setString(CHANNEL, channelName);
-                        preparedStatement.setInt(TENANT_ID, tenantId);
-                    });
-
-            if (typeId == null) {
-                return false;
-            }
-
             Integer templateId = namedJdbcTemplate.fetchSingleRecord(IS_ORG_NOTIFICATION_TEMPLATE_EXISTS_SQL,
                     (resultSet, rowNumber) -> resultSet.getInt(ID),
                     preparedStatement -> {
@@ -206,6 +330,12 @@ public class OrgNotificationTemplateDAO {
     public List<NotificationTemplate> listNotificationTemplates(String templateType, String channelName, int tenantId)
             throws NotificationTemplateManagerServerException {
 
+        Integer typeId = notificationTypeDAO.getNotificationTemplateTypeId(templateType.toLowerCase(), channelName,
+                tenantId);
+        if (typeId == null) {
+            return new ArrayList<>();
+        }
+
         NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
         List<NotificationTemplate> notificationTemplates;
 
@@ -217,22 +347,7 @@ public class OrgNotificationTemplateDAO {
             notificationTemplates = namedJdbcTemplate.executeQuery(listOrgNotificationTemplatesByTypeSql,
                     (resultSet, rowNumber) -> {
                         NotificationTemplate notificationTemplateResult = new NotificationTemplate();
-                        if (isUnicodeSupported) {
-                            setContent(resultSet.getBinaryStream(CONTENT), notificationTemplateResult);
-                        } else if (isHybrid) {
-                            setContent(resultSet.getBinaryStream(CONTENT), notificationTemplateResult);
-                            if (notificationTemplateResult.getSubject() == null
-                                    && notificationTemplateResult.getBody() == null
-                                    && notificationTemplateResult.getFooter() == null) {
-                                notificationTemplateResult.setSubject(resultSet.getString(SUBJECT));
-                                notificationTemplateResult.setBody(resultSet.getString(BODY));
-                                notificationTemplateResult.setFooter(resultSet.getString(FOOTER));
-                            }
-                        } else {
-                            notificationTemplateResult.setSubject(resultSet.getString(SUBJECT));
-                            notificationTemplateResult.setBody(resultSet.getString(BODY));
-                            notificationTemplateResult.setFooter(resultSet.getString(FOOTER));
-                        }
+                        setTemplateContent(resultSet, notificationTemplateResult);
                         notificationTemplateResult.setContentType(resultSet.getString(CONTENT_TYPE));
                         notificationTemplateResult.setLocale(resultSet.getString(LOCALE));
                         notificationTemplateResult.setType(templateType.toLowerCase());
@@ -240,9 +355,7 @@ public class OrgNotificationTemplateDAO {
                         return notificationTemplateResult;
                     },
                     preparedStatement -> {
-                        preparedStatement.setString(TYPE_KEY, templateType.toLowerCase());
-                        preparedStatement.setString(CHANNEL, channelName);
-                        preparedStatement.setInt(TENANT_ID, tenantId);
+                        preparedStatement.setInt(TYPE_ID, typeId);
                         preparedStatement.setInt(TENANT_ID, tenantId);
                     });
         } catch (DataAccessException e) {
@@ -262,8 +375,15 @@ public class OrgNotificationTemplateDAO {
         String locale = notificationTemplate.getLocale();
         String channelName = notificationTemplate.getNotificationChannel();
 
+        Integer typeId = notificationTypeDAO.getNotificationTemplateTypeId(displayName.toLowerCase(), channelName,
+                tenantId);
+        if (typeId == null) {
+            return;
+        }
+
         NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
-        byte[] contentByteArray = getContentByteArray(notificationTemplate);
+        byte[] contentByteArray = getContentByteArray(notificationTemplate, isBinaryContentEnabled,
+                isContentCompressionEnabled);
         int contentLength = contentByteArray.length;
         try (InputStream contentStream = new ByteArrayInputStream(contentByteArray)) {
             String updateOrgNotificationTemplateSql = isUnicodeSupported ? UPDATE_ORG_NOTIFICATION_TEMPLATE_SQL :
@@ -285,9 +405,7 @@ public class OrgNotificationTemplateDAO {
                         }
                         preparedStatement.setString(CONTENT_TYPE, notificationTemplate.getContentType());
                         preparedStatement.setString(TEMPLATE_KEY, locale.toLowerCase());
-                        preparedStatement.setString(TYPE_KEY, displayName.toLowerCase());
-                        preparedStatement.setString(CHANNEL, channelName);
-                        preparedStatement.setInt(TENANT_ID, tenantId);
+                        preparedStatement.setInt(TYPE_ID, typeId);
                         preparedStatement.setInt(TENANT_ID, tenantId);
                     });
         } catch (DataAccessException e) {
@@ -301,17 +419,223 @@ public class OrgNotificationTemplateDAO {
 
     }
 
+    /**
+     * Add or update the given organization templates with batched statements, in a single transaction. Templates
+     * which already exist are updated and the others are added. If a template is given more than once, the last one
+     * is stored.
+     *
+     * @param notificationTemplates Templates to add or update.
+     * @param tenantId              Tenant id.
+     * @throws NotificationTemplateManagerServerException If a template type does not exist or an error occurred while
+     *                                                    storing the templates. None of the templates are stored then.
+     */
+    public void addOrUpdateNotificationTemplates(List<NotificationTemplate> notificationTemplates, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        // A template row is identified by the template type id and the template key within the tenant.
+        Map<String, NotificationTemplate> templatesByRow = new LinkedHashMap<>();
+        Map<String, Integer> typeIdsByRow = new HashMap<>();
+        for (NotificationTemplate notificationTemplate : notificationTemplates) {
+            String displayName = notificationTemplate.getDisplayName();
+            String locale = notificationTemplate.getLocale();
+            String channelName = notificationTemplate.getNotificationChannel();
+            Integer typeId = notificationTypeDAO.getNotificationTemplateTypeId(displayName.toLowerCase(),
+                    channelName, tenantId);
+            if (typeId == null) {
+                String error = String.format("Error while adding %s template %s of type %s to %s tenant. " +
+                        "Template type does not exist.", channelName, locale, displayName, tenantId);
+                throw new NotificationTemplateManagerServerException(error);
+            }
+            String row = typeId + ":" + locale.toLowerCase();
+            templatesByRow.put(row, notificationTemplate);
+            typeIdsByRow.put(row, typeId);
+        }
+        if (templatesByRow.isEmpty()) {
+            return;
+        }
+
+        String updateOrgNotificationTemplateSql = isUnicodeSupported ? UPDATE_ORG_NOTIFICATION_TEMPLATE_SQL :
+                isHybrid ? UPDATE_ORG_NOTIFICATION_TEMPLATE_HYBRID_SQL :
+                        UPDATE_ORG_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL;
+        String insertOrgNotificationTemplateSql = isUnicodeSupported ? INSERT_ORG_NOTIFICATION_TEMPLATE_SQL :
+                isHybrid ? INSERT_ORG_NOTIFICATION_TEMPLATE_HYBRID_SQL :
+                        INSERT_ORG_NOTIFICATION_TEMPLATE_WITHOUT_UNICODE_SQL;
+        NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
+        try {
+            namedJdbcTemplate.withTransaction(template -> {
+                Set<String> existingRows = getExistingRows(template, templatesByRow, typeIdsByRow, tenantId);
+                List<String> rowsToUpdate = new ArrayList<>();
+                List<String> rowsToAdd = new ArrayList<>();
+                for (String row : templatesByRow.keySet()) {
+                    if (existingRows.contains(row)) {
+                        rowsToUpdate.add(row);
+                    } else {
+                        rowsToAdd.add(row);
+                    }
+                }
+                if (!rowsToUpdate.isEmpty()) {
+                    executeBatchUpdate(template, updateOrgNotificationTemplateSql, preparedStatement -> {
+                        for (String row : rowsToUpdate) {
+                            NotificationTemplate notificationTemplate = templatesByRow.get(row);
+                            setTemplateContentParameters(preparedStatement, notificationTemplate);
+                            preparedStatement.setString(TEMPLATE_KEY, notificationTemplate.getLocale().toLowerCase());
+                            preparedStatement.setInt(TYPE_ID, typeIdsByRow.get(row));
+                            preparedStatement.setInt(TENANT_ID, tenantId);
+                            preparedStatement.addBatch();
+                        }
+                    });
+                }
+                if (!rowsToAdd.isEmpty()) {
+                    template.executeBatchInsert(insertOrgNotificationTemplateSql, preparedStatement -> {
+                        for (String row : rowsToAdd) {
+                            NotificationTemplate notificationTemplate = templatesByRow.get(row);
+                            setTemplateContentParameters(preparedStatement, notificationTemplate);
+                            preparedStatement.setString(TEMPLATE_KEY, notificationTemplate.getLocale().toLowerCase());
+                            preparedStatement.setString(LOCALE, notificationTemplate.getLocale());
+                            preparedStatement.setInt(TYPE_ID, typeIdsByRow.get(row));
+                            preparedStatement.setInt(TENANT_ID, tenantId);
+                            preparedStatement.addBatch();
+                        }
+                    }, null);
+                }
+                return null;
+            });
+        } catch (TransactionException e) {
+            String error = String.format("Error while adding or updating %d templates of %s tenant.",
+                    templatesByRow.size(), tenantId);
+            throw new NotificationTemplateManagerServerException(error, e);
+        }
+    }
+
+    /**
+     * Pass each organization template of the given channel to the consumer as it is read from the result set, without
+     * collecting the templates to a list.
+     *
+     * @param channelName      Notification channel.
+     * @param tenantId         Tenant id.
+     * @param templateConsumer Consumer of the templates.
+     * @throws NotificationTemplateManagerServerException If an error occurred while reading the templates.
+     */
+    public void exportNotificationTemplates(String channelName, int tenantId,
+                                            Consumer<NotificationTemplate> templateConsumer)
+            throws NotificationTemplateManagerServerException {
+
+        NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
+        try {
+            String exportOrgNotificationTemplatesSql = isUnicodeSupported ? EXPORT_ORG_NOTIFICATION_TEMPLATES_SQL :
+                    isHybrid ? EXPORT_ORG_NOTIFICATION_TEMPLATES_HYBRID_SQL :
+                            EXPORT_ORG_NOTIFICATION_TEMPLATES_WITHOUT_UNICODE_SQL;
+            namedJdbcTemplate.executeQuery(exportOrgNotificationTemplatesSql,
+                    (resultSet, rowNumber) -> {
+                        String displayName = resultSet.getString(NAME);
+                        NotificationTemplate notificationTemplateResult = new NotificationTemplate();
+                        setTemplateContent(resultSet, notificationTemplateResult);
+                        notificationTemplateResult.setContentType(resultSet.getString(CONTENT_TYPE));
+                        notificationTemplateResult.setLocale(resultSet.getString(LOCALE));
+                        notificationTemplateResult.setType(displayName.toLowerCase());
+                        notificationTemplateResult.setDisplayName(displayName);
+                        notificationTemplateResult.setNotificationChannel(channelName);
+                        templateConsumer.accept(notificationTemplateResult);
+                        return null;
+                    },
+                    preparedStatement -> {
+                        preparedStatement.setString(CHANNEL, channelName);
+                        preparedStatement.setInt(TENANT_ID, tenantId);
+                    });
+        } catch (DataAccessException e) {
+            String error = String.format("Error while exporting %s templates of %s tenant.", channelName, tenantId);
+            throw new NotificationTemplateManagerServerException(error, e);
+        }
+    }
+
+    /**
+     * List a page of the organization templates of the given channel, ordered by the template row id.
+     *
+     * @param templateType    Template type, or null to list the templates of all the template types.
+     * @param channelName     Notification channel.
+     * @param tenantId        Tenant id.
+     * @param projection      Fields of the templates to select.
+     * @param afterId         Row id of the last template of the previous page, or 0 to list the first page.
+     * @param limit           Maximum number of templates in the page.
+     * @return Page of templates. The cursor of the next page is the row id of the last template in the page.
+     * @throws NotificationTemplateManagerServerException If an error occurred while listing the templates.
+     */
+    public NotificationTemplatePage getNotificationTemplatePage(String templateType, String channelName,
+                                                                int tenantId,
+                                                                NotificationTemplatePage.Projection projection,
+                                                                int afterId, int limit)
+            throws NotificationTemplateManagerServerException {
+
+        Integer typeId = null;
+        if (templateType != null) {
+            typeId = notificationTypeDAO.getNotificationTemplateTypeId(templateType.toLowerCase(), channelName,
+                    tenantId);
+            if (typeId == null) {
+                return new NotificationTemplatePage(new ArrayList<>(), null);
+            }
+        }
+        Integer templateTypeId = typeId;
+        boolean withContent = projection == NotificationTemplatePage.Projection.CONTENT;
+        String contentColumns = !withContent ? "" : isUnicodeSupported ? TEMPLATES_PAGE_CONTENT_COLUMNS :
+                isHybrid ? TEMPLATES_PAGE_CONTENT_COLUMNS_HYBRID : TEMPLATES_PAGE_CONTENT_COLUMNS_WITHOUT_UNICODE;
+
+        NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
+        List<Integer> rowIds = new ArrayList<>();
+        List<NotificationTemplate> notificationTemplates;
+        try {
+            // One more row than the page size is selected to find whether there is a next page.
+            String listOrgNotificationTemplatesPageSql = getTemplatesPageSql(LIST_ORG_NOTIFICATION_TEMPLATES_PAGE_SQL,
+                    contentColumns, templateTypeId != null, limit + 1);
+            notificationTemplates = namedJdbcTemplate.executeQuery(listOrgNotificationTemplatesPageSql,
+                    (resultSet, rowNumber) -> {
+                        rowIds.add(resultSet.getInt(ID));
+                        String displayName = resultSet.getString(NAME);
+                        NotificationTemplate notificationTemplateResult = new NotificationTemplate();
+                        if (withContent) {
+                            setTemplateContent(resultSet, notificationTemplateResult);
+                        }
+                        notificationTemplateResult.setContentType(resultSet.getString(CONTENT_TYPE));
+                        notificationTemplateResult.setLocale(resultSet.getString(LOCALE));
+                        notificationTemplateResult.setType(displayName.toLowerCase());
+                        notificationTemplateResult.setDisplayName(displayName);
+                        notificationTemplateResult.setNotificationChannel(channelName);
+                        return notificationTemplateResult;
+                    },
+                    preparedStatement -> {
+                        preparedStatement.setString(CHANNEL, channelName);
+                        preparedStatement.setInt(TENANT_ID, tenantId);
+                        preparedStatement.setInt(ID, afterId);
+                        if (templateTypeId != null) {
+                            preparedStatement.setInt(TYPE_ID, templateTypeId);
+                        }
+                    });
+        } catch (DataAccessException e) {
+            String error = String.format("Error while listing %s templates of %s tenant.", channelName, tenantId);
+            throw new NotificationTemplateManagerServerException(error, e);
+        }
+
+        if (notificationTemplates.size() <= limit) {
+            return new NotificationTemplatePage(notificationTemplates, null);
+        }
+        return new NotificationTemplatePage(new ArrayList<>(notificationTemplates.subList(0, limit)),
+                String.valueOf(rowIds.get(limit - 1)));
+    }
+
     public void removeNotificationTemplate(String locale, String templateType, String channelName, int tenantId)
             throws NotificationTemplateManagerServerException {
 
+        Integer typeId = notificationTypeDAO.getNotificationTemplateTypeId(templateType.toLowerCase(), channelName,
+                tenantId);
+        if (typeId == null) {
+            return;
+        }
+
         NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
         try {
             namedJdbcTemplate.executeUpdate(DELETE_ORG_NOTIFICATION_TEMPLATE_SQL,
                     preparedStatement -> {
                         preparedStatement.setString(TEMPLATE_KEY, locale.toLowerCase());
-                        preparedStatement.setString(TYPE_KEY, templateType.toLowerCase());
-                        preparedStatement.setString(CHANNEL, channelName);
-                        preparedStatement.setInt(TENANT_ID, tenantId);
+                        preparedStatement.setInt(TYPE_ID, typeId);
                         preparedStatement.setInt(TENANT_ID, tenantId);
                     });
         } catch (DataAccessException e) {
@@ -325,13 +649,17 @@ public class OrgNotificationTemplateDAO {
     public void removeNotificationTemplates(String templateType, String channelName, int tenantId)
             throws NotificationTemplateManagerServerException {
 
+        Integer typeId = notificationTypeDAO.getNotificationTemplateTypeId(templateType.toLowerCase(), channelName,
+                tenantId);
+        if (typeId == null) {
+            return;
+        }
+
         NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
         try {
             namedJdbcTemplate.executeUpdate(DELETE_ORG_NOTIFICATION_TEMPLATES_BY_TYPE_SQL,
                     preparedStatement -> {
-                        preparedStatement.setString(TYPE_KEY, templateType.toLowerCase());
-                        preparedStatement.setString(CHANNEL, channelName);
-                        preparedStatement.setInt(TENANT_ID, tenantId);
+                        preparedStatement.setInt(TYPE_ID, typeId);
                         preparedStatement.setInt(TENANT_ID, tenantId);
                     });
         } catch (DataAccessException e) {
@@ -341,4 +669,90 @@ public class OrgNotificationTemplateDAO {
             throw new NotificationTemplateManagerServerException(error, e);
         }
     }
+
+    /**
+     * Execute the batched update statements added by the given filter. {@link NamedJdbcTemplate} only exposes batch
+     * execution through executeBatchInsert, which executes the batch of any statement as it is.
+     *
+     * @param namedJdbcTemplate Template of the current transaction.
+     * @param query             Update query.
+     * @param namedQueryFilter  Filter which sets the parameters of each update and adds it to the batch.
+     * @throws DataAccessException If an error occurred while executing the batch.
+     */
+    private void executeBatchUpdate(NamedJdbcTemplate namedJdbcTemplate, String query,
+                                    NamedQueryFilter namedQueryFilter) throws DataAccessException {
+
+        namedJdbcTemplate.executeBatchInsert(query, namedQueryFilter, null);
+    }
+
+    private Set<String> getExistingRows(NamedJdbcTemplate namedJdbcTemplate,
+                                        Map<String, NotificationTemplate> templatesByRow,
+                                        Map<String, Integer> typeIdsByRow, int tenantId) throws DataAccessException {
+
+        Set<String> existingRows = new HashSet<>();
+        List<String> rows = new ArrayList<>(templatesByRow.keySet());
+        for (int from = 0; from < rows.size(); from += TEMPLATE_LOOKUP_CHUNK_SIZE) {
+            Set<Integer> typeIds = new LinkedHashSet<>();
+            Set<String> templateKeyValues = new LinkedHashSet<>();
+            for (String row : rows.subList(from, Math.min(from + TEMPLATE_LOOKUP_CHUNK_SIZE, rows.size()))) {
+                typeIds.add(typeIdsByRow.get(row));
+                templateKeyValues.add(templatesByRow.get(row).getLocale().toLowerCase());
+            }
+            List<Integer> typeIdList = new ArrayList<>(typeIds);
+            List<String> templateKeyList = new ArrayList<>(templateKeyValues);
+            String listOrgNotificationTemplateKeysSql = String.format(LIST_ORG_NOTIFICATION_TEMPLATE_KEYS_SQL,
+                    getInClauseParameters(TEMPLATE_KEY, templateKeyList.size()),
+                    getInClauseParameters(TYPE_ID, typeIdList.size()));
+            existingRows.addAll(namedJdbcTemplate.executeQuery(listOrgNotificationTemplateKeysSql,
+                    (resultSet, rowNumber) -> resultSet.getInt(TYPE_ID) + ":" + resultSet.getString(TEMPLATE_KEY),
+                    preparedStatement -> {
+                        for (int i = 0; i < templateKeyList.size(); i++) {
+                            preparedStatement.setString(getInClauseParameterName(TEMPLATE_KEY, i),
+                                    templateKeyList.get(i));
+                        }
+                        for (int i = 0; i < typeIdList.size(); i++) {
+                            preparedStatement.setInt(getInClauseParameterName(TYPE_ID, i), typeIdList.get(i));
+                        }
+                        preparedStatement.setInt(TENANT_ID, tenantId);
+                    }));
+        }
+        return existingRows;
+    }
+
+    private void setTemplateContentParameters(NamedPreparedStatement preparedStatement,
+                                              NotificationTemplate notificationTemplate) throws SQLException {
+
+        if (isUnicodeSupported || isHybrid) {
+            byte[] contentByteArray = getContentByteArray(notificationTemplate, isBinaryContentEnabled,
+                    isContentCompressionEnabled);
+            preparedStatement.setBinaryStream(CONTENT, new ByteArrayInputStream(contentByteArray),
+                    contentByteArray.length);
+        }
+        if (!isUnicodeSupported) {
+            preparedStatement.setString(SUBJECT, notificationTemplate.getSubject());
+            preparedStatement.setString(BODY, notificationTemplate.getBody());
+            preparedStatement.setString(FOOTER, notificationTemplate.getFooter());
+        }
+        preparedStatement.setString(CONTENT_TYPE, notificationTemplate.getContentType());
+    }
+
+    private void setTemplateContent(ResultSet resultSet, NotificationTemplate notificationTemplate)
+            throws SQLException {
+
+        if (isUnicodeSupported) {
+            setContent(resultSet.getBinaryStream(CONTENT), notificationTemplate);
+        } else if (isHybrid) {
+            setContent(resultSet.getBinaryStream(CONTENT), notificationTemplate);
+            if (notificationTemplate.getSubject() == null && notificationTemplate.getBody() == null
+                    && notificationTemplate.getFooter() == null) {
+                notificationTemplate.setSubject(resultSet.getString(SUBJECT));
+                notificationTemplate.setBody(resultSet.getString(BODY));
+                notificationTemplate.setFooter(resultSet.getString(FOOTER));
+            }
+        } else {
+            notificationTemplate.setSubject(resultSet.getString(SUBJECT));
+            notificationTemplate.setBody(resultSet.getString(BODY));
+            notificationTemplate.setFooter(resultSet.getString(FOOTER));
+        }
+    }
 }
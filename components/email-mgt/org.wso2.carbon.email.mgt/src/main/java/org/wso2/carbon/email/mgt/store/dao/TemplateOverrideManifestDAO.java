@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.store.dao;
+
+import org.wso2.carbon.database.utils.jdbc.NamedJdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.email.mgt.model.TemplateOverrideManifest;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
+
+import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.CHANNEL;
+import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NotificationTableColumns.TENANT_ID;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_TEMPLATE_OVERRIDE_MANIFEST_SQL;
+
+/**
+ * This class is to load the template override manifest of a notification channel.
+ */
+public class TemplateOverrideManifestDAO {
+
+    public TemplateOverrideManifest getTemplateOverrideManifest(String channelName, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
+        TemplateOverrideManifest.Builder builder = new TemplateOverrideManifest.Builder();
+
+        try {
+            namedJdbcTemplate.executeQuery(GET_TEMPLATE_OVERRIDE_MANIFEST_SQL,
+                    (resultSet, rowNumber) -> {
+                        String templateType = resultSet.getString(1);
+                        builder.addTemplateType(templateType, resultSet.getString(2));
+                        // Template types without organization templates are returned with a null template key.
+                        String templateKey = resultSet.getString(3);
+                        if (templateKey != null) {
+                            builder.addTemplate(templateType, templateKey, resultSet.getString(4));
+                        }
+                        return null;
+                    },
+                    preparedStatement -> {
+                        preparedStatement.setString(CHANNEL, channelName);
+                        preparedStatement.setInt(TENANT_ID, tenantId);
+                    });
+        } catch (DataAccessException e) {
+            String errorMsg = String.format("Error while loading the %s template override manifest of %s tenant.",
+                    channelName, tenantId);
+            throw new NotificationTemplateManagerServerException(errorMsg, e);
+        }
+
+        return builder.build();
+    }
+}
@@ -24,12 +24,22 @@ import org.wso2.carbon.email.mgt.cache.AppNotificationTemplateCache;
 import org.wso2.carbon.email.mgt.cache.AppNotificationTemplateCacheKey;
 import org.wso2.carbon.email.mgt.cache.AppNotificationTemplateListCache;
 import org.wso2.carbon.email.mgt.cache.AppNotificationTemplateListCacheKey;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheEntry;
+import org.wso2.carbon.email.mgt.cache.PartiallyRenderedTemplateCache;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCache;
+import org.wso2.carbon.email.mgt.model.NotificationTemplateKey;
 import org.wso2.carbon.email.mgt.store.dao.AppNotificationTemplateDAO;
+import org.wso2.carbon.email.mgt.store.dao.NotificationTypeDAO;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * This class provides the cache backed implementation for {@link AppNotificationTemplateDAO}.
@@ -40,6 +50,21 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
     private final AppNotificationTemplateCache appNotificationTemplateCache =
             AppNotificationTemplateCache.getInstance();
     private final AppNotificationTemplateListCache templateListCache = AppNotificationTemplateListCache.getInstance();
+    private final PartiallyRenderedTemplateCache partiallyRenderedTemplateCache =
+            PartiallyRenderedTemplateCache.getInstance();
+    private final TemplateResolutionCache templateResolutionCache = TemplateResolutionCache.getInstance();
+    private final CacheBackedTemplateOverrideManifestDAO templateOverrideManifestDAO =
+            new CacheBackedTemplateOverrideManifestDAO();
+
+    public CacheBackedAppNotificationTemplateDAO() {
+
+        this(new CacheBackedNotificationTypeDAO());
+    }
+
+    CacheBackedAppNotificationTemplateDAO(NotificationTypeDAO notificationTypeDAO) {
+
+        super(notificationTypeDAO);
+    }
 
     @Override
     public void addNotificationTemplate(NotificationTemplate notificationTemplate, String applicationUuid, int tenantId)
@@ -50,14 +75,19 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
         String locale = notificationTemplate.getLocale();
         String type = notificationTemplate.getType();
         String channel = notificationTemplate.getNotificationChannel();
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(channel, tenantId,
+                manifest -> manifest.withTemplate(notificationTemplate.getDisplayName(), locale, applicationUuid));
 
         AppNotificationTemplateCacheKey cacheKey =
                 new AppNotificationTemplateCacheKey(locale, type, channel, applicationUuid);
-        appNotificationTemplateCache.addToCache(cacheKey, notificationTemplate, tenantId);
+        appNotificationTemplateCache.addToCache(cacheKey, new NotificationTemplateCacheEntry(notificationTemplate),
+                tenantId);
 
         AppNotificationTemplateListCacheKey listCacheKey =
                 new AppNotificationTemplateListCacheKey(type, channel, applicationUuid);
         templateListCache.clearCacheEntry(listCacheKey, tenantId);
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
     }
 
     @Override
@@ -67,15 +97,15 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
 
         AppNotificationTemplateCacheKey key =
                 new AppNotificationTemplateCacheKey(locale, templateType, channelName, applicationUuid);
-        NotificationTemplate appNotificationTemplate = appNotificationTemplateCache.getValueFromCache(key, tenantId);
+        NotificationTemplateCacheEntry cacheEntry = appNotificationTemplateCache.getValueFromCache(key, tenantId);
 
-        if (appNotificationTemplate != null) {
+        if (cacheEntry != null) {
             if (log.isDebugEnabled()) {
                 log.debug("Cache hit in AppNotificationTemplateCache for application: " + applicationUuid +
                         ", locale: " + locale + ", template type: " + templateType + " in channel: " + channelName +
-                        " for tenant: " + tenantId);
+                        " for tenant: " + tenantId + ". Template exists: " + cacheEntry.isTemplateExists());
             }
-            return appNotificationTemplate;
+            return cacheEntry.getNotificationTemplate();
         }
 
         if (log.isDebugEnabled()) {
@@ -84,13 +114,62 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
                     tenantId);
         }
 
-        appNotificationTemplate =
+        NotificationTemplate appNotificationTemplate =
                 super.getNotificationTemplate(locale, templateType, channelName, applicationUuid, tenantId);
-        appNotificationTemplateCache.addToCache(key, appNotificationTemplate, tenantId);
+        // Templates which are not found are cached as well, since most applications use the organization templates.
+        appNotificationTemplateCache.addToCache(key, new NotificationTemplateCacheEntry(appNotificationTemplate),
+                tenantId);
 
         return appNotificationTemplate;
     }
 
+    @Override
+    public Map<NotificationTemplateKey, NotificationTemplate> getNotificationTemplates(
+            Collection<NotificationTemplateKey> templateKeys, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        Map<NotificationTemplateKey, NotificationTemplate> notificationTemplates = new HashMap<>();
+        List<NotificationTemplateKey> missedTemplateKeys = new ArrayList<>();
+        for (NotificationTemplateKey templateKey : templateKeys) {
+            if (templateKey.getApplicationUuid() == null) {
+                continue;
+            }
+            NotificationTemplateCacheEntry cacheEntry =
+                    appNotificationTemplateCache.getValueFromCache(getCacheKey(templateKey), tenantId);
+            if (cacheEntry == null) {
+                missedTemplateKeys.add(templateKey);
+            } else if (cacheEntry.isTemplateExists()) {
+                notificationTemplates.put(templateKey, cacheEntry.getNotificationTemplate());
+            }
+        }
+
+        if (missedTemplateKeys.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache hit in AppNotificationTemplateCache for templates: " + templateKeys +
+                        " for tenant: " + tenantId);
+            }
+            return notificationTemplates;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Cache miss in AppNotificationTemplateCache for templates: " + missedTemplateKeys +
+                    " for tenant: " + tenantId);
+        }
+
+        Map<NotificationTemplateKey, NotificationTemplate> loadedTemplates =
+                super.getNotificationTemplates(missedTemplateKeys, tenantId);
+        for (NotificationTemplateKey templateKey : missedTemplateKeys) {
+            NotificationTemplate notificationTemplate = loadedTemplates.get(templateKey);
+            appNotificationTemplateCache.addToCache(getCacheKey(templateKey),
+                    new NotificationTemplateCacheEntry(notificationTemplate), tenantId);
+            if (notificationTemplate != null) {
+                notificationTemplates.put(templateKey, notificationTemplate);
+            }
+        }
+
+        return notificationTemplates;
+    }
+
     @Override
     public boolean isNotificationTemplateExists(String locale, String templateType, String channelName,
                                                         String applicationUuid, int tenantId)
@@ -98,15 +177,15 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
 
         AppNotificationTemplateCacheKey key =
                 new AppNotificationTemplateCacheKey(locale, templateType, channelName, applicationUuid);
-        NotificationTemplate appNotificationTemplate = appNotificationTemplateCache.getValueFromCache(key, tenantId);
+        NotificationTemplateCacheEntry cacheEntry = appNotificationTemplateCache.getValueFromCache(key, tenantId);
 
-        if (appNotificationTemplate != null) {
+        if (cacheEntry != null) {
             if (log.isDebugEnabled()) {
                 log.debug("Cache hit in AppNotificationTemplateCache for application: " + applicationUuid +
                         ", locale: " + locale + ", template type: " + templateType + " in channel: " + channelName +
-                        " for tenant: " + tenantId);
+                        " for tenant: " + tenantId + ". Template exists: " + cacheEntry.isTemplateExists());
             }
-            return true;
+            return cacheEntry.isTemplateExists();
         }
 
         if (log.isDebugEnabled()) {
@@ -115,7 +194,12 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
                     tenantId);
         }
 
-        return super.isNotificationTemplateExists(locale, templateType, channelName, applicationUuid, tenantId);
+        boolean templateExists =
+                super.isNotificationTemplateExists(locale, templateType, channelName, applicationUuid, tenantId);
+        if (!templateExists) {
+            appNotificationTemplateCache.addToCache(key, new NotificationTemplateCacheEntry(null), tenantId);
+        }
+        return templateExists;
     }
 
     @Override
@@ -158,11 +242,53 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
 
         AppNotificationTemplateCacheKey cacheKey =
                 new AppNotificationTemplateCacheKey(locale, type, channel, applicationUuid);
-        appNotificationTemplateCache.addToCache(cacheKey, notificationTemplate, tenantId);
+        appNotificationTemplateCache.addToCache(cacheKey, new NotificationTemplateCacheEntry(notificationTemplate),
+                tenantId);
 
         AppNotificationTemplateListCacheKey listCacheKey =
                 new AppNotificationTemplateListCacheKey(type, channel, applicationUuid);
         templateListCache.clearCacheEntry(listCacheKey, tenantId);
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
+    }
+
+    @Override
+    public void addOrUpdateNotificationTemplates(List<NotificationTemplate> notificationTemplates,
+                                                 String applicationUuid, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        super.addOrUpdateNotificationTemplates(notificationTemplates, applicationUuid, tenantId);
+
+        // The caches shared by all the templates of the tenant are updated once for the whole batch.
+        Set<String> channels = new HashSet<>();
+        Set<AppNotificationTemplateListCacheKey> listCacheKeys = new HashSet<>();
+        for (NotificationTemplate notificationTemplate : notificationTemplates) {
+            String locale = notificationTemplate.getLocale();
+            String type = notificationTemplate.getType();
+            String channel = notificationTemplate.getNotificationChannel();
+            AppNotificationTemplateCacheKey cacheKey =
+                    new AppNotificationTemplateCacheKey(locale, type, channel, applicationUuid);
+            appNotificationTemplateCache.addToCache(cacheKey, new NotificationTemplateCacheEntry(notificationTemplate),
+                    tenantId);
+            channels.add(channel);
+            listCacheKeys.add(new AppNotificationTemplateListCacheKey(type, channel, applicationUuid));
+        }
+        for (String channel : channels) {
+            templateOverrideManifestDAO.updateTemplateOverrideManifest(channel, tenantId, manifest -> {
+                for (NotificationTemplate notificationTemplate : notificationTemplates) {
+                    if (channel.equals(notificationTemplate.getNotificationChannel())) {
+                        manifest = manifest.withTemplate(notificationTemplate.getDisplayName(),
+                                notificationTemplate.getLocale(), applicationUuid);
+                    }
+                }
+                return manifest;
+            });
+        }
+        for (AppNotificationTemplateListCacheKey listCacheKey : listCacheKeys) {
+            templateListCache.clearCacheEntry(listCacheKey, tenantId);
+        }
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
     }
 
     @Override
@@ -171,6 +297,8 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
             throws NotificationTemplateManagerServerException {
 
         super.removeNotificationTemplate(locale, templateType, channelName, applicationUuid, tenantId);
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(channelName, tenantId,
+                manifest -> manifest.withoutTemplate(templateType, locale, applicationUuid));
 
         AppNotificationTemplateCacheKey cacheKey =
                 new AppNotificationTemplateCacheKey(locale, templateType, channelName, applicationUuid);
@@ -179,6 +307,8 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
         AppNotificationTemplateListCacheKey listCacheKey =
                 new AppNotificationTemplateListCacheKey(templateType, channelName, applicationUuid);
         templateListCache.clearCacheEntry(listCacheKey, tenantId);
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
     }
 
     @Override
@@ -186,12 +316,16 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
                                             int tenantId) throws NotificationTemplateManagerServerException {
 
         super.removeNotificationTemplates(templateType, channelName, applicationUuid, tenantId);
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(channelName, tenantId,
+                manifest -> manifest.withoutTemplates(templateType, applicationUuid));
 
         appNotificationTemplateCache.clear(tenantId);
 
         AppNotificationTemplateListCacheKey listCacheKey =
                 new AppNotificationTemplateListCacheKey(templateType, channelName, applicationUuid);
         templateListCache.clearCacheEntry(listCacheKey, tenantId);
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
     }
 
     @Override
@@ -199,10 +333,20 @@ public class CacheBackedAppNotificationTemplateDAO extends AppNotificationTempla
             throws NotificationTemplateManagerServerException {
 
         super.removeAllNotificationTemplates(templateType, channelName, tenantId);
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(channelName, tenantId,
+                manifest -> manifest.withoutApplicationTemplates(templateType));
 
         appNotificationTemplateCache.clear(tenantId);
         // Clearing full template list cache for tenant since it's not possible to remove all entries for a template
         // type at once.
         templateListCache.clear(tenantId);
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
+    }
+
+    private AppNotificationTemplateCacheKey getCacheKey(NotificationTemplateKey templateKey) {
+
+        return new AppNotificationTemplateCacheKey(templateKey.getLocale(), templateKey.getDisplayName(),
+                templateKey.getNotificationChannel(), templateKey.getApplicationUuid());
     }
 }
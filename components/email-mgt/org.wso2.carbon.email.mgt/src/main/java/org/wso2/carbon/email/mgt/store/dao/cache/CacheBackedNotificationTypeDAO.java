@@ -24,10 +24,12 @@ import org.wso2.carbon.email.mgt.cache.AppNotificationTemplateCache;
 import org.wso2.carbon.email.mgt.cache.AppNotificationTemplateListCache;
 import org.wso2.carbon.email.mgt.cache.NotificationTypeCache;
 import org.wso2.carbon.email.mgt.cache.NotificationTypeCacheKey;
+import org.wso2.carbon.email.mgt.cache.NotificationTypeIdCache;
 import org.wso2.carbon.email.mgt.cache.NotificationTypeListCache;
 import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateCache;
 import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateListCache;
 import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateListCacheKey;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCache;
 import org.wso2.carbon.email.mgt.store.dao.NotificationTypeDAO;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
 
@@ -42,6 +44,7 @@ public class CacheBackedNotificationTypeDAO extends NotificationTypeDAO {
     private static final Log log = LogFactory.getLog(CacheBackedNotificationTypeDAO.class);
     private final NotificationTypeCache notificationTypeCache = NotificationTypeCache.getInstance();
     private final NotificationTypeListCache notificationTypeListCache = NotificationTypeListCache.getInstance();
+    private final NotificationTypeIdCache notificationTypeIdCache = NotificationTypeIdCache.getInstance();
     private final OrgNotificationTemplateCache orgNotificationTemplateCache =
             OrgNotificationTemplateCache.getInstance();
     private final OrgNotificationTemplateListCache
@@ -50,12 +53,17 @@ public class CacheBackedNotificationTypeDAO extends NotificationTypeDAO {
             AppNotificationTemplateCache.getInstance();
     private final AppNotificationTemplateListCache
             appNotificationTemplateListCache = AppNotificationTemplateListCache.getInstance();
+    private final TemplateResolutionCache templateResolutionCache = TemplateResolutionCache.getInstance();
+    private final CacheBackedTemplateOverrideManifestDAO templateOverrideManifestDAO =
+            new CacheBackedTemplateOverrideManifestDAO();
 
     @Override
     public void addNotificationTemplateType(String type, String displayName, String channelName, int tenantId)
             throws NotificationTemplateManagerServerException {
 
         super.addNotificationTemplateType(type, displayName, channelName, tenantId);
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(channelName, tenantId,
+                manifest -> manifest.withTemplateType(type, displayName));
 
         NotificationTypeCacheKey cacheKey = new NotificationTypeCacheKey(type, channelName);
         notificationTypeCache.addToCache(cacheKey, displayName, tenantId);
@@ -88,6 +96,35 @@ public class CacheBackedNotificationTypeDAO extends NotificationTypeDAO {
         return templateTypeDisplayName;
     }
 
+    @Override
+    public Integer getNotificationTemplateTypeId(String type, String channelName, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        NotificationTypeCacheKey cacheKey = new NotificationTypeCacheKey(type, channelName);
+        Integer typeId = notificationTypeIdCache.getValueFromCache(cacheKey, tenantId);
+
+        if (typeId != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache hit in NotificationTypeIdCache for template type: " + type + " in channel: " +
+                        channelName + " for tenant: " + tenantId);
+            }
+            return typeId;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Cache miss in NotificationTypeIdCache for template type: " + type + " in channel: " +
+                    channelName + " for tenant: " + tenantId);
+        }
+
+        typeId = super.getNotificationTemplateTypeId(type, channelName, tenantId);
+        // Ids of missing template types are not cached, as the type can be added from another node.
+        if (typeId != null) {
+            notificationTypeIdCache.addToCache(cacheKey, typeId, tenantId);
+        }
+
+        return typeId;
+    }
+
     @Override
     public List<String> listNotificationTemplateTypes(String channelName, int tenantId)
             throws NotificationTemplateManagerServerException {
@@ -118,7 +155,10 @@ public class CacheBackedNotificationTypeDAO extends NotificationTypeDAO {
             throws NotificationTemplateManagerServerException {
 
         super.deleteNotificationTemplateType(type, channelName, tenantId);
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(channelName, tenantId,
+                manifest -> manifest.withoutTemplateType(type));
         notificationTypeCache.clearCacheEntry(new NotificationTypeCacheKey(type, channelName), tenantId);
+        notificationTypeIdCache.clearCacheEntry(new NotificationTypeCacheKey(type, channelName), tenantId);
         notificationTypeListCache.clearCacheEntry(channelName, tenantId);
 
         orgNotificationTemplateCache.clear(tenantId);
@@ -127,5 +167,6 @@ public class CacheBackedNotificationTypeDAO extends NotificationTypeDAO {
 
         appNotificationTemplateCache.clear(tenantId);
         appNotificationTemplateListCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
     }
 }
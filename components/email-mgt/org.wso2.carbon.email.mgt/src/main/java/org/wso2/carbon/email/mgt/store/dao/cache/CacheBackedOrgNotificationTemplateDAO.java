@@ -20,16 +20,26 @@ package org.wso2.carbon.email.mgt.store.dao.cache;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheEntry;
 import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateCache;
 import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateCacheKey;
 import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateListCache;
 import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateListCacheKey;
+import org.wso2.carbon.email.mgt.cache.PartiallyRenderedTemplateCache;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCache;
+import org.wso2.carbon.email.mgt.model.NotificationTemplateKey;
 import org.wso2.carbon.email.mgt.store.dao.OrgNotificationTemplateDAO;
+import org.wso2.carbon.email.mgt.store.dao.NotificationTypeDAO;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * This class provides the cache backed implementation for {@link OrgNotificationTemplateDAO}.
@@ -40,6 +50,21 @@ public class CacheBackedOrgNotificationTemplateDAO extends OrgNotificationTempla
     private final OrgNotificationTemplateCache orgNotificationTemplateCache =
             OrgNotificationTemplateCache.getInstance();
     private final OrgNotificationTemplateListCache templateListCache = OrgNotificationTemplateListCache.getInstance();
+    private final PartiallyRenderedTemplateCache partiallyRenderedTemplateCache =
+            PartiallyRenderedTemplateCache.getInstance();
+    private final TemplateResolutionCache templateResolutionCache = TemplateResolutionCache.getInstance();
+    private final CacheBackedTemplateOverrideManifestDAO templateOverrideManifestDAO =
+            new CacheBackedTemplateOverrideManifestDAO();
+
+    public CacheBackedOrgNotificationTemplateDAO() {
+
+        this(new CacheBackedNotificationTypeDAO());
+    }
+
+    CacheBackedOrgNotificationTemplateDAO(NotificationTypeDAO notificationTypeDAO) {
+
+        super(notificationTypeDAO);
+    }
 
     @Override
     public void addNotificationTemplate(NotificationTemplate notificationTemplate, int tenantId)
@@ -50,12 +75,17 @@ public class CacheBackedOrgNotificationTemplateDAO extends OrgNotificationTempla
         String locale = notificationTemplate.getLocale();
         String type = notificationTemplate.getType();
         String channel = notificationTemplate.getNotificationChannel();
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(channel, tenantId,
+                manifest -> manifest.withTemplate(notificationTemplate.getDisplayName(), locale, null));
 
         OrgNotificationTemplateCacheKey cacheKey = new OrgNotificationTemplateCacheKey(locale, type, channel);
-        orgNotificationTemplateCache.addToCache(cacheKey, notificationTemplate, tenantId);
+        orgNotificationTemplateCache.addToCache(cacheKey, new NotificationTemplateCacheEntry(notificationTemplate),
+                tenantId);
 
         OrgNotificationTemplateListCacheKey listCacheKey = new OrgNotificationTemplateListCacheKey(type, channel);
         templateListCache.clearCacheEntry(listCacheKey, tenantId);
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
     }
 
     @Override
@@ -64,14 +94,15 @@ public class CacheBackedOrgNotificationTemplateDAO extends OrgNotificationTempla
             throws NotificationTemplateManagerServerException {
 
         OrgNotificationTemplateCacheKey key = new OrgNotificationTemplateCacheKey(locale, templateType, channelName);
-        NotificationTemplate orgNotificationTemplate = orgNotificationTemplateCache.getValueFromCache(key, tenantId);
+        NotificationTemplateCacheEntry cacheEntry = orgNotificationTemplateCache.getValueFromCache(key, tenantId);
 
-        if (orgNotificationTemplate != null) {
+        if (cacheEntry != null) {
             if (log.isDebugEnabled()) {
                 log.debug("Cache hit in OrgNotificationTemplateCache for locale: " + locale + ", template type: " +
-                        templateType + " in channel: " + channelName + " for tenant: " + tenantId);
+                        templateType + " in channel: " + channelName + " for tenant: " + tenantId +
+                        ". Template exists: " + cacheEntry.isTemplateExists());
             }
-            return orgNotificationTemplate;
+            return cacheEntry.getNotificationTemplate();
         }
 
         if (log.isDebugEnabled()) {
@@ -79,25 +110,73 @@ public class CacheBackedOrgNotificationTemplateDAO extends OrgNotificationTempla
                     templateType + " in channel: " + channelName + " for tenant: " + tenantId);
         }
 
-        orgNotificationTemplate = super.getNotificationTemplate(locale, templateType, channelName, tenantId);
-        orgNotificationTemplateCache.addToCache(key, orgNotificationTemplate, tenantId);
+        NotificationTemplate orgNotificationTemplate =
+                super.getNotificationTemplate(locale, templateType, channelName, tenantId);
+        // Templates which are not found are cached as well, since most tenants use the system default templates.
+        orgNotificationTemplateCache.addToCache(key, new NotificationTemplateCacheEntry(orgNotificationTemplate),
+                tenantId);
 
         return orgNotificationTemplate;
     }
 
+    @Override
+    public Map<NotificationTemplateKey, NotificationTemplate> getNotificationTemplates(
+            Collection<NotificationTemplateKey> templateKeys, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        Map<NotificationTemplateKey, NotificationTemplate> notificationTemplates = new HashMap<>();
+        List<NotificationTemplateKey> missedTemplateKeys = new ArrayList<>();
+        for (NotificationTemplateKey templateKey : templateKeys) {
+            NotificationTemplateCacheEntry cacheEntry =
+                    orgNotificationTemplateCache.getValueFromCache(getCacheKey(templateKey), tenantId);
+            if (cacheEntry == null) {
+                missedTemplateKeys.add(templateKey);
+            } else if (cacheEntry.isTemplateExists()) {
+                notificationTemplates.put(templateKey, cacheEntry.getNotificationTemplate());
+            }
+        }
+
+        if (missedTemplateKeys.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache hit in OrgNotificationTemplateCache for templates: " + templateKeys +
+                        " for tenant: " + tenantId);
+            }
+            return notificationTemplates;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Cache miss in OrgNotificationTemplateCache for templates: " + missedTemplateKeys +
+                    " for tenant: " + tenantId);
+        }
+
+        Map<NotificationTemplateKey, NotificationTemplate> loadedTemplates =
+                super.getNotificationTemplates(missedTemplateKeys, tenantId);
+        for (NotificationTemplateKey templateKey : missedTemplateKeys) {
+            NotificationTemplate notificationTemplate = loadedTemplates.get(templateKey);
+            orgNotificationTemplateCache.addToCache(getCacheKey(templateKey),
+                    new NotificationTemplateCacheEntry(notificationTemplate), tenantId);
+            if (notificationTemplate != null) {
+                notificationTemplates.put(templateKey, notificationTemplate);
+            }
+        }
+
+        return notificationTemplates;
+    }
+
     @Override
     public boolean isNotificationTemplateExists(String locale, String templateType, String channelName, int tenantId)
             throws NotificationTemplateManagerServerException {
 
         OrgNotificationTemplateCacheKey key = new OrgNotificationTemplateCacheKey(locale, templateType, channelName);
-        NotificationTemplate orgNotificationTemplate = orgNotificationTemplateCache.getValueFromCache(key, tenantId);
+        NotificationTemplateCacheEntry cacheEntry = orgNotificationTemplateCache.getValueFromCache(key, tenantId);
 
-        if (orgNotificationTemplate != null) {
+        if (cacheEntry != null) {
             if (log.isDebugEnabled()) {
                 log.debug("Cache hit in OrgNotificationTemplateCache for locale: " + locale + ", template type: " +
-                        templateType + " in channel: " + channelName + " for tenant: " + tenantId);
+                        templateType + " in channel: " + channelName + " for tenant: " + tenantId +
+                        ". Template exists: " + cacheEntry.isTemplateExists());
             }
-            return true;
+            return cacheEntry.isTemplateExists();
         }
 
         if (log.isDebugEnabled()) {
@@ -105,7 +184,11 @@ public class CacheBackedOrgNotificationTemplateDAO extends OrgNotificationTempla
                     templateType + " in channel: " + channelName + " for tenant: " + tenantId);
         }
 
-        return super.isNotificationTemplateExists(locale, templateType, channelName, tenantId);
+        boolean templateExists = super.isNotificationTemplateExists(locale, templateType, channelName, tenantId);
+        if (!templateExists) {
+            orgNotificationTemplateCache.addToCache(key, new NotificationTemplateCacheEntry(null), tenantId);
+        }
+        return templateExists;
     }
 
     @Override
@@ -145,10 +228,50 @@ public class CacheBackedOrgNotificationTemplateDAO extends OrgNotificationTempla
         String channel = notificationTemplate.getNotificationChannel();
 
         OrgNotificationTemplateCacheKey cacheKey = new OrgNotificationTemplateCacheKey(locale, type, channel);
-        orgNotificationTemplateCache.addToCache(cacheKey, notificationTemplate, tenantId);
+        orgNotificationTemplateCache.addToCache(cacheKey, new NotificationTemplateCacheEntry(notificationTemplate),
+                tenantId);
 
         OrgNotificationTemplateListCacheKey listCacheKey = new OrgNotificationTemplateListCacheKey(type, channel);
         templateListCache.clearCacheEntry(listCacheKey, tenantId);
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
+    }
+
+    @Override
+    public void addOrUpdateNotificationTemplates(List<NotificationTemplate> notificationTemplates, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        super.addOrUpdateNotificationTemplates(notificationTemplates, tenantId);
+
+        // The caches shared by all the templates of the tenant are updated once for the whole batch.
+        Set<String> channels = new HashSet<>();
+        Set<OrgNotificationTemplateListCacheKey> listCacheKeys = new HashSet<>();
+        for (NotificationTemplate notificationTemplate : notificationTemplates) {
+            String locale = notificationTemplate.getLocale();
+            String type = notificationTemplate.getType();
+            String channel = notificationTemplate.getNotificationChannel();
+            OrgNotificationTemplateCacheKey cacheKey = new OrgNotificationTemplateCacheKey(locale, type, channel);
+            orgNotificationTemplateCache.addToCache(cacheKey, new NotificationTemplateCacheEntry(notificationTemplate),
+                    tenantId);
+            channels.add(channel);
+            listCacheKeys.add(new OrgNotificationTemplateListCacheKey(type, channel));
+        }
+        for (String channel : channels) {
+            templateOverrideManifestDAO.updateTemplateOverrideManifest(channel, tenantId, manifest -> {
+                for (NotificationTemplate notificationTemplate : notificationTemplates) {
+                    if (channel.equals(notificationTemplate.getNotificationChannel())) {
+                        manifest = manifest.withTemplate(notificationTemplate.getDisplayName(),
+                                notificationTemplate.getLocale(), null);
+                    }
+                }
+                return manifest;
+            });
+        }
+        for (OrgNotificationTemplateListCacheKey listCacheKey : listCacheKeys) {
+            templateListCache.clearCacheEntry(listCacheKey, tenantId);
+        }
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
     }
 
     @Override
@@ -156,6 +279,8 @@ public class CacheBackedOrgNotificationTemplateDAO extends OrgNotificationTempla
             throws NotificationTemplateManagerServerException {
 
         super.removeNotificationTemplate(locale, templateType, channelName, tenantId);
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(channelName, tenantId,
+                manifest -> manifest.withoutTemplate(templateType, locale, null));
 
         OrgNotificationTemplateCacheKey cacheKey =
                 new OrgNotificationTemplateCacheKey(locale, templateType, channelName);
@@ -164,7 +289,8 @@ public class CacheBackedOrgNotificationTemplateDAO extends OrgNotificationTempla
         OrgNotificationTemplateListCacheKey listCacheKey =
                 new OrgNotificationTemplateListCacheKey(templateType, channelName);
         templateListCache.clearCacheEntry(listCacheKey, tenantId);
-
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
     }
 
     @Override
@@ -172,11 +298,21 @@ public class CacheBackedOrgNotificationTemplateDAO extends OrgNotificationTempla
             throws NotificationTemplateManagerServerException {
 
         super.removeNotificationTemplates(templateType, channelName, tenantId);
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(channelName, tenantId,
+                manifest -> manifest.withoutTemplates(templateType, null));
 
         orgNotificationTemplateCache.clear(tenantId);
 
         OrgNotificationTemplateListCacheKey listCacheKey =
                 new OrgNotificationTemplateListCacheKey(templateType, channelName);
         templateListCache.clearCacheEntry(listCacheKey, tenantId);
+        partiallyRenderedTemplateCache.clear(tenantId);
+        templateResolutionCache.clear(tenantId);
+    }
+
+    private OrgNotificationTemplateCacheKey getCacheKey(NotificationTemplateKey templateKey) {
+
+        return new OrgNotificationTemplateCacheKey(templateKey.getLocale(), templateKey.getDisplayName(),
+                templateKey.getNotificationChannel());
     }
 }
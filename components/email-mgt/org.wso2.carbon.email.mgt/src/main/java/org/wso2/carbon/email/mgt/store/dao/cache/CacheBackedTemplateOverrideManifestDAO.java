@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.store.dao.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.email.mgt.cache.TemplateOverrideManifestCache;
+import org.wso2.carbon.email.mgt.model.TemplateOverrideManifest;
+import org.wso2.carbon.email.mgt.store.dao.TemplateOverrideManifestDAO;
+import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * This class provides the cache backed implementation for {@link TemplateOverrideManifestDAO}.
+ * Cached manifests are updated in place by the template and template type writes, so a write does not trigger a
+ * reload of the manifest. Each write moves a per tenant generation, and a manifest loaded from the storage is only
+ * cached if no write happened while it was being loaded, as the loaded manifest may not include that write.
+ */
+public class CacheBackedTemplateOverrideManifestDAO extends TemplateOverrideManifestDAO {
+
+    private static final Log log = LogFactory.getLog(CacheBackedTemplateOverrideManifestDAO.class);
+    private static final Object UPDATE_LOCK = new Object();
+    private static final ConcurrentMap<Integer, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+    private final TemplateOverrideManifestCache templateOverrideManifestCache =
+            TemplateOverrideManifestCache.getInstance();
+
+    @Override
+    public TemplateOverrideManifest getTemplateOverrideManifest(String channelName, int tenantId)
+            throws NotificationTemplateManagerServerException {
+
+        TemplateOverrideManifest manifest = templateOverrideManifestCache.getValueFromCache(channelName, tenantId);
+
+        if (manifest != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache hit in TemplateOverrideManifestCache for channel: " + channelName + " for tenant: " +
+                        tenantId);
+            }
+            return manifest;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Cache miss in TemplateOverrideManifestCache for channel: " + channelName + " for tenant: " +
+                    tenantId);
+        }
+
+        long generation = getGeneration(tenantId);
+        manifest = super.getTemplateOverrideManifest(channelName, tenantId);
+        synchronized (UPDATE_LOCK) {
+            if (getGeneration(tenantId) == generation) {
+                templateOverrideManifestCache.addToCache(channelName, manifest, tenantId);
+            } else if (log.isDebugEnabled()) {
+                log.debug("Template override manifest of channel: " + channelName + " for tenant: " + tenantId +
+                        " was updated while being loaded. The loaded manifest is not cached.");
+            }
+        }
+
+        return manifest;
+    }
+
+    /**
+     * Apply a write to the cached manifest of the channel. Nothing is done when the manifest is not cached, as it
+     * will be loaded from the storage with the write on next use.
+     *
+     * @param channelName Notification channel.
+     * @param tenantId    Tenant id.
+     * @param update      Function returning the updated copy of the manifest.
+     */
+    public void updateTemplateOverrideManifest(String channelName, int tenantId,
+                                               UnaryOperator<TemplateOverrideManifest> update) {
+
+        synchronized (UPDATE_LOCK) {
+            nextGeneration(tenantId);
+            TemplateOverrideManifest manifest = templateOverrideManifestCache.getValueFromCache(channelName, tenantId);
+            if (manifest != null) {
+                templateOverrideManifestCache.addToCache(channelName, update.apply(manifest), tenantId);
+            }
+        }
+    }
+
+    /**
+     * Remove the cached manifests of all the channels of a tenant, so that they are loaded from the storage on next
+     * use. This is used for writes which are not applied by this component, eg: application templates removed along
+     * with a deleted application.
+     *
+     * @param tenantId Tenant id.
+     */
+    public void clearTemplateOverrideManifests(int tenantId) {
+
+        synchronized (UPDATE_LOCK) {
+            nextGeneration(tenantId);
+            templateOverrideManifestCache.clear(tenantId);
+        }
+    }
+
+    private static long getGeneration(int tenantId) {
+
+        AtomicLong generation = GENERATIONS.get(tenantId);
+        return generation == null ? 0L : generation.get();
+    }
+
+    private static void nextGeneration(int tenantId) {
+
+        GENERATIONS.computeIfAbsent(tenantId, key -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.email.mgt.cache.ApplicationIdCacheEntry;
+import org.wso2.carbon.email.mgt.cache.ApplicationUuidCache;
+import org.wso2.carbon.email.mgt.cache.ApplicationUuidCacheKey;
+import org.wso2.carbon.email.mgt.cache.MainApplicationIdCache;
+import org.wso2.carbon.email.mgt.cache.MainApplicationIdCacheKey;
+import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementServerException;
+import org.wso2.carbon.identity.application.common.model.ApplicationBasicInfo;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+/**
+ * Resolves the applications notification templates are selected for, through the {@link ApplicationUuidCache} and
+ * the {@link MainApplicationIdCache}. Unknown applications are cached as well. Entries of a tenant are cleared with
+ * {@link #clear(String)} when an application of the tenant is created, updated or deleted.
+ */
+public class ApplicationContextUtil {
+
+    private static final Log log = LogFactory.getLog(ApplicationContextUtil.class);
+
+    private ApplicationContextUtil() {
+
+    }
+
+    /**
+     * Get the UUID of an application by its name.
+     *
+     * @param applicationName Application name.
+     * @param tenantDomain    Tenant domain of the application.
+     * @return Application UUID, or null if there is no such application.
+     * @throws IdentityApplicationManagementException If an error occurred while loading the application.
+     */
+    public static String getApplicationUuid(String applicationName, String tenantDomain)
+            throws IdentityApplicationManagementException {
+
+        int tenantId = OrganizationContextUtil.getTenantId(tenantDomain);
+        ApplicationUuidCacheKey cacheKey = new ApplicationUuidCacheKey(applicationName);
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            ApplicationIdCacheEntry entry = ApplicationUuidCache.getInstance().getValueFromCache(cacheKey, tenantId);
+            if (entry != null) {
+                return entry.getApplicationId();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Cache miss in ApplicationUuidCache for application: " + applicationName +
+                        " in tenant: " + tenantDomain);
+            }
+        }
+        ApplicationBasicInfo applicationBasicInfo = I18nMgtDataHolder.getInstance().getApplicationManagementService()
+                .getApplicationBasicInfoByName(applicationName, tenantDomain);
+        String applicationUuid = applicationBasicInfo != null ? applicationBasicInfo.getApplicationResourceId() : null;
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            ApplicationUuidCache.getInstance().addToCache(cacheKey, new ApplicationIdCacheEntry(applicationUuid),
+                    tenantId);
+        }
+        return applicationUuid;
+    }
+
+    /**
+     * Get the id of the main application an application of a sub organization is shared from.
+     *
+     * @param applicationUuid  UUID of the application in the sub organization.
+     * @param rootTenantDomain Tenant domain of the root organization.
+     * @return Main application id, or null if the application is not shared from a main application.
+     * @throws IdentityApplicationManagementServerException If an error occurred while resolving the main application.
+     */
+    public static String getMainApplicationId(String applicationUuid, String rootTenantDomain)
+            throws IdentityApplicationManagementServerException {
+
+        int tenantId = OrganizationContextUtil.getTenantId(rootTenantDomain);
+        MainApplicationIdCacheKey cacheKey = new MainApplicationIdCacheKey(applicationUuid);
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            ApplicationIdCacheEntry entry = MainApplicationIdCache.getInstance().getValueFromCache(cacheKey, tenantId);
+            if (entry != null) {
+                return entry.getApplicationId();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Cache miss in MainApplicationIdCache for application: " + applicationUuid +
+                        " in tenant: " + rootTenantDomain);
+            }
+        }
+        String mainApplicationId = I18nMgtDataHolder.getInstance().getApplicationManagementService()
+                .getMainAppId(applicationUuid);
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            MainApplicationIdCache.getInstance().addToCache(cacheKey, new ApplicationIdCacheEntry(mainApplicationId),
+                    tenantId);
+        }
+        return mainApplicationId;
+    }
+
+    /**
+     * Clear the cached application ids of a tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public static void clear(String tenantDomain) {
+
+        int tenantId = OrganizationContextUtil.getTenantId(tenantDomain);
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            ApplicationUuidCache.getInstance().clear(tenantId);
+            MainApplicationIdCache.getInstance().clear(tenantId);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Notification template content parsed once into literal and placeholder segments.
+ * A compiled template is rendered in a single pass over its segments instead of running a regex replacement over the
+ * whole content for every placeholder value. Placeholders are written as {{key}}, and {{url:key}} renders the URL
+ * encoded value of key. Placeholders without a value are written back as they appear in the template.
+ * Compiled templates are immutable. They are kept along with the cached template they were compiled from, see
+ * {@link CompiledTemplateContent}, so a template served from the template caches is compiled only once, and an updated
+ * template gets compiled afresh on first use.
+ */
+public final class CompiledTemplate {
+
+    public static final String URL_PLACEHOLDER_PREFIX = "url:";
+
+    private static final String PLACEHOLDER_START = "{{";
+    private static final String PLACEHOLDER_END = "}}";
+
+    private final String content;
+    private final Segment[] segments;
+    private final Set<String> placeholders;
+
+    private CompiledTemplate(String content, List<Segment> segments, Set<String> placeholders) {
+
+        this.content = content;
+        this.segments = segments.toArray(new Segment[0]);
+        this.placeholders = Collections.unmodifiableSet(placeholders);
+    }
+
+    /**
+     * Compile the given template content.
+     *
+     * @param content Template content.
+     * @return Compiled template.
+     */
+    public static CompiledTemplate compile(String content) {
+
+        if (content == null) {
+            throw new IllegalArgumentException("Template content cannot be null.");
+        }
+        return parse(content);
+    }
+
+    /**
+     * Render the template with the given placeholder values.
+     *
+     * @param values Placeholder values keyed by placeholder name.
+     * @return Rendered content.
+     * @throws UnsupportedEncodingException If a {{url:key}} value cannot be URL encoded.
+     */
+    public String render(Map<String, String> values) throws UnsupportedEncodingException {
+
+        if (placeholders.isEmpty()) {
+            return content;
+        }
+        StringBuilder builder = new StringBuilder(content.length() + 64);
+        for (Segment segment : segments) {
+            if (segment.key == null) {
+                builder.append(segment.text);
+                continue;
+            }
+            String value = values.get(segment.key);
+            if (value != null) {
+                builder.append(segment.urlEncoded ? URLEncoder.encode(value, StandardCharsets.UTF_8.name()) : value);
+                continue;
+            }
+            // A value set against the full name of a URL placeholder, eg: "url:user.claim.email", is used as is.
+            value = segment.urlEncoded ? values.get(segment.name) : null;
+            builder.append(value != null ? value : segment.text);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Render only the placeholders having a value in the given map, keeping the other placeholders as they appear in
+     * the template. Rendering the result with a map containing the same values gives the same content as rendering
+     * this template with that map.
+     *
+     * @param values Placeholder values to substitute, keyed by placeholder name.
+     * @return Partially rendered content, or null if a substituted value would change how the remaining
+     * placeholders are parsed, eg: when a value contains braces.
+     * @throws UnsupportedEncodingException If a {{url:key}} value cannot be URL encoded.
+     */
+    public String renderPartially(Map<String, String> values) throws UnsupportedEncodingException {
+
+        if (placeholders.isEmpty()) {
+            return content;
+        }
+        StringBuilder builder = new StringBuilder(content.length() + 64);
+        List<Integer> remainingOffsets = new ArrayList<>();
+        List<String> remainingPlaceholders = new ArrayList<>();
+        for (Segment segment : segments) {
+            String value = segment.key == null ? null : values.get(segment.key);
+            if (segment.key == null) {
+                builder.append(segment.text);
+            } else if (value != null) {
+                builder.append(segment.urlEncoded ? URLEncoder.encode(value, StandardCharsets.UTF_8.name()) : value);
+            } else {
+                remainingOffsets.add(builder.length());
+                remainingPlaceholders.add(segment.text);
+                builder.append(segment.text);
+            }
+        }
+        String rendered = builder.toString();
+
+        // The remaining placeholders must be parsed back at the same offsets for the two renderings to match.
+        CompiledTemplate renderedTemplate = compile(rendered);
+        int offset = 0;
+        int index = 0;
+        for (Segment segment : renderedTemplate.segments) {
+            if (segment.key != null) {
+                if (index >= remainingOffsets.size() || remainingOffsets.get(index) != offset ||
+                        !remainingPlaceholders.get(index).equals(segment.text)) {
+                    return null;
+                }
+                index++;
+            }
+            offset += segment.text.length();
+        }
+        return index == remainingOffsets.size() ? rendered : null;
+    }
+
+    /**
+     * Get the placeholder names used in the template, in order of first appearance. URL placeholders are reported
+     * with their {@link #URL_PLACEHOLDER_PREFIX}.
+     *
+     * @return Unmodifiable set of placeholder names.
+     */
+    public Set<String> getPlaceholders() {
+
+        return placeholders;
+    }
+
+    /**
+     * Get the raw template content.
+     *
+     * @return Template content.
+     */
+    public String getContent() {
+
+        return content;
+    }
+
+    private static CompiledTemplate parse(String content) {
+
+        List<Segment> segments = new ArrayList<>();
+        Set<String> placeholders = new LinkedHashSet<>();
+        int literalStart = 0;
+        int searchFrom = 0;
+        while (true) {
+            int start = content.indexOf(PLACEHOLDER_START, searchFrom);
+            if (start < 0) {
+                break;
+            }
+            int end = content.indexOf(PLACEHOLDER_END, start + PLACEHOLDER_START.length());
+            if (end < 0) {
+                break;
+            }
+            // Use the innermost opening braces so that "{{{key}}" resolves "key" and keeps the extra brace.
+            start = content.lastIndexOf(PLACEHOLDER_START, end - PLACEHOLDER_START.length());
+            if (start > literalStart) {
+                segments.add(Segment.literal(content.substring(literalStart, start)));
+            }
+            String name = content.substring(start + PLACEHOLDER_START.length(), end);
+            String raw = content.substring(start, end + PLACEHOLDER_END.length());
+            if (name.startsWith(URL_PLACEHOLDER_PREFIX)) {
+                segments.add(Segment.placeholder(raw, name, name.substring(URL_PLACEHOLDER_PREFIX.length()), true));
+            } else {
+                segments.add(Segment.placeholder(raw, name, name, false));
+            }
+            placeholders.add(name);
+            literalStart = end + PLACEHOLDER_END.length();
+            searchFrom = literalStart;
+        }
+        if (literalStart < content.length()) {
+            segments.add(Segment.literal(content.substring(literalStart)));
+        }
+        return new CompiledTemplate(content, segments, placeholders);
+    }
+
+    /**
+     * A literal run of template text, or a placeholder along with its raw text.
+     */
+    private static final class Segment {
+
+        private final String text;
+        private final String name;
+        private final String key;
+        private final boolean urlEncoded;
+
+        private Segment(String text, String name, String key, boolean urlEncoded) {
+
+            this.text = text;
+            this.name = name;
+            this.key = key;
+            this.urlEncoded = urlEncoded;
+        }
+
+        private static Segment literal(String text) {
+
+            return new Segment(text, null, null, false);
+        }
+
+        private static Segment placeholder(String raw, String name, String key, boolean urlEncoded) {
+
+            return new Segment(raw, name, key, urlEncoded);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import org.wso2.carbon.email.mgt.model.PlaceholderManifest;
+
+import java.util.Objects;
+
+/**
+ * Compiled subject, body and footer of a notification template, along with its placeholder manifest.
+ * Compiled content is built lazily and kept in a transient field of the object holding the template content, eg: a
+ * cached template resolution, so it lives and gets evicted along with that object instead of in a separate cache.
+ */
+public final class CompiledTemplateContent {
+
+    private final String subject;
+    private final String body;
+    private final String footer;
+    private final CompiledTemplate compiledSubject;
+    private final CompiledTemplate compiledBody;
+    private final CompiledTemplate compiledFooter;
+    private volatile PlaceholderManifest placeholderManifest;
+
+    private CompiledTemplateContent(String subject, String body, String footer) {
+
+        this.subject = subject;
+        this.body = body;
+        this.footer = footer;
+        this.compiledSubject = subject == null ? null : CompiledTemplate.compile(subject);
+        this.compiledBody = body == null ? null : CompiledTemplate.compile(body);
+        this.compiledFooter = footer == null ? null : CompiledTemplate.compile(footer);
+    }
+
+    /**
+     * Compile the given template content.
+     *
+     * @param subject Template subject. Can be null.
+     * @param body    Template body. Can be null.
+     * @param footer  Template footer. Can be null.
+     * @return Compiled template content.
+     */
+    public static CompiledTemplateContent of(String subject, String body, String footer) {
+
+        return new CompiledTemplateContent(subject, body, footer);
+    }
+
+    /**
+     * Check whether this was compiled from the given template content.
+     *
+     * @param subject Template subject.
+     * @param body    Template body.
+     * @param footer  Template footer.
+     * @return True if the given subject, body and footer are the ones this was compiled from.
+     */
+    public boolean isCompiledFrom(String subject, String body, String footer) {
+
+        return Objects.equals(this.body, body) && Objects.equals(this.subject, subject) &&
+                Objects.equals(this.footer, footer);
+    }
+
+    /**
+     * Get the compiled subject.
+     *
+     * @return Compiled subject, or null if the template has no subject.
+     */
+    public CompiledTemplate getSubject() {
+
+        return compiledSubject;
+    }
+
+    /**
+     * Get the compiled body.
+     *
+     * @return Compiled body, or null if the template has no body.
+     */
+    public CompiledTemplate getBody() {
+
+        return compiledBody;
+    }
+
+    /**
+     * Get the compiled footer.
+     *
+     * @return Compiled footer, or null if the template has no footer.
+     */
+    public CompiledTemplate getFooter() {
+
+        return compiledFooter;
+    }
+
+    /**
+     * Get the placeholders used in the subject, body and footer.
+     *
+     * @return Placeholder manifest.
+     */
+    public PlaceholderManifest getPlaceholderManifest() {
+
+        PlaceholderManifest manifest = placeholderManifest;
+        if (manifest == null) {
+            manifest = PlaceholderManifest.of(this);
+            placeholderManifest = manifest;
+        }
+        return manifest;
+    }
+}
@@ -23,13 +23,16 @@ import com.google.gson.JsonSyntaxException;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
 import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
+import org.wso2.carbon.email.mgt.constants.SQLConstants;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtException;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtServerException;
 import org.wso2.carbon.email.mgt.exceptions.I18nMgtEmailConfigException;
 import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
 import org.wso2.carbon.registry.core.Collection;
@@ -39,7 +42,6 @@ import org.wso2.carbon.registry.core.Resource;
 import org.wso2.carbon.registry.core.ResourceImpl;
 import org.wso2.carbon.registry.core.exceptions.RegistryException;
 
-import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
@@ -286,17 +288,35 @@ public class I18nEmailUtil {
     }
 
     /**
-     * Get the notification template subject, body & footer contents as a byte array.
+     * Get the notification template subject, body & footer contents as a byte array, in the legacy JSON format.
      *
      * @param notificationTemplate  the notification template to get the content
      * @return                      the byte array of the content
+     * @see TemplateContentCodec
      */
     public static byte[] getContentByteArray(NotificationTemplate notificationTemplate) {
 
-        String[] templateContent = new String[]{notificationTemplate.getSubject(), notificationTemplate.getBody(),
-                notificationTemplate.getFooter()};
-        String content = new Gson().toJson(templateContent);
-        return content.getBytes(StandardCharsets.UTF_8);
+        return getContentByteArray(notificationTemplate, false, false);
+    }
+
+    /**
+     * Get the notification template subject, body & footer contents as a byte array.
+     *
+     * @param notificationTemplate  the notification template to get the content
+     * @param binary                whether to write the content in the binary format instead of the legacy JSON
+     *                              format, which nodes of earlier versions cannot read
+     * @param compress              whether to compress the content. Only the binary format can be compressed, so
+     *                              compressed content is always written in the binary format
+     * @return                      the byte array of the content
+     * @see TemplateContentCodec
+     */
+    public static byte[] getContentByteArray(NotificationTemplate notificationTemplate, boolean binary,
+                                             boolean compress) {
+
+        if (binary || compress) {
+            return TemplateContentCodec.encode(notificationTemplate, compress);
+        }
+        return TemplateContentCodec.encodeJson(notificationTemplate);
     }
 
     /**
@@ -305,6 +325,7 @@ public class I18nEmailUtil {
      * @param contentStream                 the inputStream of the content
      * @param notificationTemplateResult    the notification template to set the content
      * @throws SQLException
+     * @see TemplateContentCodec
      */
     public static void setContent(InputStream contentStream, NotificationTemplate notificationTemplateResult) throws
             SQLException {
@@ -313,19 +334,64 @@ public class I18nEmailUtil {
             return;
         }
 
-        try {
-            byte[] contentByteArray = contentStream.readAllBytes();
-            String content = new String(contentByteArray, StandardCharsets.UTF_8);
-            String[] templateContent = new Gson().fromJson(content, String[].class);
-            if (templateContent != null && templateContent.length == 3) {
-                notificationTemplateResult.setSubject(templateContent[0]);
-                notificationTemplateResult.setBody(templateContent[1]);
-                notificationTemplateResult.setFooter(templateContent[2]);
-            } else {
-                throw new SQLException("Invalid content data.");
+        TemplateContentCodec.decode(contentStream, notificationTemplateResult);
+    }
+
+    /**
+     * Get the named parameters of an IN clause, eg: ":TYPE_ID_0;, :TYPE_ID_1;" for two values of TYPE_ID.
+     *
+     * @param parameterName Parameter name.
+     * @param count         Number of values in the IN clause.
+     * @return Comma separated named parameters.
+     */
+    public static String getInClauseParameters(String parameterName, int count) {
+
+        StringBuilder parameters = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                parameters.append(", ");
             }
-        } catch (IOException e) {
-            throw new SQLException("Error while reading content data.", e);
+            parameters.append(':').append(getInClauseParameterName(parameterName, i)).append(';');
+        }
+        return parameters.toString();
+    }
+
+    /**
+     * Get the name of a value of an IN clause built with {@link #getInClauseParameters(String, int)}.
+     *
+     * @param parameterName Parameter name.
+     * @param index         Index of the value.
+     * @return Named parameter of the value.
+     */
+    public static String getInClauseParameterName(String parameterName, int index) {
+
+        return parameterName + "_" + index;
+    }
+
+    /**
+     * Build a keyset paginated template listing, eg: {@link SQLConstants#LIST_ORG_NOTIFICATION_TEMPLATES_PAGE_SQL},
+     * with the row limiting clause of the database in use. MySQL, MariaDB, H2 and PostgreSQL use a LIMIT clause,
+     * MSSQL uses an offset and fetch clause, and DB2, Oracle and any other database use a FETCH FIRST clause.
+     *
+     * @param pageSql        Paginated listing query.
+     * @param contentColumns Template content columns to select, or an empty string to select only the metadata.
+     * @param filterByType   Whether to list only the templates of a template type.
+     * @param limit          Maximum number of rows to select.
+     * @return Listing query.
+     * @throws DataAccessException If an error occurred while resolving the database type.
+     */
+    public static String getTemplatesPageSql(String pageSql, String contentColumns, boolean filterByType, int limit)
+            throws DataAccessException {
+
+        String limitClause;
+        if (JdbcUtils.isMySQLDB() || JdbcUtils.isMariaDB() || JdbcUtils.isH2DB() || JdbcUtils.isPostgreSQLDB()) {
+            limitClause = SQLConstants.TEMPLATES_PAGE_LIMIT;
+        } else if (JdbcUtils.isMSSqlDB()) {
+            limitClause = SQLConstants.TEMPLATES_PAGE_LIMIT_MSSQL;
+        } else {
+            limitClause = SQLConstants.TEMPLATES_PAGE_LIMIT_FETCH_FIRST;
         }
+        return String.format(pageSql, contentColumns, filterByType ? SQLConstants.TEMPLATES_PAGE_TYPE_FILTER : "",
+                String.format(limitClause, limit));
     }
 }
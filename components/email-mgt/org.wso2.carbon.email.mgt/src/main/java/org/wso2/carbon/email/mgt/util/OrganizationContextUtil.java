@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.email.mgt.cache.OrganizationContextCache;
+import org.wso2.carbon.email.mgt.cache.OrganizationContextCacheEntry;
+import org.wso2.carbon.email.mgt.cache.OrganizationContextCacheKey;
+import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
+import org.wso2.carbon.identity.organization.management.service.util.OrganizationManagementUtil;
+import org.wso2.carbon.user.api.Tenant;
+import org.wso2.carbon.user.api.UserStoreException;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolves the organization context of tenant domains through the {@link OrganizationContextCache}, so that a
+ * notification and the templates it is rendered with do not go to the organization manager for the same values
+ * again. Each value is resolved on first use. Entries of a tenant are cleared with {@link #clear(int)} when the
+ * tenant is updated, deactivated or deleted, and expire with the cache timeout otherwise.
+ */
+public class OrganizationContextUtil {
+
+    private static final Log log = LogFactory.getLog(OrganizationContextUtil.class);
+
+    private OrganizationContextUtil() {
+
+    }
+
+    /**
+     * Get the id of the organization of a tenant domain.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Organization id.
+     * @throws OrganizationManagementException If an error occurred while resolving the organization id.
+     */
+    public static String getOrganizationId(String tenantDomain) throws OrganizationManagementException {
+
+        int tenantId = getTenantId(tenantDomain);
+        String organizationId = getCacheEntry(tenantDomain, tenantId).getOrganizationId();
+        if (organizationId != null) {
+            return organizationId;
+        }
+        organizationId = getOrganizationManager().resolveOrganizationId(tenantDomain);
+        if (organizationId != null) {
+            String resolvedOrganizationId = organizationId;
+            updateCacheEntry(tenantDomain, tenantId, entry -> entry.withOrganizationId(resolvedOrganizationId));
+        }
+        return organizationId;
+    }
+
+    /**
+     * Check whether a tenant domain belongs to a sub organization.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return True if the tenant domain is of a sub organization.
+     * @throws OrganizationManagementException If an error occurred while resolving the organization.
+     */
+    public static boolean isOrganization(String tenantDomain) throws OrganizationManagementException {
+
+        int tenantId = getTenantId(tenantDomain);
+        Boolean organization = getCacheEntry(tenantDomain, tenantId).isOrganization();
+        if (organization != null) {
+            return organization;
+        }
+        boolean isOrganization = OrganizationManagementUtil.isOrganization(tenantDomain);
+        updateCacheEntry(tenantDomain, tenantId, entry -> entry.withOrganization(isOrganization));
+        return isOrganization;
+    }
+
+    /**
+     * Get the tenant domain of the root organization a tenant domain belongs to.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Root organization tenant domain, or the given tenant domain if it is not of a sub organization.
+     * @throws OrganizationManagementException If an error occurred while resolving the root organization.
+     */
+    public static String getRootOrganizationTenantDomain(String tenantDomain) throws OrganizationManagementException {
+
+        if (!isOrganization(tenantDomain)) {
+            return tenantDomain;
+        }
+        int tenantId = getTenantId(tenantDomain);
+        String rootTenantDomain = getCacheEntry(tenantDomain, tenantId).getRootTenantDomain();
+        if (rootTenantDomain != null) {
+            return rootTenantDomain;
+        }
+        OrganizationManager organizationManager = getOrganizationManager();
+        String primaryOrganizationId = organizationManager.getPrimaryOrganizationId(getOrganizationId(tenantDomain));
+        rootTenantDomain = organizationManager.resolveTenantDomain(primaryOrganizationId);
+        if (rootTenantDomain != null) {
+            String resolvedRootTenantDomain = rootTenantDomain;
+            updateCacheEntry(tenantDomain, tenantId, entry -> entry.withRootTenantDomain(resolvedRootTenantDomain));
+        }
+        return rootTenantDomain;
+    }
+
+    /**
+     * Get the human readable name of the organization of a tenant domain. Tenant domains of organizations are UUIDs,
+     * so the name is taken from the organization associated with the tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Organization name, or the tenant domain if the tenant is not associated with an organization.
+     * @throws OrganizationManagementException If an error occurred while resolving the organization name.
+     * @throws UserStoreException              If an error occurred while loading the tenant.
+     */
+    public static String getOrganizationName(String tenantDomain)
+            throws OrganizationManagementException, UserStoreException {
+
+        if (MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(tenantDomain)) {
+            return tenantDomain;
+        }
+        int tenantId = getTenantId(tenantDomain);
+        String organizationName = getCacheEntry(tenantDomain, tenantId).getOrganizationName();
+        if (organizationName != null) {
+            return organizationName;
+        }
+        organizationName = tenantDomain;
+        Tenant tenant = I18nMgtDataHolder.getInstance().getRealmService().getTenantManager().getTenant(tenantId);
+        if (tenant != null && StringUtils.isNotBlank(tenant.getAssociatedOrganizationUUID())) {
+            organizationName = getOrganizationManager().getOrganizationNameById(
+                    tenant.getAssociatedOrganizationUUID());
+        }
+        if (organizationName != null) {
+            String resolvedOrganizationName = organizationName;
+            updateCacheEntry(tenantDomain, tenantId, entry -> entry.withOrganizationName(resolvedOrganizationName));
+        }
+        return organizationName;
+    }
+
+    /**
+     * Clear the cached organization context of a tenant.
+     *
+     * @param tenantId Tenant id.
+     */
+    public static void clear(int tenantId) {
+
+        OrganizationContextCache.getInstance().clear(tenantId);
+    }
+
+    private static OrganizationContextCacheEntry getCacheEntry(String tenantDomain, int tenantId) {
+
+        if (tenantId == MultitenantConstants.INVALID_TENANT_ID) {
+            return new OrganizationContextCacheEntry();
+        }
+        OrganizationContextCacheEntry entry = OrganizationContextCache.getInstance()
+                .getValueFromCache(new OrganizationContextCacheKey(tenantDomain), tenantId);
+        if (entry == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache miss in OrganizationContextCache for tenant: " + tenantDomain);
+            }
+            return new OrganizationContextCacheEntry();
+        }
+        return entry;
+    }
+
+    private static void updateCacheEntry(String tenantDomain, int tenantId,
+                                         UnaryOperator<OrganizationContextCacheEntry> update) {
+
+        if (tenantId == MultitenantConstants.INVALID_TENANT_ID) {
+            return;
+        }
+        // Read the entry again, so that values resolved meanwhile by other threads are kept.
+        OrganizationContextCacheEntry entry = update.apply(getCacheEntry(tenantDomain, tenantId));
+        OrganizationContextCache.getInstance().addToCache(new OrganizationContextCacheKey(tenantDomain), entry,
+                tenantId);
+    }
+
+    /**
+     * Get the tenant id the values of a tenant domain are cached against.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Tenant id, or {@link MultitenantConstants#INVALID_TENANT_ID} if the values should not be cached.
+     */
+    public static int getTenantId(String tenantDomain) {
+
+        RealmService realmService = I18nMgtDataHolder.getInstance().getRealmService();
+        if (realmService == null) {
+            return MultitenantConstants.INVALID_TENANT_ID;
+        }
+        try {
+            return realmService.getTenantManager().getTenantId(tenantDomain);
+        } catch (UserStoreException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while resolving the tenant id of tenant: " + tenantDomain +
+                        ". Resolved values will not be cached.", e);
+            }
+            return MultitenantConstants.INVALID_TENANT_ID;
+        }
+    }
+
+    private static OrganizationManager getOrganizationManager() {
+
+        return I18nMgtDataHolder.getInstance().getOrganizationManager();
+    }
+}
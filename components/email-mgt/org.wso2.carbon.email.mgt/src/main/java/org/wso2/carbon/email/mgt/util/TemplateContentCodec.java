@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Codec of the CONTENT column of the notification template tables.
+ * Content is written in a versioned binary format made of a header followed by the subject, body and footer of the
+ * template. The header is a magic byte sequence, which can never start a legacy JSON row, the format version and a
+ * flags byte. Each field is written as a 4 byte big-endian length, -1 for a null field, followed by its UTF-8 bytes.
+ * When the {@link #FLAG_COMPRESSED} flag is set, the fields are written as a zlib stream compressed with a preset
+ * dictionary built from the default templates shipped with the product, so that compressed and uncompressed rows can
+ * coexist. The dictionary must never be changed, as rows compressed with it cannot be read without it. The dictionary
+ * is only loaded once content is compressed or inflated, so that a failure to load it does not affect uncompressed
+ * content.
+ * Content written by earlier versions as a JSON array of the three fields is still accepted when reading, and can still
+ * be written with {@link #encodeJson(NotificationTemplate)}, so that content written during a rolling upgrade can be
+ * read by the nodes which are not upgraded yet.
+ */
+public final class TemplateContentCodec {
+
+    private static final Log log = LogFactory.getLog(TemplateContentCodec.class);
+
+    /**
+     * 0xFE can never appear in UTF-8 text, so binary content is never mistaken for a legacy JSON row.
+     */
+    private static final byte[] MAGIC = {(byte) 0xFE, 'N', 'T'};
+    private static final byte VERSION = 1;
+    private static final byte NO_FLAGS = 0;
+    private static final byte FLAG_COMPRESSED = 1;
+    private static final int HEADER_LENGTH = MAGIC.length + 2;
+    private static final int NULL_FIELD_LENGTH = -1;
+    private static final int FIELD_COUNT = 3;
+    private static final int FIELD_BUFFER_SIZE = 64 * 1024;
+
+    private static final String DICTIONARY_RESOURCE = "template-content-dictionary.txt";
+    private static final long DICTIONARY_ADLER = 0xa30e35fdL;
+
+    private static final Gson GSON = new Gson();
+
+    private TemplateContentCodec() {
+
+    }
+
+    /**
+     * Encode the subject, body and footer of a notification template without compression.
+     *
+     * @param notificationTemplate Notification template.
+     * @return Encoded content.
+     */
+    public static byte[] encode(NotificationTemplate notificationTemplate) {
+
+        return encode(notificationTemplate, false);
+    }
+
+    /**
+     * Encode the subject, body and footer of a notification template.
+     *
+     * @param notificationTemplate Notification template.
+     * @param compress             Whether to compress the content. Content which does not get smaller when compressed,
+     *                             eg: a short SMS template, is stored uncompressed.
+     * @return Encoded content.
+     */
+    public static byte[] encode(NotificationTemplate notificationTemplate, boolean compress) {
+
+        byte[][] fields = new byte[][]{getBytes(notificationTemplate.getSubject()),
+                getBytes(notificationTemplate.getBody()), getBytes(notificationTemplate.getFooter())};
+        int length = HEADER_LENGTH;
+        for (byte[] field : fields) {
+            length += Integer.BYTES + (field == null ? 0 : field.length);
+        }
+
+        byte[] content = new byte[length];
+        System.arraycopy(MAGIC, 0, content, 0, MAGIC.length);
+        content[MAGIC.length] = VERSION;
+        content[MAGIC.length + 1] = NO_FLAGS;
+        int offset = HEADER_LENGTH;
+        for (byte[] field : fields) {
+            offset = writeInt(content, offset, field == null ? NULL_FIELD_LENGTH : field.length);
+            if (field != null) {
+                System.arraycopy(field, 0, content, offset, field.length);
+                offset += field.length;
+            }
+        }
+        return compress && DictionaryHolder.isAvailable() ? compress(content) : content;
+    }
+
+    /**
+     * Encode the subject, body and footer of a notification template in the legacy JSON format.
+     *
+     * @param notificationTemplate Notification template.
+     * @return Encoded content.
+     */
+    public static byte[] encodeJson(NotificationTemplate notificationTemplate) {
+
+        String[] templateContent = new String[]{notificationTemplate.getSubject(), notificationTemplate.getBody(),
+                notificationTemplate.getFooter()};
+        return GSON.toJson(templateContent).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decode the content stream and set the subject, body and footer of the notification template. Both the binary
+     * format and the legacy JSON format are accepted.
+     *
+     * @param contentStream        Content stream. The stream is read up to the end of the content and is not closed.
+     * @param notificationTemplate Notification template to set the content.
+     * @throws SQLException If the content is not in a known format.
+     */
+    public static void decode(InputStream contentStream, NotificationTemplate notificationTemplate)
+            throws SQLException {
+
+        PushbackInputStream inputStream = new PushbackInputStream(contentStream, MAGIC.length);
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            int read = readFully(inputStream, magic);
+            if (read == MAGIC.length && isMagic(magic)) {
+                decodeBinary(new DataInputStream(inputStream), notificationTemplate);
+                return;
+            }
+            if (read > 0) {
+                inputStream.unread(magic, 0, read);
+            }
+            decodeJson(inputStream, notificationTemplate);
+        } catch (IOException e) {
+            throw new SQLException("Error while reading content data.", e);
+        }
+    }
+
+    private static void decodeBinary(DataInputStream inputStream, NotificationTemplate notificationTemplate)
+            throws IOException, SQLException {
+
+        byte version = inputStream.readByte();
+        if (version != VERSION) {
+            throw new SQLException("Unsupported content version: " + version);
+        }
+        byte flags = inputStream.readByte();
+        if ((flags & ~FLAG_COMPRESSED) != 0) {
+            throw new SQLException("Unsupported content flags: " + flags);
+        }
+        if ((flags & FLAG_COMPRESSED) == 0) {
+            readFields(inputStream, notificationTemplate);
+            return;
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            DataInputStream inflaterStream =
+                    new DataInputStream(new DictionaryInflaterInputStream(inputStream, inflater));
+            readFields(inflaterStream, notificationTemplate);
+            // Reading up to the end of the compressed stream verifies its checksum.
+            if (inflaterStream.read() >= 0) {
+                throw new SQLException("Invalid compressed content data.");
+            }
+        } catch (ZipException e) {
+            throw new SQLException("Invalid compressed content data.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void readFields(DataInputStream inputStream, NotificationTemplate notificationTemplate)
+            throws IOException, SQLException {
+
+        try {
+            notificationTemplate.setSubject(readField(inputStream));
+            notificationTemplate.setBody(readField(inputStream));
+            notificationTemplate.setFooter(readField(inputStream));
+        } catch (EOFException e) {
+            throw new SQLException("Invalid content data.", e);
+        }
+    }
+
+    private static byte[] compress(byte[] content) {
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setDictionary(DictionaryHolder.getDictionary());
+            deflater.setInput(content, HEADER_LENGTH, content.length - HEADER_LENGTH);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length / 4 + HEADER_LENGTH);
+            outputStream.write(content, 0, MAGIC.length + 1);
+            outputStream.write(FLAG_COMPRESSED);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+                if (outputStream.size() >= content.length) {
+                    return content;
+                }
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] loadDictionary() {
+
+        try (InputStream inputStream = TemplateContentCodec.class.getResourceAsStream(DICTIONARY_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Template content dictionary is not found.");
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0) {
+                outputStream.write(buffer, 0, read);
+            }
+            byte[] dictionary = outputStream.toByteArray();
+            Adler32 adler32 = new Adler32();
+            adler32.update(dictionary);
+            if (adler32.getValue() != DICTIONARY_ADLER) {
+                throw new IllegalStateException("Template content dictionary has been modified.");
+            }
+            return dictionary;
+        } catch (IOException e) {
+            throw new IllegalStateException("Error while loading the template content dictionary.", e);
+        }
+    }
+
+    private static void decodeJson(InputStream inputStream, NotificationTemplate notificationTemplate)
+            throws SQLException {
+
+        String[] templateContent;
+        try {
+            templateContent = GSON.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                    String[].class);
+        } catch (JsonParseException e) {
+            throw new SQLException("Invalid content data.", e);
+        }
+        if (templateContent == null || templateContent.length != FIELD_COUNT) {
+            throw new SQLException("Invalid content data.");
+        }
+        notificationTemplate.setSubject(templateContent[0]);
+        notificationTemplate.setBody(templateContent[1]);
+        notificationTemplate.setFooter(templateContent[2]);
+    }
+
+    private static String readField(DataInputStream inputStream) throws IOException, SQLException {
+
+        int length = inputStream.readInt();
+        if (length == NULL_FIELD_LENGTH) {
+            return null;
+        }
+        if (length < 0) {
+            throw new SQLException("Invalid content field length: " + length);
+        }
+        if (length <= FIELD_BUFFER_SIZE) {
+            byte[] field = new byte[length];
+            inputStream.readFully(field);
+            return new String(field, StandardCharsets.UTF_8);
+        }
+
+        // Large fields are read in chunks, so that a corrupted length does not allocate a large buffer up front.
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(FIELD_BUFFER_SIZE);
+        byte[] buffer = new byte[FIELD_BUFFER_SIZE];
+        int remaining = length;
+        while (remaining > 0) {
+            int count = inputStream.read(buffer, 0, Math.min(buffer.length, remaining));
+            if (count < 0) {
+                throw new EOFException();
+            }
+            outputStream.write(buffer, 0, count);
+            remaining -= count;
+        }
+        return outputStream.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private static byte[] getBytes(String field) {
+
+        return field == null ? null : field.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int writeInt(byte[] content, int offset, int value) {
+
+        content[offset] = (byte) (value >>> 24);
+        content[offset + 1] = (byte) (value >>> 16);
+        content[offset + 2] = (byte) (value >>> 8);
+        content[offset + 3] = (byte) value;
+        return offset + Integer.BYTES;
+    }
+
+    private static boolean isMagic(byte[] bytes) {
+
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readFully(InputStream inputStream, byte[] buffer) throws IOException {
+
+        int read = 0;
+        while (read < buffer.length) {
+            int count = inputStream.read(buffer, read, buffer.length - read);
+            if (count < 0) {
+                break;
+            }
+            read += count;
+        }
+        return read;
+    }
+
+    /**
+     * Holder of the preset dictionary, loaded on first use. Content is stored uncompressed when the dictionary cannot
+     * be loaded.
+     */
+    private static final class DictionaryHolder {
+
+        private static final byte[] DICTIONARY = loadAvailableDictionary();
+
+        private static boolean isAvailable() {
+
+            return DICTIONARY != null;
+        }
+
+        private static byte[] getDictionary() {
+
+            return DICTIONARY;
+        }
+
+        private static byte[] loadAvailableDictionary() {
+
+            try {
+                return loadDictionary();
+            } catch (IllegalStateException e) {
+                log.error("Error while loading the template content dictionary. Template content will be stored " +
+                        "uncompressed, and compressed template content cannot be read.", e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Inflater stream which sets the preset dictionary when the compressed stream asks for it.
+     */
+    private static final class DictionaryInflaterInputStream extends InflaterInputStream {
+
+        private DictionaryInflaterInputStream(InputStream inputStream, Inflater inflater) {
+
+            super(inputStream, inflater);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+
+            int read = super.read(buffer, offset, length);
+            if (read < 0 && inf.needsDictionary()) {
+                // The checksum is sign extended on some JDK versions.
+                if ((inf.getAdler() & 0xffffffffL) != DICTIONARY_ADLER) {
+                    throw new ZipException("Unknown template content dictionary.");
+                }
+                if (!DictionaryHolder.isAvailable()) {
+                    throw new ZipException("Template content dictionary is not available.");
+                }
+                inf.setDictionary(DictionaryHolder.getDictionary());
+                read = super.read(buffer, offset, length);
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Interns notification template content held in memory.
+ * Tenants and applications often store identical content, eg: the templates of a brand copied to every application.
+ * Templates are interned when they are cached, so that identical subjects, bodies and footers are held as a single
+ * instance shared by all the template caches instead of one copy per cached template. Only weak references are held,
+ * so content is released once no cached template refers to it anymore.
+ * This only deduplicates content in the memory of a node. Each stored template still keeps its own copy of the
+ * content in the database.
+ */
+public final class TemplateContentInterner {
+
+    private static final Map<String, WeakReference<String>> INTERNED_CONTENT = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private TemplateContentInterner() {
+
+    }
+
+    /**
+     * Get the interned instance of the given content.
+     *
+     * @param content Template content.
+     * @return Interned content equal to the given content, or null if the content is null.
+     */
+    public static String intern(String content) {
+
+        if (content == null || content.isEmpty()) {
+            return content;
+        }
+        synchronized (INTERNED_CONTENT) {
+            WeakReference<String> reference = INTERNED_CONTENT.get(content);
+            String internedContent = reference == null ? null : reference.get();
+            if (internedContent == null) {
+                INTERNED_CONTENT.put(content, new WeakReference<>(content));
+                internedContent = content;
+            }
+            return internedContent;
+        }
+    }
+
+    /**
+     * Replace the subject, body and footer of the given template with their interned instances.
+     *
+     * @param notificationTemplate Notification template.
+     * @return The given notification template.
+     */
+    public static NotificationTemplate intern(NotificationTemplate notificationTemplate) {
+
+        if (notificationTemplate != null) {
+            notificationTemplate.setSubject(intern(notificationTemplate.getSubject()));
+            notificationTemplate.setBody(intern(notificationTemplate.getBody()));
+            notificationTemplate.setFooter(intern(notificationTemplate.getFooter()));
+        }
+        return notificationTemplate;
+    }
+}
@@ -63,8 +63,10 @@ import static org.mockito.MockitoAnnotations.initMocks;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NOTIFICATION_TEMPLATES_STORAGE_CONFIG;
 
 /**
@@ -145,6 +147,26 @@ public class OrganizationEmailTemplateTest extends PowerMockTestCase {
         }
     }
 
+    @Test
+    public void testFindMissingNotificationTemplate() throws Exception {
+
+        when(OrganizationManagementUtil.isOrganization(tenantDomain)).thenReturn(false);
+        mockIsValidTemplate(true, true);
+        String emailChannel = NotificationChannels.EMAIL_CHANNEL.getChannelType();
+
+        // A missing template is reported with an empty result, in the requested locale and in the default locale.
+        assertFalse(emailTemplateManager.findNotificationTemplate(emailChannel, "missingTemplate", "fr_FR",
+                tenantDomain, null).isPresent());
+        assertFalse(emailTemplateManager.findEmailTemplate("missingTemplate", "fr_FR", tenantDomain, null)
+                .isPresent());
+        try {
+            emailTemplateManager.getNotificationTemplate(emailChannel, "missingTemplate", "fr_FR", tenantDomain);
+            fail("A missing template should be reported with an error.");
+        } catch (NotificationTemplateManagerException e) {
+            assertEquals(e.getErrorCode(), IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getCode());
+        }
+    }
+
     /**
      * Contains the error scenarios for resolving notification template.
      *
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.model;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.email.mgt.util.CompiledTemplateContent;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link PlaceholderManifest}.
+ */
+public class PlaceholderManifestTest {
+
+    private static final String SUBJECT = "Welcome {{user.claim.givenname}}";
+    private static final String BODY = "<img src=\"{{organization.logo.img}}\"/> {{organization-name}} "
+            + "{{server.placeholder.support}} {{user.claim.identity.accountState}} "
+            + "<a href=\"{{carbon.product-url}}?user={{url:user-name}}&amp;mail={{url:user.claim.emailaddress}}\">";
+    private static final String FOOTER = "{{organization.copyright.text}}";
+
+    @Test
+    public void testClassification() {
+
+        PlaceholderManifest manifest = PlaceholderManifest.of(SUBJECT, BODY, FOOTER);
+
+        assertEquals(manifest.getConfigPlaceholders(), Collections.singleton("server.placeholder.support"));
+        assertEquals(manifest.getBrandingPlaceholders(), new HashSet<>(Arrays.asList("organization.logo.img",
+                "organization-name", "organization.copyright.text")));
+        assertEquals(manifest.getUserClaimPlaceholders(), new HashSet<>(Arrays.asList("user.claim.givenname",
+                "url:user.claim.emailaddress")));
+        assertEquals(manifest.getIdentityClaimPlaceholders(),
+                Collections.singleton("user.claim.identity.accountState"));
+        assertEquals(manifest.getUrlPlaceholders(), new HashSet<>(Arrays.asList("url:user-name",
+                "url:user.claim.emailaddress")));
+        assertTrue(manifest.contains("carbon.product-url"));
+        assertFalse(manifest.contains("confirmation-code"));
+        assertEquals(manifest.getPlaceholders().size(), 9);
+    }
+
+    @Test
+    public void testManifestWithoutSubjectAndFooter() {
+
+        PlaceholderManifest manifest = PlaceholderManifest.of(null, "Your code is {{confirmation-code}}", null);
+
+        assertEquals(manifest.getPlaceholders(), Collections.singleton("confirmation-code"));
+        assertTrue(manifest.getBrandingPlaceholders().isEmpty());
+        assertTrue(manifest.getUrlPlaceholders().isEmpty());
+    }
+
+    @Test
+    public void testManifestIsKeptWithCompiledContent() {
+
+        CompiledTemplateContent compiledContent = CompiledTemplateContent.of(SUBJECT, BODY, FOOTER);
+        PlaceholderManifest manifest = compiledContent.getPlaceholderManifest();
+        assertSame(compiledContent.getPlaceholderManifest(), manifest);
+        assertEquals(manifest.getPlaceholders(), PlaceholderManifest.of(SUBJECT, BODY, FOOTER).getPlaceholders());
+
+        EmailTemplate emailTemplate = new EmailTemplate();
+        emailTemplate.setSubject(new String(SUBJECT));
+        emailTemplate.setBody(new String(BODY));
+        emailTemplate.setFooter(new String(FOOTER));
+        emailTemplate.setCompiledContent(compiledContent);
+        assertSame(emailTemplate.getPlaceholderManifest(), manifest);
+    }
+
+    @Test
+    public void testEmailTemplateManifestFollowsContent() {
+
+        EmailTemplate emailTemplate = new EmailTemplate();
+        emailTemplate.setBody("Hi {{user-name}}");
+        assertEquals(emailTemplate.getPlaceholderManifest().getPlaceholders(), Collections.singleton("user-name"));
+
+        emailTemplate.setBody("Hi {{user.claim.givenname}}");
+        assertEquals(emailTemplate.getPlaceholderManifest().getUserClaimPlaceholders(),
+                Collections.singleton("user.claim.givenname"));
+    }
+}
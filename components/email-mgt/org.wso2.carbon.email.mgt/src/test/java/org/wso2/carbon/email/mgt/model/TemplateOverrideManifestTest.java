@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.model;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link TemplateOverrideManifest}.
+ */
+public class TemplateOverrideManifestTest {
+
+    private static final String ACCOUNT_CONFIRMATION = "AccountConfirmation";
+    private static final String PASSWORD_RESET = "passwordReset";
+    private static final String APPLICATION_UUID = "bd0e8ac6-2c3b-4f5e-8c1a-0fa9c3b8e1d2";
+
+    @Test
+    public void testManifestLookups() {
+
+        TemplateOverrideManifest manifest = getManifest();
+
+        assertTrue(manifest.containsTemplateType("accountconfirmation"));
+        assertTrue(manifest.containsTemplateType(PASSWORD_RESET));
+        assertFalse(manifest.containsTemplateType("AskPassword"));
+        assertEquals(new HashSet<>(manifest.getTemplateTypeDisplayNames()),
+                new HashSet<>(Arrays.asList(ACCOUNT_CONFIRMATION, PASSWORD_RESET)));
+
+        assertTrue(manifest.containsTemplate(ACCOUNT_CONFIRMATION, "en_US", null));
+        assertTrue(manifest.containsTemplate(ACCOUNT_CONFIRMATION, "EN_US", ""));
+        assertFalse(manifest.containsTemplate(ACCOUNT_CONFIRMATION, "fr_FR", null));
+        assertTrue(manifest.containsTemplate(ACCOUNT_CONFIRMATION, "fr_FR", APPLICATION_UUID));
+        assertFalse(manifest.containsTemplate(PASSWORD_RESET, "en_US", null));
+
+        assertTrue(manifest.containsTemplates(ACCOUNT_CONFIRMATION, null));
+        assertTrue(manifest.containsTemplates(ACCOUNT_CONFIRMATION, APPLICATION_UUID));
+        assertFalse(manifest.containsTemplates(PASSWORD_RESET, null));
+    }
+
+    @Test
+    public void testManifestUpdates() {
+
+        TemplateOverrideManifest manifest = getManifest();
+
+        TemplateOverrideManifest updated = manifest.withTemplate(PASSWORD_RESET, "en_US", null);
+        assertTrue(updated.containsTemplate(PASSWORD_RESET, "en_US", null));
+        assertFalse(manifest.containsTemplate(PASSWORD_RESET, "en_US", null));
+
+        updated = updated.withoutTemplate(ACCOUNT_CONFIRMATION, "en_US", null);
+        assertFalse(updated.containsTemplates(ACCOUNT_CONFIRMATION, null));
+        assertTrue(updated.containsTemplates(ACCOUNT_CONFIRMATION, APPLICATION_UUID));
+
+        updated = updated.withoutApplicationTemplates(ACCOUNT_CONFIRMATION);
+        assertFalse(updated.containsTemplates(ACCOUNT_CONFIRMATION, APPLICATION_UUID));
+
+        updated = updated.withoutTemplates(PASSWORD_RESET, null);
+        assertFalse(updated.containsTemplates(PASSWORD_RESET, null));
+
+        updated = updated.withTemplateType("askpassword", "AskPassword").withoutTemplateType(ACCOUNT_CONFIRMATION);
+        assertTrue(updated.containsTemplateType("AskPassword"));
+        assertFalse(updated.containsTemplateType(ACCOUNT_CONFIRMATION));
+        assertTrue(manifest.containsTemplateType(ACCOUNT_CONFIRMATION));
+    }
+
+    @Test
+    public void testRemovingTemplateTypeRemovesItsTemplates() {
+
+        TemplateOverrideManifest manifest = getManifest().withoutTemplateType(ACCOUNT_CONFIRMATION)
+                .withTemplateType(ACCOUNT_CONFIRMATION.toLowerCase(), ACCOUNT_CONFIRMATION);
+
+        assertFalse(manifest.containsTemplates(ACCOUNT_CONFIRMATION, null));
+        assertFalse(manifest.containsTemplates(ACCOUNT_CONFIRMATION, APPLICATION_UUID));
+    }
+
+    private TemplateOverrideManifest getManifest() {
+
+        return new TemplateOverrideManifest.Builder()
+                .addTemplateType("accountconfirmation", ACCOUNT_CONFIRMATION)
+                .addTemplateType("passwordreset", PASSWORD_RESET)
+                .addTemplate("accountconfirmation", "en_us", null)
+                .addTemplate("accountconfirmation", "fr_fr", APPLICATION_UUID)
+                .build();
+    }
+}
@@ -22,26 +22,47 @@ import org.apache.commons.lang.StringUtils;
 import org.mockito.Mock;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
 import org.powermock.modules.testng.PowerMockTestCase;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCache;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCacheKey;
 import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.email.mgt.model.NotificationTemplateKey;
+import org.wso2.carbon.email.mgt.model.NotificationTemplatePage;
+import org.wso2.carbon.email.mgt.model.TemplateResolution;
 import org.wso2.carbon.identity.common.testng.WithCarbonHome;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
 import org.wso2.carbon.utils.CarbonUtils;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NOTIFICATION_TEMPLATES_STORAGE_CONFIG;
 
@@ -49,10 +70,13 @@ import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.NOTIFICATION_
  * Class that contains the test cases for {@link UnifiedTemplateManager}.
  */
 @WithCarbonHome
-@PrepareForTest({I18nMgtDataHolder.class, CarbonUtils.class, IdentityUtil.class})
+@PrepareForTest({I18nMgtDataHolder.class, CarbonUtils.class, IdentityUtil.class, TemplateResolutionCache.class})
+@SuppressStaticInitializationFor("org.wso2.carbon.email.mgt.cache.TemplateResolutionCache")
 public class UnifiedTemplateManagerTest extends PowerMockTestCase {
 
     private static final String tenantDomain = "carbon.super";
+    private static final String applicationUuid = "3a1b7c5e-9d2f-4e8a-b6c4-0f1e2d3c4b5a";
+    private static final String emailChannel = NotificationChannels.EMAIL_CHANNEL.getChannelType();
 
     @Mock
     I18nMgtDataHolder i18nMgtDataHolder;
@@ -82,6 +106,8 @@ public class UnifiedTemplateManagerTest extends PowerMockTestCase {
         when(IdentityUtil.getProperty(NOTIFICATION_TEMPLATES_STORAGE_CONFIG)).thenReturn("registry");
 
         templatePersistenceManager = PowerMockito.mock(TemplatePersistenceManager.class);
+        // Batched lookups fall back to the single template lookups stubbed in the tests.
+        when(templatePersistenceManager.getNotificationTemplates(anyCollection(), anyString())).thenCallRealMethod();
         unifiedTemplateManager = new UnifiedTemplateManager(templatePersistenceManager);
         templatePersistenceManagerFactory = PowerMockito.mock(TemplatePersistenceManagerFactory.class);
         when(templatePersistenceManagerFactory.getTemplatePersistenceManager()).thenReturn(unifiedTemplateManager);
@@ -160,6 +186,35 @@ public class UnifiedTemplateManagerTest extends PowerMockTestCase {
         assertFalse(templateListForValidScenario.isEmpty());
     }
 
+    @Test
+    public void testNotificationTemplatePagesContinueWithDefaultTemplates() throws Exception {
+
+        when(templatePersistenceManager.getNotificationTemplatePage(null, emailChannel, null, tenantDomain,
+                NotificationTemplatePage.Projection.METADATA, null, 1)).thenReturn(
+                new NotificationTemplatePage(Collections.singletonList(positiveNotificationTemplate), null));
+
+        NotificationTemplatePage firstPage = unifiedTemplateManager.getNotificationTemplatePage(null, emailChannel,
+                null, tenantDomain, NotificationTemplatePage.Projection.METADATA, null, 1);
+        assertEquals(firstPage.getNotificationTemplates(), Collections.singletonList(positiveNotificationTemplate));
+        assertTrue(firstPage.hasNextPage());
+
+        NotificationTemplatePage secondPage = unifiedTemplateManager.getNotificationTemplatePage(null, emailChannel,
+                null, tenantDomain, NotificationTemplatePage.Projection.METADATA, firstPage.getNextCursor(), 1);
+        assertFalse(secondPage.hasNextPage());
+        assertEquals(secondPage.getNotificationTemplates().size(), 1);
+        NotificationTemplate defaultTemplate = secondPage.getNotificationTemplates().get(0);
+        assertEquals(defaultTemplate.getDisplayName(), defaultSystemTemplates.get(0).getDisplayName());
+        assertEquals(defaultTemplate.getLocale(), defaultSystemTemplates.get(0).getLocale());
+        assertNull(defaultTemplate.getBody());
+
+        // Default templates overridden by a stored template are listed with the stored templates only.
+        when(templatePersistenceManager.isNotificationTemplateExists(defaultTemplate.getDisplayName(),
+                defaultTemplate.getLocale(), emailChannel, null, tenantDomain)).thenReturn(true);
+        assertTrue(unifiedTemplateManager.getNotificationTemplatePage(null, emailChannel, null, tenantDomain,
+                NotificationTemplatePage.Projection.METADATA, firstPage.getNextCursor(), 1).getNotificationTemplates()
+                .isEmpty());
+    }
+
     @Test
     public void testAddOrUpdateNotificationTemplateWhenAddingDefaultTemplate() throws Exception {
 
@@ -263,6 +318,92 @@ public class UnifiedTemplateManagerTest extends PowerMockTestCase {
         verify(templatePersistenceManager).addOrUpdateNotificationTemplate(null, null, tenantDomain);
     }
 
+    @Test
+    public void testResolveApplicationTemplate() throws Exception {
+
+        when(templatePersistenceManager.getNotificationTemplate("dummyDisplayName", "fr_FR", emailChannel,
+                applicationUuid, tenantDomain)).thenReturn(positiveNotificationTemplate);
+
+        TemplateResolution templateResolution = unifiedTemplateManager.resolveTemplate("dummyDisplayName", "fr_FR",
+                "en_US", emailChannel, applicationUuid, tenantDomain);
+        assertSame(templateResolution.getTemplate(), positiveNotificationTemplate);
+        assertEquals(templateResolution.getLevel(), TemplateResolution.Level.APPLICATION);
+        assertEquals(templateResolution.getLocale(), "fr_FR");
+        // Both locales are fetched with a single batched lookup.
+        verify(templatePersistenceManager, times(1)).getNotificationTemplates(Arrays.asList(
+                new NotificationTemplateKey("dummyDisplayName", "fr_FR", emailChannel, applicationUuid),
+                new NotificationTemplateKey("dummyDisplayName", "fr_FR", emailChannel, null),
+                new NotificationTemplateKey("dummyDisplayName", "en_US", emailChannel, null)), tenantDomain);
+    }
+
+    @Test
+    public void testResolveOrganizationTemplateInDefaultLocale() throws Exception {
+
+        when(templatePersistenceManager.getNotificationTemplate("dummyDisplayName", "en_US", emailChannel,
+                null, tenantDomain)).thenReturn(positiveNotificationTemplate);
+
+        TemplateResolution templateResolution = unifiedTemplateManager.resolveTemplate("dummyDisplayName", "fr_FR",
+                "en_US", emailChannel, applicationUuid, tenantDomain);
+        assertSame(templateResolution.getTemplate(), positiveNotificationTemplate);
+        assertEquals(templateResolution.getLevel(), TemplateResolution.Level.ORGANIZATION);
+        assertEquals(templateResolution.getLocale(), "en_US");
+        // Application templates are only looked up in the requested locale.
+        verify(templatePersistenceManager, never()).getNotificationTemplate("dummyDisplayName", "en_US",
+                emailChannel, applicationUuid, tenantDomain);
+    }
+
+    @Test
+    public void testResolveSystemDefaultTemplate() throws Exception {
+
+        NotificationTemplate defaultTemplate = defaultSystemTemplates.get(0);
+        TemplateResolution templateResolution = unifiedTemplateManager.resolveTemplate(
+                defaultTemplate.getDisplayName(), "fr_FR", defaultTemplate.getLocale(), emailChannel, applicationUuid,
+                tenantDomain);
+        assertSame(templateResolution.getTemplate(), defaultTemplate);
+        assertEquals(templateResolution.getLevel(), TemplateResolution.Level.SYSTEM_DEFAULT);
+        assertEquals(templateResolution.getLocale(), defaultTemplate.getLocale());
+
+        assertNull(unifiedTemplateManager.resolveTemplate("dummyDisplayName", "en_US", "en_US", emailChannel, null,
+                tenantDomain));
+    }
+
+    @Test
+    public void testResolvedTemplatesAreCached() throws Exception {
+
+        RealmService realmService = PowerMockito.mock(RealmService.class);
+        TenantManager tenantManager = PowerMockito.mock(TenantManager.class);
+        when(i18nMgtDataHolder.getRealmService()).thenReturn(realmService);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getTenantId(tenantDomain)).thenReturn(MultitenantConstants.SUPER_TENANT_ID);
+
+        // Back the cache with a map, as the cache itself needs a running carbon environment.
+        Map<TemplateResolutionCacheKey, TemplateResolution> cacheEntries = new HashMap<>();
+        TemplateResolutionCache templateResolutionCache = PowerMockito.mock(TemplateResolutionCache.class);
+        mockStatic(TemplateResolutionCache.class);
+        when(TemplateResolutionCache.getInstance()).thenReturn(templateResolutionCache);
+        when(templateResolutionCache.getValueFromCache(any(TemplateResolutionCacheKey.class), anyInt()))
+                .thenAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)));
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(templateResolutionCache).addToCache(any(TemplateResolutionCacheKey.class),
+                        any(TemplateResolution.class), anyInt());
+
+        when(templatePersistenceManager.getNotificationTemplate("dummyDisplayName", "en_US", emailChannel,
+                null, tenantDomain)).thenReturn(positiveNotificationTemplate);
+        TemplateResolution templateResolution = unifiedTemplateManager.resolveTemplate("dummyDisplayName", "en_US",
+                "en_US", emailChannel, null, tenantDomain);
+        assertSame(unifiedTemplateManager.resolveTemplate("dummyDisplayName", "en_US", "en_US", emailChannel, null,
+                tenantDomain), templateResolution);
+        verify(templatePersistenceManager, times(1)).getNotificationTemplate("dummyDisplayName", "en_US",
+                emailChannel, null, tenantDomain);
+
+        // Templates which are not found are not cached, so that a template added later gets resolved.
+        unifiedTemplateManager.resolveTemplate("dummyDisplayName", "en_US", "en_US", emailChannel, applicationUuid,
+                tenantDomain);
+        unifiedTemplateManager.resolveTemplate("unknownDisplayName", "en_US", "en_US", emailChannel, null,
+                tenantDomain);
+        assertEquals(cacheEntries.size(), 2);
+    }
+
     private void initTestNotificationTemplates() {
 
         defaultSystemTemplates = new ArrayList<>();
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.store.dao;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.database.utils.jdbc.NamedJdbcTemplate;
+import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.email.mgt.internal.I18nMgtServiceComponent;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
+import org.wso2.carbon.utils.CarbonUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link OrgNotificationTemplateDAO} against an H2 database. The statements
+ * executed on the database are counted, so that the tests check the number of round trips of each operation.
+ */
+@PrepareForTest({I18nMgtDataHolder.class, JdbcUtils.class, CarbonUtils.class})
+@PowerMockIgnore({"org.h2.*", "javax.sql.*"})
+public class OrgNotificationTemplateDAOH2Test extends PowerMockTestCase {
+
+    private static final String DB_URL = "jdbc:h2:mem:notification_templates;DB_CLOSE_DELAY=-1";
+    private static final String CHANNEL = "EMAIL";
+    private static final String TEMPLATE_TYPE = "PasswordReset";
+    private static final String LOCALE = "en_US";
+    private static final String SUBJECT = "Reset your password";
+    private static final String BODY = "<p>Hi {{user-name}}, use the code {{confirmation-code}} to reset your " +
+            "password.</p>";
+    private static final String UPDATED_BODY = "<p>Hi {{user-name}}, your password reset code is " +
+            "{{confirmation-code}}.</p>";
+    private static final int TENANT_ID = 1;
+    // Templates are imported in chunks of this size by the DB based template manager.
+    private static final int IMPORT_CHUNK_SIZE = 100;
+
+    @Mock
+    private I18nMgtDataHolder i18nMgtDataHolder;
+
+    @Mock
+    private NotificationTypeDAO notificationTypeDAO;
+
+    private final AtomicInteger executedStatements = new AtomicInteger();
+    private DataSource dataSource;
+    private OrgNotificationTemplateDAO orgNotificationTemplateDAO;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        initMocks(this);
+        mockStatic(I18nMgtDataHolder.class);
+        when(I18nMgtDataHolder.getInstance()).thenReturn(i18nMgtDataHolder);
+        when(i18nMgtDataHolder.isUnicodeSupported()).thenReturn(true);
+
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL(DB_URL);
+        try (Connection connection = h2DataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM '" + Paths.get(System.getProperty("user.dir"), "src", "test",
+                    "resources", "dbscripts", "h2.sql").toString() + "'");
+        }
+        dataSource = countExecutedStatements(h2DataSource);
+        mockStatic(JdbcUtils.class);
+        when(JdbcUtils.getNewNamedJdbcTemplate()).thenAnswer(invocation -> new NamedJdbcTemplate(dataSource));
+
+        // The template type id is resolved once, as the cache backed template type DAO does.
+        NotificationTypeDAO storedNotificationTypeDAO = new NotificationTypeDAO();
+        storedNotificationTypeDAO.addNotificationTemplateType(TEMPLATE_TYPE.toLowerCase(), TEMPLATE_TYPE, CHANNEL,
+                TENANT_ID);
+        when(notificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(), CHANNEL, TENANT_ID))
+                .thenReturn(storedNotificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(),
+                        CHANNEL, TENANT_ID));
+        orgNotificationTemplateDAO = new OrgNotificationTemplateDAO(notificationTypeDAO);
+        executedStatements.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    public void testTemplateLookupsRunSingleStatement() throws Exception {
+
+        orgNotificationTemplateDAO.addNotificationTemplate(getNotificationTemplate(LOCALE, BODY), TENANT_ID);
+        executedStatements.set(0);
+
+        assertTrue(orgNotificationTemplateDAO.isNotificationTemplateExists(LOCALE, TEMPLATE_TYPE, CHANNEL,
+                TENANT_ID));
+        assertEquals(executedStatements.get(), 1);
+        NotificationTemplate notificationTemplate = orgNotificationTemplateDAO.getNotificationTemplate(LOCALE,
+                TEMPLATE_TYPE, CHANNEL, TENANT_ID);
+        assertEquals(notificationTemplate.getSubject(), SUBJECT);
+        assertEquals(notificationTemplate.getBody(), BODY);
+        assertEquals(executedStatements.get(), 2);
+        assertFalse(orgNotificationTemplateDAO.isNotificationTemplateExists("fr_FR", TEMPLATE_TYPE, CHANNEL,
+                TENANT_ID));
+        assertEquals(executedStatements.get(), 3);
+    }
+
+    @Test
+    public void testTemplateImportRunsFixedStatementsPerChunk() throws Exception {
+
+        List<NotificationTemplate> notificationTemplates = new ArrayList<>();
+        for (int i = 0; i < IMPORT_CHUNK_SIZE; i++) {
+            notificationTemplates.add(getNotificationTemplate("locale_" + i, BODY));
+        }
+        orgNotificationTemplateDAO.addOrUpdateNotificationTemplates(notificationTemplates, TENANT_ID);
+        // A lookup of the existing templates and a batch of inserts.
+        assertEquals(executedStatements.get(), 2);
+
+        executedStatements.set(0);
+        List<NotificationTemplate> updatedNotificationTemplates = new ArrayList<>();
+        for (int i = 0; i < IMPORT_CHUNK_SIZE / 2; i++) {
+            updatedNotificationTemplates.add(getNotificationTemplate("locale_" + i, UPDATED_BODY));
+            updatedNotificationTemplates.add(getNotificationTemplate("new_locale_" + i, BODY));
+        }
+        orgNotificationTemplateDAO.addOrUpdateNotificationTemplates(updatedNotificationTemplates, TENANT_ID);
+        // A lookup of the existing templates, a batch of updates and a batch of inserts.
+        assertEquals(executedStatements.get(), 3);
+
+        assertEquals(orgNotificationTemplateDAO.getNotificationTemplate("locale_0", TEMPLATE_TYPE, CHANNEL,
+                TENANT_ID).getBody(), UPDATED_BODY);
+        assertEquals(orgNotificationTemplateDAO.getNotificationTemplate("new_locale_0", TEMPLATE_TYPE, CHANNEL,
+                TENANT_ID).getBody(), BODY);
+        assertEquals(orgNotificationTemplateDAO.getNotificationTemplate("locale_" + (IMPORT_CHUNK_SIZE - 1),
+                TEMPLATE_TYPE, CHANNEL, TENANT_ID).getBody(), BODY);
+    }
+
+    @Test
+    public void testTemplateExportRunsSingleStatement() throws Exception {
+
+        List<NotificationTemplate> notificationTemplates = new ArrayList<>();
+        for (int i = 0; i < IMPORT_CHUNK_SIZE; i++) {
+            notificationTemplates.add(getNotificationTemplate("locale_" + i, BODY));
+        }
+        orgNotificationTemplateDAO.addOrUpdateNotificationTemplates(notificationTemplates, TENANT_ID);
+        executedStatements.set(0);
+
+        List<NotificationTemplate> exportedNotificationTemplates = new ArrayList<>();
+        orgNotificationTemplateDAO.exportNotificationTemplates(CHANNEL, TENANT_ID,
+                exportedNotificationTemplates::add);
+        assertEquals(executedStatements.get(), 1);
+        assertEquals(exportedNotificationTemplates.size(), IMPORT_CHUNK_SIZE);
+        for (NotificationTemplate exportedNotificationTemplate : exportedNotificationTemplates) {
+            assertEquals(exportedNotificationTemplate.getDisplayName(), TEMPLATE_TYPE);
+            assertEquals(exportedNotificationTemplate.getSubject(), SUBJECT);
+            assertEquals(exportedNotificationTemplate.getBody(), BODY);
+        }
+    }
+
+    @Test
+    public void testBinaryAndCompressedContentIsStoredInFewerBytes() throws Exception {
+
+        mockStatic(CarbonUtils.class);
+        when(CarbonUtils.getCarbonConfigDirPath()).thenReturn(Paths.get(System.getProperty("user.dir"), "src",
+                "test", "resources").toString());
+        NotificationTemplate defaultTemplate = null;
+        for (NotificationTemplate template : new I18nMgtServiceComponent()
+                .loadDefaultTemplatesFromFile(NotificationChannels.EMAIL_CHANNEL.getChannelType())) {
+            if (defaultTemplate == null || template.getBody().length() > defaultTemplate.getBody().length()) {
+                defaultTemplate = template;
+            }
+        }
+        assertNotNull(defaultTemplate);
+
+        int jsonContentLength = storeDefaultTemplate(defaultTemplate, "en_US", false, false);
+        int binaryContentLength = storeDefaultTemplate(defaultTemplate, "fr_FR", true, false);
+        int compressedContentLength = storeDefaultTemplate(defaultTemplate, "de_DE", true, true);
+        assertTrue(binaryContentLength < jsonContentLength, "Binary content should be smaller than JSON content.");
+        assertTrue(compressedContentLength * 2 < binaryContentLength,
+                "Compressed content should be less than half of the uncompressed content.");
+    }
+
+    /**
+     * Store the subject, body and footer of the given template in the given content format, and check that it is
+     * read back as it was stored.
+     *
+     * @return Length of the stored content in bytes.
+     */
+    private int storeDefaultTemplate(NotificationTemplate defaultTemplate, String locale, boolean binary,
+                                     boolean compress) throws Exception {
+
+        when(i18nMgtDataHolder.isBinaryContentEnabled()).thenReturn(binary);
+        when(i18nMgtDataHolder.isContentCompressionEnabled()).thenReturn(compress);
+        OrgNotificationTemplateDAO contentFormatNotificationTemplateDAO =
+                new OrgNotificationTemplateDAO(notificationTypeDAO);
+        NotificationTemplate notificationTemplate = getNotificationTemplate(locale, defaultTemplate.getBody());
+        notificationTemplate.setSubject(defaultTemplate.getSubject());
+        notificationTemplate.setFooter(defaultTemplate.getFooter());
+        contentFormatNotificationTemplateDAO.addNotificationTemplate(notificationTemplate, TENANT_ID);
+
+        NotificationTemplate storedTemplate = contentFormatNotificationTemplateDAO.getNotificationTemplate(locale,
+                TEMPLATE_TYPE, CHANNEL, TENANT_ID);
+        assertEquals(storedTemplate.getSubject(), defaultTemplate.getSubject());
+        assertEquals(storedTemplate.getBody(), defaultTemplate.getBody());
+        assertEquals(storedTemplate.getFooter(), defaultTemplate.getFooter());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT CONTENT FROM IDN_NOTIFICATION_ORG_TEMPLATE WHERE TEMPLATE_KEY = ?")) {
+            statement.setString(1, locale.toLowerCase());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+                return resultSet.getBytes(1).length;
+            }
+        }
+    }
+
+    private NotificationTemplate getNotificationTemplate(String locale, String body) {
+
+        NotificationTemplate notificationTemplate = new NotificationTemplate();
+        notificationTemplate.setDisplayName(TEMPLATE_TYPE);
+        notificationTemplate.setType(TEMPLATE_TYPE);
+        notificationTemplate.setLocale(locale);
+        notificationTemplate.setNotificationChannel(CHANNEL);
+        notificationTemplate.setContentType("text/html");
+        notificationTemplate.setSubject(SUBJECT);
+        notificationTemplate.setBody(body);
+        return notificationTemplate;
+    }
+
+    /**
+     * Wrap the data source so that each statement executed on its connections is counted.
+     */
+    private DataSource countExecutedStatements(DataSource targetDataSource) {
+
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{DataSource.class},
+                (dataSourceProxy, dataSourceMethod, dataSourceArgs) -> {
+                    Object result = invoke(targetDataSource, dataSourceMethod, dataSourceArgs);
+                    if (!(result instanceof Connection)) {
+                        return result;
+                    }
+                    Connection connection = (Connection) result;
+                    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class},
+                            (connectionProxy, connectionMethod, connectionArgs) -> {
+                                Object statement = invoke(connection, connectionMethod, connectionArgs);
+                                if (!(statement instanceof PreparedStatement)) {
+                                    return statement;
+                                }
+                                return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                        new Class[]{PreparedStatement.class},
+                                        (statementProxy, statementMethod, statementArgs) -> {
+                                            if (statementMethod.getName().startsWith("execute")) {
+                                                executedStatements.incrementAndGet();
+                                            }
+                                            return invoke(statement, statementMethod, statementArgs);
+                                        });
+                            });
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.store.dao;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.database.utils.jdbc.NamedJdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.NamedQueryFilter;
+import org.wso2.carbon.database.utils.jdbc.NamedTemplate;
+import org.wso2.carbon.database.utils.jdbc.RowMapper;
+import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.email.mgt.model.NotificationTemplateKey;
+import org.wso2.carbon.email.mgt.model.NotificationTemplatePage;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerServerException;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.IS_ORG_NOTIFICATION_TEMPLATE_EXISTS_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.TEMPLATE_LOOKUP_CHUNK_SIZE;
+
+/**
+ * Class that contains the test cases for {@link OrgNotificationTemplateDAO}.
+ */
+@PrepareForTest({I18nMgtDataHolder.class, JdbcUtils.class})
+public class OrgNotificationTemplateDAOTest extends PowerMockTestCase {
+
+    private static final String CHANNEL = "EMAIL";
+    private static final String TEMPLATE_TYPE = "PasswordReset";
+    private static final String LOCALE = "en_US";
+    private static final int TENANT_ID = 1;
+    private static final int TYPE_ID = 5;
+
+    @Mock
+    private I18nMgtDataHolder i18nMgtDataHolder;
+
+    @Mock
+    private NamedJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private NotificationTypeDAO notificationTypeDAO;
+
+    private OrgNotificationTemplateDAO orgNotificationTemplateDAO;
+
+    @BeforeMethod
+    public void setUp() {
+
+        initMocks(this);
+        mockStatic(I18nMgtDataHolder.class);
+        when(I18nMgtDataHolder.getInstance()).thenReturn(i18nMgtDataHolder);
+        when(i18nMgtDataHolder.isUnicodeSupported()).thenReturn(true);
+        mockStatic(JdbcUtils.class);
+        when(JdbcUtils.getNewNamedJdbcTemplate()).thenReturn(namedJdbcTemplate);
+        orgNotificationTemplateDAO = new OrgNotificationTemplateDAO(notificationTypeDAO);
+    }
+
+    @Test
+    public void testTemplateExistenceCheckRunsSingleQuery() throws Exception {
+
+        when(notificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(), CHANNEL, TENANT_ID))
+                .thenReturn(TYPE_ID);
+        when(namedJdbcTemplate.fetchSingleRecord(eq(IS_ORG_NOTIFICATION_TEMPLATE_EXISTS_SQL), any(RowMapper.class),
+                any(NamedQueryFilter.class))).thenReturn(1);
+
+        assertTrue(orgNotificationTemplateDAO.isNotificationTemplateExists(LOCALE, TEMPLATE_TYPE, CHANNEL,
+                TENANT_ID));
+        verify(namedJdbcTemplate, times(1)).fetchSingleRecord(anyString(), any(RowMapper.class),
+                any(NamedQueryFilter.class));
+    }
+
+    @Test
+    public void testLookupsOfMissingTemplateTypeDoNotQueryTemplates() throws Exception {
+
+        when(notificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(), CHANNEL, TENANT_ID))
+                .thenReturn(null);
+
+        assertFalse(orgNotificationTemplateDAO.isNotificationTemplateExists(LOCALE, TEMPLATE_TYPE, CHANNEL,
+                TENANT_ID));
+        assertNull(orgNotificationTemplateDAO.getNotificationTemplate(LOCALE, TEMPLATE_TYPE, CHANNEL, TENANT_ID));
+        assertTrue(orgNotificationTemplateDAO.listNotificationTemplates(TEMPLATE_TYPE, CHANNEL, TENANT_ID)
+                .isEmpty());
+        orgNotificationTemplateDAO.removeNotificationTemplates(TEMPLATE_TYPE, CHANNEL, TENANT_ID);
+        assertFalse(orgNotificationTemplateDAO.getNotificationTemplatePage(TEMPLATE_TYPE, CHANNEL, TENANT_ID,
+                NotificationTemplatePage.Projection.CONTENT, 0, 10).hasNextPage());
+        verifyZeroInteractions(namedJdbcTemplate);
+    }
+
+    @Test
+    public void testTemplatesOfSeveralLocalesAreFetchedWithSingleQuery() throws Exception {
+
+        when(notificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(), CHANNEL, TENANT_ID))
+                .thenReturn(TYPE_ID);
+
+        orgNotificationTemplateDAO.getNotificationTemplates(Arrays.asList(
+                new NotificationTemplateKey(TEMPLATE_TYPE, "fr_FR", CHANNEL, null),
+                new NotificationTemplateKey(TEMPLATE_TYPE, LOCALE, CHANNEL, null)), TENANT_ID);
+        verify(namedJdbcTemplate, times(1)).executeQuery(anyString(), any(RowMapper.class),
+                any(NamedQueryFilter.class));
+        verifyNoMoreInteractions(namedJdbcTemplate);
+    }
+
+    @Test
+    public void testLookupsOfManyTemplatesAreChunked() throws Exception {
+
+        when(notificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(), CHANNEL, TENANT_ID))
+                .thenReturn(TYPE_ID);
+        List<NotificationTemplateKey> templateKeys = new ArrayList<>();
+        for (int i = 0; i <= 2 * TEMPLATE_LOOKUP_CHUNK_SIZE; i++) {
+            templateKeys.add(new NotificationTemplateKey(TEMPLATE_TYPE, "locale_" + i, CHANNEL, null));
+        }
+
+        orgNotificationTemplateDAO.getNotificationTemplates(templateKeys, TENANT_ID);
+        verify(namedJdbcTemplate, times(3)).executeQuery(anyString(), any(RowMapper.class),
+                any(NamedQueryFilter.class));
+        verifyNoMoreInteractions(namedJdbcTemplate);
+    }
+
+    @Test
+    public void testTemplatesAreStoredInSingleTransaction() throws Exception {
+
+        when(notificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(), CHANNEL, TENANT_ID))
+                .thenReturn(TYPE_ID);
+
+        orgNotificationTemplateDAO.addOrUpdateNotificationTemplates(Arrays.asList(getNotificationTemplate(LOCALE),
+                getNotificationTemplate("fr_FR"), getNotificationTemplate("de_DE")), TENANT_ID);
+        verify(namedJdbcTemplate, times(1)).withTransaction(any(NamedTemplate.class));
+        verifyNoMoreInteractions(namedJdbcTemplate);
+    }
+
+    @Test
+    public void testTemplatesOfMissingTemplateTypeAreNotStored() throws Exception {
+
+        when(notificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(), CHANNEL, TENANT_ID))
+                .thenReturn(null);
+
+        try {
+            orgNotificationTemplateDAO.addOrUpdateNotificationTemplates(
+                    Arrays.asList(getNotificationTemplate(LOCALE), getNotificationTemplate("fr_FR")), TENANT_ID);
+            fail("Templates of a missing template type should not be stored.");
+        } catch (NotificationTemplateManagerServerException e) {
+            verifyZeroInteractions(namedJdbcTemplate);
+        }
+    }
+
+    @Test(expectedExceptions = NotificationTemplateManagerServerException.class)
+    public void testAddTemplateOfMissingTemplateType() throws Exception {
+
+        when(notificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(), CHANNEL, TENANT_ID))
+                .thenReturn(null);
+
+        orgNotificationTemplateDAO.addNotificationTemplate(getNotificationTemplate(LOCALE), TENANT_ID);
+    }
+
+    private NotificationTemplate getNotificationTemplate(String locale) {
+
+        NotificationTemplate notificationTemplate = new NotificationTemplate();
+        notificationTemplate.setDisplayName(TEMPLATE_TYPE);
+        notificationTemplate.setType(TEMPLATE_TYPE);
+        notificationTemplate.setLocale(locale);
+        notificationTemplate.setNotificationChannel(CHANNEL);
+        notificationTemplate.setSubject("Subject");
+        notificationTemplate.setBody("Body");
+        return notificationTemplate;
+    }
+}
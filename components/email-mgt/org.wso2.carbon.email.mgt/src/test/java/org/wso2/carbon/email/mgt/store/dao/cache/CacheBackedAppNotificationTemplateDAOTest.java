@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.store.dao.cache;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.testng.annotations.Test;
+import org.wso2.carbon.database.utils.jdbc.NamedQueryFilter;
+import org.wso2.carbon.database.utils.jdbc.RowMapper;
+import org.wso2.carbon.email.mgt.cache.AppNotificationTemplateCache;
+import org.wso2.carbon.email.mgt.cache.AppNotificationTemplateCacheKey;
+import org.wso2.carbon.email.mgt.cache.AppNotificationTemplateListCache;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheEntry;
+import org.wso2.carbon.email.mgt.cache.PartiallyRenderedTemplateCache;
+import org.wso2.carbon.email.mgt.cache.TemplateOverrideManifestCache;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCache;
+import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertNull;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_APP_NOTIFICATION_TEMPLATE_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.IS_APP_NOTIFICATION_TEMPLATE_EXISTS_SQL;
+
+/**
+ * Class that contains the test cases for {@link CacheBackedAppNotificationTemplateDAO}.
+ */
+@PrepareForTest({I18nMgtDataHolder.class, JdbcUtils.class, AppNotificationTemplateCache.class,
+        AppNotificationTemplateListCache.class, PartiallyRenderedTemplateCache.class, TemplateResolutionCache.class,
+        TemplateOverrideManifestCache.class})
+@SuppressStaticInitializationFor({"org.wso2.carbon.email.mgt.cache.AppNotificationTemplateCache",
+        "org.wso2.carbon.email.mgt.cache.AppNotificationTemplateListCache",
+        "org.wso2.carbon.email.mgt.cache.PartiallyRenderedTemplateCache",
+        "org.wso2.carbon.email.mgt.cache.TemplateResolutionCache",
+        "org.wso2.carbon.email.mgt.cache.TemplateOverrideManifestCache"})
+public class CacheBackedAppNotificationTemplateDAOTest extends CacheBackedNotificationTemplateDAOTest {
+
+    private static final String APPLICATION_UUID = "a3d4f2e1-6c7b-4d8e-9f0a-1b2c3d4e5f6a";
+    private static final String OTHER_APPLICATION_UUID = "7e9c1b2a-3d4f-4a5b-8c6d-0e1f2a3b4c5d";
+
+    @Mock
+    private AppNotificationTemplateCache appNotificationTemplateCache;
+
+    @Mock
+    private AppNotificationTemplateListCache templateListCache;
+
+    private CacheBackedAppNotificationTemplateDAO appNotificationTemplateDAO;
+
+    @Override
+    protected void mockTemplateCaches() {
+
+        mockStatic(AppNotificationTemplateCache.class);
+        when(AppNotificationTemplateCache.getInstance()).thenReturn(appNotificationTemplateCache);
+        when(appNotificationTemplateCache.getValueFromCache(any(AppNotificationTemplateCacheKey.class), anyInt()))
+                .thenAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)));
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(appNotificationTemplateCache).addToCache(any(AppNotificationTemplateCacheKey.class),
+                        any(NotificationTemplateCacheEntry.class), anyInt());
+        mockStatic(AppNotificationTemplateListCache.class);
+        when(AppNotificationTemplateListCache.getInstance()).thenReturn(templateListCache);
+    }
+
+    @Override
+    protected void createNotificationTemplateDAO() {
+
+        appNotificationTemplateDAO = new CacheBackedAppNotificationTemplateDAO(notificationTypeDAO);
+    }
+
+    @Override
+    protected String getNotificationTemplateSql() {
+
+        return GET_APP_NOTIFICATION_TEMPLATE_SQL;
+    }
+
+    @Override
+    protected String getNotificationTemplateExistsSql() {
+
+        return IS_APP_NOTIFICATION_TEMPLATE_EXISTS_SQL;
+    }
+
+    @Override
+    protected NotificationTemplate getNotificationTemplate() throws Exception {
+
+        return appNotificationTemplateDAO.getNotificationTemplate(LOCALE, TEMPLATE_TYPE, CHANNEL,
+                APPLICATION_UUID, TENANT_ID);
+    }
+
+    @Override
+    protected boolean isNotificationTemplateExists() throws Exception {
+
+        return appNotificationTemplateDAO.isNotificationTemplateExists(LOCALE, TEMPLATE_TYPE, CHANNEL,
+                APPLICATION_UUID, TENANT_ID);
+    }
+
+    @Override
+    protected void addNotificationTemplate(NotificationTemplate notificationTemplate) throws Exception {
+
+        appNotificationTemplateDAO.addNotificationTemplate(notificationTemplate, APPLICATION_UUID, TENANT_ID);
+    }
+
+    @Override
+    protected void updateNotificationTemplate(NotificationTemplate notificationTemplate) throws Exception {
+
+        appNotificationTemplateDAO.updateNotificationTemplate(notificationTemplate, APPLICATION_UUID, TENANT_ID);
+    }
+
+    @Test
+    public void testMissingTemplateIsCachedPerApplication() throws Exception {
+
+        assertNull(getNotificationTemplate());
+        assertNull(appNotificationTemplateDAO.getNotificationTemplate(LOCALE, TEMPLATE_TYPE, CHANNEL,
+                OTHER_APPLICATION_UUID, TENANT_ID));
+
+        // The missing template cached for one application must not answer lookups of another application.
+        verify(namedJdbcTemplate, times(2)).fetchSingleRecord(anyString(), any(RowMapper.class),
+                any(NamedQueryFilter.class));
+    }
+}
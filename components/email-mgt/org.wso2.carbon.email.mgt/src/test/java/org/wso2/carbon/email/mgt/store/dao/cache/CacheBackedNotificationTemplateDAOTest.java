@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.store.dao.cache;
+
+import org.mockito.Mock;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.database.utils.jdbc.NamedJdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.NamedQueryFilter;
+import org.wso2.carbon.database.utils.jdbc.RowMapper;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheEntry;
+import org.wso2.carbon.email.mgt.cache.PartiallyRenderedTemplateCache;
+import org.wso2.carbon.email.mgt.cache.TemplateOverrideManifestCache;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCache;
+import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.email.mgt.store.dao.NotificationTypeDAO;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test cases shared by the org and app scoped cache backed notification template DAOs. Subclasses back their
+ * template cache with {@link #cacheEntries} and route the lookups and writes to the DAO under test.
+ */
+public abstract class CacheBackedNotificationTemplateDAOTest extends PowerMockTestCase {
+
+    protected static final String CHANNEL = "EMAIL";
+    protected static final String TEMPLATE_TYPE = "PasswordReset";
+    protected static final String LOCALE = "en_US";
+    protected static final int TENANT_ID = 1;
+    protected static final int TYPE_ID = 5;
+
+    @Mock
+    private I18nMgtDataHolder i18nMgtDataHolder;
+
+    @Mock
+    protected NamedJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    protected NotificationTypeDAO notificationTypeDAO;
+
+    @Mock
+    private PartiallyRenderedTemplateCache partiallyRenderedTemplateCache;
+
+    @Mock
+    private TemplateResolutionCache templateResolutionCache;
+
+    @Mock
+    private TemplateOverrideManifestCache templateOverrideManifestCache;
+
+    protected Map<Object, NotificationTemplateCacheEntry> cacheEntries;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        initMocks(this);
+        mockStatic(I18nMgtDataHolder.class);
+        when(I18nMgtDataHolder.getInstance()).thenReturn(i18nMgtDataHolder);
+        when(i18nMgtDataHolder.isUnicodeSupported()).thenReturn(true);
+        mockStatic(JdbcUtils.class);
+        when(JdbcUtils.getNewNamedJdbcTemplate()).thenReturn(namedJdbcTemplate);
+        when(notificationTypeDAO.getNotificationTemplateTypeId(TEMPLATE_TYPE.toLowerCase(), CHANNEL, TENANT_ID))
+                .thenReturn(TYPE_ID);
+
+        // Back the template cache with a map, as the cache itself needs a running carbon environment.
+        cacheEntries = new HashMap<>();
+        mockTemplateCaches();
+        mockStatic(PartiallyRenderedTemplateCache.class);
+        when(PartiallyRenderedTemplateCache.getInstance()).thenReturn(partiallyRenderedTemplateCache);
+        mockStatic(TemplateResolutionCache.class);
+        when(TemplateResolutionCache.getInstance()).thenReturn(templateResolutionCache);
+        mockStatic(TemplateOverrideManifestCache.class);
+        when(TemplateOverrideManifestCache.getInstance()).thenReturn(templateOverrideManifestCache);
+
+        createNotificationTemplateDAO();
+    }
+
+    /**
+     * Mock the scoped template cache and template list cache, backing the template cache with {@link #cacheEntries}.
+     */
+    protected abstract void mockTemplateCaches();
+
+    /**
+     * Create the cache backed DAO under test.
+     */
+    protected abstract void createNotificationTemplateDAO();
+
+    protected abstract String getNotificationTemplateSql();
+
+    protected abstract String getNotificationTemplateExistsSql();
+
+    protected abstract NotificationTemplate getNotificationTemplate() throws Exception;
+
+    protected abstract boolean isNotificationTemplateExists() throws Exception;
+
+    protected abstract void addNotificationTemplate(NotificationTemplate notificationTemplate) throws Exception;
+
+    protected abstract void updateNotificationTemplate(NotificationTemplate notificationTemplate) throws Exception;
+
+    @Test
+    public void testMissingTemplateIsCached() throws Exception {
+
+        assertNull(getNotificationTemplate());
+        assertNull(getNotificationTemplate());
+
+        verify(namedJdbcTemplate, times(1)).fetchSingleRecord(eq(getNotificationTemplateSql()),
+                any(RowMapper.class), any(NamedQueryFilter.class));
+    }
+
+    @Test
+    public void testExistenceCheckRespectsCachedMissingTemplate() throws Exception {
+
+        assertNull(getNotificationTemplate());
+
+        assertFalse(isNotificationTemplateExists());
+        verify(namedJdbcTemplate, times(1)).fetchSingleRecord(anyString(), any(RowMapper.class),
+                any(NamedQueryFilter.class));
+    }
+
+    @Test
+    public void testMissingTemplateFromExistenceCheckIsCached() throws Exception {
+
+        assertFalse(isNotificationTemplateExists());
+        assertFalse(isNotificationTemplateExists());
+        assertNull(getNotificationTemplate());
+
+        verify(namedJdbcTemplate, times(1)).fetchSingleRecord(eq(getNotificationTemplateExistsSql()),
+                any(RowMapper.class), any(NamedQueryFilter.class));
+        verify(namedJdbcTemplate, times(1)).fetchSingleRecord(anyString(), any(RowMapper.class),
+                any(NamedQueryFilter.class));
+    }
+
+    @Test
+    public void testAddedTemplateReplacesCachedMissingTemplate() throws Exception {
+
+        assertNull(getNotificationTemplate());
+
+        addNotificationTemplate(buildNotificationTemplate("Subject"));
+
+        assertTemplateIsCached("Subject");
+    }
+
+    @Test
+    public void testUpdatedTemplateReplacesCachedMissingTemplate() throws Exception {
+
+        assertFalse(isNotificationTemplateExists());
+
+        updateNotificationTemplate(buildNotificationTemplate("Updated subject"));
+
+        assertTemplateIsCached("Updated subject");
+    }
+
+    private void assertTemplateIsCached(String subject) throws Exception {
+
+        NotificationTemplate notificationTemplate = getNotificationTemplate();
+        assertEquals(notificationTemplate.getSubject(), subject);
+        assertTrue(isNotificationTemplateExists());
+        // Only the lookup made before the write reaches the database.
+        verify(namedJdbcTemplate, times(1)).fetchSingleRecord(anyString(), any(RowMapper.class),
+                any(NamedQueryFilter.class));
+    }
+
+    private NotificationTemplate buildNotificationTemplate(String subject) {
+
+        NotificationTemplate notificationTemplate = new NotificationTemplate();
+        notificationTemplate.setDisplayName(TEMPLATE_TYPE);
+        notificationTemplate.setType(TEMPLATE_TYPE);
+        notificationTemplate.setLocale(LOCALE);
+        notificationTemplate.setNotificationChannel(CHANNEL);
+        notificationTemplate.setSubject(subject);
+        notificationTemplate.setBody("Body");
+        return notificationTemplate;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.store.dao.cache;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateCache;
+import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateCacheKey;
+import org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateListCache;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheEntry;
+import org.wso2.carbon.email.mgt.cache.PartiallyRenderedTemplateCache;
+import org.wso2.carbon.email.mgt.cache.TemplateOverrideManifestCache;
+import org.wso2.carbon.email.mgt.cache.TemplateResolutionCache;
+import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.GET_ORG_NOTIFICATION_TEMPLATE_SQL;
+import static org.wso2.carbon.email.mgt.constants.SQLConstants.IS_ORG_NOTIFICATION_TEMPLATE_EXISTS_SQL;
+
+/**
+ * Class that contains the test cases for {@link CacheBackedOrgNotificationTemplateDAO}.
+ */
+@PrepareForTest({I18nMgtDataHolder.class, JdbcUtils.class, OrgNotificationTemplateCache.class,
+        OrgNotificationTemplateListCache.class, PartiallyRenderedTemplateCache.class, TemplateResolutionCache.class,
+        TemplateOverrideManifestCache.class})
+@SuppressStaticInitializationFor({"org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateCache",
+        "org.wso2.carbon.email.mgt.cache.OrgNotificationTemplateListCache",
+        "org.wso2.carbon.email.mgt.cache.PartiallyRenderedTemplateCache",
+        "org.wso2.carbon.email.mgt.cache.TemplateResolutionCache",
+        "org.wso2.carbon.email.mgt.cache.TemplateOverrideManifestCache"})
+public class CacheBackedOrgNotificationTemplateDAOTest extends CacheBackedNotificationTemplateDAOTest {
+
+    @Mock
+    private OrgNotificationTemplateCache orgNotificationTemplateCache;
+
+    @Mock
+    private OrgNotificationTemplateListCache templateListCache;
+
+    private CacheBackedOrgNotificationTemplateDAO orgNotificationTemplateDAO;
+
+    @Override
+    protected void mockTemplateCaches() {
+
+        mockStatic(OrgNotificationTemplateCache.class);
+        when(OrgNotificationTemplateCache.getInstance()).thenReturn(orgNotificationTemplateCache);
+        when(orgNotificationTemplateCache.getValueFromCache(any(OrgNotificationTemplateCacheKey.class), anyInt()))
+                .thenAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)));
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(orgNotificationTemplateCache).addToCache(any(OrgNotificationTemplateCacheKey.class),
+                        any(NotificationTemplateCacheEntry.class), anyInt());
+        mockStatic(OrgNotificationTemplateListCache.class);
+        when(OrgNotificationTemplateListCache.getInstance()).thenReturn(templateListCache);
+    }
+
+    @Override
+    protected void createNotificationTemplateDAO() {
+
+        orgNotificationTemplateDAO = new CacheBackedOrgNotificationTemplateDAO(notificationTypeDAO);
+    }
+
+    @Override
+    protected String getNotificationTemplateSql() {
+
+        return GET_ORG_NOTIFICATION_TEMPLATE_SQL;
+    }
+
+    @Override
+    protected String getNotificationTemplateExistsSql() {
+
+        return IS_ORG_NOTIFICATION_TEMPLATE_EXISTS_SQL;
+    }
+
+    @Override
+    protected NotificationTemplate getNotificationTemplate() throws Exception {
+
+        return orgNotificationTemplateDAO.getNotificationTemplate(LOCALE, TEMPLATE_TYPE, CHANNEL, TENANT_ID);
+    }
+
+    @Override
+    protected boolean isNotificationTemplateExists() throws Exception {
+
+        return orgNotificationTemplateDAO.isNotificationTemplateExists(LOCALE, TEMPLATE_TYPE, CHANNEL, TENANT_ID);
+    }
+
+    @Override
+    protected void addNotificationTemplate(NotificationTemplate notificationTemplate) throws Exception {
+
+        orgNotificationTemplateDAO.addNotificationTemplate(notificationTemplate, TENANT_ID);
+    }
+
+    @Override
+    protected void updateNotificationTemplate(NotificationTemplate notificationTemplate) throws Exception {
+
+        orgNotificationTemplateDAO.updateNotificationTemplate(notificationTemplate, TENANT_ID);
+    }
+}
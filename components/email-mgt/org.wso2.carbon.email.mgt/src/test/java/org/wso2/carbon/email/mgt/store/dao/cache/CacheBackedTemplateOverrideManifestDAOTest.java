@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.store.dao.cache;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.database.utils.jdbc.NamedJdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.NamedQueryFilter;
+import org.wso2.carbon.database.utils.jdbc.RowMapper;
+import org.wso2.carbon.email.mgt.cache.TemplateOverrideManifestCache;
+import org.wso2.carbon.email.mgt.model.TemplateOverrideManifest;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link CacheBackedTemplateOverrideManifestDAO}.
+ */
+@PrepareForTest({JdbcUtils.class, TemplateOverrideManifestCache.class})
+@SuppressStaticInitializationFor("org.wso2.carbon.email.mgt.cache.TemplateOverrideManifestCache")
+public class CacheBackedTemplateOverrideManifestDAOTest extends PowerMockTestCase {
+
+    private static final String CHANNEL = "EMAIL";
+    private static final String TEMPLATE_TYPE = "PasswordReset";
+    private static final String LOCALE = "en_US";
+    private static final int TENANT_ID = 1;
+
+    @Mock
+    private NamedJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private TemplateOverrideManifestCache templateOverrideManifestCache;
+
+    private Map<String, TemplateOverrideManifest> cacheEntries;
+
+    private CacheBackedTemplateOverrideManifestDAO templateOverrideManifestDAO;
+
+    @BeforeMethod
+    public void setUp() {
+
+        initMocks(this);
+        mockStatic(JdbcUtils.class);
+        when(JdbcUtils.getNewNamedJdbcTemplate()).thenReturn(namedJdbcTemplate);
+
+        // Back the cache with a map, as the cache itself needs a running carbon environment.
+        cacheEntries = new HashMap<>();
+        mockStatic(TemplateOverrideManifestCache.class);
+        when(TemplateOverrideManifestCache.getInstance()).thenReturn(templateOverrideManifestCache);
+        when(templateOverrideManifestCache.getValueFromCache(anyString(), anyInt()))
+                .thenAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)));
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(templateOverrideManifestCache).addToCache(anyString(), any(TemplateOverrideManifest.class),
+                        anyInt());
+        doAnswer(invocation -> {
+            cacheEntries.clear();
+            return null;
+        }).when(templateOverrideManifestCache).clear(anyInt());
+
+        templateOverrideManifestDAO = new CacheBackedTemplateOverrideManifestDAO();
+    }
+
+    @Test
+    public void testLoadedManifestIsCached() throws Exception {
+
+        assertNotNull(templateOverrideManifestDAO.getTemplateOverrideManifest(CHANNEL, TENANT_ID));
+        assertTrue(cacheEntries.containsKey(CHANNEL));
+    }
+
+    @Test
+    public void testManifestUpdatedWhileLoadingIsNotCached() throws Exception {
+
+        // A template is added after the manifest was read from the storage, but before the manifest is cached.
+        doAnswer(invocation -> {
+            templateOverrideManifestDAO.updateTemplateOverrideManifest(CHANNEL, TENANT_ID,
+                    manifest -> manifest.withTemplate(TEMPLATE_TYPE, LOCALE, null));
+            return Collections.emptyList();
+        }).when(namedJdbcTemplate).executeQuery(anyString(), any(RowMapper.class), any(NamedQueryFilter.class));
+
+        templateOverrideManifestDAO.getTemplateOverrideManifest(CHANNEL, TENANT_ID);
+        assertFalse(cacheEntries.containsKey(CHANNEL));
+    }
+
+    @Test
+    public void testCachedManifestIsUpdated() throws Exception {
+
+        templateOverrideManifestDAO.getTemplateOverrideManifest(CHANNEL, TENANT_ID);
+        templateOverrideManifestDAO.updateTemplateOverrideManifest(CHANNEL, TENANT_ID,
+                manifest -> manifest.withTemplate(TEMPLATE_TYPE, LOCALE, null));
+
+        assertTrue(templateOverrideManifestDAO.getTemplateOverrideManifest(CHANNEL, TENANT_ID)
+                .containsTemplate(TEMPLATE_TYPE, LOCALE, null));
+    }
+
+    @Test
+    public void testClearTemplateOverrideManifests() throws Exception {
+
+        templateOverrideManifestDAO.getTemplateOverrideManifest(CHANNEL, TENANT_ID);
+        templateOverrideManifestDAO.clearTemplateOverrideManifests(TENANT_ID);
+
+        assertFalse(cacheEntries.containsKey(CHANNEL));
+    }
+}
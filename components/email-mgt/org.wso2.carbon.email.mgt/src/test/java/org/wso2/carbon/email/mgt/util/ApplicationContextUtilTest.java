@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.email.mgt.cache.ApplicationIdCacheEntry;
+import org.wso2.carbon.email.mgt.cache.ApplicationUuidCache;
+import org.wso2.carbon.email.mgt.cache.MainApplicationIdCache;
+import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.email.mgt.listener.NotificationTemplateApplicationMgtListener;
+import org.wso2.carbon.identity.application.common.model.ApplicationBasicInfo;
+import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.organization.management.service.util.OrganizationManagementUtil;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link ApplicationContextUtil}.
+ */
+@PrepareForTest({I18nMgtDataHolder.class, OrganizationManagementUtil.class, ApplicationUuidCache.class,
+        MainApplicationIdCache.class})
+@SuppressStaticInitializationFor({"org.wso2.carbon.email.mgt.cache.ApplicationUuidCache",
+        "org.wso2.carbon.email.mgt.cache.MainApplicationIdCache"})
+public class ApplicationContextUtilTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final int TENANT_ID = 2;
+    private static final String APPLICATION_NAME = "My App";
+    private static final String APPLICATION_UUID = "4f5e6d7c-8b9a-4c3d-2e1f-0a9b8c7d6e5f";
+    private static final String SHARED_APPLICATION_UUID = "1a2b3c4d-5e6f-4a7b-8c9d-0e1f2a3b4c5d";
+
+    @Mock
+    private I18nMgtDataHolder i18nMgtDataHolder;
+
+    @Mock
+    private RealmService realmService;
+
+    @Mock
+    private TenantManager tenantManager;
+
+    @Mock
+    private ApplicationManagementService applicationManagementService;
+
+    @Mock
+    private ApplicationUuidCache applicationUuidCache;
+
+    @Mock
+    private MainApplicationIdCache mainApplicationIdCache;
+
+    private Map<Object, ApplicationIdCacheEntry> cacheEntries;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        initMocks(this);
+        mockStatic(I18nMgtDataHolder.class);
+        when(I18nMgtDataHolder.getInstance()).thenReturn(i18nMgtDataHolder);
+        when(i18nMgtDataHolder.getRealmService()).thenReturn(realmService);
+        when(i18nMgtDataHolder.getApplicationManagementService()).thenReturn(applicationManagementService);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+        mockStatic(OrganizationManagementUtil.class);
+        when(OrganizationManagementUtil.isOrganization(anyString())).thenReturn(false);
+
+        // Back both caches with a map, as the caches themselves need a running carbon environment.
+        cacheEntries = new HashMap<>();
+        mockStatic(ApplicationUuidCache.class);
+        when(ApplicationUuidCache.getInstance()).thenReturn(applicationUuidCache);
+        when(applicationUuidCache.getValueFromCache(any(), anyInt()))
+                .thenAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)));
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(applicationUuidCache).addToCache(any(), any(ApplicationIdCacheEntry.class), anyInt());
+        mockStatic(MainApplicationIdCache.class);
+        when(MainApplicationIdCache.getInstance()).thenReturn(mainApplicationIdCache);
+        when(mainApplicationIdCache.getValueFromCache(any(), anyInt()))
+                .thenAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)));
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(mainApplicationIdCache).addToCache(any(), any(ApplicationIdCacheEntry.class), anyInt());
+        doAnswer(invocation -> {
+            cacheEntries.clear();
+            return null;
+        }).when(applicationUuidCache).clear(anyInt());
+    }
+
+    @Test
+    public void testApplicationUuidIsCached() throws Exception {
+
+        ApplicationBasicInfo applicationBasicInfo = new ApplicationBasicInfo();
+        applicationBasicInfo.setApplicationResourceId(APPLICATION_UUID);
+        when(applicationManagementService.getApplicationBasicInfoByName(APPLICATION_NAME, TENANT_DOMAIN))
+                .thenReturn(applicationBasicInfo);
+
+        assertEquals(ApplicationContextUtil.getApplicationUuid(APPLICATION_NAME, TENANT_DOMAIN), APPLICATION_UUID);
+        assertEquals(ApplicationContextUtil.getApplicationUuid(APPLICATION_NAME, TENANT_DOMAIN), APPLICATION_UUID);
+        verify(applicationManagementService, times(1)).getApplicationBasicInfoByName(APPLICATION_NAME, TENANT_DOMAIN);
+    }
+
+    @Test
+    public void testUnknownApplicationIsCached() throws Exception {
+
+        assertNull(ApplicationContextUtil.getApplicationUuid(APPLICATION_NAME, TENANT_DOMAIN));
+        assertNull(ApplicationContextUtil.getApplicationUuid(APPLICATION_NAME, TENANT_DOMAIN));
+        verify(applicationManagementService, times(1)).getApplicationBasicInfoByName(APPLICATION_NAME, TENANT_DOMAIN);
+    }
+
+    @Test
+    public void testMainApplicationIdIsCached() throws Exception {
+
+        when(applicationManagementService.getMainAppId(SHARED_APPLICATION_UUID)).thenReturn(APPLICATION_UUID);
+
+        assertEquals(ApplicationContextUtil.getMainApplicationId(SHARED_APPLICATION_UUID, TENANT_DOMAIN),
+                APPLICATION_UUID);
+        assertEquals(ApplicationContextUtil.getMainApplicationId(SHARED_APPLICATION_UUID, TENANT_DOMAIN),
+                APPLICATION_UUID);
+        assertNull(ApplicationContextUtil.getMainApplicationId(APPLICATION_UUID, TENANT_DOMAIN));
+        assertNull(ApplicationContextUtil.getMainApplicationId(APPLICATION_UUID, TENANT_DOMAIN));
+        verify(applicationManagementService, times(1)).getMainAppId(SHARED_APPLICATION_UUID);
+        verify(applicationManagementService, times(1)).getMainAppId(APPLICATION_UUID);
+    }
+
+    @Test
+    public void testApplicationChangesClearCachedIds() throws Exception {
+
+        NotificationTemplateApplicationMgtListener listener = new NotificationTemplateApplicationMgtListener();
+        assertNull(ApplicationContextUtil.getApplicationUuid(APPLICATION_NAME, TENANT_DOMAIN));
+
+        ApplicationBasicInfo applicationBasicInfo = new ApplicationBasicInfo();
+        applicationBasicInfo.setApplicationResourceId(APPLICATION_UUID);
+        when(applicationManagementService.getApplicationBasicInfoByName(APPLICATION_NAME, TENANT_DOMAIN))
+                .thenReturn(applicationBasicInfo);
+        assertTrue(listener.doPostCreateApplication(null, TENANT_DOMAIN, "admin"));
+
+        assertEquals(ApplicationContextUtil.getApplicationUuid(APPLICATION_NAME, TENANT_DOMAIN), APPLICATION_UUID);
+        verify(applicationUuidCache, times(1)).clear(TENANT_ID);
+        verify(mainApplicationIdCache, times(1)).clear(TENANT_ID);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.email.mgt.model.EmailTemplate;
+
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Class that contains the test cases for {@link CompiledTemplate}.
+ * Rendered output is compared with the regex based replacement which was used to render notifications earlier.
+ */
+public class CompiledTemplateTest {
+
+    @DataProvider(name = "templateProvider")
+    public Object[][] templateProvider() {
+
+        return new Object[][]{
+                {"No placeholders at all."},
+                {""},
+                {"Hi {{user-name}},"},
+                {"{{user-name}}"},
+                {"Hi {{user-name}}, your code is {{confirmation-code}}. Bye {{user-name}}."},
+                {"<a href=\"{{carbon.product-url}}/accountrecoveryendpoint/confirm.do?name={{url:user-name}}"
+                        + "&amp;tenant={{url:tenant-domain}}&amp;code={{confirmation-code}}\">Confirm</a>"},
+                {"Unknown {{not-provided}} and {{url:not-provided}} stay as they are."},
+                {"Hi {{user.claim.givenname}} {{user.claim.lastname}} ({{user.claim.identity.accountState}})"},
+                {"{{organization.logo.img}} {{organization.color.primary}} {{server.placeholder.support}}"},
+                {"Braces {{{user-name}} and {{user-name}}} and {{{{user-name}}}}."},
+                {"Unclosed {{user-name and closed {{user-name}}"},
+                {"Nested {{a{{user-name}}"},
+                {"Empty {{}} placeholder."},
+                {"Spaced {{ user-name }} placeholder."},
+                {"{{url:special}}{{special}}"},
+                {"Unicode {{unicode}} ✓ {{url:unicode}}"},
+                {"Claim in a URL {{url:user.claim.email}}"},
+        };
+    }
+
+    @Test(dataProvider = "templateProvider")
+    public void testRenderMatchesRegexReplacement(String content) throws Exception {
+
+        Map<String, String> values = getPlaceholderValues();
+        assertEquals(CompiledTemplate.compile(content).render(values), replaceTagsWithRegex(content, values));
+    }
+
+    @Test(dataProvider = "templateProvider")
+    public void testPartialRenderingMatchesFullRendering(String content) throws Exception {
+
+        Map<String, String> values = getPlaceholderValues();
+        Map<String, String> tenantValues = new LinkedHashMap<>();
+        tenantValues.put("carbon.product-url", values.get("carbon.product-url"));
+        tenantValues.put("organization.logo.img", values.get("organization.logo.img"));
+        tenantValues.put("server.placeholder.support", values.get("server.placeholder.support"));
+        tenantValues.put("special", values.get("special"));
+
+        String partiallyRendered = CompiledTemplate.compile(content).renderPartially(tenantValues);
+        assertNotNull(partiallyRendered);
+        assertEquals(CompiledTemplate.compile(partiallyRendered).render(values),
+                CompiledTemplate.compile(content).render(values));
+    }
+
+    @Test
+    public void testPartialRenderingWithPlaceholderLikeValues() throws Exception {
+
+        Map<String, String> tenantValues = new LinkedHashMap<>();
+        tenantValues.put("organization.font", "{{user-name}}");
+        assertNull(CompiledTemplate.compile("{{organization.font}} {{user-name}}").renderPartially(tenantValues));
+
+        tenantValues.put("organization.font", "}}");
+        assertNull(CompiledTemplate.compile("{{a{{organization.font}} {{user-name}}").renderPartially(tenantValues));
+    }
+
+    @Test
+    public void testRenderWithEmptyValues() throws Exception {
+
+        String content = "Hi {{user-name}}, {{url:user-name}}";
+        assertEquals(CompiledTemplate.compile(content).render(new LinkedHashMap<>()), content);
+    }
+
+    @Test
+    public void testPlaceholders() {
+
+        CompiledTemplate compiledTemplate =
+                CompiledTemplate.compile("{{user-name}} {{url:user-name}} {{user-name}} {{user.claim.email}}");
+        assertEquals(compiledTemplate.getPlaceholders(),
+                new HashSet<>(Arrays.asList("user-name", "url:user-name", "user.claim.email")));
+    }
+
+    @Test
+    public void testCompiledContentIsKeptWithTemplate() {
+
+        String content = "Reused {{user-name}}";
+        EmailTemplate emailTemplate = new EmailTemplate();
+        emailTemplate.setBody(content);
+        CompiledTemplateContent compiledContent = emailTemplate.getCompiledContent();
+        assertSame(emailTemplate.getCompiledContent(), compiledContent);
+        assertNull(compiledContent.getSubject());
+
+        EmailTemplate copy = new EmailTemplate();
+        copy.setBody(new String(content));
+        copy.setCompiledContent(compiledContent);
+        assertSame(copy.getCompiledContent(), compiledContent);
+
+        copy.setBody("Changed {{user-name}}");
+        assertNotSame(copy.getCompiledContent(), compiledContent);
+        assertEquals(copy.getCompiledContent().getBody().getContent(), "Changed {{user-name}}");
+
+        EmailTemplate other = new EmailTemplate();
+        other.setBody("Other {{user-name}}");
+        other.setCompiledContent(compiledContent);
+        assertNotSame(other.getCompiledContent(), compiledContent);
+    }
+
+    private Map<String, String> getPlaceholderValues() {
+
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("user-name", "john.doe@wso2.com");
+        values.put("confirmation-code", "a1b2-c3d4");
+        values.put("tenant-domain", "carbon.super");
+        values.put("carbon.product-url", "https://localhost:9443");
+        values.put("user.claim.givenname", "John");
+        values.put("user.claim.lastname", "");
+        values.put("user.claim.identity.accountState", "LOCKED");
+        values.put("organization.logo.img", "https://example.com/logo.png");
+        values.put("organization.color.primary", "#FF7300");
+        values.put("server.placeholder.support", "support@example.com");
+        values.put("special", "cost $10 \\ 50% & a+b=c?d");
+        values.put("unicode", "සිංහල 日本語");
+        values.put("a", "should-not-be-used");
+        values.put("url:user.claim.email", "john+doe@wso2.com");
+        return values;
+    }
+
+    /**
+     * Regex based replacement used to render notifications before templates were compiled.
+     */
+    private static String replaceTagsWithRegex(String content, Map<String, String> tagsData) throws Exception {
+
+        for (Map.Entry<String, String> entry : tagsData.entrySet()) {
+            content = content.replaceAll("\\{\\{url:" + entry.getKey() + "\\}\\}",
+                    URLEncoder.encode(entry.getValue(), "UTF-8"));
+            content = content.replaceAll("\\{\\{" + entry.getKey() + "\\}\\}",
+                    Matcher.quoteReplacement(entry.getValue()));
+        }
+        return content;
+    }
+}
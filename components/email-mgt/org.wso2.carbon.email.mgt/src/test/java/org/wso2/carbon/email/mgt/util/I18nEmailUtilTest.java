@@ -27,10 +27,12 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
+import org.wso2.carbon.email.mgt.constants.SQLConstants;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtServerException;
 import org.wso2.carbon.email.mgt.exceptions.I18nMgtEmailConfigException;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
 import org.wso2.carbon.registry.core.Resource;
 import org.wso2.carbon.registry.core.exceptions.RegistryException;
 
@@ -49,7 +51,7 @@ import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.TEMPLATE_LOCA
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.TEMPLATE_TYPE;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.TEMPLATE_TYPE_DISPLAY_NAME;
 
-@PrepareForTest({LogFactory.class, Resource.class, IdentityUtil.class})
+@PrepareForTest({LogFactory.class, Resource.class, IdentityUtil.class, JdbcUtils.class})
 public class I18nEmailUtilTest extends PowerMockTestCase {
 
     private static final String DISPLAY_NAME = "Display Name";
@@ -192,4 +194,51 @@ public class I18nEmailUtilTest extends PowerMockTestCase {
         String result2 = I18nEmailUtil.getNotificationLocale();
         assertEquals(result2, I18nMgtConstants.DEFAULT_NOTIFICATION_LOCALE);
     }
+
+    @DataProvider(name = "provideDatabases")
+    public Object[][] provideDatabases() {
+
+        return new Object[][]{
+                {"MySQL", "ORDER BY N.ID LIMIT 10"},
+                {"MariaDB", "ORDER BY N.ID LIMIT 10"},
+                {"H2", "ORDER BY N.ID LIMIT 10"},
+                {"PostgreSQL", "ORDER BY N.ID LIMIT 10"},
+                {"MSSQL", "ORDER BY N.ID OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY"},
+                {"DB2", "ORDER BY N.ID FETCH FIRST 10 ROWS ONLY"},
+                {"Oracle", "ORDER BY N.ID FETCH FIRST 10 ROWS ONLY"}
+        };
+    }
+
+    @Test(dataProvider = "provideDatabases")
+    public void testGetTemplatesPageSql(String database, String expectedOrderAndLimit) throws Exception {
+
+        mockStatic(JdbcUtils.class);
+        switch (database) {
+            case "MySQL":
+                when(JdbcUtils.isMySQLDB()).thenReturn(true);
+                break;
+            case "MariaDB":
+                when(JdbcUtils.isMariaDB()).thenReturn(true);
+                break;
+            case "H2":
+                when(JdbcUtils.isH2DB()).thenReturn(true);
+                break;
+            case "PostgreSQL":
+                when(JdbcUtils.isPostgreSQLDB()).thenReturn(true);
+                break;
+            case "MSSQL":
+                when(JdbcUtils.isMSSqlDB()).thenReturn(true);
+                break;
+            case "DB2":
+                when(JdbcUtils.isDB2DB()).thenReturn(true);
+                break;
+            default:
+                when(JdbcUtils.isOracleDB()).thenReturn(true);
+        }
+
+        String pageSql = I18nEmailUtil.getTemplatesPageSql(SQLConstants.LIST_ORG_NOTIFICATION_TEMPLATES_PAGE_SQL,
+                SQLConstants.TEMPLATES_PAGE_CONTENT_COLUMNS, false, 10);
+        Assert.assertTrue(pageSql.endsWith(expectedOrderAndLimit), pageSql);
+        Assert.assertFalse(pageSql.contains(SQLConstants.TEMPLATES_PAGE_TYPE_FILTER));
+    }
 }
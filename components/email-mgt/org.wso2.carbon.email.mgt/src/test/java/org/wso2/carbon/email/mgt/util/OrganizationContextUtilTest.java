@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.email.mgt.cache.OrganizationContextCache;
+import org.wso2.carbon.email.mgt.cache.OrganizationContextCacheEntry;
+import org.wso2.carbon.email.mgt.cache.OrganizationContextCacheKey;
+import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
+import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.organization.management.service.util.OrganizationManagementUtil;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.Tenant;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link OrganizationContextUtil}.
+ */
+@PrepareForTest({I18nMgtDataHolder.class, OrganizationManagementUtil.class, OrganizationContextCache.class})
+@SuppressStaticInitializationFor("org.wso2.carbon.email.mgt.cache.OrganizationContextCache")
+public class OrganizationContextUtilTest extends PowerMockTestCase {
+
+    private static final String SUB_ORG_TENANT_DOMAIN = "b8f2c4a4-2e9a-4b1e-9f5d-1c2d3e4f5a6b";
+    private static final int SUB_ORG_TENANT_ID = 3;
+    private static final String SUB_ORG_ID = "b8f2c4a4-2e9a-4b1e-9f5d-1c2d3e4f5a6b";
+    private static final String SUB_ORG_NAME = "Sub Org";
+    private static final String ROOT_ORG_ID = "7a1b2c3d-4e5f-6a7b-8c9d-0e1f2a3b4c5d";
+    private static final String ROOT_TENANT_DOMAIN = "wso2.com";
+    private static final int ROOT_TENANT_ID = 2;
+
+    @Mock
+    private I18nMgtDataHolder i18nMgtDataHolder;
+
+    @Mock
+    private RealmService realmService;
+
+    @Mock
+    private TenantManager tenantManager;
+
+    @Mock
+    private OrganizationManager organizationManager;
+
+    @Mock
+    private OrganizationContextCache organizationContextCache;
+
+    private Map<OrganizationContextCacheKey, OrganizationContextCacheEntry> cacheEntries;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        initMocks(this);
+        mockStatic(I18nMgtDataHolder.class);
+        when(I18nMgtDataHolder.getInstance()).thenReturn(i18nMgtDataHolder);
+        when(i18nMgtDataHolder.getRealmService()).thenReturn(realmService);
+        when(i18nMgtDataHolder.getOrganizationManager()).thenReturn(organizationManager);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getTenantId(SUB_ORG_TENANT_DOMAIN)).thenReturn(SUB_ORG_TENANT_ID);
+        when(tenantManager.getTenantId(ROOT_TENANT_DOMAIN)).thenReturn(ROOT_TENANT_ID);
+
+        mockStatic(OrganizationManagementUtil.class);
+        when(OrganizationManagementUtil.isOrganization(SUB_ORG_TENANT_DOMAIN)).thenReturn(true);
+        when(OrganizationManagementUtil.isOrganization(ROOT_TENANT_DOMAIN)).thenReturn(false);
+        when(organizationManager.resolveOrganizationId(SUB_ORG_TENANT_DOMAIN)).thenReturn(SUB_ORG_ID);
+        when(organizationManager.getPrimaryOrganizationId(SUB_ORG_ID)).thenReturn(ROOT_ORG_ID);
+        when(organizationManager.resolveTenantDomain(ROOT_ORG_ID)).thenReturn(ROOT_TENANT_DOMAIN);
+
+        // Back the cache with a map, as the cache itself needs a running carbon environment.
+        cacheEntries = new HashMap<>();
+        mockStatic(OrganizationContextCache.class);
+        when(OrganizationContextCache.getInstance()).thenReturn(organizationContextCache);
+        when(organizationContextCache.getValueFromCache(any(OrganizationContextCacheKey.class), anyInt()))
+                .thenAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)));
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(organizationContextCache).addToCache(any(OrganizationContextCacheKey.class),
+                        any(OrganizationContextCacheEntry.class), anyInt());
+        doAnswer(invocation -> {
+            cacheEntries.clear();
+            return null;
+        }).when(organizationContextCache).clear(anyInt());
+    }
+
+    @Test
+    public void testRootOrganizationTenantDomainIsCached() throws Exception {
+
+        assertEquals(OrganizationContextUtil.getRootOrganizationTenantDomain(SUB_ORG_TENANT_DOMAIN),
+                ROOT_TENANT_DOMAIN);
+        assertEquals(OrganizationContextUtil.getRootOrganizationTenantDomain(SUB_ORG_TENANT_DOMAIN),
+                ROOT_TENANT_DOMAIN);
+        assertTrue(OrganizationContextUtil.isOrganization(SUB_ORG_TENANT_DOMAIN));
+        assertEquals(OrganizationContextUtil.getOrganizationId(SUB_ORG_TENANT_DOMAIN), SUB_ORG_ID);
+
+        verifyStatic(OrganizationManagementUtil.class, times(1));
+        OrganizationManagementUtil.isOrganization(SUB_ORG_TENANT_DOMAIN);
+        verify(organizationManager, times(1)).resolveOrganizationId(SUB_ORG_TENANT_DOMAIN);
+        verify(organizationManager, times(1)).getPrimaryOrganizationId(SUB_ORG_ID);
+        verify(organizationManager, times(1)).resolveTenantDomain(ROOT_ORG_ID);
+    }
+
+    @Test
+    public void testRootOrganizationTenantDomainOfRootOrganization() throws Exception {
+
+        assertEquals(OrganizationContextUtil.getRootOrganizationTenantDomain(ROOT_TENANT_DOMAIN), ROOT_TENANT_DOMAIN);
+        verify(organizationManager, never()).resolveOrganizationId(anyString());
+        verify(organizationManager, never()).getPrimaryOrganizationId(anyString());
+    }
+
+    @Test
+    public void testOrganizationNameIsCachedUntilCleared() throws Exception {
+
+        Tenant tenant = mock(Tenant.class);
+        when(tenant.getAssociatedOrganizationUUID()).thenReturn(SUB_ORG_ID);
+        when(tenantManager.getTenant(SUB_ORG_TENANT_ID)).thenReturn(tenant);
+        when(organizationManager.getOrganizationNameById(SUB_ORG_ID)).thenReturn(SUB_ORG_NAME);
+
+        assertEquals(OrganizationContextUtil.getOrganizationName(SUB_ORG_TENANT_DOMAIN), SUB_ORG_NAME);
+        assertEquals(OrganizationContextUtil.getOrganizationName(SUB_ORG_TENANT_DOMAIN), SUB_ORG_NAME);
+        verify(organizationManager, times(1)).getOrganizationNameById(SUB_ORG_ID);
+
+        OrganizationContextUtil.clear(SUB_ORG_TENANT_ID);
+        assertEquals(OrganizationContextUtil.getOrganizationName(SUB_ORG_TENANT_DOMAIN), SUB_ORG_NAME);
+        verify(organizationManager, times(2)).getOrganizationNameById(SUB_ORG_ID);
+    }
+
+    @Test
+    public void testOrganizationNameOfSuperTenant() throws Exception {
+
+        assertEquals(OrganizationContextUtil.getOrganizationName(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME),
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        verify(organizationManager, never()).getOrganizationNameById(anyString());
+    }
+
+    @Test
+    public void testContextOfUnknownTenantIsNotCached() throws Exception {
+
+        String unknownTenantDomain = "unknown.com";
+        when(tenantManager.getTenantId(unknownTenantDomain)).thenReturn(MultitenantConstants.INVALID_TENANT_ID);
+        when(organizationManager.resolveOrganizationId(unknownTenantDomain)).thenReturn(ROOT_ORG_ID);
+
+        assertEquals(OrganizationContextUtil.getOrganizationId(unknownTenantDomain), ROOT_ORG_ID);
+        assertEquals(OrganizationContextUtil.getOrganizationId(unknownTenantDomain), ROOT_ORG_ID);
+        verify(organizationManager, times(2)).resolveOrganizationId(unknownTenantDomain);
+        assertTrue(cacheEntries.isEmpty());
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import com.google.gson.Gson;
+import org.apache.commons.lang.StringUtils;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.email.mgt.internal.I18nMgtServiceComponent;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
+import org.wso2.carbon.utils.CarbonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link TemplateContentCodec}.
+ */
+@PrepareForTest({CarbonUtils.class})
+public class TemplateContentCodecTest extends PowerMockTestCase {
+
+    @DataProvider(name = "templateContentProvider")
+    public Object[][] templateContentProvider() {
+
+        return new Object[][]{
+                {"Subject", "<html><body style=\"color: #000;\">Hi {{user-name}} &amp; 'co'</body></html>", "Footer"},
+                {null, "Your code is {{confirmation-code}}", null},
+                {"", "", ""},
+                {"සිංහල 日本語", "Unicode ✓ body", "\u0000 control \n characters \t"},
+                {null, null, null},
+        };
+    }
+
+    @Test(dataProvider = "templateContentProvider")
+    public void testEncodeAndDecode(String subject, String body, String footer) throws Exception {
+
+        NotificationTemplate notificationTemplate = decode(TemplateContentCodec.encode(
+                buildNotificationTemplate(subject, body, footer)));
+        assertEquals(notificationTemplate.getSubject(), subject);
+        assertEquals(notificationTemplate.getBody(), body);
+        assertEquals(notificationTemplate.getFooter(), footer);
+    }
+
+    @Test(dataProvider = "templateContentProvider")
+    public void testEncodeAndDecodeCompressed(String subject, String body, String footer) throws Exception {
+
+        NotificationTemplate notificationTemplate = decode(TemplateContentCodec.encode(
+                buildNotificationTemplate(subject, body, footer), true));
+        assertEquals(notificationTemplate.getSubject(), subject);
+        assertEquals(notificationTemplate.getBody(), body);
+        assertEquals(notificationTemplate.getFooter(), footer);
+    }
+
+    @Test(dataProvider = "templateContentProvider")
+    public void testDecodeLegacyJsonContent(String subject, String body, String footer) throws Exception {
+
+        byte[] legacyContent = new Gson().toJson(new String[]{subject, body, footer}).getBytes(StandardCharsets.UTF_8);
+        NotificationTemplate notificationTemplate = decode(legacyContent);
+        assertEquals(notificationTemplate.getSubject(), subject);
+        assertEquals(notificationTemplate.getBody(), body);
+        assertEquals(notificationTemplate.getFooter(), footer);
+    }
+
+    @Test(dataProvider = "templateContentProvider")
+    public void testEncodeLegacyJsonContent(String subject, String body, String footer) throws Exception {
+
+        byte[] legacyContent = new Gson().toJson(new String[]{subject, body, footer}).getBytes(StandardCharsets.UTF_8);
+        byte[] content = TemplateContentCodec.encodeJson(buildNotificationTemplate(subject, body, footer));
+        assertEquals(content, legacyContent);
+        NotificationTemplate notificationTemplate = decode(content);
+        assertEquals(notificationTemplate.getSubject(), subject);
+        assertEquals(notificationTemplate.getBody(), body);
+        assertEquals(notificationTemplate.getFooter(), footer);
+    }
+
+    @Test
+    public void testBinaryContentIsOptIn() {
+
+        NotificationTemplate notificationTemplate = buildNotificationTemplate("Subject", "Body", "Footer");
+        assertEquals(I18nEmailUtil.getContentByteArray(notificationTemplate),
+                TemplateContentCodec.encodeJson(notificationTemplate));
+        assertEquals(I18nEmailUtil.getContentByteArray(notificationTemplate, false, false),
+                TemplateContentCodec.encodeJson(notificationTemplate));
+        assertEquals(I18nEmailUtil.getContentByteArray(notificationTemplate, true, false),
+                TemplateContentCodec.encode(notificationTemplate));
+        // Compressed content can only be written in the binary format.
+        assertEquals(I18nEmailUtil.getContentByteArray(notificationTemplate, false, true),
+                TemplateContentCodec.encode(notificationTemplate, true));
+    }
+
+    @Test
+    public void testDefaultEmailTemplates() throws Exception {
+
+        mockStatic(CarbonUtils.class);
+        when(CarbonUtils.getCarbonConfigDirPath()).thenReturn(Paths.get(System.getProperty("user.dir"), "src",
+                "test", "resources").toString());
+        List<NotificationTemplate> defaultTemplates = new I18nMgtServiceComponent()
+                .loadDefaultTemplatesFromFile(NotificationChannels.EMAIL_CHANNEL.getChannelType());
+        assertFalse(defaultTemplates.isEmpty());
+
+        for (NotificationTemplate defaultTemplate : defaultTemplates) {
+            byte[] content = TemplateContentCodec.encode(defaultTemplate);
+            NotificationTemplate notificationTemplate = decode(content);
+            assertEquals(notificationTemplate.getSubject(), defaultTemplate.getSubject());
+            assertEquals(notificationTemplate.getBody(), defaultTemplate.getBody());
+            assertEquals(notificationTemplate.getFooter(), defaultTemplate.getFooter());
+
+            // HTML bodies are stored without the escaping of the legacy JSON format.
+            byte[] legacyContent = new Gson().toJson(new String[]{defaultTemplate.getSubject(),
+                    defaultTemplate.getBody(), defaultTemplate.getFooter()}).getBytes(StandardCharsets.UTF_8);
+            assertTrue(content.length < legacyContent.length, "Binary content of " +
+                    defaultTemplate.getDisplayName() + " should be smaller than the JSON content.");
+
+            byte[] compressedContent = TemplateContentCodec.encode(defaultTemplate, true);
+            notificationTemplate = decode(compressedContent);
+            assertEquals(notificationTemplate.getSubject(), defaultTemplate.getSubject());
+            assertEquals(notificationTemplate.getBody(), defaultTemplate.getBody());
+            assertEquals(notificationTemplate.getFooter(), defaultTemplate.getFooter());
+            assertTrue(compressedContent.length * 2 < content.length, "Compressed content of " +
+                    defaultTemplate.getDisplayName() + " should be less than half of the uncompressed content.");
+        }
+    }
+
+    @Test
+    public void testShortContentIsNotCompressed() {
+
+        NotificationTemplate notificationTemplate = buildNotificationTemplate(null, "Code: {{confirmation-code}}",
+                null);
+        assertEquals(TemplateContentCodec.encode(notificationTemplate, true),
+                TemplateContentCodec.encode(notificationTemplate));
+    }
+
+    @Test
+    public void testDecodeReadsOnlyTheContent() throws Exception {
+
+        byte[] content = TemplateContentCodec.encode(buildNotificationTemplate("Subject", "Body", null));
+        byte[] contentWithTrailingData = new byte[content.length + 1];
+        System.arraycopy(content, 0, contentWithTrailingData, 0, content.length);
+        NotificationTemplate notificationTemplate = decode(contentWithTrailingData);
+        assertEquals(notificationTemplate.getBody(), "Body");
+        assertNull(notificationTemplate.getFooter());
+    }
+
+    @DataProvider(name = "invalidContentProvider")
+    public Object[][] invalidContentProvider() {
+
+        byte[] content = TemplateContentCodec.encode(buildNotificationTemplate("Subject", "Body", "Footer"));
+        byte[] truncatedContent = new byte[content.length - 1];
+        System.arraycopy(content, 0, truncatedContent, 0, truncatedContent.length);
+        byte[] unknownVersionContent = content.clone();
+        unknownVersionContent[3] = 9;
+        byte[] unknownFlagsContent = content.clone();
+        unknownFlagsContent[4] = 4;
+        byte[] corruptedCompressedContent = TemplateContentCodec.encode(buildNotificationTemplate("Subject",
+                StringUtils.repeat("<p>Body</p>", 100), "Footer"), true);
+        corruptedCompressedContent[8] ^= 0x5A;
+
+        return new Object[][]{
+                {new byte[0]},
+                {"[\"Subject\",\"Body\"]".getBytes(StandardCharsets.UTF_8)},
+                {"not json".getBytes(StandardCharsets.UTF_8)},
+                {truncatedContent},
+                {unknownVersionContent},
+                {unknownFlagsContent},
+                {corruptedCompressedContent},
+        };
+    }
+
+    @Test(dataProvider = "invalidContentProvider", expectedExceptions = SQLException.class)
+    public void testDecodeInvalidContent(byte[] content) throws Exception {
+
+        decode(content);
+    }
+
+    private static NotificationTemplate decode(byte[] content) throws SQLException {
+
+        NotificationTemplate notificationTemplate = new NotificationTemplate();
+        TemplateContentCodec.decode(new ByteArrayInputStream(content), notificationTemplate);
+        return notificationTemplate;
+    }
+
+    private static NotificationTemplate buildNotificationTemplate(String subject, String body, String footer) {
+
+        NotificationTemplate notificationTemplate = new NotificationTemplate();
+        notificationTemplate.setSubject(subject);
+        notificationTemplate.setBody(body);
+        notificationTemplate.setFooter(footer);
+        return notificationTemplate;
+    }
+}
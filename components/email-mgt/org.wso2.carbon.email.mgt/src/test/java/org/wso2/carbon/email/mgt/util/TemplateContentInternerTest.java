@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheEntry;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Class that contains the test cases for {@link TemplateContentInterner}.
+ */
+public class TemplateContentInternerTest {
+
+    private static final String SUBJECT = "Welcome to {{organization-name}}";
+    private static final String BODY = "<p>Hi {{user-name}}, your code is {{confirmation-code}}.</p>";
+
+    @Test
+    public void testIdenticalContentIsShared() {
+
+        String content = TemplateContentInterner.intern(new String(BODY));
+        assertSame(TemplateContentInterner.intern(new String(BODY)), content);
+        assertEquals(content, BODY);
+        assertNotSame(TemplateContentInterner.intern(new String(SUBJECT)), content);
+        assertNull(TemplateContentInterner.intern((String) null));
+    }
+
+    @Test
+    public void testCachedTemplatesShareContent() {
+
+        NotificationTemplateCacheEntry orgEntry = new NotificationTemplateCacheEntry(getNotificationTemplate());
+        NotificationTemplateCacheEntry appEntry = new NotificationTemplateCacheEntry(getNotificationTemplate());
+
+        assertSame(appEntry.getNotificationTemplate().getSubject(), orgEntry.getNotificationTemplate().getSubject());
+        assertSame(appEntry.getNotificationTemplate().getBody(), orgEntry.getNotificationTemplate().getBody());
+        assertNull(appEntry.getNotificationTemplate().getFooter());
+    }
+
+    private NotificationTemplate getNotificationTemplate() {
+
+        NotificationTemplate notificationTemplate = new NotificationTemplate();
+        notificationTemplate.setSubject(new String(SUBJECT));
+        notificationTemplate.setBody(new String(BODY));
+        return notificationTemplate;
+    }
+}
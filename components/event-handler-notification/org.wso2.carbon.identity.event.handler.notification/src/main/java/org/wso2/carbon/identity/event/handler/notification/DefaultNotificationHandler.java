@@ -33,6 +33,7 @@ import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.handler.notification.email.bean.Notification;
 import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
 import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.PlaceholderResolutionContext;
 import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
 import org.wso2.carbon.identity.governance.IdentityGovernanceUtil;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerException;
@@ -117,6 +118,7 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
                     .get(NotificationConstants.EmailNotification.EMAIL_TEMPLATE_TYPE);
         }
 
+        Map<String, String> arbitraryDataClaims = getArbitraryDataClaimsFromProperties(event);
         if(StringUtils.isNotEmpty(notificationTemplateName)) {
 
             String username = (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.USER_NAME);
@@ -134,12 +136,16 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
             String notificationChannel = resolveNotificationChannel(
                     (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.NOTIFICATION_CHANNEL));
 
-            if (StringUtils.isNotBlank(username) && userStoreManager != null) {
-                userClaims = NotificationUtil.getUserClaimValues(username, userStoreManager);
-            } else if (StringUtils.isNotBlank(username) && StringUtils.isNotBlank(userStoreDomainName) &&
-                    StringUtils.isNotBlank(tenantDomain)) {
-                userClaims = NotificationUtil.getUserClaimValues(username, userStoreDomainName, tenantDomain);
+            // Claims used in the template placeholders are loaded once the template is known.
+            Set<String> claimURIs = NotificationUtil.getNotificationClaimURIs(
+                    NotificationConstants.EmailNotification.CLAIM_URI_LOCALE,
+                    NotificationConstants.EmailNotification.CLAIM_URI_EMAIL,
+                    NotificationConstants.SMSNotification.CLAIM_URI_MOBILE);
+            if (claimURIs != null) {
+                claimURIs.addAll(arbitraryDataClaims.values());
             }
+            userClaims = NotificationUtil.getUserClaimValues(username, userStoreManager, userStoreDomainName,
+                    tenantDomain, claimURIs);
 
             // Resolve notification template locale according to the notification channel.
             String locale = NotificationUtil.getNotificationLocale();
@@ -174,12 +180,20 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
                 String message = "Error when retrieving template from tenant registry.";
                 throw NotificationRuntimeException.error(message, exception);
             }
+            // Build Notification object using notification template data.
+            // todo: Refer to https://github.com/wso2/product-is/issues/7006
+            EmailTemplate emailTemplate = buildEmailTemplate(notificationTemplate);
+            Set<String> templateClaimURIs = NotificationUtil.getUnloadedTemplateClaimURIs(
+                    emailTemplate.getPlaceholderManifest(), claimURIs);
+            if (!templateClaimURIs.isEmpty()) {
+                userClaims.putAll(NotificationUtil.getUserClaimValues(username, userStoreManager,
+                        userStoreDomainName, tenantDomain, templateClaimURIs));
+            }
 
             // Add template properties for arbitraryDataMap.
-            addNotificationTemplateDataToArbitraryDataMap(notificationTemplate, notificationTemplateName, sendTo,
-                    sendFrom, arbitraryDataMap, userClaims);
+            addNotificationTemplateDataToArbitraryDataMap(notificationTemplate, emailTemplate,
+                    notificationTemplateName, sendTo, sendFrom, arbitraryDataMap, userClaims);
         }
-        Map<String, String> arbitraryDataClaims = getArbitraryDataClaimsFromProperties(event);
         Set<String> keys = arbitraryDataClaims.keySet();
         for (String key : keys) {
             String claim = arbitraryDataClaims.get(key);
@@ -205,6 +219,7 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
      * @param notificationTemplate     {@link
      *                                 org.wso2.carbon.identity.governance.service.notification.NotificationTemplateManager}
      *                                 object
+     * @param emailTemplate            Email template built from the notification template
      * @param notificationTemplateName Notification template
      * @param sendTo                   Notification send to address
      * @param sendFrom                 Notification send from address
@@ -212,12 +227,9 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
      * @param userClaims               User claims
      */
     private void addNotificationTemplateDataToArbitraryDataMap(NotificationTemplate notificationTemplate,
-            String notificationTemplateName, String sendTo, String sendFrom, Map<String, String> arbitraryDataMap,
-            Map<String, String> userClaims) {
+            EmailTemplate emailTemplate, String notificationTemplateName, String sendTo, String sendFrom,
+            Map<String, String> arbitraryDataMap, Map<String, String> userClaims) {
 
-        // Build Notification object using notification template data.
-        // todo: Refer to https://github.com/wso2/product-is/issues/7006
-        EmailTemplate emailTemplate = buildEmailTemplate(notificationTemplate);
         Notification notification = buildEmailNotification(emailTemplate, arbitraryDataMap, userClaims, sendTo,
                 sendFrom);
 
@@ -283,10 +295,13 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
     private Notification buildEmailNotification(EmailTemplate emailTemplate, Map<String, String> arbitraryDataMap,
             Map<String, String> userClaims, String sendTo, String sendFrom) {
 
-        NotificationUtil.getPlaceholderValues(emailTemplate, arbitraryDataMap, userClaims);
+        PlaceholderResolutionContext placeholderResolutionContext =
+                NotificationUtil.resolvePlaceholderValues(emailTemplate, arbitraryDataMap, userClaims, null);
         Notification.EmailNotificationBuilder builder = new Notification.EmailNotificationBuilder(sendTo);
         builder.setSendFrom(sendFrom);
         builder.setTemplate(emailTemplate);
+        builder.setPartiallyRenderedTemplate(
+                NotificationUtil.getPartiallyRenderedTemplate(placeholderResolutionContext));
         builder.setPlaceHolderData(arbitraryDataMap);
         return builder.build();
     }
@@ -31,6 +31,20 @@ public class NotificationConstants {
     public static final String ARBITRARY_BODY = "body";
     public static final String DEFAULT_NOTIFICATION_LOCALE = "en_US";
     public static final String NOTIFICATION_DEFAULT_LOCALE = "Notification.DefaultLocale";
+    public static final String ASYNC_DISPATCH_ENABLE = "Notification.AsyncDispatch.Enable";
+    public static final String ASYNC_DISPATCH_POOL_SIZE = "Notification.AsyncDispatch.PoolSize";
+    public static final String ASYNC_DISPATCH_QUEUE_SIZE = "Notification.AsyncDispatch.QueueSize";
+    public static final String ASYNC_DISPATCH_OVERFLOW_POLICY = "Notification.AsyncDispatch.OverflowPolicy";
+    public static final String ASYNC_DISPATCH_DRAIN_TIMEOUT = "Notification.AsyncDispatch.DrainTimeout";
+    public static final String ASYNC_DISPATCH_USE_VIRTUAL_THREADS = "Notification.AsyncDispatch.UseVirtualThreads";
+    public static final String PARALLEL_LOOKUP_ENABLE = "Notification.ParallelLookup.Enable";
+    public static final String PARALLEL_LOOKUP_POOL_SIZE = "Notification.ParallelLookup.PoolSize";
+    public static final String PARALLEL_LOOKUP_QUEUE_SIZE = "Notification.ParallelLookup.QueueSize";
+    public static final String PARALLEL_LOOKUP_STEP_TIMEOUT = "Notification.ParallelLookup.StepTimeout";
+    public static final String PARALLEL_LOOKUP_USE_VIRTUAL_THREADS = "Notification.ParallelLookup.UseVirtualThreads";
+    public static final String TARGETED_CLAIM_FETCH_ENABLE = "Notification.TargetedClaimFetch.Enable";
+    public static final String BRANDING_PREFERENCE_CACHE_ENABLE = "Notification.BrandingPreferenceCache.Enable";
+    public static final String BRANDING_PREFERENCE_CACHE_TIMEOUT = "Notification.BrandingPreferenceCache.Timeout";
     public static final String TENANT_DOMAIN = "tenant-domain";
     public static final String IS_FEDERATED_USER = "isFederatedUser";
     public static final String FEDERATED_USER_CLAIMS = "federatedUserClaims";
@@ -89,6 +103,7 @@ public class NotificationConstants {
         public static final String ORGANIZATION_ID_PLACEHOLDER = "organization-id";
 
         public static final String ENABLE_ORGANIZATION_LEVEL_EMAIL_BRANDING = "EnableOrganizationLevelEmailBranding";
+        public static final String ENABLE_PARTIAL_TEMPLATE_RENDERING = "EnableNotificationTemplatePartialRendering";
         public static final String ORGANIZATION_LEVEL_EMAIL_BRANDING_FALLBACKS_ELEM
                 =  "OrganizationLevelEmailBrandingFallbacks";
         public static final String ORGANIZATION_LEVEL_EMAIL_BRANDING_FALLBACK_ELEM
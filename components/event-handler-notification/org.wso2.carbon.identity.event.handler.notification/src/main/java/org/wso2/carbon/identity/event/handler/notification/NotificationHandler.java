@@ -22,18 +22,22 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
+import org.wso2.carbon.email.mgt.util.OrganizationContextUtil;
 import org.wso2.carbon.event.stream.core.EventStreamService;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.notification.dispatch.AsyncNotificationDispatcher;
+import org.wso2.carbon.identity.event.handler.notification.dispatch.NotificationDispatchTask;
 import org.wso2.carbon.identity.event.handler.notification.email.bean.Notification;
+import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
 import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
 import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
-import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.utils.DiagnosticLog;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -57,6 +61,34 @@ public class NotificationHandler extends DefaultNotificationHandler {
             event.getEventProperties().put(NotificationConstants.EmailNotification.EMAIL_TEMPLATE_TYPE,
                     notificationTemplate);
         }
+
+        AsyncNotificationDispatcher asyncNotificationDispatcher =
+                NotificationHandlerDataHolder.getInstance().getAsyncNotificationDispatcher();
+        if (asyncNotificationDispatcher != null) {
+            // The event is copied since the caller may change its properties once the event is handled.
+            Event eventSnapshot = new Event(event.getEventName(),
+                    Collections.unmodifiableMap(new HashMap<>(event.getEventProperties())));
+            asyncNotificationDispatcher.dispatch(new NotificationDispatchTask(() -> {
+                try {
+                    sendNotification(eventSnapshot);
+                } catch (IdentityEventException e) {
+                    throw NotificationRuntimeException.error("Error while sending the notification for the event: "
+                            + eventSnapshot.getEventName(), e);
+                }
+            }));
+            return;
+        }
+        sendNotification(event);
+    }
+
+    /**
+     * Build the notification of the event and publish it to the notification stream.
+     *
+     * @param event Event.
+     * @throws IdentityEventException If the notification could not be built.
+     */
+    protected void sendNotification(Event event) throws IdentityEventException {
+
         Map<String, String> arbitraryDataMap = new HashMap<>();
         for (Map.Entry<String, Object> entry : event.getEventProperties().entrySet()) {
             if (entry.getValue() instanceof String) {
@@ -82,9 +114,7 @@ public class NotificationHandler extends DefaultNotificationHandler {
         try {
             if (StringUtils.isNotBlank(tenantDomain)) {
                 // Resolve the organization id and add to attribute data map.
-                OrganizationManager organizationManager =
-                        NotificationHandlerDataHolder.getInstance().getOrganizationManager();
-                String organizationId = organizationManager.resolveOrganizationId(tenantDomain);
+                String organizationId = OrganizationContextUtil.getOrganizationId(tenantDomain);
                 arbitraryDataMap.put(NotificationConstants.EmailNotification.ORGANIZATION_ID_PLACEHOLDER,
                         organizationId);
             }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache implementation for the resolved branding and custom text preferences used in notifications.
+ * Branding preferences are changed by the branding management component, which does not notify this module, so the
+ * cache is only used when enabled with the Notification.BrandingPreferenceCache.Enable property, and entries are
+ * only served for the short timeout set with Notification.BrandingPreferenceCache.Timeout. Removals are propagated to
+ * the other nodes of the cluster.
+ */
+public class BrandingPreferenceCache extends BaseCache<BrandingPreferenceCacheKey, BrandingPreferenceCacheEntry> {
+
+    private static final String CACHE_NAME = "NotificationBrandingPreferenceCache";
+    private static final BrandingPreferenceCache instance = new BrandingPreferenceCache();
+
+    private BrandingPreferenceCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static BrandingPreferenceCache getInstance() {
+
+        return instance;
+    }
+}
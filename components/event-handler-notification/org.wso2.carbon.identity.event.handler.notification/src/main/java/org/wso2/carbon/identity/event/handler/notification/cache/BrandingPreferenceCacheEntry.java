@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Cache entry of {@link BrandingPreferenceCache}. An entry without a preference records that the preference is not
+ * configured or not enabled, so that it is not looked up again for every notification. Entries of branding
+ * preferences also hold the resolved values of the branding placeholders, so that they are not evaluated from the
+ * preference for every notification. Entries record when they were resolved, so that they are only served for the
+ * configured branding preference cache timeout.
+ */
+public class BrandingPreferenceCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 2436150818627400631L;
+
+    private final JsonNode preference;
+    private final Map<String, String> brandingFallbacks;
+    private final Map<String, String> placeholderValues;
+    private final long createdTime;
+
+    public BrandingPreferenceCacheEntry(JsonNode preference) {
+
+        this(preference, Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap());
+    }
+
+    public BrandingPreferenceCacheEntry(JsonNode preference, Map<String, String> brandingFallbacks,
+                                        Map<String, String> placeholderValues) {
+
+        this.preference = preference;
+        this.brandingFallbacks = brandingFallbacks;
+        this.placeholderValues = placeholderValues;
+        this.createdTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the resolved preference.
+     *
+     * @return Preference, or null if the preference is not configured.
+     */
+    public JsonNode getPreference() {
+
+        return preference;
+    }
+
+    /**
+     * Get the values of the placeholders resolved from the preference.
+     *
+     * @return Unmodifiable map of placeholder values.
+     */
+    public Map<String, String> getPlaceholderValues() {
+
+        return placeholderValues;
+    }
+
+    /**
+     * Check whether the placeholder values of the entry were resolved with the given branding fallbacks.
+     *
+     * @param brandingFallbacks Branding fallbacks.
+     * @return True if the entry was resolved with the same branding fallbacks.
+     */
+    public boolean isResolvedWith(Map<String, String> brandingFallbacks) {
+
+        return this.brandingFallbacks.equals(brandingFallbacks);
+    }
+
+    /**
+     * Check whether the entry is older than the given timeout.
+     *
+     * @param now     Current time in milliseconds.
+     * @param timeout Timeout in milliseconds.
+     * @return True if the entry was resolved more than the timeout before the given time.
+     */
+    public boolean isExpired(long now, long timeout) {
+
+        return now - createdTime > timeout;
+    }
+
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * This class represent cache key for {@link BrandingPreferenceCache}.
+ */
+public class BrandingPreferenceCacheKey implements Serializable {
+
+    public static final String BRANDING_PREFERENCE = "BRANDING_PREFERENCE";
+    public static final String CUSTOM_TEXT = "CUSTOM_TEXT";
+
+    private String preferenceType;
+    private String applicationUuid;
+    private String locale;
+
+    public BrandingPreferenceCacheKey(String preferenceType, String applicationUuid, String locale) {
+
+        this.preferenceType = preferenceType;
+        this.applicationUuid = applicationUuid;
+        this.locale = locale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BrandingPreferenceCacheKey cacheKey = (BrandingPreferenceCacheKey) o;
+        return Objects.equals(preferenceType, cacheKey.preferenceType) &&
+                Objects.equals(applicationUuid, cacheKey.applicationUuid) &&
+                Objects.equals(locale, cacheKey.locale);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(preferenceType, applicationUuid, locale);
+    }
+}
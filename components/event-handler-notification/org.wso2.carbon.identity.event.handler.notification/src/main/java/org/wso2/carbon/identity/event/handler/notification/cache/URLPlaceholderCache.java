@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Node local cache of the server and endpoint URLs used as notification placeholders. The URLs are derived from the
+ * server configuration of the node, so entries are not shared across the cluster and are only removed when the
+ * configuration is reloaded or the cache grows beyond its capacity.
+ */
+public class URLPlaceholderCache {
+
+    private static final int MAX_ENTRIES = 1000;
+    private static final URLPlaceholderCache instance = new URLPlaceholderCache();
+
+    private final Map<URLPlaceholderCacheKey, Map<String, String>> cache = Collections.synchronizedMap(
+            new LinkedHashMap<URLPlaceholderCacheKey, Map<String, String>>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = -7409375164542383140L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<URLPlaceholderCacheKey, Map<String, String>> eldest) {
+
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    private URLPlaceholderCache() {
+
+    }
+
+    public static URLPlaceholderCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Get the cached URL placeholder values.
+     *
+     * @param key Cache key.
+     * @return Unmodifiable map of URL placeholder values, or null if not cached.
+     */
+    public Map<String, String> getValueFromCache(URLPlaceholderCacheKey key) {
+
+        return cache.get(key);
+    }
+
+    /**
+     * Add URL placeholder values to the cache.
+     *
+     * @param key    Cache key.
+     * @param values Unmodifiable map of URL placeholder values.
+     */
+    public void addToCache(URLPlaceholderCacheKey key, Map<String, String> values) {
+
+        cache.put(key, values);
+    }
+
+    /**
+     * Remove all the cached URL placeholder values.
+     */
+    public void clear() {
+
+        cache.clear();
+    }
+}
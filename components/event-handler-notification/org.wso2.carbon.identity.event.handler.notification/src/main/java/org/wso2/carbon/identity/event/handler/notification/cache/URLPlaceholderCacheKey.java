@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import java.util.Objects;
+
+/**
+ * This class represent cache key for {@link URLPlaceholderCache}. Server URLs are built for the tenant and the
+ * organization of the current request context, so they are part of the key along with the tenant of the user.
+ */
+public class URLPlaceholderCacheKey {
+
+    private final String tenantDomain;
+    private final String contextTenantDomain;
+    private final String contextOrganizationId;
+
+    public URLPlaceholderCacheKey(String tenantDomain, String contextTenantDomain, String contextOrganizationId) {
+
+        this.tenantDomain = tenantDomain;
+        this.contextTenantDomain = contextTenantDomain;
+        this.contextOrganizationId = contextOrganizationId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        URLPlaceholderCacheKey cacheKey = (URLPlaceholderCacheKey) o;
+        return Objects.equals(tenantDomain, cacheKey.tenantDomain) &&
+                Objects.equals(contextTenantDomain, cacheKey.contextTenantDomain) &&
+                Objects.equals(contextOrganizationId, cacheKey.contextOrganizationId);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(tenantDomain, contextTenantDomain, contextOrganizationId);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.wso2.carbon.user.core.UserStoreManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node local cache of the user store managers resolved for a tenant domain and a user store domain, so that the
+ * claims of the user a notification is sent to can be loaded without resolving the tenant realm for every
+ * notification. User store managers are live objects of the node, so entries are not shared across the cluster.
+ * <p>
+ * Cached user store managers are returned without going to the realm. Entries of a tenant are removed when a user
+ * store of the tenant is added, updated or deleted, and when the tenant is unloaded, updated, deactivated or deleted.
+ * Every entry is removed when the realm service is reloaded, and any other entry expires after a fixed timeout.
+ * User store changes are notified before they are applied to the realm, so after the entries of a tenant are removed,
+ * user store managers of the tenant are not cached again for a short hold time. Each removal also moves a
+ * generation, and a user store manager resolved before a removal is not cached after it.
+ */
+public class UserStoreManagerCache {
+
+    private static final int MAX_ENTRIES = 1000;
+    private static final long ENTRY_TIMEOUT = TimeUnit.MINUTES.toMillis(15);
+    private static final long CHANGE_HOLD_TIME = TimeUnit.MINUTES.toMillis(1);
+    private static final UserStoreManagerCache instance = new UserStoreManagerCache();
+
+    private final ConcurrentMap<UserStoreManagerCacheKey, UserStoreManagerCacheEntry> cache =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, AtomicLong> tenantGenerations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Long> holdUntil = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long changeHoldTime = CHANGE_HOLD_TIME;
+
+    private UserStoreManagerCache() {
+
+    }
+
+    public static UserStoreManagerCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Get the cached user store manager.
+     *
+     * @param key Cache key.
+     * @return User store manager, or null if not cached.
+     */
+    public UserStoreManager getValueFromCache(UserStoreManagerCacheKey key) {
+
+        UserStoreManagerCacheEntry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, System.currentTimeMillis())) {
+            cache.remove(key, entry);
+            return null;
+        }
+        return entry.getUserStoreManager();
+    }
+
+    /**
+     * Get the current generation of the cached user store managers of a tenant. The generation should be taken
+     * before resolving a user store manager from the realm, and passed to the cache entry of the resolved user
+     * store manager.
+     *
+     * @param tenantId Tenant id.
+     * @return Generation.
+     */
+    public long getGeneration(int tenantId) {
+
+        AtomicLong tenantGeneration = tenantGenerations.get(tenantId);
+        return generation.get() + (tenantGeneration == null ? 0L : tenantGeneration.get());
+    }
+
+    /**
+     * Add a resolved user store manager to the cache. The entry is not added if the cached user store managers of
+     * the tenant were removed after the user store manager was resolved or within the hold time, or if the cache is
+     * full even after removing the expired entries.
+     *
+     * @param key   Cache key.
+     * @param entry Cache entry.
+     */
+    public void addToCache(UserStoreManagerCacheKey key, UserStoreManagerCacheEntry entry) {
+
+        int tenantId = entry.getTenantId();
+        long now = System.currentTimeMillis();
+        if (entry.getGeneration() != getGeneration(tenantId) || isHeld(tenantId, now)) {
+            return;
+        }
+        if (cache.size() >= MAX_ENTRIES && !cache.containsKey(key)) {
+            cache.values().removeIf(cachedEntry -> isExpired(cachedEntry, now));
+            if (cache.size() >= MAX_ENTRIES) {
+                return;
+            }
+        }
+        cache.put(key, entry);
+        // Removals move the generation before removing entries, so an entry added concurrently with a removal is
+        // either removed by it or seen here.
+        if (entry.getGeneration() != getGeneration(tenantId)) {
+            cache.remove(key, entry);
+        }
+    }
+
+    /**
+     * Remove the cached user store managers of a tenant, and hold caching them again for the hold time.
+     *
+     * @param tenantId Tenant id.
+     */
+    public void clear(int tenantId) {
+
+        holdUntil.put(tenantId, System.currentTimeMillis() + changeHoldTime);
+        tenantGenerations.computeIfAbsent(tenantId, key -> new AtomicLong()).incrementAndGet();
+        cache.values().removeIf(entry -> entry.getTenantId() == tenantId);
+    }
+
+    /**
+     * Remove all the cached user store managers.
+     */
+    public void clear() {
+
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    /**
+     * Set the time for which user store managers of a tenant are not cached after the entries of the tenant are
+     * removed.
+     *
+     * @param changeHoldTime Hold time in milliseconds.
+     */
+    void setChangeHoldTime(long changeHoldTime) {
+
+        this.changeHoldTime = changeHoldTime;
+    }
+
+    private boolean isHeld(int tenantId, long now) {
+
+        Long tenantHoldUntil = holdUntil.get(tenantId);
+        if (tenantHoldUntil == null) {
+            return false;
+        }
+        if (now < tenantHoldUntil) {
+            return true;
+        }
+        holdUntil.remove(tenantId, tenantHoldUntil);
+        return false;
+    }
+
+    private static boolean isExpired(UserStoreManagerCacheEntry entry, long now) {
+
+        return now - entry.getCreatedTime() > ENTRY_TIMEOUT;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.wso2.carbon.user.core.UserStoreManager;
+
+/**
+ * Cache entry of {@link UserStoreManagerCache}. Entries do not hold the tenant realm the user store manager was
+ * resolved from, so that a reloaded realm is not kept alive by the cache.
+ */
+public class UserStoreManagerCacheEntry {
+
+    private final int tenantId;
+    private final long generation;
+    private final UserStoreManager userStoreManager;
+    private final long createdTime;
+
+    public UserStoreManagerCacheEntry(int tenantId, long generation, UserStoreManager userStoreManager) {
+
+        this.tenantId = tenantId;
+        this.generation = generation;
+        this.userStoreManager = userStoreManager;
+        this.createdTime = System.currentTimeMillis();
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public long getGeneration() {
+
+        return generation;
+    }
+
+    public UserStoreManager getUserStoreManager() {
+
+        return userStoreManager;
+    }
+
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+}
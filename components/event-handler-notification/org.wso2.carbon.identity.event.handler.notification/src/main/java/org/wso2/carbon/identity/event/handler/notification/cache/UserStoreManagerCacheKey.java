@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * This class represent cache key for {@link UserStoreManagerCache}. User store domain names are case insensitive, so
+ * they are kept in upper case.
+ */
+public class UserStoreManagerCacheKey {
+
+    private final String tenantDomain;
+    private final String userStoreDomain;
+
+    public UserStoreManagerCacheKey(String tenantDomain, String userStoreDomain) {
+
+        this.tenantDomain = tenantDomain;
+        this.userStoreDomain = StringUtils.upperCase(userStoreDomain, Locale.ENGLISH);
+    }
+
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    public String getUserStoreDomain() {
+
+        return userStoreDomain;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserStoreManagerCacheKey cacheKey = (UserStoreManagerCacheKey) o;
+        return Objects.equals(tenantDomain, cacheKey.tenantDomain) &&
+                Objects.equals(userStoreDomain, cacheKey.userStoreDomain);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(tenantDomain, userStoreDomain);
+    }
+}
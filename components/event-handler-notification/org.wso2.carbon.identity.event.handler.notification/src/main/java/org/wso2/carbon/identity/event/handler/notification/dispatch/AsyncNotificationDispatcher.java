@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.dispatch;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatches notifications asynchronously through a bounded queue drained by a fixed pool of workers, so that
+ * building and publishing notifications does not add to the latency of the flow which triggered them.
+ * When the queue is full, the configured {@link OverflowPolicy} is applied. Notifications dispatched after the
+ * dispatcher is shut down are sent on the calling thread. The queue depth and dispatch counters are logged
+ * periodically when debug logs are enabled, and when the dispatcher is shut down.
+ */
+public class AsyncNotificationDispatcher {
+
+    private static final Log log = LogFactory.getLog(AsyncNotificationDispatcher.class);
+
+    private static final String THREAD_NAME_PREFIX = "notification-dispatcher-";
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final int DEFAULT_QUEUE_SIZE = 1000;
+    private static final long DEFAULT_DRAIN_TIMEOUT = 30000L;
+    private static final long BLOCK_POLL_INTERVAL = 100L;
+    private static final long METRICS_LOG_INTERVAL = 60000L;
+
+    /**
+     * Policies applied when a notification is dispatched while the queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Wait until the queue has space for the notification.
+         */
+        BLOCK,
+        /**
+         * Drop the oldest queued notification to make space for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Send the notification on the calling thread.
+         */
+        CALLER_RUNS
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    private final AtomicLong lastMetricsLogTime = new AtomicLong(System.currentTimeMillis());
+
+    public AsyncNotificationDispatcher(int poolSize, int queueSize, OverflowPolicy overflowPolicy,
+                                       ThreadFactory threadFactory) {
+
+        this.overflowPolicy = overflowPolicy;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), threadFactory, new OverflowHandler());
+        // Workers must be running for the blocking policy to hand notifications over through the queue.
+        this.executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * Create a dispatcher from the async dispatch configuration in the identity config file.
+     *
+     * @return Dispatcher, or null if asynchronous dispatching is not enabled.
+     */
+    public static AsyncNotificationDispatcher fromConfig() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(NotificationConstants.ASYNC_DISPATCH_ENABLE))) {
+            return null;
+        }
+        int poolSize = getPositiveIntProperty(NotificationConstants.ASYNC_DISPATCH_POOL_SIZE, DEFAULT_POOL_SIZE);
+        int queueSize = getPositiveIntProperty(NotificationConstants.ASYNC_DISPATCH_QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+        OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+        String overflowPolicyProperty = IdentityUtil.getProperty(NotificationConstants.ASYNC_DISPATCH_OVERFLOW_POLICY);
+        if (StringUtils.isNotBlank(overflowPolicyProperty)) {
+            try {
+                overflowPolicy = OverflowPolicy.valueOf(overflowPolicyProperty.trim().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid notification dispatch overflow policy: " + overflowPolicyProperty + ". Using the "
+                        + overflowPolicy + " policy.");
+            }
+        }
+        boolean useVirtualThreads = !"false".equalsIgnoreCase(
+                IdentityUtil.getProperty(NotificationConstants.ASYNC_DISPATCH_USE_VIRTUAL_THREADS));
+
+        if (log.isDebugEnabled()) {
+            log.debug("Asynchronous notification dispatching is enabled with " + poolSize + " workers, a queue of "
+                    + queueSize + " notifications and the " + overflowPolicy + " overflow policy.");
+        }
+        return new AsyncNotificationDispatcher(poolSize, queueSize, overflowPolicy,
+                createThreadFactory(THREAD_NAME_PREFIX, useVirtualThreads));
+    }
+
+    /**
+     * Get the time to wait for queued notifications to be sent when the dispatcher is shut down.
+     *
+     * @return Drain timeout in milliseconds.
+     */
+    public static long getDrainTimeoutFromConfig() {
+
+        String drainTimeout = IdentityUtil.getProperty(NotificationConstants.ASYNC_DISPATCH_DRAIN_TIMEOUT);
+        if (StringUtils.isNotBlank(drainTimeout)) {
+            try {
+                return Long.parseLong(drainTimeout.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid notification dispatch drain timeout: " + drainTimeout + ". Using the default "
+                        + "timeout of " + DEFAULT_DRAIN_TIMEOUT + " ms.");
+            }
+        }
+        return DEFAULT_DRAIN_TIMEOUT;
+    }
+
+    /**
+     * Dispatch a notification.
+     *
+     * @param notificationTask Task which builds and sends the notification.
+     */
+    public void dispatch(Runnable notificationTask) {
+
+        dispatchedCount.incrementAndGet();
+        executor.execute(new MeteredTask(notificationTask));
+        if (log.isDebugEnabled()) {
+            log.debug("Notification dispatched. Queue depth: " + getQueueDepth() + ", active workers: "
+                    + getActiveWorkerCount());
+        }
+    }
+
+    /**
+     * Stop accepting notifications and wait for the queued notifications to be sent.
+     *
+     * @param drainTimeout Maximum time to wait in milliseconds.
+     */
+    public void shutdown(long drainTimeout) {
+
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(drainTimeout, TimeUnit.MILLISECONDS)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Notification dispatcher is shut down. " + getMetricsSummary());
+                }
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Runnable> pendingTasks = executor.shutdownNow();
+        droppedCount.addAndGet(pendingTasks.size());
+        log.warn("Notification dispatcher did not drain within " + drainTimeout + " ms. " + pendingTasks.size()
+                + " queued notifications were not sent. " + getMetricsSummary());
+    }
+
+    /**
+     * Get a summary of the queue depth and the dispatch counters, as written to the logs.
+     *
+     * @return Metrics summary.
+     */
+    public String getMetricsSummary() {
+
+        return "Queue depth: " + getQueueDepth() + ", active workers: " + getActiveWorkerCount() + ", dispatched: "
+                + getDispatchedCount() + ", completed: " + getCompletedCount() + ", failed: " + getFailedCount()
+                + ", dropped: " + getDroppedCount() + ", sent on caller threads: " + getCallerRunsCount() + ".";
+    }
+
+    /**
+     * Get the number of notifications waiting in the queue.
+     *
+     * @return Queue depth.
+     */
+    public int getQueueDepth() {
+
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Get the number of workers which are sending notifications.
+     *
+     * @return Active worker count.
+     */
+    public int getActiveWorkerCount() {
+
+        return executor.getActiveCount();
+    }
+
+    public long getDispatchedCount() {
+
+        return dispatchedCount.get();
+    }
+
+    public long getCompletedCount() {
+
+        return completedCount.get();
+    }
+
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    public long getDroppedCount() {
+
+        return droppedCount.get();
+    }
+
+    public long getCallerRunsCount() {
+
+        return callerRunsCount.get();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+
+        return overflowPolicy;
+    }
+
+    /**
+     * Log the metrics summary if debug logs are enabled and it was not logged within the metrics log interval.
+     */
+    private void logMetricsPeriodically() {
+
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long lastLogTime = lastMetricsLogTime.get();
+        if (now - lastLogTime >= METRICS_LOG_INTERVAL && lastMetricsLogTime.compareAndSet(lastLogTime, now)) {
+            log.debug("Notification dispatcher metrics. " + getMetricsSummary());
+        }
+    }
+
+    static int getPositiveIntProperty(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the warning below.
+        }
+        log.warn("Invalid value: " + value + " for the property: " + property + ". Using the default value: "
+                + defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Create the factory for notification dispatcher threads.
+     *
+     * @param useVirtualThreads Whether virtual threads should be used when available.
+     * @return Thread factory.
+     */
+    static ThreadFactory createThreadFactory(boolean useVirtualThreads) {
+
+        return createThreadFactory(THREAD_NAME_PREFIX, useVirtualThreads);
+    }
+
+    /**
+     * Create the factory for worker threads, using virtual threads when they are supported by the runtime.
+     *
+     * @param threadNamePrefix  Prefix of the worker thread names.
+     * @param useVirtualThreads Whether virtual threads should be used when available.
+     * @return Thread factory.
+     */
+    static ThreadFactory createThreadFactory(String threadNamePrefix, boolean useVirtualThreads) {
+
+        if (useVirtualThreads) {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                builder = builderClass.getMethod("name", String.class, long.class)
+                        .invoke(builder, threadNamePrefix, 0L);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Virtual threads are not supported by the runtime. Using platform threads for "
+                            + "notification dispatching.");
+                }
+            }
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Task wrapper which keeps the completion metrics.
+     */
+    private class MeteredTask implements Runnable {
+
+        private final Runnable task;
+
+        private MeteredTask(Runnable task) {
+
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+
+            try {
+                task.run();
+                completedCount.incrementAndGet();
+            } catch (Throwable e) {
+                // Errors would otherwise end the worker thread without being logged or counted.
+                failedCount.incrementAndGet();
+                log.error("Error while sending an asynchronously dispatched notification.", e);
+            } finally {
+                logMetricsPeriodically();
+            }
+        }
+    }
+
+    /**
+     * Applies the overflow policy for notifications which do not fit in the queue.
+     */
+    private class OverflowHandler implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor threadPoolExecutor) {
+
+            if (threadPoolExecutor.isShutdown()) {
+                // Notifications must not be lost while the dispatcher is being shut down.
+                runOnCallerThread(task);
+                return;
+            }
+            switch (overflowPolicy) {
+                case BLOCK:
+                    try {
+                        while (!threadPoolExecutor.getQueue().offer(task, BLOCK_POLL_INTERVAL,
+                                TimeUnit.MILLISECONDS)) {
+                            if (threadPoolExecutor.isShutdown()) {
+                                runOnCallerThread(task);
+                                return;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        runOnCallerThread(task);
+                    }
+                    break;
+                case DROP_OLDEST:
+                    if (threadPoolExecutor.getQueue().poll() != null) {
+                        droppedCount.incrementAndGet();
+                        log.warn("Notification queue is full. Dropped the oldest queued notification.");
+                    }
+                    threadPoolExecutor.execute(task);
+                    break;
+                default:
+                    runOnCallerThread(task);
+                    break;
+            }
+        }
+
+        private void runOnCallerThread(Runnable task) {
+
+            callerRunsCount.incrementAndGet();
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.dispatch;
+
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Notification task which runs with the carbon context and the identity thread local properties of the thread that
+ * dispatched it. Server URLs and tenant specific resources used while building the notification are resolved from
+ * this context.
+ */
+public class NotificationDispatchTask implements Runnable {
+
+    private final Runnable task;
+    private final String tenantDomain;
+    private final int tenantId;
+    private final String organizationId;
+    private final String username;
+    private final Map<String, Object> threadLocalProperties;
+
+    public NotificationDispatchTask(Runnable task) {
+
+        this.task = task;
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        this.tenantDomain = carbonContext.getTenantDomain();
+        this.tenantId = carbonContext.getTenantId();
+        this.organizationId = carbonContext.getOrganizationId();
+        this.username = carbonContext.getUsername();
+        this.threadLocalProperties = new HashMap<>(IdentityUtil.threadLocalProperties.get());
+    }
+
+    @Override
+    public void run() {
+
+        Map<String, Object> previousThreadLocalProperties = IdentityUtil.threadLocalProperties.get();
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantDomain(tenantDomain);
+            carbonContext.setTenantId(tenantId);
+            carbonContext.setOrganizationId(organizationId);
+            carbonContext.setUsername(username);
+            IdentityUtil.threadLocalProperties.set(new HashMap<>(threadLocalProperties));
+            task.run();
+        } finally {
+            IdentityUtil.threadLocalProperties.set(previousThreadLocalProperties);
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.dispatch;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the independent lookups needed to build a notification, such as user claims, the application id, branding
+ * preferences and the organization name, concurrently with each other. Lookups run with the carbon context of the
+ * thread which submitted them. Each lookup has a deadline of the lookup timeout from when it was submitted, and
+ * joining it waits only for the time left until its deadline, so that a slow user store or database delays a
+ * notification by at most one lookup timeout rather than the sum of the timeouts of all lookups.
+ * Lookups which do not fit in the queue, or are submitted after the executor is shut down, run on the calling thread.
+ */
+public class NotificationLookupExecutor {
+
+    private static final Log log = LogFactory.getLog(NotificationLookupExecutor.class);
+
+    private static final String THREAD_NAME_PREFIX = "notification-lookup-";
+    private static final int DEFAULT_POOL_SIZE = 16;
+    private static final int DEFAULT_QUEUE_SIZE = 1000;
+    private static final long DEFAULT_STEP_TIMEOUT = 10000L;
+    private static final long IDLE_WORKER_TIMEOUT = 60000L;
+
+    private final ThreadPoolExecutor executor;
+    private final long stepTimeout;
+
+    public NotificationLookupExecutor(int poolSize, int queueSize, long stepTimeout, ThreadFactory threadFactory) {
+
+        this.stepTimeout = stepTimeout;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, IDLE_WORKER_TIMEOUT, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(queueSize), threadFactory,
+                (lookup, threadPoolExecutor) -> lookup.run());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Create a lookup executor from the parallel lookup configuration in the identity config file.
+     *
+     * @return Lookup executor, or null if parallel lookups are not enabled.
+     */
+    public static NotificationLookupExecutor fromConfig() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(NotificationConstants.PARALLEL_LOOKUP_ENABLE))) {
+            return null;
+        }
+        int poolSize = AsyncNotificationDispatcher.getPositiveIntProperty(
+                NotificationConstants.PARALLEL_LOOKUP_POOL_SIZE, DEFAULT_POOL_SIZE);
+        int queueSize = AsyncNotificationDispatcher.getPositiveIntProperty(
+                NotificationConstants.PARALLEL_LOOKUP_QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+        long stepTimeout = DEFAULT_STEP_TIMEOUT;
+        String stepTimeoutProperty = IdentityUtil.getProperty(NotificationConstants.PARALLEL_LOOKUP_STEP_TIMEOUT);
+        if (StringUtils.isNotBlank(stepTimeoutProperty)) {
+            try {
+                stepTimeout = Long.parseLong(stepTimeoutProperty.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid notification lookup timeout: " + stepTimeoutProperty + ". Using the default "
+                        + "timeout of " + DEFAULT_STEP_TIMEOUT + " ms.");
+            }
+        }
+        boolean useVirtualThreads = !"false".equalsIgnoreCase(
+                IdentityUtil.getProperty(NotificationConstants.PARALLEL_LOOKUP_USE_VIRTUAL_THREADS));
+
+        if (log.isDebugEnabled()) {
+            log.debug("Parallel notification lookups are enabled with " + poolSize + " workers and a timeout of "
+                    + stepTimeout + " ms per lookup.");
+        }
+        return new NotificationLookupExecutor(poolSize, queueSize, stepTimeout,
+                AsyncNotificationDispatcher.createThreadFactory(THREAD_NAME_PREFIX, useVirtualThreads));
+    }
+
+    /**
+     * Start a lookup.
+     *
+     * @param lookup Lookup to run.
+     * @param <T>    Type of the lookup result.
+     * @return Future to join the lookup with. The lookup timeout is counted from now.
+     */
+    public <T> Future<T> submit(Callable<T> lookup) {
+
+        LookupTask<T> lookupTask = new LookupTask<>(lookup,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(stepTimeout));
+        executor.execute(new NotificationDispatchTask(lookupTask));
+        return lookupTask;
+    }
+
+    /**
+     * Wait for a lookup to complete, failing the same way as the lookup would when run on the calling thread.
+     *
+     * @param lookup     Submitted lookup.
+     * @param lookupName Description of the lookup used in error messages, eg: "retrieving the user claims".
+     * @param <T>        Type of the lookup result.
+     * @return Lookup result.
+     * @throws IdentityEventException If the lookup failed with an IdentityEventException, did not complete within
+     *                                the timeout of its submission, was cancelled or the calling thread was
+     *                                interrupted.
+     */
+    public <T> T join(Future<T> lookup, String lookupName) throws IdentityEventException {
+
+        long remainingTime = lookup instanceof LookupTask ?
+                ((LookupTask<?>) lookup).deadline - System.nanoTime() : TimeUnit.MILLISECONDS.toNanos(stepTimeout);
+        try {
+            return lookup.get(Math.max(remainingTime, 0L), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IdentityEventException) {
+                throw (IdentityEventException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IdentityEventException("Error while " + lookupName + ".", cause);
+        } catch (CancellationException e) {
+            throw new IdentityEventException("Lookup was cancelled while " + lookupName + ".", e);
+        } catch (TimeoutException e) {
+            lookup.cancel(true);
+            throw new IdentityEventException("Timed out after " + stepTimeout + " ms from the submission of the "
+                    + "lookup while " + lookupName + ".", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lookup.cancel(true);
+            throw new IdentityEventException("Interrupted while " + lookupName + ".", e);
+        }
+    }
+
+    /**
+     * Wait for a lookup which handles its own errors, and whose result is not needed to send the notification.
+     * Runtime exceptions thrown by the lookup are propagated.
+     *
+     * @param lookup     Submitted lookup.
+     * @param lookupName Description of the lookup used in log messages.
+     * @param <T>        Type of the lookup result.
+     * @return Lookup result, or null if the lookup did not complete within the timeout.
+     */
+    public <T> T joinQuietly(Future<T> lookup, String lookupName) {
+
+        try {
+            return join(lookup, lookupName);
+        } catch (IdentityEventException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Continuing without the result of " + lookupName + ".", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stop accepting lookups. Lookups which were already submitted are completed.
+     */
+    public void shutdown() {
+
+        executor.shutdown();
+    }
+
+    public long getStepTimeout() {
+
+        return stepTimeout;
+    }
+
+    /**
+     * Get the number of workers which are running lookups.
+     *
+     * @return Active worker count.
+     */
+    public int getActiveWorkerCount() {
+
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Lookup along with the deadline by which it has to complete.
+     *
+     * @param <T> Type of the lookup result.
+     */
+    private static final class LookupTask<T> extends FutureTask<T> {
+
+        private final long deadline;
+
+        private LookupTask(Callable<T> lookup, long deadline) {
+
+            super(lookup);
+            this.deadline = deadline;
+        }
+    }
+}
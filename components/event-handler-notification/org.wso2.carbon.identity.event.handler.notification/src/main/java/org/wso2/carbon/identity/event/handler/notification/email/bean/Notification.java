@@ -21,13 +21,15 @@ package org.wso2.carbon.identity.event.handler.notification.email.bean;
 
 import org.apache.commons.lang.StringUtils;
 import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
+import org.wso2.carbon.email.mgt.model.PartiallyRenderedTemplate;
+import org.wso2.carbon.email.mgt.util.CompiledTemplate;
+import org.wso2.carbon.email.mgt.util.CompiledTemplateContent;
 
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.Map;
-import java.util.regex.Matcher;
 
 public class Notification implements Serializable {
 
@@ -44,33 +46,31 @@ public class Notification implements Serializable {
         this.sendFrom = builder.sendFrom;
         this.template = builder.template;
         this.placeHolderData = builder.placeHolderData;
-        this.body = replaceTags(template.getBody(), placeHolderData);
+        // Only the per user placeholders are left to be rendered in a partially rendered template.
+        PartiallyRenderedTemplate partial = builder.partiallyRenderedTemplate;
+        CompiledTemplateContent content = partial != null ? partial.getCompiledContent() :
+                template.getCompiledContent();
+        this.body = replaceTags(content.getBody(), placeHolderData);
         if (StringUtils.isNotEmpty(template.getSubject())) {
-            this.subject = replaceTags(template.getSubject(), placeHolderData);
+            this.subject = replaceTags(content.getSubject(), placeHolderData);
         }
         if (StringUtils.isNotEmpty(template.getFooter())) {
-            this.footer = replaceTags(template.getFooter(), placeHolderData);
+            this.footer = replaceTags(content.getFooter(), placeHolderData);
         }
     }
 
-    private static String replaceTags(String content, Map<String, String> tagsData) {
+    private static String replaceTags(CompiledTemplate compiledTemplate, Map<String, String> tagsData) {
 
-        for (Map.Entry<String, String> entry : tagsData.entrySet()) {
-            try {
-
-                // In email templates the placeholders in a URL, are defined in the format of {{url:key}} -
-                // eg:{{url:user-name}}, So that the values should be URL Encoded
-                content = content.replaceAll("\\{\\{url:" + entry.getKey() + "\\}\\}", URLEncoder.encode(entry.getValue(),
-                        "UTF-8"));
-            } catch (UnsupportedEncodingException e) {
-                throw NotificationRuntimeException.error(e.getMessage(), e);
-            }
-
-            // Backslashes (\) and dollar signs ($) in the replacement string is not treated as a literals.
-            content = content.replaceAll("\\{\\{" + entry.getKey() + "\\}\\}", Matcher.quoteReplacement(entry
-                    .getValue()));
+        if (compiledTemplate == null) {
+            throw new IllegalArgumentException("Template content cannot be null.");
+        }
+        try {
+            // In email templates the placeholders in a URL, are defined in the format of {{url:key}} -
+            // eg:{{url:user-name}}, So that the values should be URL Encoded.
+            return compiledTemplate.render(tagsData);
+        } catch (UnsupportedEncodingException e) {
+            throw NotificationRuntimeException.error(e.getMessage(), e);
         }
-        return content;
     }
 
     public String getSendTo() {
@@ -103,6 +103,7 @@ public class Notification implements Serializable {
         private String sendTo;
         private String sendFrom;
         private EmailTemplate template;
+        private PartiallyRenderedTemplate partiallyRenderedTemplate;
         private Map<String, String> placeHolderData;
 
         public EmailNotificationBuilder(String sendTo) {
@@ -113,6 +114,17 @@ public class Notification implements Serializable {
             this.template = template;
         }
 
+        /**
+         * Set the template with the tenant invariant placeholders already substituted. It is rendered instead of the
+         * template content, so it must have been rendered from the same template, eg: as returned by
+         * {@link NotificationUtil#getPartiallyRenderedTemplate}.
+         *
+         * @param partiallyRenderedTemplate Partially rendered template.
+         */
+        public void setPartiallyRenderedTemplate(PartiallyRenderedTemplate partiallyRenderedTemplate) {
+            this.partiallyRenderedTemplate = partiallyRenderedTemplate;
+        }
+
         public void setSendFrom(String sendFrom) {
             this.sendFrom = sendFrom;
         }
@@ -21,6 +21,8 @@ package org.wso2.carbon.identity.event.handler.notification.internal;
 import org.wso2.carbon.event.publisher.core.EventPublisherService;
 import org.wso2.carbon.event.stream.core.EventStreamService;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.event.handler.notification.dispatch.AsyncNotificationDispatcher;
+import org.wso2.carbon.identity.event.handler.notification.dispatch.NotificationLookupExecutor;
 import org.wso2.carbon.identity.governance.service.notification.NotificationTemplateManager;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.registry.core.service.RegistryService;
@@ -28,6 +30,8 @@ import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.utils.ConfigurationContextService;
 import org.wso2.carbon.email.mgt.EmailTemplateManager;
 
+import java.util.Map;
+
 public class NotificationHandlerDataHolder {
 
     private static volatile NotificationHandlerDataHolder instance = new NotificationHandlerDataHolder();
@@ -39,6 +43,10 @@ public class NotificationHandlerDataHolder {
     private NotificationTemplateManager notificationTemplateManager = null;
     private OrganizationManager organizationManager;
     private ApplicationManagementService applicationManagementService;
+    private volatile Map<String, String> configFilePlaceholders;
+    private volatile Map<String, String> brandingFallbacks;
+    private volatile AsyncNotificationDispatcher asyncNotificationDispatcher;
+    private volatile NotificationLookupExecutor notificationLookupExecutor;
 
     public ApplicationManagementService getApplicationManagementService() {
 
@@ -138,4 +146,84 @@ public class NotificationHandlerDataHolder {
 
         this.organizationManager = organizationManager;
     }
+
+    /**
+     * Get the snapshot of the placeholder values configured in the identity config file.
+     *
+     * @return Unmodifiable map of placeholder values, or null if they are not loaded yet.
+     */
+    public Map<String, String> getConfigFilePlaceholders() {
+
+        return configFilePlaceholders;
+    }
+
+    /**
+     * Set the snapshot of the placeholder values configured in the identity config file.
+     *
+     * @param configFilePlaceholders Unmodifiable map of placeholder values.
+     */
+    public void setConfigFilePlaceholders(Map<String, String> configFilePlaceholders) {
+
+        this.configFilePlaceholders = configFilePlaceholders;
+    }
+
+    /**
+     * Get the snapshot of the organization level branding fallbacks configured in the identity config file.
+     *
+     * @return Unmodifiable map of branding fallbacks, or null if they are not loaded yet.
+     */
+    public Map<String, String> getBrandingFallbacks() {
+
+        return brandingFallbacks;
+    }
+
+    /**
+     * Set the snapshot of the organization level branding fallbacks configured in the identity config file.
+     *
+     * @param brandingFallbacks Unmodifiable map of branding fallbacks.
+     */
+    public void setBrandingFallbacks(Map<String, String> brandingFallbacks) {
+
+        this.brandingFallbacks = brandingFallbacks;
+    }
+
+    /**
+     * Get the dispatcher used to send notifications asynchronously.
+     *
+     * @return Dispatcher, or null if notifications are sent synchronously.
+     */
+    public AsyncNotificationDispatcher getAsyncNotificationDispatcher() {
+
+        return asyncNotificationDispatcher;
+    }
+
+    /**
+     * Set the dispatcher used to send notifications asynchronously.
+     *
+     * @param asyncNotificationDispatcher Dispatcher, or null to send notifications synchronously.
+     */
+    public void setAsyncNotificationDispatcher(AsyncNotificationDispatcher asyncNotificationDispatcher) {
+
+        this.asyncNotificationDispatcher = asyncNotificationDispatcher;
+    }
+
+    /**
+     * Get the executor used to run the lookups of a notification concurrently.
+     *
+     * @return Lookup executor, or null if the lookups are run one after the other.
+     */
+    public NotificationLookupExecutor getNotificationLookupExecutor() {
+
+        return notificationLookupExecutor;
+    }
+
+    /**
+     * Set the executor used to run the lookups of a notification concurrently.
+     *
+     * @param notificationLookupExecutor Lookup executor, or null to run the lookups one after the other.
+     */
+    public void setNotificationLookupExecutor(NotificationLookupExecutor notificationLookupExecutor) {
+
+        this.notificationLookupExecutor = notificationLookupExecutor;
+    }
 }
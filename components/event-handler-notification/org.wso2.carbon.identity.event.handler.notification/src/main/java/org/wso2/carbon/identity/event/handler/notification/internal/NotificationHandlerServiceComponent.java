@@ -26,12 +26,19 @@ import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.handler.notification.DefaultNotificationHandler;
 import org.wso2.carbon.identity.event.handler.notification.NotificationHandler;
+import org.wso2.carbon.identity.event.handler.notification.dispatch.AsyncNotificationDispatcher;
+import org.wso2.carbon.identity.event.handler.notification.dispatch.NotificationLookupExecutor;
 import org.wso2.carbon.identity.event.handler.notification.listener.NotificationEventTenantListener;
+import org.wso2.carbon.identity.event.handler.notification.listener.NotificationTenantUnloadObserver;
+import org.wso2.carbon.identity.event.handler.notification.listener.NotificationUserStoreConfigListener;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
 import org.wso2.carbon.identity.governance.service.notification.NotificationTemplateManager;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.user.store.configuration.listener.UserStoreConfigListener;
 import org.wso2.carbon.registry.core.service.RegistryService;
 import org.wso2.carbon.stratos.common.listeners.TenantMgtListener;
 import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.utils.Axis2ConfigurationContextObserver;
 import org.wso2.carbon.email.mgt.EmailTemplateManager;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -53,6 +60,15 @@ public class NotificationHandlerServiceComponent {
             context.getBundleContext().registerService(AbstractEventHandler.class.getName(), new NotificationHandler(), null);
             context.getBundleContext().registerService(AbstractEventHandler.class.getName(), new DefaultNotificationHandler(), null);
             context.getBundleContext().registerService(TenantMgtListener.class.getName(), new NotificationEventTenantListener(), null);
+            context.getBundleContext().registerService(Axis2ConfigurationContextObserver.class.getName(),
+                    new NotificationTenantUnloadObserver(), null);
+            context.getBundleContext().registerService(UserStoreConfigListener.class.getName(),
+                    new NotificationUserStoreConfigListener(), null);
+            NotificationUtil.reloadConfigFileSnapshots();
+            NotificationHandlerDataHolder.getInstance().setAsyncNotificationDispatcher(
+                    AsyncNotificationDispatcher.fromConfig());
+            NotificationHandlerDataHolder.getInstance().setNotificationLookupExecutor(
+                    NotificationLookupExecutor.fromConfig());
         } catch (Throwable e) {
             log.error("Error occurred while activating Notification Handler Service Component", e);
         }
@@ -63,6 +79,20 @@ public class NotificationHandlerServiceComponent {
 
     @Deactivate
     protected void deactivate(ComponentContext context) {
+
+        AsyncNotificationDispatcher asyncNotificationDispatcher =
+                NotificationHandlerDataHolder.getInstance().getAsyncNotificationDispatcher();
+        if (asyncNotificationDispatcher != null) {
+            // Notifications dispatched from here on are sent synchronously.
+            NotificationHandlerDataHolder.getInstance().setAsyncNotificationDispatcher(null);
+            asyncNotificationDispatcher.shutdown(AsyncNotificationDispatcher.getDrainTimeoutFromConfig());
+        }
+        NotificationLookupExecutor notificationLookupExecutor =
+                NotificationHandlerDataHolder.getInstance().getNotificationLookupExecutor();
+        if (notificationLookupExecutor != null) {
+            NotificationHandlerDataHolder.getInstance().setNotificationLookupExecutor(null);
+            notificationLookupExecutor.shutdown();
+        }
         if (log.isDebugEnabled()) {
             log.debug("Notification Handler bundle is de-activated");
         }
@@ -99,6 +129,8 @@ public class NotificationHandlerServiceComponent {
             log.debug("Setting the Realm Service");
         }
         NotificationHandlerDataHolder.getInstance().setRealmService(realmService);
+        // User store managers cached from a previous realm service are not served by the new one.
+        NotificationUtil.clearUserStoreManagerCache();
     }
 
     protected void unsetRealmService(RealmService realmService) {
@@ -106,6 +138,7 @@ public class NotificationHandlerServiceComponent {
             log.debug("UnSetting the Realm Service");
         }
         NotificationHandlerDataHolder.getInstance().setRealmService(null);
+        NotificationUtil.clearUserStoreManagerCache();
     }
 
     @Reference(
@@ -19,6 +19,7 @@
 package org.wso2.carbon.identity.event.handler.notification.listener;
 
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.email.mgt.util.OrganizationContextUtil;
 import org.wso2.carbon.event.output.adapter.core.OutputEventAdapterConfiguration;
 import org.wso2.carbon.event.publisher.core.config.EventPublisherConfiguration;
 import org.wso2.carbon.event.publisher.core.config.mapping.TextOutputMapping;
@@ -43,11 +44,17 @@ public class NotificationEventTenantListener implements TenantMgtListener {
     @Override
     public void onTenantUpdate(TenantInfoBean tenantInfoBean) throws StratosException {
 
+        NotificationUtil.clearBrandingPreferenceCache(tenantInfoBean.getTenantId());
+        NotificationUtil.clearUserStoreManagerCache(tenantInfoBean.getTenantId());
+        OrganizationContextUtil.clear(tenantInfoBean.getTenantId());
     }
 
     @Override
     public void onTenantDelete(int i) {
 
+        NotificationUtil.clearBrandingPreferenceCache(i);
+        NotificationUtil.clearUserStoreManagerCache(i);
+        OrganizationContextUtil.clear(i);
     }
 
     @Override
@@ -77,6 +84,9 @@ public class NotificationEventTenantListener implements TenantMgtListener {
     @Override
     public void onTenantDeactivation(int i) throws StratosException {
 
+        NotificationUtil.clearBrandingPreferenceCache(i);
+        NotificationUtil.clearUserStoreManagerCache(i);
+        OrganizationContextUtil.clear(i);
     }
 
     @Override
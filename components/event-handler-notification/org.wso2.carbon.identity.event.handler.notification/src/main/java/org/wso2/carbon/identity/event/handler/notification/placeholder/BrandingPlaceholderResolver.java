@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.email.mgt.model.PlaceholderManifest;
+import org.wso2.carbon.identity.event.handler.notification.cache.BrandingPreferenceCacheEntry;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+
+import java.util.Map;
+
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ORGANIZATION_COPYRIGHT_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.TENANT_DOMAIN;
+
+/**
+ * Resolves {{organization.*}} and {{organization-name}} placeholders from the organization or application branding
+ * preferences, falling back to the branding values in the identity config file. The copyright text is taken from the
+ * custom text preferences when configured.
+ */
+public class BrandingPlaceholderResolver implements PlaceholderResolver {
+
+    @Override
+    public String getName() {
+
+        return "BrandingPlaceholderResolver";
+    }
+
+    @Override
+    public boolean canResolve(String placeholder) {
+
+        return placeholder.startsWith(PlaceholderManifest.BRANDING_PLACEHOLDER_PREFIX) ||
+                PlaceholderManifest.ORGANIZATION_NAME_PLACEHOLDER.equals(placeholder);
+    }
+
+    @Override
+    public void resolve(PlaceholderResolutionContext context) {
+
+        Map<String, String> placeHolderData = context.getPlaceHolderData();
+        BrandingPreferenceCacheEntry brandingPreferences = context.getBrandingPreferences();
+        if (brandingPreferences == null) {
+            brandingPreferences = NotificationUtil.resolveBrandingPreferences(
+                    placeHolderData.get(TENANT_DOMAIN), context.getApplicationUuid());
+        }
+        Map<String, String> brandingValues = brandingPreferences.getPlaceholderValues();
+
+        for (String placeHolder : context.getPlaceholderManifest().getBrandingPlaceholders()) {
+            String brandingValue = brandingValues.get(placeHolder);
+            if (brandingValue != null) {
+                placeHolderData.put(placeHolder, brandingValue);
+            }
+        }
+
+        // Setting copyright text placeholder according to custom text preferences if branding is enabled.
+        if (brandingPreferences.getPreference() != null && placeHolderData.containsKey(ORGANIZATION_COPYRIGHT_PLACEHOLDER)) {
+            String locale = context.getEmailTemplate().getLocale();
+            String copyrightPlaceholder = context.isCopyrightTextResolvedFor(locale) ? context.getCopyrightText() :
+                    NotificationUtil.getCopyrightPlaceholderValueFromCustomTexts(placeHolderData.get(TENANT_DOMAIN),
+                            locale);
+            if (StringUtils.isNotBlank(copyrightPlaceholder)) {
+                placeHolderData.put(ORGANIZATION_COPYRIGHT_PLACEHOLDER, copyrightPlaceholder);
+            }
+        }
+    }
+
+    @Override
+    public boolean isTenantInvariant(PlaceholderResolutionContext context) {
+
+        return true;
+    }
+}
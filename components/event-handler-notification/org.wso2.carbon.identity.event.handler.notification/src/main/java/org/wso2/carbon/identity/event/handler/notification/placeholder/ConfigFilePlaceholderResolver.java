@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.wso2.carbon.email.mgt.model.PlaceholderManifest;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+
+import java.util.Map;
+
+/**
+ * Resolves {{server.placeholder.key}} placeholders from the template placeholders in the identity config file.
+ */
+public class ConfigFilePlaceholderResolver implements PlaceholderResolver {
+
+    @Override
+    public String getName() {
+
+        return "ConfigFilePlaceholderResolver";
+    }
+
+    @Override
+    public boolean canResolve(String placeholder) {
+
+        return placeholder.startsWith(PlaceholderManifest.CONFIG_PLACEHOLDER_PREFIX);
+    }
+
+    @Override
+    public void resolve(PlaceholderResolutionContext context) {
+
+        Map<String, String> configFilePlaceholders = NotificationUtil.getConfigFilePlaceholders();
+        for (String placeHolder : context.getPlaceholderManifest().getConfigPlaceholders()) {
+            String key = placeHolder.substring(placeHolder.lastIndexOf(".") + 1);
+            String value = configFilePlaceholders.getOrDefault(key, "");
+            context.getPlaceHolderData().put(placeHolder, value);
+        }
+    }
+
+    @Override
+    public boolean isTenantInvariant(PlaceholderResolutionContext context) {
+
+        return true;
+    }
+}
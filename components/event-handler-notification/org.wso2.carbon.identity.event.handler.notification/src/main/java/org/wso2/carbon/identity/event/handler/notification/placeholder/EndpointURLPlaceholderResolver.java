@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+
+import java.util.Map;
+
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.AUTHENTICATION_ENDPOINT_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.TENANT_DOMAIN;
+
+/**
+ * Resolves the {{account.recovery.endpoint-url}} and {{authentication.endpoint-url}} placeholders.
+ */
+public class EndpointURLPlaceholderResolver implements PlaceholderResolver {
+
+    @Override
+    public String getName() {
+
+        return "EndpointURLPlaceholderResolver";
+    }
+
+    @Override
+    public boolean canResolve(String placeholder) {
+
+        return ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER.equals(placeholder) ||
+                AUTHENTICATION_ENDPOINT_PLACEHOLDER.equals(placeholder);
+    }
+
+    @Override
+    public void resolve(PlaceholderResolutionContext context) {
+
+        Map<String, String> urlPlaceholderValues =
+                NotificationUtil.getURLPlaceholderValues(context.getPlaceHolderData().get(TENANT_DOMAIN));
+        context.getPlaceHolderData().put(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER,
+                urlPlaceholderValues.get(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER));
+        context.getPlaceHolderData().put(AUTHENTICATION_ENDPOINT_PLACEHOLDER,
+                urlPlaceholderValues.get(AUTHENTICATION_ENDPOINT_PLACEHOLDER));
+    }
+
+    @Override
+    public boolean isTenantInvariant(PlaceholderResolutionContext context) {
+
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.wso2.carbon.email.mgt.model.EmailTemplate;
+import org.wso2.carbon.email.mgt.model.PlaceholderManifest;
+import org.wso2.carbon.identity.event.handler.notification.cache.BrandingPreferenceCacheEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data available to placeholder resolvers while resolving the placeholder values of a single notification.
+ */
+public class PlaceholderResolutionContext {
+
+    private final EmailTemplate emailTemplate;
+    private final PlaceholderManifest placeholderManifest;
+    private final Map<String, String> placeHolderData;
+    private final Map<String, String> userClaims;
+    private final String applicationUuid;
+    private final List<String> invokedResolvers = new ArrayList<>();
+    private final Map<String, String> tenantInvariantValues = new HashMap<>();
+    private BrandingPreferenceCacheEntry brandingPreferences;
+    private String copyrightLocale;
+    private String copyrightText;
+
+    public PlaceholderResolutionContext(EmailTemplate emailTemplate, Map<String, String> placeHolderData,
+                                        Map<String, String> userClaims, String applicationUuid) {
+
+        this.emailTemplate = emailTemplate;
+        this.placeholderManifest = emailTemplate.getPlaceholderManifest();
+        this.placeHolderData = placeHolderData;
+        this.userClaims = userClaims;
+        this.applicationUuid = applicationUuid;
+    }
+
+    public EmailTemplate getEmailTemplate() {
+
+        return emailTemplate;
+    }
+
+    public PlaceholderManifest getPlaceholderManifest() {
+
+        return placeholderManifest;
+    }
+
+    /**
+     * Get the placeholder data of the notification. Resolvers add the resolved values to this map.
+     *
+     * @return Placeholder data.
+     */
+    public Map<String, String> getPlaceHolderData() {
+
+        return placeHolderData;
+    }
+
+    public Map<String, String> getUserClaims() {
+
+        return userClaims;
+    }
+
+    public String getApplicationUuid() {
+
+        return applicationUuid;
+    }
+
+    /**
+     * Get the branding preferences resolved before the placeholders of the notification are resolved.
+     *
+     * @return Branding preferences, or null if they are to be resolved by the resolver.
+     */
+    public BrandingPreferenceCacheEntry getBrandingPreferences() {
+
+        return brandingPreferences;
+    }
+
+    public void setBrandingPreferences(BrandingPreferenceCacheEntry brandingPreferences) {
+
+        this.brandingPreferences = brandingPreferences;
+    }
+
+    /**
+     * Check whether the custom text copyright was resolved for the given locale before the placeholders of the
+     * notification are resolved.
+     *
+     * @param locale Locale of the email template.
+     * @return True if the copyright text of the locale is available through {@link #getCopyrightText()}.
+     */
+    public boolean isCopyrightTextResolvedFor(String locale) {
+
+        return copyrightLocale != null && copyrightLocale.equals(locale);
+    }
+
+    public String getCopyrightText() {
+
+        return copyrightText;
+    }
+
+    /**
+     * Set the custom text copyright resolved in advance for a locale.
+     *
+     * @param locale        Locale the copyright text was resolved for.
+     * @param copyrightText Copyright text. Can be null if it is not configured.
+     */
+    public void setCopyrightText(String locale, String copyrightText) {
+
+        this.copyrightLocale = locale;
+        this.copyrightText = copyrightText;
+    }
+
+    /**
+     * Get the names of the resolvers run for this notification, in the order they were run.
+     *
+     * @return Invoked resolver names.
+     */
+    public List<String> getInvokedResolvers() {
+
+        return Collections.unmodifiableList(invokedResolvers);
+    }
+
+    /**
+     * Get the placeholder values set by tenant invariant resolvers. These do not change between notifications of the
+     * tenant using the same template and application.
+     *
+     * @return Tenant invariant placeholder values keyed by placeholder name.
+     */
+    public Map<String, String> getTenantInvariantValues() {
+
+        return Collections.unmodifiableMap(tenantInvariantValues);
+    }
+
+    void addInvokedResolver(String resolverName) {
+
+        invokedResolvers.add(resolverName);
+    }
+
+    void addTenantInvariantValue(String placeholder, String value) {
+
+        tenantInvariantValues.put(placeholder, value);
+    }
+}
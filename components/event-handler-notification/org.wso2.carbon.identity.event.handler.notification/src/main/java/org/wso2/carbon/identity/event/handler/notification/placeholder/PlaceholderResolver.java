@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+/**
+ * Resolves the values of one family of notification template placeholders, eg: branding or user claim placeholders.
+ * A resolver declares the placeholders it produces, and is only run for templates which use at least one of them.
+ */
+public interface PlaceholderResolver {
+
+    /**
+     * Get the name of the resolver. Used to report resolver invocations.
+     *
+     * @return Resolver name.
+     */
+    String getName();
+
+    /**
+     * Check whether the given placeholder is produced by this resolver.
+     *
+     * @param placeholder Placeholder name without the {{url:}} prefix.
+     * @return True if the resolver sets a value for the placeholder.
+     */
+    boolean canResolve(String placeholder);
+
+    /**
+     * Resolve the placeholder values of the family and add them to the placeholder data of the context.
+     *
+     * @param context Placeholder resolution context.
+     */
+    void resolve(PlaceholderResolutionContext context);
+
+    /**
+     * Check whether the values set by this resolver are the same for every notification of the tenant with the same
+     * template and application. Such values are substituted into the template once and cached.
+     *
+     * @param context Placeholder resolution context.
+     * @return True if the resolved values do not depend on the notified user or on the event.
+     */
+    default boolean isTenantInvariant(PlaceholderResolutionContext context) {
+
+        return false;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.email.mgt.model.PlaceholderManifest;
+import org.wso2.carbon.email.mgt.util.CompiledTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ordered registry of placeholder resolvers. Only the resolvers producing at least one placeholder used in the
+ * notification template are run, so eg: an SMS OTP template using {{confirmation-code}} alone does not fetch branding
+ * preferences or build server URLs.
+ */
+public class PlaceholderResolverRegistry {
+
+    private static final Log log = LogFactory.getLog(PlaceholderResolverRegistry.class);
+
+    private static final PlaceholderResolverRegistry instance = new PlaceholderResolverRegistry(Arrays.asList(
+            new ConfigFilePlaceholderResolver(),
+            new BrandingPlaceholderResolver(),
+            new UserClaimPlaceholderResolver(),
+            new EndpointURLPlaceholderResolver(),
+            new ServerURLPlaceholderResolver()));
+
+    private final List<PlaceholderResolver> resolvers;
+    private final Map<String, AtomicLong> invocationCounts = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> skipCounts = new LinkedHashMap<>();
+
+    PlaceholderResolverRegistry(List<PlaceholderResolver> resolvers) {
+
+        this.resolvers = Collections.unmodifiableList(resolvers);
+        for (PlaceholderResolver resolver : resolvers) {
+            invocationCounts.put(resolver.getName(), new AtomicLong());
+            skipCounts.put(resolver.getName(), new AtomicLong());
+        }
+    }
+
+    public static PlaceholderResolverRegistry getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Run the resolvers required by the placeholders of the template in the given context.
+     *
+     * @param context Placeholder resolution context.
+     */
+    public void resolve(PlaceholderResolutionContext context) {
+
+        PlaceholderManifest placeholderManifest = context.getPlaceholderManifest();
+        for (PlaceholderResolver resolver : resolvers) {
+            if (isRequired(resolver, placeholderManifest)) {
+                resolver.resolve(context);
+                context.addInvokedResolver(resolver.getName());
+                if (resolver.isTenantInvariant(context)) {
+                    addTenantInvariantValues(resolver, context);
+                }
+                invocationCounts.get(resolver.getName()).incrementAndGet();
+            } else {
+                skipCounts.get(resolver.getName()).incrementAndGet();
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Resolved placeholders of the template type: " + context.getEmailTemplate().getTemplateType()
+                    + " using " + context.getInvokedResolvers().size() + " of " + resolvers.size()
+                    + " placeholder resolvers: " + context.getInvokedResolvers());
+        }
+    }
+
+    /**
+     * Get the number of times each resolver was run since the server started.
+     *
+     * @return Invocation counts keyed by resolver name.
+     */
+    public Map<String, Long> getInvocationCounts() {
+
+        return toCounts(invocationCounts);
+    }
+
+    /**
+     * Get the number of times each resolver was skipped since the template did not use its placeholders.
+     *
+     * @return Skip counts keyed by resolver name.
+     */
+    public Map<String, Long> getSkipCounts() {
+
+        return toCounts(skipCounts);
+    }
+
+    private static boolean isRequired(PlaceholderResolver resolver, PlaceholderManifest placeholderManifest) {
+
+        for (String placeholder : placeholderManifest.getPlaceholders()) {
+            if (resolver.canResolve(stripUrlPrefix(placeholder))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addTenantInvariantValues(PlaceholderResolver resolver, PlaceholderResolutionContext context) {
+
+        for (String placeholder : context.getPlaceholderManifest().getPlaceholders()) {
+            placeholder = stripUrlPrefix(placeholder);
+            String value = context.getPlaceHolderData().get(placeholder);
+            if (value != null && resolver.canResolve(placeholder)) {
+                context.addTenantInvariantValue(placeholder, value);
+            }
+        }
+    }
+
+    private static String stripUrlPrefix(String placeholder) {
+
+        if (placeholder.startsWith(CompiledTemplate.URL_PLACEHOLDER_PREFIX)) {
+            return placeholder.substring(CompiledTemplate.URL_PLACEHOLDER_PREFIX.length());
+        }
+        return placeholder;
+    }
+
+    private static Map<String, Long> toCounts(Map<String, AtomicLong> counters) {
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+
+import java.util.Map;
+
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.TENANT_DOMAIN;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.CALLBACK_URL;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.CALLER_PATH_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.IS_API_BASED_AUTHENTICATION_SUPPORTED;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.MAGIC_LINK;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.TEMPLATE_TYPE;
+
+/**
+ * Resolves the {{carbon.product-url}}, {{product-url-with-user-tenant}} and the magic link {{caller.path}}
+ * placeholders using the public server URL. Server URLs are served from the URL placeholder cache.
+ */
+public class ServerURLPlaceholderResolver implements PlaceholderResolver {
+
+    @Override
+    public String getName() {
+
+        return "ServerURLPlaceholderResolver";
+    }
+
+    @Override
+    public boolean canResolve(String placeholder) {
+
+        return CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER.equals(placeholder) ||
+                CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER.equals(placeholder) ||
+                CALLER_PATH_PLACEHOLDER.equals(placeholder);
+    }
+
+    @Override
+    public void resolve(PlaceholderResolutionContext context) {
+
+        Map<String, String> placeHolderData = context.getPlaceHolderData();
+
+        Map<String, String> urlPlaceholderValues =
+                NotificationUtil.getURLPlaceholderValues(placeHolderData.get(TENANT_DOMAIN));
+        String serverURL = urlPlaceholderValues.get(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER);
+        String carbonUrlWithUserTenant =
+                urlPlaceholderValues.get(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER);
+
+        String emailType = placeHolderData.get(TEMPLATE_TYPE);
+        if (MAGIC_LINK.equals(emailType)) {
+            String redirectUrl = placeHolderData.get(CALLBACK_URL);
+            String isAPIBasedAuthenticationFlow = placeHolderData.get(IS_API_BASED_AUTHENTICATION_SUPPORTED);
+
+            if (Boolean.parseBoolean(isAPIBasedAuthenticationFlow) && StringUtils.isNotEmpty(redirectUrl)) {
+                placeHolderData.put(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER, redirectUrl);
+                placeHolderData.put(CALLER_PATH_PLACEHOLDER, "");
+            } else {
+                placeHolderData.put(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER, serverURL);
+                placeHolderData.put(CALLER_PATH_PLACEHOLDER, "/commonauth");
+            }
+        } else {
+            placeHolderData.put(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER, serverURL);
+        }
+        placeHolderData.put(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER, carbonUrlWithUserTenant);
+    }
+
+    @Override
+    public boolean isTenantInvariant(PlaceholderResolutionContext context) {
+
+        // Magic link URLs depend on the callback URL of the authentication request.
+        return !MAGIC_LINK.equals(context.getPlaceHolderData().get(TEMPLATE_TYPE));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.email.mgt.model.PlaceholderManifest;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves {{user.claim.*}} and {{user.claim.identity.*}} placeholders from the claims of the notified user.
+ */
+public class UserClaimPlaceholderResolver implements PlaceholderResolver {
+
+    @Override
+    public String getName() {
+
+        return "UserClaimPlaceholderResolver";
+    }
+
+    @Override
+    public boolean canResolve(String placeholder) {
+
+        return placeholder.contains(PlaceholderManifest.USER_CLAIM_PLACEHOLDER_PREFIX);
+    }
+
+    @Override
+    public void resolve(PlaceholderResolutionContext context) {
+
+        Map<String, String> userClaims = context.getUserClaims();
+        if (userClaims == null || userClaims.isEmpty()) {
+            return;
+        }
+        Map<String, String> placeHolderData = context.getPlaceHolderData();
+        PlaceholderManifest placeholderManifest = context.getPlaceholderManifest();
+        for (String placeHolder : placeholderManifest.getIdentityClaimPlaceholders()) {
+            String identityClaim = userClaims.get(getIdentityClaimURI(placeHolder));
+            if (StringUtils.isNotEmpty(identityClaim)) {
+                placeHolderData.put(placeHolder, identityClaim);
+            } else {
+                placeHolderData.put(placeHolder, "");
+            }
+        }
+        for (String placeHolder : placeholderManifest.getUserClaimPlaceholders()) {
+            String userClaim = userClaims.get(getUserClaimURI(placeHolder));
+            if (StringUtils.isNotEmpty(userClaim)) {
+                placeHolderData.put(placeHolder, userClaim);
+            } else {
+                if (placeHolderData.get(placeHolder) == null) {
+                    placeHolderData.put(placeHolder, "");
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the URIs of the user claims needed to resolve the claim placeholders of a template.
+     *
+     * @param placeholderManifest Placeholder manifest of the template.
+     * @return Claim URIs.
+     */
+    public static Set<String> getClaimURIs(PlaceholderManifest placeholderManifest) {
+
+        Set<String> claimURIs = new HashSet<>();
+        for (String placeHolder : placeholderManifest.getIdentityClaimPlaceholders()) {
+            claimURIs.add(getIdentityClaimURI(placeHolder));
+        }
+        for (String placeHolder : placeholderManifest.getUserClaimPlaceholders()) {
+            claimURIs.add(getUserClaimURI(placeHolder));
+        }
+        return claimURIs;
+    }
+
+    private static String getIdentityClaimURI(String placeHolder) {
+
+        return NotificationConstants.EmailNotification.WSO2_CLAIM_URI
+                + NotificationConstants.EmailNotification.IDENTITY_CLAIM_PREFIX + "/" + placeHolder
+                .substring(placeHolder.indexOf(".", placeHolder.indexOf("identity")) + 1);
+    }
+
+    private static String getUserClaimURI(String placeHolder) {
+
+        return NotificationConstants.EmailNotification.WSO2_CLAIM_URI + placeHolder
+                .substring(placeHolder.indexOf(".", placeHolder.indexOf("claim")) + 1);
+    }
+}
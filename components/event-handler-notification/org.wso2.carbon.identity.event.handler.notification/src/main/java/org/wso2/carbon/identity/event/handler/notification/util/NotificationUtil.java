@@ -24,12 +24,19 @@ import org.apache.axiom.om.OMElement;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.databridge.commons.StreamDefinition;
 import org.wso2.carbon.databridge.commons.exception.MalformedStreamDefinitionException;
-import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
+import org.wso2.carbon.email.mgt.cache.PartiallyRenderedTemplateCache;
+import org.wso2.carbon.email.mgt.cache.PartiallyRenderedTemplateCacheKey;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtException;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
+import org.wso2.carbon.email.mgt.model.PartiallyRenderedTemplate;
+import org.wso2.carbon.email.mgt.model.PlaceholderManifest;
+import org.wso2.carbon.email.mgt.util.ApplicationContextUtil;
+import org.wso2.carbon.email.mgt.util.CompiledTemplate;
 import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
+import org.wso2.carbon.email.mgt.util.OrganizationContextUtil;
 import org.wso2.carbon.event.publisher.core.EventPublisherService;
 import org.wso2.carbon.event.publisher.core.config.EventPublisherConfiguration;
 import org.wso2.carbon.event.publisher.core.exception.EventPublisherConfigurationException;
@@ -38,6 +45,7 @@ import org.wso2.carbon.event.stream.core.exception.EventStreamConfigurationExcep
 import org.wso2.carbon.identity.application.authentication.framework.config.ConfigurationFacade;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
 import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.branding.preference.management.core.BrandingPreferenceManager;
 import org.wso2.carbon.identity.branding.preference.management.core.BrandingPreferenceManagerImpl;
 import org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants;
@@ -45,6 +53,7 @@ import org.wso2.carbon.identity.branding.preference.management.core.exception.Br
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
 import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
+import org.wso2.carbon.identity.core.ServiceURL;
 import org.wso2.carbon.identity.core.ServiceURLBuilder;
 import org.wso2.carbon.identity.core.URLBuilderException;
 import org.wso2.carbon.identity.core.util.IdentityConfigParser;
@@ -54,53 +63,63 @@ import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+import org.wso2.carbon.identity.event.handler.notification.cache.BrandingPreferenceCache;
+import org.wso2.carbon.identity.event.handler.notification.cache.BrandingPreferenceCacheEntry;
+import org.wso2.carbon.identity.event.handler.notification.cache.BrandingPreferenceCacheKey;
+import org.wso2.carbon.identity.event.handler.notification.cache.URLPlaceholderCache;
+import org.wso2.carbon.identity.event.handler.notification.cache.URLPlaceholderCacheKey;
+import org.wso2.carbon.identity.event.handler.notification.cache.UserStoreManagerCache;
+import org.wso2.carbon.identity.event.handler.notification.cache.UserStoreManagerCacheEntry;
+import org.wso2.carbon.identity.event.handler.notification.cache.UserStoreManagerCacheKey;
+import org.wso2.carbon.identity.event.handler.notification.dispatch.NotificationLookupExecutor;
 import org.wso2.carbon.identity.event.handler.notification.email.bean.Notification;
 import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
 import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.PlaceholderResolutionContext;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.PlaceholderResolverRegistry;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.UserClaimPlaceholderResolver;
 import org.wso2.carbon.identity.governance.model.UserIdentityClaim;
-import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementClientException;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.user.api.Claim;
-import org.wso2.carbon.user.api.Tenant;
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.api.UserStoreManager;
 import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
+import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.xml.namespace.QName;
 
-import static org.wso2.carbon.identity.core.util.IdentityTenantUtil.isSuperTenantRequiredInUrl;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.AUTHENTICATION_ENDPOINT_PLACEHOLDER;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_COPYRIGHT_TEXT_PATH;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_DISPLAY_NAME_PATH;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LOGO_ALTTEXT_PATH;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LOGO_URL_PATH;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_SUPPORT_EMAIL_PATH;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CUSTOM_TEXT_COMMON_SCREEN;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CUSTOM_TEXT_COPYRIGHT_PATH;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CUSTOM_TEXT_COPYRIGHT_YEAR_KEY;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.NEW_LINE_CHARACTER_HTML;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.NEW_LINE_CHARACTER_STRING;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ORGANIZATION_COPYRIGHT_PLACEHOLDER;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ORGANIZATION_NAME_PLACEHOLDER;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.TENANT_DOMAIN;
 import static org.wso2.carbon.identity.organization.management.service.constant.OrganizationManagementConstants.ErrorMessages.ERROR_CODE_ORGANIZATION_NOT_FOUND_FOR_TENANT;
 import static org.wso2.carbon.utils.multitenancy.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
 
@@ -116,16 +135,53 @@ public class NotificationUtil {
     public static final String CALLBACK_URL = "callbackUrl";
     public static final String IS_API_BASED_AUTHENTICATION_SUPPORTED = "isAPIBasedAuthenticationSupported";
     public static final String TEMPLATE_TYPE = "TEMPLATE_TYPE";
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{\\{(.*?)\\}\\}");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final long DEFAULT_BRANDING_PREFERENCE_CACHE_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
 
     public static Map<String, String> getUserClaimValues(String userName, UserStoreManager userStoreManager) {
 
+        return getUserClaimValues(userName, userStoreManager, null);
+    }
+
+    /**
+     * Get the given claims of a user. Loading only the claims used by a notification is considerably cheaper than
+     * loading every claim of the user from LDAP and JDBC user stores. If the given claims cannot be loaded, every
+     * claim of the user is loaded instead.
+     *
+     * @param userName         Username.
+     * @param userStoreManager User store manager of the user.
+     * @param claimURIs        URIs of the claims to load, or null to load every claim of the user.
+     * @return Claim values keyed by claim URI.
+     */
+    public static Map<String, String> getUserClaimValues(String userName, UserStoreManager userStoreManager,
+                                                         Collection<String> claimURIs) {
+
         Claim[] userClaims;
         Map<String, String> claimsMap = new HashMap<String, String>();
         try {
-            userClaims = userStoreManager.getUserClaimValues(userName, UserCoreConstants.DEFAULT_PROFILE);
-            if (userClaims != null) {
-                for (Claim userClaim : userClaims) {
-                    claimsMap.put(userClaim.getClaimUri(), userClaim.getValue());
+            boolean claimsLoaded = false;
+            if (claimURIs != null) {
+                try {
+                    Map<String, String> claimValues = userStoreManager.getUserClaimValues(userName,
+                            claimURIs.toArray(new String[0]), UserCoreConstants.DEFAULT_PROFILE);
+                    if (claimValues != null) {
+                        claimsMap.putAll(claimValues);
+                    }
+                    claimsLoaded = true;
+                } catch (UserStoreException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Error occurred while retrieving the claims: " + claimURIs + " of user "
+                                + LoggerUtils.getMaskedContent(userName) + ". Retrieving all claims of the user.", e);
+                    }
+                }
+            }
+            if (!claimsLoaded) {
+                userClaims = userStoreManager.getUserClaimValues(userName, UserCoreConstants.DEFAULT_PROFILE);
+                if (userClaims != null) {
+                    for (Claim userClaim : userClaims) {
+                        claimsMap.put(userClaim.getClaimUri(), userClaim.getValue());
+                    }
                 }
             }
             UserIdentityClaim userIdentityClaims =
@@ -160,23 +216,133 @@ public class NotificationUtil {
     public static Map<String, String> getUserClaimValues(String userName, String domainName, String tenantDomain)
             throws IdentityEventException {
 
+        return getUserClaimValues(userName, domainName, tenantDomain, null);
+    }
+
+    /**
+     * Get the given claims of a user in the given user store domain.
+     *
+     * @param userName     Username.
+     * @param domainName   User store domain of the user.
+     * @param tenantDomain Tenant domain of the user.
+     * @param claimURIs    URIs of the claims to load, or null to load every claim of the user.
+     * @return Claim values keyed by claim URI.
+     * @throws IdentityEventException If the user store manager of the user could not be loaded.
+     */
+    public static Map<String, String> getUserClaimValues(String userName, String domainName, String tenantDomain,
+                                                         Collection<String> claimURIs)
+            throws IdentityEventException {
+
+        UserStoreManagerCacheKey cacheKey = new UserStoreManagerCacheKey(tenantDomain, domainName);
+        UserStoreManager userStoreManager = UserStoreManagerCache.getInstance().getValueFromCache(cacheKey);
+        if (userStoreManager != null) {
+            return getUserClaimValues(userName, userStoreManager, claimURIs);
+        }
+
         RealmService realmService = NotificationHandlerDataHolder.getInstance().getRealmService();
         int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
-        UserStoreManager userStoreManager = null;
+        long cacheGeneration = UserStoreManagerCache.getInstance().getGeneration(tenantId);
+        UserStoreManager realmUserStoreManager;
         try {
-            userStoreManager = realmService.getTenantUserRealm(tenantId).getUserStoreManager();
-            if (userStoreManager == null) {
+            realmUserStoreManager = realmService.getTenantUserRealm(tenantId).getUserStoreManager();
+            if (realmUserStoreManager == null) {
                 String message = "Error occurred while retrieving userStoreManager for tenant " + tenantDomain;
                 throw new IdentityEventException(message);
-            } else if (userStoreManager instanceof AbstractUserStoreManager) {
-                userStoreManager = ((AbstractUserStoreManager) userStoreManager).getSecondaryUserStoreManager(domainName);
+            } else if (realmUserStoreManager instanceof AbstractUserStoreManager) {
+                userStoreManager = ((AbstractUserStoreManager) realmUserStoreManager)
+                        .getSecondaryUserStoreManager(domainName);
+            } else {
+                userStoreManager = realmUserStoreManager;
             }
         } catch (UserStoreException e) {
             String message = "Error occurred while retrieving user claim values for user " + userName + " in user " +
                     "store " + domainName + " in tenant " + tenantDomain;
             throw new IdentityEventException(message, e);
         }
-        return getUserClaimValues(userName, userStoreManager);
+        if (userStoreManager != null) {
+            UserStoreManagerCache.getInstance().addToCache(cacheKey,
+                    new UserStoreManagerCacheEntry(tenantId, cacheGeneration, userStoreManager));
+        }
+        return getUserClaimValues(userName, userStoreManager, claimURIs);
+    }
+
+    /**
+     * Clear the user store managers cached for the claims of notification receivers of a tenant. This should be
+     * called whenever a user store of the tenant is added, updated or deleted, and whenever the tenant realm is
+     * unloaded or reloaded.
+     *
+     * @param tenantId Tenant id.
+     */
+    public static void clearUserStoreManagerCache(int tenantId) {
+
+        UserStoreManagerCache.getInstance().clear(tenantId);
+    }
+
+    /**
+     * Clear the user store managers cached for the claims of notification receivers of all the tenants. This should
+     * be called whenever the realm service is reloaded.
+     */
+    public static void clearUserStoreManagerCache() {
+
+        UserStoreManagerCache.getInstance().clear();
+    }
+
+    /**
+     * Get the given claims of the user a notification is sent to, using the user store manager of the event when
+     * available.
+     *
+     * @param userName            Username.
+     * @param userStoreManager    User store manager of the user. Can be null.
+     * @param userStoreDomainName User store domain of the user.
+     * @param tenantDomain        Tenant domain of the user.
+     * @param claimURIs           URIs of the claims to load, or null to load every claim of the user.
+     * @return Claim values keyed by claim URI. Empty if the user is not known.
+     * @throws IdentityEventException If the user store manager of the user could not be loaded.
+     */
+    public static Map<String, String> getUserClaimValues(String userName, UserStoreManager userStoreManager,
+                                                         String userStoreDomainName, String tenantDomain,
+                                                         Collection<String> claimURIs)
+            throws IdentityEventException {
+
+        if (StringUtils.isNotBlank(userName) && userStoreManager != null) {
+            return getUserClaimValues(userName, userStoreManager, claimURIs);
+        } else if (StringUtils.isNotBlank(userName) && StringUtils.isNotBlank(userStoreDomainName) &&
+                StringUtils.isNotBlank(tenantDomain)) {
+            return getUserClaimValues(userName, userStoreDomainName, tenantDomain, claimURIs);
+        }
+        return new HashMap<>();
+    }
+
+    /**
+     * Get the claims to load for a notification, given the claims needed before the template is known.
+     *
+     * @param claimURIs URIs of the claims needed to address the notification.
+     * @return Claim URIs to load, or null if every claim of the user is to be loaded.
+     */
+    public static Set<String> getNotificationClaimURIs(String... claimURIs) {
+
+        if ("false".equalsIgnoreCase(IdentityUtil.getProperty(NotificationConstants.TARGETED_CLAIM_FETCH_ENABLE))) {
+            return null;
+        }
+        return new HashSet<>(Arrays.asList(claimURIs));
+    }
+
+    /**
+     * Get the claims used in the placeholders of a template which were not loaded with the given claims.
+     *
+     * @param placeholderManifest Placeholder manifest of the template.
+     * @param loadedClaimURIs     URIs of the loaded claims, or null if every claim of the user was loaded.
+     * @return Claim URIs which are yet to be loaded.
+     */
+    public static Set<String> getUnloadedTemplateClaimURIs(PlaceholderManifest placeholderManifest,
+                                                           Set<String> loadedClaimURIs) {
+
+        if (loadedClaimURIs == null) {
+            return Collections.emptySet();
+        }
+        Set<String> claimURIs = UserClaimPlaceholderResolver.getClaimURIs(placeholderManifest);
+        claimURIs.removeAll(loadedClaimURIs);
+        return claimURIs;
     }
 
     /**
@@ -196,161 +362,197 @@ public class NotificationUtil {
 
     /**
      * Set placeholder values for email templates with app level branding.
+     * Only the placeholder resolvers producing placeholders used in the template are run.
      *
      * @param emailTemplate   {@link org.wso2.carbon.email.mgt.model.EmailTemplate}
      * @param placeHolderData List of placeholder data
      * @param userClaims      List of user claims
+     * @param applicationUuid Application UUID used to resolve app level branding. Can be null.
      * @return Place holder data
      */
     public static Map<String, String> getPlaceholderValues(EmailTemplate emailTemplate,
                                                            Map<String, String> placeHolderData,
                                                            Map<String, String> userClaims, String applicationUuid) {
 
-        Map<String, String> configFilePlaceholders = getConfigFilePlaceholders();
+        resolvePlaceholderValues(emailTemplate, placeHolderData, userClaims, applicationUuid);
+        return placeHolderData;
+    }
 
-        JsonNode brandingPreferences = null;
-        Map<String, String> brandingFallbacks = getBrandingFallbacksFromConfigFile();
+    /**
+     * Set placeholder values for email templates, keeping track of the values which do not change between
+     * notifications of the tenant.
+     *
+     * @param emailTemplate   {@link org.wso2.carbon.email.mgt.model.EmailTemplate}
+     * @param placeHolderData List of placeholder data
+     * @param userClaims      List of user claims
+     * @param applicationUuid Application UUID used to resolve app level branding. Can be null.
+     * @return Placeholder resolution context.
+     */
+    public static PlaceholderResolutionContext resolvePlaceholderValues(EmailTemplate emailTemplate,
+                                                                        Map<String, String> placeHolderData,
+                                                                        Map<String, String> userClaims,
+                                                                        String applicationUuid) {
+
+        PlaceholderResolutionContext context =
+                new PlaceholderResolutionContext(emailTemplate, placeHolderData, userClaims, applicationUuid);
+        PlaceholderResolverRegistry.getInstance().resolve(context);
+        return context;
+    }
 
-        if (Boolean.parseBoolean(
-                IdentityUtil.getProperty(NotificationConstants.EmailNotification.ENABLE_ORGANIZATION_LEVEL_EMAIL_BRANDING))) {
-            try {
-                BrandingPreferenceManager brandingPreferenceManager = new BrandingPreferenceManagerImpl();
-                BrandingPreference responseDTO;
-                if (StringUtils.isNotBlank(applicationUuid)) {
-                    responseDTO = brandingPreferenceManager.resolveApplicationBrandingPreference(applicationUuid,
-                            BrandingPreferenceMgtConstants.DEFAULT_LOCALE);
-                } else {
-                    responseDTO = brandingPreferenceManager.resolveBrandingPreference(
-                            BrandingPreferenceMgtConstants.ORGANIZATION_TYPE,
-                            placeHolderData.get(TENANT_DOMAIN),
-                            BrandingPreferenceMgtConstants.DEFAULT_LOCALE);
-                }
-                ObjectMapper objectMapper = new ObjectMapper();
-                String json = objectMapper.writeValueAsString(responseDTO.getPreference());
-                brandingPreferences = objectMapper.readTree(json);
+    /**
+     * Get the email template with the tenant invariant placeholder values of the given context substituted.
+     * Partially rendered templates are cached per tenant, application, template type, locale and the substituted
+     * values, so only the per user placeholders are rendered for each notification.
+     *
+     * @param context Placeholder resolution context of the notification.
+     * @return Partially rendered template, or null if there is nothing to substitute in advance.
+     */
+    public static PartiallyRenderedTemplate getPartiallyRenderedTemplate(PlaceholderResolutionContext context) {
 
-                if (!brandingPreferences.at(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_IS_ENABLED_PATH)
-                        .asBoolean()) {
-                    brandingPreferences = null;
-                }
-            } catch (BrandingPreferenceMgtException e) {
-                if (BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_BRANDING_PREFERENCE_NOT_EXISTS.getCode()
-                        .equals(e.getErrorCode())) {
-                    brandingPreferences = null;
-                } else {
-                    if (log.isDebugEnabled()) {
-                        String message = "Error occurred while retrieving branding preferences for organization " + placeHolderData.get(TENANT_DOMAIN);
-                        log.debug(message, e);
-                    }
-                }
-            } catch (Exception e) {
-                if (log.isDebugEnabled()) {
-                    String message = "Error occurred while retrieving branding preferences for organization " + placeHolderData.get(TENANT_DOMAIN);
-                    log.debug(message, e);
-                }
-            }
+        if ("false".equalsIgnoreCase(IdentityUtil.getProperty(
+                NotificationConstants.EmailNotification.ENABLE_PARTIAL_TEMPLATE_RENDERING))) {
+            return null;
+        }
+        EmailTemplate emailTemplate = context.getEmailTemplate();
+        String tenantDomain = context.getPlaceHolderData().get(NotificationConstants.TENANT_DOMAIN);
+        if (StringUtils.isBlank(tenantDomain) || StringUtils.isBlank(emailTemplate.getTemplateType())) {
+            return null;
         }
 
-        // Having a body is mandatory.
-        List<String> placeHolders = new ArrayList<>(extractPlaceHolders(emailTemplate.getBody()));
-        if (StringUtils.isNotEmpty(emailTemplate.getSubject())) {
-            placeHolders.addAll(extractPlaceHolders(emailTemplate.getSubject()));
+        // Only use values of placeholders the template uses, which were not overridden after they were resolved.
+        PlaceholderManifest placeholderManifest = context.getPlaceholderManifest();
+        Map<String, String> tenantInvariantValues = new HashMap<>();
+        for (Map.Entry<String, String> entry : context.getTenantInvariantValues().entrySet()) {
+            if ((placeholderManifest.contains(entry.getKey()) ||
+                    placeholderManifest.contains(CompiledTemplate.URL_PLACEHOLDER_PREFIX + entry.getKey())) &&
+                    entry.getValue().equals(context.getPlaceHolderData().get(entry.getKey()))) {
+                tenantInvariantValues.put(entry.getKey(), entry.getValue());
+            }
         }
-        if (StringUtils.isNotEmpty(emailTemplate.getFooter())) {
-            placeHolders.addAll(extractPlaceHolders(emailTemplate.getFooter()));
+        if (tenantInvariantValues.isEmpty()) {
+            return null;
         }
-        Set<String> placeHoldersSet = new HashSet<>(placeHolders);
 
-        for (String placeHolder : placeHoldersSet) {
-            // Setting config file place holders.
-            if (placeHolder.startsWith(NotificationConstants.EmailNotification.IDENTITY_TEMPLATE_VALUE_PREFIX)) {
-                String key = placeHolder.substring(placeHolder.lastIndexOf(".") + 1);
-                String value = configFilePlaceholders.getOrDefault(key, "");
-                placeHolderData.put(placeHolder, value);
+        int tenantId;
+        try {
+            tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        } catch (IdentityRuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while resolving the tenant id of the tenant: " + tenantDomain +
+                        ". Template will be rendered without partial rendering.", e);
             }
+            return null;
+        }
 
-            // Setting branding placeholders.
-            String brandingValue = getBrandingPreference(placeHolder, brandingPreferences, brandingFallbacks);
-            if (brandingValue != null) {
-                placeHolderData.put(placeHolder, brandingValue);
-            }
+        PartiallyRenderedTemplateCacheKey cacheKey = new PartiallyRenderedTemplateCacheKey(
+                emailTemplate.getLocale(), emailTemplate.getTemplateType(), context.getApplicationUuid(),
+                tenantInvariantValues);
+        PartiallyRenderedTemplateCache cache = PartiallyRenderedTemplateCache.getInstance();
+        PartiallyRenderedTemplate partiallyRenderedTemplate = cache.getValueFromCache(cacheKey, tenantId);
+        if (partiallyRenderedTemplate != null && partiallyRenderedTemplate.isRenderedFrom(emailTemplate)) {
+            return partiallyRenderedTemplate;
+        }
+        try {
+            partiallyRenderedTemplate = PartiallyRenderedTemplate.render(emailTemplate, tenantInvariantValues);
+        } catch (UnsupportedEncodingException e) {
+            throw NotificationRuntimeException.error(e.getMessage(), e);
+        }
+        cache.addToCache(cacheKey, partiallyRenderedTemplate, tenantId);
+        return partiallyRenderedTemplate;
+    }
 
-            if (userClaims != null && !userClaims.isEmpty()) {
-                if (placeHolder.contains(NotificationConstants.EmailNotification.USER_CLAIM_PREFIX + "."
-                        + NotificationConstants.EmailNotification.IDENTITY_CLAIM_PREFIX)) {
-                    String identityClaim = userClaims.get(NotificationConstants.EmailNotification.WSO2_CLAIM_URI
-                            + NotificationConstants.EmailNotification.IDENTITY_CLAIM_PREFIX + "/" + placeHolder
-                            .substring(placeHolder.indexOf(".", placeHolder.indexOf("identity")) + 1));
-                    if (StringUtils.isNotEmpty(identityClaim)) {
-                        placeHolderData.put(placeHolder, identityClaim);
-                    } else {
-                        placeHolderData.put(placeHolder, "");
-                    }
-                } else if (placeHolder.contains(NotificationConstants.EmailNotification.USER_CLAIM_PREFIX)) {
-                    String userClaim = userClaims
-                            .get(NotificationConstants.EmailNotification.WSO2_CLAIM_URI + placeHolder
-                                    .substring(placeHolder.indexOf(".", placeHolder.indexOf("claim")) + 1));
-                    if (StringUtils.isNotEmpty(userClaim)) {
-                        placeHolderData.put(placeHolder, userClaim);
-                    } else {
-                        if (placeHolderData.get(placeHolder) == null) {
-                            placeHolderData.put(placeHolder, "");
-                        }
-                    }
-                }
-            }
+    /**
+     * Get the enabled branding preferences of the organization, or of the application if an application is given.
+     *
+     * @param tenantDomain    Tenant domain.
+     * @param applicationUuid Application UUID. Can be null.
+     * @return Branding preferences, or null if branding is not enabled or not configured.
+     */
+    public static JsonNode getBrandingPreferences(String tenantDomain, String applicationUuid) {
+
+        return resolveBrandingPreferences(tenantDomain, applicationUuid).getPreference();
+    }
+
+    /**
+     * Resolve the branding preferences of the organization, or of the application if an application is given, along
+     * with the values of the branding placeholders. Resolved preferences are served from the
+     * {@link BrandingPreferenceCache}.
+     *
+     * @param tenantDomain    Tenant domain.
+     * @param applicationUuid Application UUID. Can be null.
+     * @return Resolved branding preferences. The preference of the entry is null if branding is not enabled or not
+     * configured, in which case the placeholder values are taken from the branding fallbacks.
+     */
+    public static BrandingPreferenceCacheEntry resolveBrandingPreferences(String tenantDomain,
+                                                                          String applicationUuid) {
+
+        if (!Boolean.parseBoolean(
+                IdentityUtil.getProperty(NotificationConstants.EmailNotification.ENABLE_ORGANIZATION_LEVEL_EMAIL_BRANDING))) {
+            return newBrandingPreferenceCacheEntry(null);
         }
 
-        // Setting copyright text placeholder according to custom text preferences if branding is enabled.
-        if (brandingPreferences != null && placeHolderData.containsKey(ORGANIZATION_COPYRIGHT_PLACEHOLDER)) {
-            String copyrightPlaceholder = getCopyrightPlaceholderValueFromCustomTexts(
-                    placeHolderData.get(TENANT_DOMAIN), emailTemplate.getLocale());
-            if (StringUtils.isNotBlank(copyrightPlaceholder)) {
-                placeHolderData.put(ORGANIZATION_COPYRIGHT_PLACEHOLDER, copyrightPlaceholder);
+        BrandingPreferenceCacheKey cacheKey = new BrandingPreferenceCacheKey(
+                BrandingPreferenceCacheKey.BRANDING_PREFERENCE, StringUtils.trimToNull(applicationUuid),
+                BrandingPreferenceMgtConstants.DEFAULT_LOCALE);
+        int tenantId = getTenantIdForCaching(tenantDomain);
+        BrandingPreferenceCacheEntry cacheEntry = getFromBrandingPreferenceCache(cacheKey, tenantId);
+        if (cacheEntry != null) {
+            if (cacheEntry.isResolvedWith(getBrandingFallbacksFromConfigFile())) {
+                return cacheEntry;
             }
+            // Branding fallbacks were reloaded after the entry was cached.
+            cacheEntry = newBrandingPreferenceCacheEntry(cacheEntry.getPreference());
+            addToBrandingPreferenceCache(cacheKey, cacheEntry, tenantId);
+            return cacheEntry;
         }
 
-        // Building the server url.
-        String serverURL;
-        String carbonUrlWithUserTenant;
-        String accountRecoveryEndpointURL = ConfigurationFacade.getInstance().getAccountRecoveryEndpointAbsolutePath();
-        String authenticationEndpointURL = ConfigurationFacade.getInstance().getAuthenticationEndpointAbsoluteURL();
+        JsonNode brandingPreferences;
         try {
-            serverURL = ServiceURLBuilder.create().build().getAbsolutePublicURL();
-            carbonUrlWithUserTenant = ServiceURLBuilder.create().build().getAbsolutePublicUrlWithoutPath();
+            BrandingPreferenceManager brandingPreferenceManager = new BrandingPreferenceManagerImpl();
+            BrandingPreference responseDTO;
+            if (StringUtils.isNotBlank(applicationUuid)) {
+                responseDTO = brandingPreferenceManager.resolveApplicationBrandingPreference(applicationUuid,
+                        BrandingPreferenceMgtConstants.DEFAULT_LOCALE);
+            } else {
+                responseDTO = brandingPreferenceManager.resolveBrandingPreference(
+                        BrandingPreferenceMgtConstants.ORGANIZATION_TYPE,
+                        tenantDomain,
+                        BrandingPreferenceMgtConstants.DEFAULT_LOCALE);
+            }
+            brandingPreferences = OBJECT_MAPPER.valueToTree(responseDTO.getPreference());
 
-            if (IdentityTenantUtil.isTenantQualifiedUrlsEnabled() &&
-                    (isSuperTenantRequiredInUrl()
-                            || !SUPER_TENANT_DOMAIN_NAME.equalsIgnoreCase(placeHolderData.get(TENANT_DOMAIN)))) {
-                // If tenant domain is carbon.super, and super tenant is not required in the URL,
-                // then the tenant domain should not be appended.
-                carbonUrlWithUserTenant = ServiceURLBuilder.create().build().getAbsolutePublicUrlWithoutPath() + "/t" +
-                        "/" + placeHolderData.get(TENANT_DOMAIN);
+            if (!brandingPreferences.at(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_IS_ENABLED_PATH)
+                    .asBoolean()) {
+                brandingPreferences = null;
             }
-        } catch (URLBuilderException e) {
-            throw NotificationRuntimeException.error("Error while building the server url.", e);
+        } catch (BrandingPreferenceMgtException e) {
+            if (!BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_BRANDING_PREFERENCE_NOT_EXISTS.getCode()
+                    .equals(e.getErrorCode())) {
+                if (log.isDebugEnabled()) {
+                    String message = "Error occurred while retrieving branding preferences for organization " + tenantDomain;
+                    log.debug(message, e);
+                }
+                return newBrandingPreferenceCacheEntry(null);
+            }
+            brandingPreferences = null;
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                String message = "Error occurred while retrieving branding preferences for organization " + tenantDomain;
+                log.debug(message, e);
+            }
+            return newBrandingPreferenceCacheEntry(null);
         }
+        // Not configured and disabled preferences are cached as well, while retrieval errors are not.
+        cacheEntry = newBrandingPreferenceCacheEntry(brandingPreferences);
+        addToBrandingPreferenceCache(cacheKey, cacheEntry, tenantId);
+        return cacheEntry;
+    }
 
-        placeHolderData.put(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, accountRecoveryEndpointURL);
-        placeHolderData.put(AUTHENTICATION_ENDPOINT_PLACEHOLDER, authenticationEndpointURL);
-        String emailType = placeHolderData.get(TEMPLATE_TYPE);
-
-        if (MAGIC_LINK.equals(emailType)) {
-            String redirectUrl = placeHolderData.get(CALLBACK_URL);
-            String isAPIBasedAuthenticationFlow = placeHolderData.get(IS_API_BASED_AUTHENTICATION_SUPPORTED);
+    private static BrandingPreferenceCacheEntry newBrandingPreferenceCacheEntry(JsonNode brandingPreferences) {
 
-            if (Boolean.parseBoolean(isAPIBasedAuthenticationFlow) && StringUtils.isNotEmpty(redirectUrl)) {
-                placeHolderData.put(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER, redirectUrl);
-                placeHolderData.put(CALLER_PATH_PLACEHOLDER, "");
-            } else {
-                placeHolderData.put(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER, serverURL);
-                placeHolderData.put(CALLER_PATH_PLACEHOLDER, "/commonauth");
-            }
-        } else {
-            placeHolderData.put(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER, serverURL);
-        }
-        placeHolderData.put(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER, carbonUrlWithUserTenant);
-        return placeHolderData;
+        Map<String, String> brandingFallbacks = getBrandingFallbacksFromConfigFile();
+        return new BrandingPreferenceCacheEntry(brandingPreferences, brandingFallbacks,
+                getBrandingPlaceholderValues(brandingPreferences, brandingFallbacks));
     }
 
     /**
@@ -367,54 +569,243 @@ public class NotificationUtil {
             return null;
         }
 
-        JsonNode customTextPreference = null;
+        JsonNode customTextPreference = getCustomTextPreference(tenantDomain, locale);
+
+        if (customTextPreference != null) {
+            String copyrightValue = customTextPreference.at(CUSTOM_TEXT_COPYRIGHT_PATH).asText();
+            if (StringUtils.isNotBlank(copyrightValue)) {
+                // Replace {{currentYear}} with current year to change the copyright year in the email templates.
+                String currentYear = String.valueOf(Calendar.getInstance().get(Calendar.YEAR));
+                copyrightValue = copyrightValue.replace(CUSTOM_TEXT_COPYRIGHT_YEAR_KEY, (currentYear));
+                // Replace "\n" with Html new line character "<br>".
+                return copyrightValue.replace(NEW_LINE_CHARACTER_STRING, NEW_LINE_CHARACTER_HTML);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the common screen custom text preferences of the organization for the given locale.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param locale       Locale of the email template.
+     * @return Custom text preferences, or null if they are not configured.
+     */
+    private static JsonNode getCustomTextPreference(String tenantDomain, String locale) {
+
+        BrandingPreferenceCacheKey cacheKey =
+                new BrandingPreferenceCacheKey(BrandingPreferenceCacheKey.CUSTOM_TEXT, null, locale);
+        int tenantId = getTenantIdForCaching(tenantDomain);
+        BrandingPreferenceCacheEntry cacheEntry = getFromBrandingPreferenceCache(cacheKey, tenantId);
+        if (cacheEntry != null) {
+            return cacheEntry.getPreference();
+        }
+
+        JsonNode customTextPreference;
         try {
             BrandingPreferenceManager brandingPreferenceManager = new BrandingPreferenceManagerImpl();
             CustomText responseDTO = brandingPreferenceManager.resolveCustomText(
                     BrandingPreferenceMgtConstants.ORGANIZATION_TYPE, tenantDomain, CUSTOM_TEXT_COMMON_SCREEN, locale);
-
-            ObjectMapper objectMapper = new ObjectMapper();
-            String json = objectMapper.writeValueAsString(responseDTO.getPreference());
-            customTextPreference = objectMapper.readTree(json);
+            customTextPreference = OBJECT_MAPPER.valueToTree(responseDTO.getPreference());
         } catch (BrandingPreferenceMgtException e) {
-            if (BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_CUSTOM_TEXT_PREFERENCE_NOT_EXISTS.getCode()
+            if (!BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_CUSTOM_TEXT_PREFERENCE_NOT_EXISTS.getCode()
                     .equals(e.getErrorCode())) {
-                if (log.isDebugEnabled()) {
-                    String message = "Custom text preferences are not configured for the organization: "
-                            + tenantDomain + " with locale: " + locale;
-                    log.debug(message, e);
-                }
-                customTextPreference = null;
-            } else {
                 if (log.isDebugEnabled()) {
                     String message = "Error occurred while retrieving custom text preferences for organization "
                             + tenantDomain;
                     log.debug(message, e);
                 }
+                return null;
+            }
+            if (log.isDebugEnabled()) {
+                String message = "Custom text preferences are not configured for the organization: "
+                        + tenantDomain + " with locale: " + locale;
+                log.debug(message, e);
             }
+            customTextPreference = null;
         } catch (Exception e) {
             if (log.isDebugEnabled()) {
                 String message = "Error occurred while retrieving custom text preferences for organization "
                         + tenantDomain;
                 log.debug(message, e);
             }
+            return null;
         }
+        addToBrandingPreferenceCache(cacheKey, new BrandingPreferenceCacheEntry(customTextPreference), tenantId);
+        return customTextPreference;
+    }
 
-        if (customTextPreference != null) {
-            String copyrightValue = customTextPreference.at(CUSTOM_TEXT_COPYRIGHT_PATH).asText();
-            if (StringUtils.isNotBlank(copyrightValue)) {
-                // Replace {{currentYear}} with current year to change the copyright year in the email templates.
-                String currentYear = String.valueOf(Calendar.getInstance().get(Calendar.YEAR));
-                copyrightValue = copyrightValue.replace(CUSTOM_TEXT_COPYRIGHT_YEAR_KEY, (currentYear));
-                // Replace "\n" with Html new line character "<br>".
-                return copyrightValue.replace(NEW_LINE_CHARACTER_STRING, NEW_LINE_CHARACTER_HTML);
+    /**
+     * Clear the cached branding and custom text preferences of a tenant, along with the templates rendered with them.
+     * This should be called whenever the branding preferences or custom texts of the tenant are changed. Cached
+     * preferences otherwise expire after the branding preference cache timeout. Removals are propagated across the
+     * cluster.
+     *
+     * @param tenantId Tenant id.
+     */
+    public static void clearBrandingPreferenceCache(int tenantId) {
+
+        BrandingPreferenceCache.getInstance().clear(tenantId);
+        PartiallyRenderedTemplateCache.getInstance().clear(tenantId);
+    }
+
+    /**
+     * Check whether resolved branding and custom text preferences are cached. Branding changes are not notified to
+     * this module, so caching is disabled unless enabled in the identity config file.
+     *
+     * @return True if the branding preference cache is enabled.
+     */
+    public static boolean isBrandingPreferenceCacheEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(NotificationConstants.BRANDING_PREFERENCE_CACHE_ENABLE));
+    }
+
+    /**
+     * Get the time cached branding and custom text preferences are served for.
+     *
+     * @param timeoutProperty Timeout in seconds, as configured in the identity config file. Can be null.
+     * @return Timeout in milliseconds. The default timeout is returned if the property is not a positive number.
+     */
+    static long getBrandingPreferenceCacheTimeout(String timeoutProperty) {
+
+        if (StringUtils.isNotBlank(timeoutProperty)) {
+            try {
+                long timeout = Long.parseLong(timeoutProperty.trim());
+                if (timeout > 0) {
+                    return TimeUnit.SECONDS.toMillis(timeout);
+                }
+            } catch (NumberFormatException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Invalid branding preference cache timeout: " + timeoutProperty);
+                }
             }
         }
-        return null;
+        return DEFAULT_BRANDING_PREFERENCE_CACHE_TIMEOUT;
     }
 
+    private static BrandingPreferenceCacheEntry getFromBrandingPreferenceCache(BrandingPreferenceCacheKey cacheKey,
+                                                                               int tenantId) {
+
+        if (tenantId == MultitenantConstants.INVALID_TENANT_ID || !isBrandingPreferenceCacheEnabled()) {
+            return null;
+        }
+        BrandingPreferenceCacheEntry cacheEntry =
+                BrandingPreferenceCache.getInstance().getValueFromCache(cacheKey, tenantId);
+        if (cacheEntry != null && cacheEntry.isExpired(System.currentTimeMillis(), getBrandingPreferenceCacheTimeout(
+                IdentityUtil.getProperty(NotificationConstants.BRANDING_PREFERENCE_CACHE_TIMEOUT)))) {
+            BrandingPreferenceCache.getInstance().clearCacheEntry(cacheKey, tenantId);
+            return null;
+        }
+        return cacheEntry;
+    }
+
+    private static void addToBrandingPreferenceCache(BrandingPreferenceCacheKey cacheKey,
+                                                     BrandingPreferenceCacheEntry cacheEntry, int tenantId) {
+
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID && isBrandingPreferenceCacheEnabled()) {
+            BrandingPreferenceCache.getInstance().addToCache(cacheKey, cacheEntry, tenantId);
+        }
+    }
+
+    /**
+     * Get the tenant id used to cache the values of the given tenant domain.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Tenant id, or {@link MultitenantConstants#INVALID_TENANT_ID} if the tenant cannot be resolved.
+     */
+    private static int getTenantIdForCaching(String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain)) {
+            return MultitenantConstants.INVALID_TENANT_ID;
+        }
+        try {
+            return IdentityTenantUtil.getTenantId(tenantDomain);
+        } catch (IdentityRuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while resolving the tenant id of the tenant: " + tenantDomain, e);
+            }
+            return MultitenantConstants.INVALID_TENANT_ID;
+        }
+    }
+
+    /**
+     * Get the placeholder values configured in the identity config file. Values are parsed once and served from the
+     * snapshot held by {@link NotificationHandlerDataHolder} until {@link #reloadConfigFileSnapshots()} is called.
+     *
+     * @return Unmodifiable map of config file placeholder values.
+     */
     public static Map<String, String> getConfigFilePlaceholders() {
 
+        Map<String, String> configFilePlaceholders =
+                NotificationHandlerDataHolder.getInstance().getConfigFilePlaceholders();
+        if (configFilePlaceholders == null) {
+            configFilePlaceholders = loadConfigFilePlaceholders();
+            NotificationHandlerDataHolder.getInstance().setConfigFilePlaceholders(configFilePlaceholders);
+        }
+        return configFilePlaceholders;
+    }
+
+    /**
+     * Parse the config file placeholder values and branding fallbacks from the identity config file again, replacing
+     * the snapshots held by {@link NotificationHandlerDataHolder}, and drop the cached URL placeholder values. This
+     * should be called when the identity config is reloaded.
+     */
+    public static void reloadConfigFileSnapshots() {
+
+        NotificationHandlerDataHolder.getInstance().setConfigFilePlaceholders(loadConfigFilePlaceholders());
+        NotificationHandlerDataHolder.getInstance().setBrandingFallbacks(loadBrandingFallbacksFromConfigFile());
+        URLPlaceholderCache.getInstance().clear();
+    }
+
+    /**
+     * Get the server and endpoint URLs used as placeholders in the notifications of the given tenant. URLs are built
+     * once for the tenant of the user and the tenant and organization of the current request context, and are served
+     * from the {@link URLPlaceholderCache} until the configuration is reloaded.
+     *
+     * @param tenantDomain Tenant domain of the user.
+     * @return Unmodifiable map of URL placeholder values.
+     */
+    public static Map<String, String> getURLPlaceholderValues(String tenantDomain) {
+
+        URLPlaceholderCacheKey cacheKey = new URLPlaceholderCacheKey(tenantDomain,
+                IdentityTenantUtil.getTenantDomainFromContext(),
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().getOrganizationId());
+        Map<String, String> urlPlaceholderValues = URLPlaceholderCache.getInstance().getValueFromCache(cacheKey);
+        if (urlPlaceholderValues != null) {
+            return urlPlaceholderValues;
+        }
+
+        urlPlaceholderValues = new HashMap<>();
+        try {
+            ServiceURL serviceURL = ServiceURLBuilder.create().build();
+            String carbonUrlWithUserTenant = serviceURL.getAbsolutePublicUrlWithoutPath();
+            if (IdentityTenantUtil.isTenantQualifiedUrlsEnabled() &&
+                    (IdentityTenantUtil.isSuperTenantRequiredInUrl()
+                            || !SUPER_TENANT_DOMAIN_NAME.equalsIgnoreCase(tenantDomain))) {
+                // If tenant domain is carbon.super, and super tenant is not required in the URL,
+                // then the tenant domain should not be appended.
+                carbonUrlWithUserTenant = carbonUrlWithUserTenant + "/t" + "/" + tenantDomain;
+            }
+            urlPlaceholderValues.put(NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER,
+                    serviceURL.getAbsolutePublicURL());
+            urlPlaceholderValues.put(
+                    NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER,
+                    carbonUrlWithUserTenant);
+        } catch (URLBuilderException e) {
+            throw NotificationRuntimeException.error("Error while building the server url.", e);
+        }
+        urlPlaceholderValues.put(NotificationConstants.EmailNotification.ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER,
+                ConfigurationFacade.getInstance().getAccountRecoveryEndpointAbsolutePath());
+        urlPlaceholderValues.put(NotificationConstants.EmailNotification.AUTHENTICATION_ENDPOINT_PLACEHOLDER,
+                ConfigurationFacade.getInstance().getAuthenticationEndpointAbsoluteURL());
+
+        urlPlaceholderValues = Collections.unmodifiableMap(urlPlaceholderValues);
+        URLPlaceholderCache.getInstance().addToCache(cacheKey, urlPlaceholderValues);
+        return urlPlaceholderValues;
+    }
+
+    private static Map<String, String> loadConfigFilePlaceholders() {
+
         IdentityConfigParser configParser = IdentityConfigParser.getInstance();
         OMElement placeHolderElem = configParser.getConfigElement(
                 NotificationConstants.EmailNotification.TEMPLATE_PLACEHOLDERS_ELEM);
@@ -438,14 +829,12 @@ public class NotificationUtil {
                 placeholderMap.put(key, value);
             }
         }
-        return placeholderMap;
+        return Collections.unmodifiableMap(placeholderMap);
     }
 
     public static List<String> extractPlaceHolders(String value) {
 
-        String exp = "\\{\\{(.*?)\\}\\}";
-        Pattern pattern = Pattern.compile(exp);
-        Matcher matcher = pattern.matcher(value);
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(value);
         List<String> placeHolders = new ArrayList<>();
         while (matcher.find()) {
             String group = matcher.group().replace("{{", "").replace("}}", "");
@@ -502,12 +891,23 @@ public class NotificationUtil {
     }
 
     /**
-     * Retrieve default organization level branding configs.
+     * Retrieve default organization level branding configs. Values are parsed once and served from the snapshot held
+     * by {@link NotificationHandlerDataHolder} until {@link #reloadConfigFileSnapshots()} is called.
      *
-     * @return map of default organization level branding configs.
+     * @return unmodifiable map of default organization level branding configs.
      */
     public static Map<String, String> getBrandingFallbacksFromConfigFile() {
 
+        Map<String, String> brandingFallbacks = NotificationHandlerDataHolder.getInstance().getBrandingFallbacks();
+        if (brandingFallbacks == null) {
+            brandingFallbacks = loadBrandingFallbacksFromConfigFile();
+            NotificationHandlerDataHolder.getInstance().setBrandingFallbacks(brandingFallbacks);
+        }
+        return brandingFallbacks;
+    }
+
+    private static Map<String, String> loadBrandingFallbacksFromConfigFile() {
+
         IdentityConfigParser configParser = IdentityConfigParser.getInstance();
         OMElement fallbackElem = configParser.getConfigElement(
                 NotificationConstants.EmailNotification.ORGANIZATION_LEVEL_EMAIL_BRANDING_FALLBACKS_ELEM);
@@ -531,7 +931,7 @@ public class NotificationUtil {
                 fallbackMap.put(key, value);
             }
         }
-        return fallbackMap;
+        return Collections.unmodifiableMap(fallbackMap);
     }
 
     /**
@@ -544,104 +944,104 @@ public class NotificationUtil {
      */
     public static String getBrandingPreference(String key, JsonNode brandingPreferences, Map<String, String> brandingFallbacks) {
 
-        String value = null;
+        return getBrandingPlaceholderValues(brandingPreferences, brandingFallbacks).get(key);
+    }
+
+    /**
+     * Resolve the values of all branding placeholders for the active theme of the given branding preferences.
+     * Branding fallbacks are applied for the values which are not configured.
+     *
+     * @param brandingPreferences Branding preferences. Can be null.
+     * @param brandingFallbacks   Default branding values.
+     * @return Unmodifiable map of branding placeholder values. Placeholders without a value are not included.
+     */
+    public static Map<String, String> getBrandingPlaceholderValues(JsonNode brandingPreferences,
+                                                                   Map<String, String> brandingFallbacks) {
+
         boolean brandingIsEnabled = (brandingPreferences != null)
                 && brandingPreferences.at(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_IS_ENABLED_PATH).asBoolean();
         String theme = brandingIsEnabled
                 ? brandingPreferences.at("/theme/activeTheme").asText()
                 : NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME;
+        boolean isLightTheme = theme.equals(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME);
+        JsonNode preferences = brandingIsEnabled ? brandingPreferences : null;
+        JsonNode themePreferences = brandingIsEnabled ? brandingPreferences.at("/theme/" + theme) : null;
+
+        Map<String, String> values = new HashMap<>();
+        String logoUrl = getPreferenceText(themePreferences, BRANDING_PREFERENCES_LOGO_URL_PATH);
+        putIfNotNull(values, "organization.logo.img", StringUtils.isNotBlank(logoUrl)
+                ? logoUrl
+                : isLightTheme ? brandingFallbacks.get("light_logo_url") : brandingFallbacks.get("dark_logo_url"));
+
+        String logoAltText = getPreferenceText(themePreferences, BRANDING_PREFERENCES_LOGO_ALTTEXT_PATH);
+        putIfNotNull(values, "organization.logo.altText",
+                StringUtils.isNotBlank(logoAltText) ? logoAltText : StringUtils.EMPTY);
+
+        String copyrightText = getPreferenceText(preferences, BRANDING_PREFERENCES_COPYRIGHT_TEXT_PATH);
+        String copyrightTextFallback = brandingFallbacks.get("copyright_text");
+        putIfNotNull(values, "organization.copyright.text", StringUtils.isNotBlank(copyrightText)
+                ? copyrightText
+                : copyrightTextFallback == null ? null
+                    : copyrightTextFallback.replace("YYYY", String.valueOf(Calendar.getInstance().get(Calendar.YEAR))));
+
+        String supportMail = getPreferenceText(preferences, BRANDING_PREFERENCES_SUPPORT_EMAIL_PATH);
+        putIfNotNull(values, "organization.support.mail",
+                StringUtils.isNotBlank(supportMail) ? supportMail : brandingFallbacks.get("support_mail"));
+
+        // Default value is not handled here since the parameter is not passed. It will be handled in the caller.
+        String displayName = getPreferenceText(preferences, BRANDING_PREFERENCES_DISPLAY_NAME_PATH);
+        putIfNotNull(values, ORGANIZATION_NAME_PLACEHOLDER, StringUtils.isNotBlank(displayName) ? displayName : null);
+
+        putIfNotNull(values, "organization.color.primary", brandingIsEnabled
+                ? getFirstNonBlankValue(themePreferences, "/colors/primary/main", "/colors/primary")
+                : brandingFallbacks.get("primary_color"));
+        putIfNotNull(values, "organization.color.background", brandingIsEnabled
+                ? getFirstNonBlankValue(themePreferences, "/colors/background/body/main",
+                    "/page/background/backgroundColor")
+                : brandingFallbacks.get("background_color"));
+        putIfNotNull(values, "organization.font", brandingIsEnabled
+                ? getPreferenceText(themePreferences, "/typography/font/fontFamily")
+                : brandingFallbacks.get("font_style"));
+        putIfNotNull(values, "organization.font.color", brandingIsEnabled
+                ? getFirstNonBlankValue(themePreferences, "/colors/text/primary", "/page/font/color")
+                : brandingFallbacks.get("font_color"));
+        putIfNotNull(values, "organization.button.font.color", brandingIsEnabled
+                ? getPreferenceText(themePreferences, "/buttons/primary/base/font/color")
+                : brandingFallbacks.get("button_font_color"));
+
+        String themeBackgroundColor = getPreferenceText(themePreferences, "/colors/background/surface/main");
+        putIfNotNull(values, "organization.theme.background.color", StringUtils.isNotBlank(themeBackgroundColor)
+                ? themeBackgroundColor
+                : isLightTheme
+                    ? brandingFallbacks.get("light_background_color")
+                    : brandingFallbacks.get("dark_background_color"));
+
+        String themeBorderColor = getPreferenceText(themePreferences, "/colors/outlined/default");
+        putIfNotNull(values, "organization.theme.border.color", StringUtils.isNotBlank(themeBorderColor)
+                ? themeBorderColor
+                : isLightTheme
+                    ? brandingFallbacks.get("light_border_color")
+                    : brandingFallbacks.get("dark_border_color"));
+
+        return Collections.unmodifiableMap(values);
+    }
 
-        switch (key) {
-            case "organization.logo.img" :
-                if (brandingIsEnabled && StringUtils.isNotBlank(
-                        getBrandingPreferenceByTheme(brandingPreferences, theme, BRANDING_PREFERENCES_LOGO_URL_PATH))) {
-                    value = getBrandingPreferenceByTheme(brandingPreferences, theme, BRANDING_PREFERENCES_LOGO_URL_PATH);
-                } else {
-                    value = (theme.equals(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME))
-                            ? brandingFallbacks.get("light_logo_url")
-                            : brandingFallbacks.get("dark_logo_url");
-                }
-                break;
-            case "organization.logo.altText" :
-                value = (brandingIsEnabled && StringUtils.isNotBlank(
-                            getBrandingPreferenceByTheme(brandingPreferences, theme, BRANDING_PREFERENCES_LOGO_ALTTEXT_PATH)))
-                        ? getBrandingPreferenceByTheme(brandingPreferences, theme, BRANDING_PREFERENCES_LOGO_ALTTEXT_PATH)
-                        : StringUtils.EMPTY;
-                break;
-            case "organization.copyright.text" :
-                value = (brandingIsEnabled && StringUtils.isNotBlank(
-                            brandingPreferences.at(BRANDING_PREFERENCES_COPYRIGHT_TEXT_PATH).asText()))
-                        ? brandingPreferences.at(BRANDING_PREFERENCES_COPYRIGHT_TEXT_PATH).asText()
-                        : brandingFallbacks.get("copyright_text")
-                            .replace("YYYY", String.valueOf(Calendar.getInstance().get(Calendar.YEAR)));
-                break;
-            case "organization.support.mail" :
-                value = (brandingIsEnabled && StringUtils.isNotBlank(
-                            brandingPreferences.at(BRANDING_PREFERENCES_SUPPORT_EMAIL_PATH).asText()))
-                        ? brandingPreferences.at(BRANDING_PREFERENCES_SUPPORT_EMAIL_PATH).asText()
-                        : brandingFallbacks.get("support_mail");
-                break;
-            case ORGANIZATION_NAME_PLACEHOLDER :
-                value = (brandingIsEnabled && StringUtils.isNotBlank(
-                        brandingPreferences.at(BRANDING_PREFERENCES_DISPLAY_NAME_PATH).asText()))
-                        ? brandingPreferences.at(BRANDING_PREFERENCES_DISPLAY_NAME_PATH).asText()
-                        : null; // Default value is not handled here since the parameter is not passed.
-                                // It will be handled in the caller.
-                break;
-            case "organization.color.primary" :
-                value = brandingIsEnabled
-                        ? !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/primary/main"))
-                            ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/primary/main")
-                            : getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/primary")
-                        : brandingFallbacks.get("primary_color");
-                break;
-            case "organization.color.background" :
-                value = brandingIsEnabled
-                        ? !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/background/body/main"))
-                            ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/background/body/main")
-                            : getBrandingPreferenceByTheme(brandingPreferences, theme, "/page/background/backgroundColor")
-                        : brandingFallbacks.get("background_color");
-                break;
-            case "organization.font" :
-                value = brandingIsEnabled
-                        ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/typography/font/fontFamily")
-                        : brandingFallbacks.get("font_style");
-                break;
-            case "organization.font.color" :
-                value = brandingIsEnabled
-                        ? !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/text/primary"))
-                            ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/text/primary")
-                            : getBrandingPreferenceByTheme(brandingPreferences, theme, "/page/font/color")
-                        : brandingFallbacks.get("font_color");
-                break;
-            case "organization.button.font.color" :
-                value = brandingIsEnabled
-                        ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/buttons/primary/base/font/color")
-                        : brandingFallbacks.get("button_font_color");
-                break;
-            case "organization.theme.background.color" :
-                value = brandingIsEnabled && !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/background/surface/main"))
-                            ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/background/surface/main")
-                            : theme.equals(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME)
-                                ? brandingFallbacks.get("light_background_color")
-                                : brandingFallbacks.get("dark_background_color");
-                break;
-            case "organization.theme.border.color" :
-                value = brandingIsEnabled && !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/outlined/default"))
-                        ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/outlined/default")
-                        : theme.equals(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME)
-                            ? brandingFallbacks.get("light_border_color")
-                            : brandingFallbacks.get("dark_border_color");
-                break;
-            default: break;
-        }
-
-        return value;
-    }
-
-    private static String getBrandingPreferenceByTheme(JsonNode brandingPreferences, String theme, String path) {
-
-        return brandingPreferences.at("/theme/" + theme + path).asText();
+    private static String getFirstNonBlankValue(JsonNode themePreferences, String path, String alternativePath) {
+
+        String value = getPreferenceText(themePreferences, path);
+        return StringUtils.isNotBlank(value) ? value : getPreferenceText(themePreferences, alternativePath);
+    }
+
+    private static String getPreferenceText(JsonNode preferences, String path) {
+
+        return preferences == null ? StringUtils.EMPTY : preferences.at(path).asText();
+    }
+
+    private static void putIfNotNull(Map<String, String> values, String key, String value) {
+
+        if (value != null) {
+            values.put(key, value);
+        }
     }
 
     public static Notification buildNotification(Event event, Map<String, String> placeHolderData)
@@ -649,7 +1049,7 @@ public class NotificationUtil {
         //send-to parameter will be set by the event senders. Here it is first read from the request parameter and
         //if it is not there, then assume this sent-to parameter should read from user's email claim only.
         String sendTo = placeHolderData.get(NotificationConstants.EmailNotification.ARBITRARY_SEND_TO);
-        Map<String, String> userClaims = new HashMap<>();
+        Map<String, String> userClaims;
         String notificationEvent = (String) event.getEventProperties().get(NotificationConstants.EmailNotification.EMAIL_TEMPLATE_TYPE);
         String username = (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.USER_NAME);
         org.wso2.carbon.user.core.UserStoreManager userStoreManager = (org.wso2.carbon.user.core.UserStoreManager) event.getEventProperties().get(
@@ -658,23 +1058,41 @@ public class NotificationUtil {
         String tenantDomain = (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
         String sendFrom = (String) event.getEventProperties().get(NotificationConstants.EmailNotification.ARBITRARY_SEND_FROM);
         String appDomain = (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.APPLICATION_DOMAIN);
-
-        // If the user is federated, use the federated user claims provided in the event properties.
-        if (event.getEventProperties().containsKey(NotificationConstants.IS_FEDERATED_USER) &&
-                (Boolean) event.getEventProperties().get(NotificationConstants.IS_FEDERATED_USER) &&
-                event.getEventProperties().containsKey(NotificationConstants.FEDERATED_USER_CLAIMS)) {
-            Map<String, String> fedUserClaims = new HashMap<>();
-            ((Map<ClaimMapping, String>) event.getEventProperties().get(NotificationConstants.FEDERATED_USER_CLAIMS))
-                    .forEach((claimMapping, value) ->
-                            fedUserClaims.put(claimMapping.getLocalClaim().getClaimUri(), value));
-            userClaims.putAll(fedUserClaims);
-        } else {
-            if (StringUtils.isNotBlank(username) && userStoreManager != null) {
-                userClaims = NotificationUtil.getUserClaimValues(username, userStoreManager);
-            } else if (StringUtils.isNotBlank(username) && StringUtils.isNotBlank(userStoreDomainName) &&
-                    StringUtils.isNotBlank(tenantDomain)) {
-                userClaims = NotificationUtil.getUserClaimValues(username, userStoreDomainName, tenantDomain);
+        String applicationDomain = StringUtils.isNotBlank(appDomain) ? appDomain : tenantDomain;
+
+        // When parallel lookups are enabled, the lookups which do not depend on each other are run concurrently so
+        // that a slow user store or database delays the notification by the slowest lookup rather than the sum.
+        NotificationLookupExecutor lookupExecutor =
+                NotificationHandlerDataHolder.getInstance().getNotificationLookupExecutor();
+        boolean brandingEnabled = Boolean.parseBoolean(IdentityUtil.getProperty(
+                NotificationConstants.EmailNotification.ENABLE_ORGANIZATION_LEVEL_EMAIL_BRANDING));
+        // Claims used in the template placeholders are loaded once the template is known.
+        Set<String> claimURIs = getNotificationClaimURIs(NotificationConstants.EmailNotification.CLAIM_URI_LOCALE,
+                NotificationConstants.EmailNotification.CLAIM_URI_EMAIL);
+        String applicationUuid = null;
+        Future<BrandingPreferenceCacheEntry> brandingLookup = null;
+        Future<String> copyrightLookup = null;
+        Future<String> organizationNameLookup = null;
+        if (lookupExecutor != null) {
+            Future<Map<String, String>> userClaimsLookup = lookupExecutor.submit(() -> getUserClaims(event, username,
+                    userStoreManager, userStoreDomainName, tenantDomain, claimURIs));
+            Future<String> applicationUuidLookup =
+                    lookupExecutor.submit(() -> getApplicationUuid(event, applicationDomain));
+            if (StringUtils.isNotBlank(tenantDomain) && !SUPER_TENANT_DOMAIN_NAME.equals(tenantDomain)) {
+                organizationNameLookup = lookupExecutor.submit(() ->
+                        resolveHumanReadableOrganizationName(tenantDomain));
             }
+            // Application id lookup failures fall back to the organization preferences, as do timeouts.
+            applicationUuid = lookupExecutor.joinQuietly(applicationUuidLookup, "resolving the application id");
+            if (brandingEnabled) {
+                String brandingApplicationUuid = applicationUuid;
+                brandingLookup = lookupExecutor.submit(() ->
+                        resolveBrandingPreferences(tenantDomain, brandingApplicationUuid));
+            }
+            userClaims = lookupExecutor.join(userClaimsLookup, "retrieving the user claims");
+        } else {
+            userClaims = getUserClaims(event, username, userStoreManager, userStoreDomainName, tenantDomain,
+                    claimURIs);
         }
 
         String locale = getNotificationLocale();
@@ -697,49 +1115,37 @@ public class NotificationUtil {
                         "Sending email address is not configured for the user.");
             }
         }
+        if (lookupExecutor != null && brandingEnabled) {
+            // The copyright text is resolved for the locale of the user, which is the locale of the template unless
+            // the template falls back to another locale.
+            String copyrightLocale = locale;
+            copyrightLookup = lookupExecutor.submit(() ->
+                    getCopyrightPlaceholderValueFromCustomTexts(tenantDomain, copyrightLocale));
+        }
 
-        EmailTemplate emailTemplate;
-        String applicationUuid = null;
-        String applicationName = null;
-        boolean emailTemplateExists = false;
+        Optional<EmailTemplate> resolvedEmailTemplate;
         try {
-            String applicationDomain = StringUtils.isNotBlank(appDomain) ? appDomain : tenantDomain;
-
-            if (event.getEventProperties().get(SERVICE_PROVIDER_UUID) != null) {
-                applicationUuid = event.getEventProperties().get(SERVICE_PROVIDER_UUID).toString();
-            } else if (event.getEventProperties().get(SERVICE_PROVIDER_NAME) != null) {
-                applicationName = event.getEventProperties().get(SERVICE_PROVIDER_NAME).toString();
-                try {
-                    applicationUuid = NotificationHandlerDataHolder.getInstance().getApplicationManagementService()
-                            .getApplicationBasicInfoByName(applicationName, applicationDomain)
-                            .getApplicationResourceId();
-                } catch (IdentityApplicationManagementException | NullPointerException e) {
-                    log.debug("Fallback to organization preference. Error fetching application id for application name: " + applicationName, e);
-                }
-            } else {
-                log.debug("Fallback to organization preference. Cannot get application id or application name from the event");
+            if (lookupExecutor == null) {
+                applicationUuid = getApplicationUuid(event, applicationDomain);
             }
 
-            emailTemplateExists = NotificationHandlerDataHolder.getInstance().getEmailTemplateManager()
-                    .isEmailTemplateExists(notificationEvent, locale, applicationDomain, applicationUuid);
-            if (emailTemplateExists) {
-                emailTemplate = NotificationHandlerDataHolder.getInstance().getEmailTemplateManager()
-                        .getEmailTemplate(notificationEvent, locale, applicationDomain, applicationUuid);
-            } else {
-                // Fallback to organization level email template if application level template is not found.
-                emailTemplate = NotificationHandlerDataHolder.getInstance().getEmailTemplateManager()
-                        .getEmailTemplate(notificationEvent, locale, applicationDomain);
-            }
+            // Resolves the application level template, falling back to the organization level and system default
+            // templates, and to the default locale. A template which is not found is not reported as an error.
+            resolvedEmailTemplate = NotificationHandlerDataHolder.getInstance().getEmailTemplateManager()
+                    .findEmailTemplate(notificationEvent, locale, applicationDomain, applicationUuid);
         } catch (I18nEmailMgtException e) {
             if (log.isDebugEnabled()) {
                 log.debug("Error when retrieving email template for locale: " + locale + " for scenario: " +
-                        notificationEvent + " for tenant: " + tenantDomain + ". Email template exists: " +
-                        emailTemplateExists + ", appDomain: " + appDomain + ", applicationUuid: " + applicationUuid);
+                        notificationEvent + " for tenant: " + tenantDomain + ", appDomain: " + appDomain +
+                        ", applicationUuid: " + applicationUuid);
             }
+            String message = "Error when retrieving template from tenant registry.";
+            throw NotificationRuntimeException.error(message, e);
+        }
+        if (!resolvedEmailTemplate.isPresent()) {
             // If the email template is not found and the property IGNORE_IF_TEMPLATE_NOT_FOUND is set to true,
             // ignore the event.
-            if (I18nMgtConstants.ErrorCodes.EMAIL_TEMPLATE_TYPE_NODE_FOUND.equals(e.getErrorCode())
-                    && event.getEventProperties().containsKey(NotificationConstants.IGNORE_IF_TEMPLATE_NOT_FOUND)
+            if (event.getEventProperties().containsKey(NotificationConstants.IGNORE_IF_TEMPLATE_NOT_FOUND)
                     && (Boolean) event.getEventProperties().get(NotificationConstants.IGNORE_IF_TEMPLATE_NOT_FOUND)) {
                 if (log.isDebugEnabled()) {
                     log.debug("Email template not found for event: " + notificationEvent + " in locale: " + locale +
@@ -748,32 +1154,125 @@ public class NotificationUtil {
                 }
                 return null;
             }
-            String message = "Error when retrieving template from tenant registry.";
-            throw NotificationRuntimeException.error(message, e);
+            String message = String.format("Email template not found for event: %s in locale: %s for tenant: %s, " +
+                    "appDomain: %s, applicationUuid: %s.", notificationEvent, locale, tenantDomain, appDomain,
+                    applicationUuid);
+            throw NotificationRuntimeException.error(message);
+        }
+        EmailTemplate emailTemplate = resolvedEmailTemplate.get();
+
+        Set<String> templateClaimURIs =
+                getUnloadedTemplateClaimURIs(emailTemplate.getPlaceholderManifest(), claimURIs);
+        if (!templateClaimURIs.isEmpty()) {
+            userClaims.putAll(getUserClaims(event, username, userStoreManager, userStoreDomainName, tenantDomain,
+                    templateClaimURIs));
         }
 
         // This is added to change the copyright year in the email templates dynamically.
         int currentYear = Calendar.getInstance().get(Calendar.YEAR);
         placeHolderData.put("current-year", String.valueOf(currentYear));
 
-        NotificationUtil.getPlaceholderValues(emailTemplate, placeHolderData, userClaims, applicationUuid);
+        PlaceholderResolutionContext placeholderResolutionContext =
+                new PlaceholderResolutionContext(emailTemplate, placeHolderData, userClaims, applicationUuid);
+        if (brandingLookup != null) {
+            BrandingPreferenceCacheEntry brandingPreferences =
+                    lookupExecutor.joinQuietly(brandingLookup, "resolving the branding preferences");
+            // Branding fallbacks are used when the preferences could not be resolved in time, as on other errors.
+            placeholderResolutionContext.setBrandingPreferences(brandingPreferences != null ? brandingPreferences :
+                    newBrandingPreferenceCacheEntry(null));
+        }
+        if (copyrightLookup != null) {
+            placeholderResolutionContext.setCopyrightText(locale,
+                    lookupExecutor.joinQuietly(copyrightLookup, "resolving the custom text copyright"));
+        }
+        PlaceholderResolverRegistry.getInstance().resolve(placeholderResolutionContext);
 
         if (StringUtils.isBlank(placeHolderData.get(ORGANIZATION_NAME_PLACEHOLDER))) {
             // If the organization display name is not configured with branding,
             // set "organization-name" placeholder to organization name.
-            String organizationName = resolveHumanReadableOrganizationName(tenantDomain);
+            String organizationName = organizationNameLookup != null ?
+                    lookupExecutor.join(organizationNameLookup, "resolving the organization name") :
+                    resolveHumanReadableOrganizationName(tenantDomain);
             placeHolderData.put(ORGANIZATION_NAME_PLACEHOLDER, organizationName);
+        } else if (organizationNameLookup != null) {
+            organizationNameLookup.cancel(false);
         }
 
         Notification.EmailNotificationBuilder builder =
                 new Notification.EmailNotificationBuilder(sendTo);
         builder.setSendFrom(sendFrom);
         builder.setTemplate(emailTemplate);
+        builder.setPartiallyRenderedTemplate(getPartiallyRenderedTemplate(placeholderResolutionContext));
         builder.setPlaceHolderData(placeHolderData);
         Notification emailNotification = builder.build();
         return emailNotification;
     }
 
+    /**
+     * Get the claims of the user the notification is sent to. Claims of federated users are taken from the event.
+     *
+     * @param event               Event.
+     * @param username            Username.
+     * @param userStoreManager    User store manager of the user. Can be null.
+     * @param userStoreDomainName User store domain of the user.
+     * @param tenantDomain        Tenant domain of the user.
+     * @param claimURIs           URIs of the claims to load, or null to load every claim of the user.
+     * @return User claims keyed by claim URI.
+     * @throws IdentityEventException If the user store of the user could not be loaded.
+     */
+    private static Map<String, String> getUserClaims(Event event, String username,
+                                                     org.wso2.carbon.user.core.UserStoreManager userStoreManager,
+                                                     String userStoreDomainName, String tenantDomain,
+                                                     Set<String> claimURIs)
+            throws IdentityEventException {
+
+        Map<String, String> userClaims = new HashMap<>();
+        // If the user is federated, use the federated user claims provided in the event properties.
+        if (event.getEventProperties().containsKey(NotificationConstants.IS_FEDERATED_USER) &&
+                (Boolean) event.getEventProperties().get(NotificationConstants.IS_FEDERATED_USER) &&
+                event.getEventProperties().containsKey(NotificationConstants.FEDERATED_USER_CLAIMS)) {
+            Map<String, String> fedUserClaims = new HashMap<>();
+            ((Map<ClaimMapping, String>) event.getEventProperties().get(NotificationConstants.FEDERATED_USER_CLAIMS))
+                    .forEach((claimMapping, value) ->
+                            fedUserClaims.put(claimMapping.getLocalClaim().getClaimUri(), value));
+            userClaims.putAll(fedUserClaims);
+        } else {
+            userClaims = getUserClaimValues(username, userStoreManager, userStoreDomainName, tenantDomain, claimURIs);
+        }
+        return userClaims;
+    }
+
+    /**
+     * Get the id of the application which triggered the notification, resolving it by the application name when the
+     * event does not carry the id.
+     *
+     * @param event             Event.
+     * @param applicationDomain Tenant domain of the application.
+     * @return Application UUID, or null to fall back to the organization preferences.
+     */
+    private static String getApplicationUuid(Event event, String applicationDomain) {
+
+        if (event.getEventProperties().get(SERVICE_PROVIDER_UUID) != null) {
+            return event.getEventProperties().get(SERVICE_PROVIDER_UUID).toString();
+        }
+        if (event.getEventProperties().get(SERVICE_PROVIDER_NAME) == null) {
+            log.debug("Fallback to organization preference. Cannot get application id or application name from the event");
+            return null;
+        }
+        String applicationName = event.getEventProperties().get(SERVICE_PROVIDER_NAME).toString();
+        try {
+            String applicationUuid = ApplicationContextUtil.getApplicationUuid(applicationName, applicationDomain);
+            if (applicationUuid == null) {
+                log.debug("Fallback to organization preference. Cannot find an application with name: " +
+                        applicationName);
+            }
+            return applicationUuid;
+        } catch (IdentityApplicationManagementException e) {
+            log.debug("Fallback to organization preference. Error fetching application id for application name: " + applicationName, e);
+            return null;
+        }
+    }
+
     /**
      * If the tenant domain is a UUID, resolve the organization name from the associated organization resource.
      *
@@ -785,22 +1284,7 @@ public class NotificationUtil {
 
         String organizationName = tenantDomain;
         try {
-            if (SUPER_TENANT_DOMAIN_NAME.equals(tenantDomain)) {
-                return organizationName;
-            }
-            RealmService realmService = NotificationHandlerDataHolder.getInstance().getRealmService();
-            int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
-            Tenant tenant = realmService.getTenantManager().getTenant(tenantId);
-            if (tenant == null) {
-                return organizationName;
-            }
-            String associatedOrganizationUUID = tenant.getAssociatedOrganizationUUID();
-            if (StringUtils.isBlank(associatedOrganizationUUID)) {
-                return organizationName;
-            }
-            OrganizationManager organizationManager =
-                    NotificationHandlerDataHolder.getInstance().getOrganizationManager();
-            organizationName = organizationManager.getOrganizationNameById(associatedOrganizationUUID);
+            organizationName = OrganizationContextUtil.getOrganizationName(tenantDomain);
         } catch (OrganizationManagementClientException e) {
             if (!ERROR_CODE_ORGANIZATION_NOT_FOUND_FOR_TENANT.getCode().equals(e.getErrorCode())) {
                 throw new IdentityEventException(e.getMessage(), e);
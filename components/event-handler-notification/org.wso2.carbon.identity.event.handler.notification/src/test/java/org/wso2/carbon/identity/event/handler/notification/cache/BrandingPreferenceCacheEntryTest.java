@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link BrandingPreferenceCacheEntry}.
+ */
+public class BrandingPreferenceCacheEntryTest {
+
+    private static final long TIMEOUT = 60000L;
+
+    @Test
+    public void testEntryExpiresAfterTimeout() {
+
+        ObjectNode preference = new ObjectMapper().createObjectNode();
+        preference.put("configs", "enabled");
+        BrandingPreferenceCacheEntry cacheEntry = new BrandingPreferenceCacheEntry(preference);
+
+        assertFalse(cacheEntry.isExpired(cacheEntry.getCreatedTime(), TIMEOUT));
+        assertFalse(cacheEntry.isExpired(cacheEntry.getCreatedTime() + TIMEOUT, TIMEOUT));
+        assertTrue(cacheEntry.isExpired(cacheEntry.getCreatedTime() + TIMEOUT + 1, TIMEOUT));
+    }
+
+    @Test
+    public void testMissingPreferenceEntryExpiresAfterTimeout() {
+
+        BrandingPreferenceCacheEntry cacheEntry = new BrandingPreferenceCacheEntry(null);
+
+        assertNull(cacheEntry.getPreference());
+        assertFalse(cacheEntry.isExpired(cacheEntry.getCreatedTime(), TIMEOUT));
+        assertTrue(cacheEntry.isExpired(cacheEntry.getCreatedTime() + TIMEOUT + 1, TIMEOUT));
+    }
+
+    @Test
+    public void testIsResolvedWith() {
+
+        Map<String, String> brandingFallbacks = Collections.singletonMap("primary_color", "#3CB371");
+        BrandingPreferenceCacheEntry cacheEntry = new BrandingPreferenceCacheEntry(null, brandingFallbacks,
+                Collections.<String, String>emptyMap());
+
+        assertTrue(cacheEntry.isResolvedWith(Collections.singletonMap("primary_color", "#3CB371")));
+        assertFalse(cacheEntry.isResolvedWith(Collections.singletonMap("primary_color", "#FFFFFF")));
+        assertFalse(cacheEntry.isResolvedWith(Collections.<String, String>emptyMap()));
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.listener.NotificationUserStoreConfigListener;
+import org.wso2.carbon.identity.user.store.configuration.dto.UserStoreDTO;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.service.RealmService;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.withSettings;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link UserStoreManagerCache}.
+ */
+public class UserStoreManagerCacheTest {
+
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final int TENANT_ID = 1;
+    private static final String OTHER_TENANT_DOMAIN = "abc.com";
+    private static final int OTHER_TENANT_ID = 2;
+    private static final String SECONDARY_DOMAIN = "SECONDARY";
+    private static final long CHANGE_HOLD_TIME = 100L;
+
+    // User store managers served by the tenant realm, keyed by user store domain.
+    private Map<String, UserStoreManager> secondaryUserStoreManagers;
+    private NotificationUserStoreConfigListener userStoreConfigListener;
+
+    @BeforeMethod
+    public void setUp() {
+
+        secondaryUserStoreManagers = new ConcurrentHashMap<>();
+        userStoreConfigListener = new NotificationUserStoreConfigListener();
+        UserStoreManagerCache.getInstance().setChangeHoldTime(CHANGE_HOLD_TIME);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        // Let the hold of the tenants cleared by the test expire.
+        Thread.sleep(CHANGE_HOLD_TIME + 10);
+        UserStoreManagerCache.getInstance().clear();
+        UserStoreManagerCache.getInstance().setChangeHoldTime(TimeUnit.MINUTES.toMillis(1));
+        NotificationHandlerDataHolder.getInstance().setRealmService(null);
+    }
+
+    @Test
+    public void testUserStoreManagerIsCached() {
+
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        addToCache(TENANT_DOMAIN, TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+
+        assertSame(UserStoreManagerCache.getInstance().getValueFromCache(
+                new UserStoreManagerCacheKey(TENANT_DOMAIN, "secondary")), userStoreManager);
+        assertNull(UserStoreManagerCache.getInstance().getValueFromCache(
+                new UserStoreManagerCacheKey(OTHER_TENANT_DOMAIN, SECONDARY_DOMAIN)));
+    }
+
+    @Test
+    public void testCachedUserStoreManagersAreServedWithoutRealmLookups() {
+
+        RealmService realmService = mock(RealmService.class);
+        NotificationHandlerDataHolder.getInstance().setRealmService(realmService);
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        addToCache(TENANT_DOMAIN, TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(UserStoreManagerCache.getInstance().getValueFromCache(
+                    new UserStoreManagerCacheKey(TENANT_DOMAIN, SECONDARY_DOMAIN)), userStoreManager);
+        }
+        verifyNoInteractions(realmService);
+    }
+
+    @Test
+    public void testUpdatedAndRemovedUserStoresAreNotServed() throws Exception {
+
+        UserStoreManagerCacheKey key = new UserStoreManagerCacheKey(TENANT_DOMAIN, SECONDARY_DOMAIN);
+        UserStoreManagerCacheKey otherKey = new UserStoreManagerCacheKey(OTHER_TENANT_DOMAIN, SECONDARY_DOMAIN);
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        addToCache(TENANT_DOMAIN, TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+        addToCache(OTHER_TENANT_DOMAIN, OTHER_TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+
+        userStoreConfigListener.onUserStorePreUpdate(TENANT_ID, getUserStoreDTO(SECONDARY_DOMAIN), false);
+        assertNull(UserStoreManagerCache.getInstance().getValueFromCache(key));
+        assertSame(UserStoreManagerCache.getInstance().getValueFromCache(otherKey), userStoreManager);
+
+        // The user store manager still served by the realm right after the update is not cached.
+        addToCache(TENANT_DOMAIN, TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+        assertNull(UserStoreManagerCache.getInstance().getValueFromCache(key));
+
+        Thread.sleep(CHANGE_HOLD_TIME + 10);
+        addToCache(TENANT_DOMAIN, TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+        assertSame(UserStoreManagerCache.getInstance().getValueFromCache(key), userStoreManager);
+
+        userStoreConfigListener.onUserStorePreDelete(TENANT_ID, SECONDARY_DOMAIN);
+        assertNull(UserStoreManagerCache.getInstance().getValueFromCache(key));
+
+        Thread.sleep(CHANGE_HOLD_TIME + 10);
+        addToCache(TENANT_DOMAIN, TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+        userStoreConfigListener.onUserStoreNamePreUpdate(TENANT_ID, SECONDARY_DOMAIN, "RENAMED");
+        assertNull(UserStoreManagerCache.getInstance().getValueFromCache(key));
+    }
+
+    @Test
+    public void testUserStoresResolvedBeforeARealmReloadAreNotCached() {
+
+        UserStoreManagerCacheKey key = new UserStoreManagerCacheKey(TENANT_DOMAIN, SECONDARY_DOMAIN);
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        addToCache(TENANT_DOMAIN, TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+        long generation = UserStoreManagerCache.getInstance().getGeneration(TENANT_ID);
+
+        // Reloading the realm service replaces every user store manager of every tenant.
+        UserStoreManagerCache.getInstance().clear();
+        assertNull(UserStoreManagerCache.getInstance().getValueFromCache(key));
+
+        // A user store manager resolved from the previous realm is not cached.
+        UserStoreManagerCache.getInstance().addToCache(key,
+                new UserStoreManagerCacheEntry(TENANT_ID, generation, userStoreManager));
+        assertNull(UserStoreManagerCache.getInstance().getValueFromCache(key));
+    }
+
+    @Test
+    public void testClearTenant() {
+
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        UserStoreManagerCacheKey key = new UserStoreManagerCacheKey(TENANT_DOMAIN, SECONDARY_DOMAIN);
+        UserStoreManagerCacheKey otherKey = new UserStoreManagerCacheKey(OTHER_TENANT_DOMAIN, SECONDARY_DOMAIN);
+        addToCache(TENANT_DOMAIN, TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+        addToCache(OTHER_TENANT_DOMAIN, OTHER_TENANT_ID, SECONDARY_DOMAIN, userStoreManager);
+
+        UserStoreManagerCache.getInstance().clear(TENANT_ID);
+
+        assertNull(UserStoreManagerCache.getInstance().getValueFromCache(key));
+        assertSame(UserStoreManagerCache.getInstance().getValueFromCache(otherKey), userStoreManager);
+    }
+
+    @Test
+    public void testConcurrentLookupsWhileUserStoresChange() throws Exception {
+
+        int domainCount = 4;
+        int versionCount = 15;
+        int readerCount = 8;
+        List<List<UserStoreManager>> versions = new ArrayList<>();
+        Map<UserStoreManager, Integer> versionIndexes = new IdentityHashMap<>();
+        for (int domain = 0; domain < domainCount; domain++) {
+            List<UserStoreManager> domainVersions = new ArrayList<>();
+            for (int version = 0; version < versionCount; version++) {
+                UserStoreManager userStoreManager = mock(UserStoreManager.class, withSettings().stubOnly());
+                domainVersions.add(userStoreManager);
+                versionIndexes.put(userStoreManager, version);
+            }
+            versions.add(domainVersions);
+            secondaryUserStoreManagers.put(getDomainName(domain), domainVersions.get(0));
+        }
+        // Index of the latest user store manager of each domain, published after the realm is updated.
+        AtomicIntegerArray publishedVersions = new AtomicIntegerArray(domainCount);
+        AtomicBoolean changing = new AtomicBoolean(true);
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicInteger realmLookups = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(readerCount + 1);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int reader = 0; reader < readerCount; reader++) {
+                int firstDomain = reader;
+                readers.add(executorService.submit(() -> {
+                    start.await();
+                    int domain = firstDomain;
+                    while (changing.get()) {
+                        domain = (domain + 1) % domainCount;
+                        int publishedVersion = publishedVersions.get(domain);
+                        UserStoreManager userStoreManager = getUserStoreManager(domain, realmLookups);
+                        lookups.incrementAndGet();
+                        if (userStoreManager != null) {
+                            // A lookup never returns a user store manager older than the one already published.
+                            assertTrue(versionIndexes.get(userStoreManager) >= publishedVersion);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> writer = executorService.submit(() -> {
+                start.await();
+                for (int version = 1; version < versionCount; version++) {
+                    // User store changes are notified to the listeners before they are applied to the realm.
+                    for (int domain = 0; domain < domainCount; domain++) {
+                        if (version % 10 == 0) {
+                            userStoreConfigListener.onUserStorePreDelete(TENANT_ID, getDomainName(domain));
+                            secondaryUserStoreManagers.remove(getDomainName(domain));
+                            userStoreConfigListener.onUserStorePreAdd(TENANT_ID,
+                                    getUserStoreDTO(getDomainName(domain)));
+                        } else {
+                            userStoreConfigListener.onUserStorePreUpdate(TENANT_ID,
+                                    getUserStoreDTO(getDomainName(domain)), false);
+                        }
+                    }
+                    Thread.sleep(2);
+                    for (int domain = 0; domain < domainCount; domain++) {
+                        secondaryUserStoreManagers.put(getDomainName(domain), versions.get(domain).get(version));
+                        publishedVersions.set(domain, version);
+                    }
+                    Thread.sleep(CHANGE_HOLD_TIME + 10);
+                }
+                return null;
+            });
+
+            start.countDown();
+            try {
+                writer.get(1, TimeUnit.MINUTES);
+            } finally {
+                changing.set(false);
+            }
+            for (Future<?> reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        for (int domain = 0; domain < domainCount; domain++) {
+            assertSame(getUserStoreManager(domain, realmLookups), versions.get(domain).get(versionCount - 1));
+        }
+        assertTrue(realmLookups.get() < lookups.get(), "Realm was looked up for every notification.");
+    }
+
+    @Test
+    public void testCacheDoesNotGrowBeyondCapacity() {
+
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        for (int i = 0; i < 1100; i++) {
+            addToCache("tenant" + i, i, null, userStoreManager);
+        }
+
+        int cached = 0;
+        for (int i = 0; i < 1100; i++) {
+            if (UserStoreManagerCache.getInstance().getValueFromCache(
+                    new UserStoreManagerCacheKey("tenant" + i, null)) != null) {
+                cached++;
+            }
+        }
+        assertEquals(cached, 1000);
+    }
+
+    /**
+     * Resolve the user store manager of a domain the way notification handlers do, going to the realm only on a
+     * cache miss.
+     */
+    private UserStoreManager getUserStoreManager(int domain, AtomicInteger realmLookups) {
+
+        UserStoreManagerCacheKey key = new UserStoreManagerCacheKey(TENANT_DOMAIN, getDomainName(domain));
+        UserStoreManager userStoreManager = UserStoreManagerCache.getInstance().getValueFromCache(key);
+        if (userStoreManager == null) {
+            realmLookups.incrementAndGet();
+            long generation = UserStoreManagerCache.getInstance().getGeneration(TENANT_ID);
+            userStoreManager = secondaryUserStoreManagers.get(getDomainName(domain));
+            if (userStoreManager != null) {
+                UserStoreManagerCache.getInstance().addToCache(key,
+                        new UserStoreManagerCacheEntry(TENANT_ID, generation, userStoreManager));
+            }
+        }
+        return userStoreManager;
+    }
+
+    private static void addToCache(String tenantDomain, int tenantId, String userStoreDomain,
+                                   UserStoreManager userStoreManager) {
+
+        UserStoreManagerCache.getInstance().addToCache(new UserStoreManagerCacheKey(tenantDomain, userStoreDomain),
+                new UserStoreManagerCacheEntry(tenantId, UserStoreManagerCache.getInstance().getGeneration(tenantId),
+                        userStoreManager));
+    }
+
+    private static UserStoreDTO getUserStoreDTO(String domain) {
+
+        UserStoreDTO userStoreDTO = new UserStoreDTO();
+        userStoreDTO.setDomainId(domain);
+        return userStoreDTO;
+    }
+
+    private static String getDomainName(int domain) {
+
+        return "SECONDARY" + domain;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.dispatch;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.handler.notification.dispatch.AsyncNotificationDispatcher.OverflowPolicy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link AsyncNotificationDispatcher}.
+ */
+public class AsyncNotificationDispatcherTest {
+
+    private static final long TIMEOUT = 5000L;
+
+    private AsyncNotificationDispatcher dispatcher;
+    private final CountDownLatch workerStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseWorker = new CountDownLatch(1);
+
+    @AfterMethod
+    public void tearDown() {
+
+        releaseWorker.countDown();
+        if (dispatcher != null) {
+            dispatcher.shutdown(TIMEOUT);
+        }
+    }
+
+    @Test
+    public void testNotificationsAreSentOnWorkerThreads() throws Exception {
+
+        dispatcher = newDispatcher(2, 10, OverflowPolicy.BLOCK);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch sent = new CountDownLatch(5);
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(() -> {
+                threads.add(Thread.currentThread().getName());
+                sent.countDown();
+            });
+        }
+
+        assertTrue(sent.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertFalse(threads.contains(Thread.currentThread().getName()));
+        dispatcher.shutdown(TIMEOUT);
+        assertEquals(dispatcher.getDispatchedCount(), 5);
+        assertEquals(dispatcher.getCompletedCount(), 5);
+        assertEquals(dispatcher.getCallerRunsCount(), 0);
+    }
+
+    @Test
+    public void testCallerRunsPolicy() throws Exception {
+
+        dispatcher = newDispatcher(1, 1, OverflowPolicy.CALLER_RUNS);
+        blockWorker();
+        dispatcher.dispatch(() -> { });
+        assertEquals(dispatcher.getQueueDepth(), 1);
+
+        List<String> threads = new CopyOnWriteArrayList<>();
+        dispatcher.dispatch(() -> threads.add(Thread.currentThread().getName()));
+
+        assertEquals(threads.size(), 1);
+        assertEquals(threads.get(0), Thread.currentThread().getName());
+        assertEquals(dispatcher.getCallerRunsCount(), 1);
+    }
+
+    @Test
+    public void testDropOldestPolicy() throws Exception {
+
+        dispatcher = newDispatcher(1, 1, OverflowPolicy.DROP_OLDEST);
+        blockWorker();
+        List<String> sent = new CopyOnWriteArrayList<>();
+        dispatcher.dispatch(() -> sent.add("oldest"));
+        dispatcher.dispatch(() -> sent.add("newest"));
+
+        assertEquals(dispatcher.getDroppedCount(), 1);
+        assertEquals(dispatcher.getQueueDepth(), 1);
+        releaseWorker.countDown();
+        dispatcher.shutdown(TIMEOUT);
+        assertEquals(sent.size(), 1);
+        assertEquals(sent.get(0), "newest");
+    }
+
+    @Test
+    public void testBlockPolicy() throws Exception {
+
+        dispatcher = newDispatcher(1, 1, OverflowPolicy.BLOCK);
+        blockWorker();
+        List<String> sent = new CopyOnWriteArrayList<>();
+        dispatcher.dispatch(() -> sent.add("queued"));
+
+        CountDownLatch dispatched = new CountDownLatch(1);
+        Thread caller = new Thread(() -> {
+            dispatcher.dispatch(() -> sent.add("blocked"));
+            dispatched.countDown();
+        });
+        caller.start();
+        assertFalse(dispatched.await(300, TimeUnit.MILLISECONDS));
+
+        releaseWorker.countDown();
+        assertTrue(dispatched.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        dispatcher.shutdown(TIMEOUT);
+        assertEquals(sent.size(), 2);
+        assertEquals(dispatcher.getCallerRunsCount(), 0);
+        assertEquals(dispatcher.getDroppedCount(), 0);
+    }
+
+    @Test
+    public void testShutdownDrainsQueuedNotifications() throws Exception {
+
+        dispatcher = newDispatcher(1, 10, OverflowPolicy.BLOCK);
+        blockWorker();
+        List<String> sent = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(() -> sent.add("queued"));
+        }
+        assertEquals(dispatcher.getQueueDepth(), 5);
+
+        releaseWorker.countDown();
+        dispatcher.shutdown(TIMEOUT);
+        assertEquals(sent.size(), 5);
+
+        // Notifications dispatched after the shutdown are not lost.
+        dispatcher.dispatch(() -> sent.add("late"));
+        assertEquals(sent.size(), 6);
+        assertEquals(dispatcher.getCallerRunsCount(), 1);
+    }
+
+    @Test
+    public void testFailedNotificationsAreCounted() throws Exception {
+
+        dispatcher = newDispatcher(1, 10, OverflowPolicy.BLOCK);
+        dispatcher.dispatch(() -> {
+            throw new IllegalStateException("Failed to send the notification.");
+        });
+        dispatcher.dispatch(() -> { });
+        dispatcher.shutdown(TIMEOUT);
+
+        assertEquals(dispatcher.getFailedCount(), 1);
+        assertEquals(dispatcher.getCompletedCount(), 1);
+    }
+
+    @Test
+    public void testNotificationsFailingWithErrorsAreCounted() throws Exception {
+
+        dispatcher = newDispatcher(1, 10, OverflowPolicy.BLOCK);
+        dispatcher.dispatch(() -> {
+            throw new NoClassDefFoundError("Failed to send the notification.");
+        });
+        dispatcher.dispatch(() -> { });
+        dispatcher.shutdown(TIMEOUT);
+
+        assertEquals(dispatcher.getFailedCount(), 1);
+        assertEquals(dispatcher.getCompletedCount(), 1);
+        assertTrue(dispatcher.getMetricsSummary().contains("failed: 1"));
+    }
+
+    private AsyncNotificationDispatcher newDispatcher(int poolSize, int queueSize, OverflowPolicy overflowPolicy) {
+
+        return new AsyncNotificationDispatcher(poolSize, queueSize, overflowPolicy,
+                AsyncNotificationDispatcher.createThreadFactory(false));
+    }
+
+    private void blockWorker() throws InterruptedException {
+
+        dispatcher.dispatch(() -> {
+            workerStarted.countDown();
+            try {
+                releaseWorker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(workerStarted.await(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+}
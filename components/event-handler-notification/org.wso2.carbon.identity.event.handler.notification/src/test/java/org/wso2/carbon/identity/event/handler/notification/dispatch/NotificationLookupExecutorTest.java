@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.dispatch;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.event.IdentityEventException;
+
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Class that contains the test cases for {@link NotificationLookupExecutor}.
+ */
+public class NotificationLookupExecutorTest {
+
+    private static final long TIMEOUT = 5000L;
+    private static final String TENANT_DOMAIN = "wso2.com";
+
+    private NotificationLookupExecutor lookupExecutor;
+    private final CountDownLatch releaseLookup = new CountDownLatch(1);
+
+    @BeforeClass
+    public void setUpClass() {
+
+        String carbonHome = Paths.get(System.getProperty("user.dir"), "target", "test-classes", "repository")
+                .toString();
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, carbonHome);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        releaseLookup.countDown();
+        if (lookupExecutor != null) {
+            lookupExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLookupsRunConcurrently() throws Exception {
+
+        lookupExecutor = newLookupExecutor(3, TIMEOUT);
+        CountDownLatch started = new CountDownLatch(3);
+        Future<Boolean>[] lookups = new Future[3];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = lookupExecutor.submit(() -> {
+                started.countDown();
+                // Completes only if all lookups are running at the same time.
+                return started.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            });
+        }
+
+        for (Future<Boolean> lookup : lookups) {
+            assertTrue(lookupExecutor.join(lookup, "running the lookup"));
+        }
+    }
+
+    @Test
+    public void testLookupsRunWithCallerContext() throws Exception {
+
+        lookupExecutor = newLookupExecutor(1, TIMEOUT);
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(TENANT_DOMAIN);
+            Future<String> lookup = lookupExecutor.submit(() -> PrivilegedCarbonContext
+                    .getThreadLocalCarbonContext().getTenantDomain());
+
+            assertEquals(lookupExecutor.join(lookup, "resolving the tenant domain"), TENANT_DOMAIN);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    @Test
+    public void testJoinPropagatesLookupErrors() {
+
+        lookupExecutor = newLookupExecutor(1, TIMEOUT);
+        IdentityEventException identityEventException = new IdentityEventException("User store is not available.");
+        IllegalStateException runtimeException = new IllegalStateException("Template is not available.");
+
+        try {
+            lookupExecutor.join(lookupExecutor.submit(() -> {
+                throw identityEventException;
+            }), "retrieving the user claims");
+            fail("Lookup error was not propagated.");
+        } catch (IdentityEventException e) {
+            assertSame(e, identityEventException);
+        }
+        try {
+            lookupExecutor.join(lookupExecutor.submit(() -> {
+                throw runtimeException;
+            }), "retrieving the template");
+            fail("Lookup error was not propagated.");
+        } catch (IllegalStateException | IdentityEventException e) {
+            assertSame(e, runtimeException);
+        }
+    }
+
+    @Test
+    public void testJoinTimesOut() {
+
+        lookupExecutor = newLookupExecutor(1, 100L);
+        Future<Boolean> lookup = lookupExecutor.submit(() -> releaseLookup.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        try {
+            lookupExecutor.join(lookup, "retrieving the user claims");
+            fail("Lookup did not time out.");
+        } catch (IdentityEventException e) {
+            assertTrue(e.getMessage().contains("retrieving the user claims"));
+        }
+        assertTrue(lookup.isCancelled());
+    }
+
+    @Test
+    public void testLookupTimeoutIsCountedFromSubmission() {
+
+        long stepTimeout = 1000L;
+        lookupExecutor = newLookupExecutor(2, stepTimeout);
+        long submitted = System.nanoTime();
+        Future<Boolean> firstLookup = lookupExecutor.submit(() -> releaseLookup.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        Future<Boolean> secondLookup = lookupExecutor.submit(() -> releaseLookup.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        assertNull(lookupExecutor.joinQuietly(firstLookup, "retrieving the user claims"));
+        assertNull(lookupExecutor.joinQuietly(secondLookup, "resolving the application id"));
+        // Both lookups share the time since they were submitted, rather than waiting for a timeout each.
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted) < 2 * stepTimeout);
+        assertTrue(secondLookup.isCancelled());
+    }
+
+    @Test
+    public void testJoinQuietlyReturnsNullOnTimeout() {
+
+        lookupExecutor = newLookupExecutor(1, 100L);
+        Future<String> lookup = lookupExecutor.submit(() -> {
+            releaseLookup.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            return "app-id";
+        });
+
+        assertNull(lookupExecutor.joinQuietly(lookup, "resolving the application id"));
+    }
+
+    @Test
+    public void testLookupsRunOnCallerThreadAfterShutdown() throws Exception {
+
+        lookupExecutor = newLookupExecutor(1, TIMEOUT);
+        Future<String> lookup = lookupExecutor.submit(() -> Thread.currentThread().getName());
+        assertNotEquals(lookupExecutor.join(lookup, "running the lookup"), Thread.currentThread().getName());
+
+        lookupExecutor.shutdown();
+        lookup = lookupExecutor.submit(() -> Thread.currentThread().getName());
+        assertTrue(lookup.isDone());
+        assertEquals(lookupExecutor.join(lookup, "running the lookup"), Thread.currentThread().getName());
+    }
+
+    private NotificationLookupExecutor newLookupExecutor(int poolSize, long stepTimeout) {
+
+        return new NotificationLookupExecutor(poolSize, 10, stepTimeout,
+                AsyncNotificationDispatcher.createThreadFactory("notification-lookup-", false));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.email.mgt.model.EmailTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Class that contains the test cases for {@link PlaceholderResolverRegistry}.
+ */
+public class PlaceholderResolverRegistryTest {
+
+    @Test
+    public void testOnlyRequiredResolversAreRun() {
+
+        PlaceholderResolverRegistry registry = new PlaceholderResolverRegistry(Arrays.asList(
+                new StaticPlaceholderResolver("branding", "organization.logo.img"),
+                new StaticPlaceholderResolver("server", "carbon.product-url"),
+                new StaticPlaceholderResolver("claims", "user.claim.givenname")));
+
+        PlaceholderResolutionContext context = resolve(registry,
+                "<img src=\"{{organization.logo.img}}\"/> Hi {{user.claim.givenname}}");
+
+        assertEquals(context.getInvokedResolvers(), Arrays.asList("branding", "claims"));
+        assertEquals(context.getPlaceHolderData().get("organization.logo.img"), "branding");
+        assertEquals(context.getPlaceHolderData().get("user.claim.givenname"), "claims");
+        assertEquals(registry.getInvocationCounts().get("server"), Long.valueOf(0));
+        assertEquals(registry.getSkipCounts().get("server"), Long.valueOf(1));
+    }
+
+    @Test
+    public void testUrlPlaceholdersRequireResolvers() {
+
+        PlaceholderResolverRegistry registry = new PlaceholderResolverRegistry(Collections.singletonList(
+                new StaticPlaceholderResolver("server", "carbon.product-url")));
+
+        PlaceholderResolutionContext context = resolve(registry, "Go to {{url:carbon.product-url}}");
+
+        assertEquals(context.getInvokedResolvers(), Collections.singletonList("server"));
+        assertEquals(registry.getInvocationCounts().get("server"), Long.valueOf(1));
+    }
+
+    @Test
+    public void testTenantInvariantValuesAreTracked() {
+
+        PlaceholderResolverRegistry registry = new PlaceholderResolverRegistry(Arrays.asList(
+                new StaticPlaceholderResolver("branding", "organization.logo.img", true),
+                new StaticPlaceholderResolver("claims", "user.claim.givenname")));
+
+        PlaceholderResolutionContext context = resolve(registry,
+                "<img src=\"{{url:organization.logo.img}}\"/> Hi {{user.claim.givenname}}");
+
+        assertEquals(context.getTenantInvariantValues(),
+                Collections.singletonMap("organization.logo.img", "branding"));
+    }
+
+    @Test
+    public void testOtpTemplateRunsNoResolvers() {
+
+        PlaceholderResolutionContext context = resolve(PlaceholderResolverRegistry.getInstance(),
+                "Your one-time password is {{confirmation-code}}");
+
+        assertTrue(context.getInvokedResolvers().isEmpty());
+        assertEquals(context.getPlaceHolderData(), Collections.singletonMap("confirmation-code", "123456"));
+    }
+
+    private PlaceholderResolutionContext resolve(PlaceholderResolverRegistry registry, String body) {
+
+        EmailTemplate emailTemplate = new EmailTemplate();
+        emailTemplate.setTemplateType("SMSOTP");
+        emailTemplate.setBody(body);
+        Map<String, String> placeHolderData = new HashMap<>();
+        placeHolderData.put("confirmation-code", "123456");
+
+        PlaceholderResolutionContext context =
+                new PlaceholderResolutionContext(emailTemplate, placeHolderData, new HashMap<>(), null);
+        registry.resolve(context);
+        return context;
+    }
+
+    /**
+     * Resolver setting its name as the value of a single placeholder.
+     */
+    private static class StaticPlaceholderResolver implements PlaceholderResolver {
+
+        private final String name;
+        private final String placeholder;
+        private final boolean tenantInvariant;
+
+        StaticPlaceholderResolver(String name, String placeholder) {
+
+            this(name, placeholder, false);
+        }
+
+        StaticPlaceholderResolver(String name, String placeholder, boolean tenantInvariant) {
+
+            this.name = name;
+            this.placeholder = placeholder;
+            this.tenantInvariant = tenantInvariant;
+        }
+
+        @Override
+        public String getName() {
+
+            return name;
+        }
+
+        @Override
+        public boolean canResolve(String placeholder) {
+
+            return this.placeholder.equals(placeholder);
+        }
+
+        @Override
+        public void resolve(PlaceholderResolutionContext context) {
+
+            context.getPlaceHolderData().put(placeholder, name);
+        }
+
+        @Override
+        public boolean isTenantInvariant(PlaceholderResolutionContext context) {
+
+            return tenantInvariant;
+        }
+    }
+}
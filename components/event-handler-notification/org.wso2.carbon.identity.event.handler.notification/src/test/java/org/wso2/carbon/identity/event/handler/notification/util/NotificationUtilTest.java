@@ -26,10 +26,28 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
+import org.wso2.carbon.email.mgt.model.PlaceholderManifest;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.user.api.Claim;
+import org.wso2.carbon.user.api.UserStoreException;
+import org.wso2.carbon.user.api.UserStoreManager;
+import org.wso2.carbon.user.core.UserCoreConstants;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 /**
  * Class that contains the test cases for NotificationUtil class.
  */
@@ -80,6 +98,8 @@ public class NotificationUtilTest {
     String ORGANIZATION_LIGHT_BUTTON_FONT_COLOR = "#F7F9F9";
     String ORGANIZATION_DARK_BUTTON_FONT_COLOR = "#FBFCFC";
 
+    String USERNAME = "john";
+
     String LIGHT_THEME = "LIGHT";
     String DARK_THEME = "DARK";
 
@@ -244,10 +264,129 @@ public class NotificationUtilTest {
         }
     }
 
+    @Test(dataProvider = "GetBrandingPreferenceDataProvider")
+    public void testGetBrandingPlaceholderValues(JsonNode brandingPreferences, Map<String, String> brandingFallback,
+                                                 int caseNo) {
+
+        Map<String, String> brandingValues =
+                NotificationUtil.getBrandingPlaceholderValues(brandingPreferences, brandingFallback);
+
+        Assert.assertEquals(brandingValues.size(), 11);
+        for (Map.Entry<String, String> entry : brandingValues.entrySet()) {
+            Assert.assertTrue(entry.getKey().startsWith("organization."));
+            Assert.assertEquals(entry.getValue(),
+                    NotificationUtil.getBrandingPreference(entry.getKey(), brandingPreferences, brandingFallback));
+        }
+        Assert.assertFalse(brandingValues.containsKey("organization-name"));
+        Assert.assertThrows(UnsupportedOperationException.class,
+                () -> brandingValues.put(ORGANIZATION_FONT_PLACEHOLDER, ORGANIZATION_FONT_FALLBACK));
+    }
+
+    @Test
+    public void testGetBrandingPlaceholderValuesWithoutFallbacks() {
+
+        Map<String, String> brandingValues =
+                NotificationUtil.getBrandingPlaceholderValues(null, new HashMap<String, String>());
+
+        Assert.assertEquals(brandingValues.get(ORGANIZATION_LOGO_ALT_TEXT_PLACEHOLDER), StringUtils.EMPTY);
+        Assert.assertFalse(brandingValues.containsKey(ORGANIZATION_COPYRIGHT_TEXT_PLACEHOLDER));
+        Assert.assertFalse(brandingValues.containsKey(ORGANIZATION_LOGO_URL_PLACEHOLDER));
+    }
+
+    @Test
+    public void testConfigFileSnapshotsAreReused() {
+
+        Map<String, String> configFilePlaceholders = Collections.singletonMap("support", ORGANIZATION_SUPPORT_EMAIL);
+        Map<String, String> brandingFallbacks =
+                Collections.singletonMap("support_mail", ORGANIZATION_SUPPORT_EMAIL_FALLBACK);
+        NotificationHandlerDataHolder.getInstance().setConfigFilePlaceholders(configFilePlaceholders);
+        NotificationHandlerDataHolder.getInstance().setBrandingFallbacks(brandingFallbacks);
+        try {
+            Assert.assertSame(NotificationUtil.getConfigFilePlaceholders(), configFilePlaceholders);
+            Assert.assertSame(NotificationUtil.getBrandingFallbacksFromConfigFile(), brandingFallbacks);
+        } finally {
+            NotificationHandlerDataHolder.getInstance().setConfigFilePlaceholders(null);
+            NotificationHandlerDataHolder.getInstance().setBrandingFallbacks(null);
+        }
+    }
+
+    @Test
+    public void testGetUserClaimValuesLoadsOnlyGivenClaims() throws Exception {
+
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        Map<String, String> claimValues = new HashMap<>();
+        claimValues.put(NotificationConstants.EmailNotification.CLAIM_URI_EMAIL, ORGANIZATION_SUPPORT_EMAIL);
+        when(userStoreManager.getUserClaimValues(eq(USERNAME), any(String[].class),
+                eq(UserCoreConstants.DEFAULT_PROFILE))).thenReturn(claimValues);
+
+        Map<String, String> userClaims = NotificationUtil.getUserClaimValues(USERNAME, userStoreManager,
+                Collections.singleton(NotificationConstants.EmailNotification.CLAIM_URI_EMAIL));
+
+        Assert.assertEquals(userClaims, claimValues);
+        verify(userStoreManager, never()).getUserClaimValues(anyString(), anyString());
+    }
+
+    @Test
+    public void testGetUserClaimValuesFallsBackToAllClaims() throws Exception {
+
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        when(userStoreManager.getUserClaimValues(eq(USERNAME), any(String[].class),
+                eq(UserCoreConstants.DEFAULT_PROFILE))).thenThrow(new UserStoreException("Claim is not mapped."));
+        Claim claim = new Claim();
+        claim.setClaimUri(NotificationConstants.EmailNotification.CLAIM_URI_EMAIL);
+        claim.setValue(ORGANIZATION_SUPPORT_EMAIL);
+        when(userStoreManager.getUserClaimValues(USERNAME, UserCoreConstants.DEFAULT_PROFILE))
+                .thenReturn(new Claim[]{claim});
+
+        Map<String, String> userClaims = NotificationUtil.getUserClaimValues(USERNAME, userStoreManager,
+                Collections.singleton(NotificationConstants.EmailNotification.CLAIM_URI_EMAIL));
+
+        Assert.assertEquals(userClaims.get(NotificationConstants.EmailNotification.CLAIM_URI_EMAIL),
+                ORGANIZATION_SUPPORT_EMAIL);
+    }
+
+    @Test
+    public void testGetUnloadedTemplateClaimURIs() {
+
+        PlaceholderManifest placeholderManifest = PlaceholderManifest.of("Hi {{user.claim.givenname}}",
+                "{{user.claim.identity.accountState}} {{url:user.claim.emailaddress}} {{user-name}}", null);
+
+        Assert.assertEquals(NotificationUtil.getUnloadedTemplateClaimURIs(placeholderManifest,
+                        Collections.singleton(NotificationConstants.EmailNotification.CLAIM_URI_EMAIL)),
+                new HashSet<>(Arrays.asList("http://wso2.org/claims/givenname",
+                        "http://wso2.org/claims/identity/accountState")));
+        Assert.assertTrue(NotificationUtil.getUnloadedTemplateClaimURIs(placeholderManifest, null).isEmpty());
+    }
+
     @Test
     public void testGetNotificationLocale() {
 
         String result = NotificationUtil.getNotificationLocale();
         Assert.assertEquals(result, I18nMgtConstants.DEFAULT_NOTIFICATION_LOCALE);
     }
+
+    @Test
+    public void testBrandingPreferenceCacheIsDisabledByDefault() {
+
+        Assert.assertFalse(NotificationUtil.isBrandingPreferenceCacheEnabled());
+    }
+
+    @DataProvider(name = "BrandingPreferenceCacheTimeoutDataProvider")
+    public Object[][] brandingPreferenceCacheTimeoutDataProvider() {
+
+        return new Object[][]{
+                {null, 60000L},
+                {"", 60000L},
+                {" 30 ", 30000L},
+                {"0", 60000L},
+                {"-5", 60000L},
+                {"invalid", 60000L}
+        };
+    }
+
+    @Test(dataProvider = "BrandingPreferenceCacheTimeoutDataProvider")
+    public void testGetBrandingPreferenceCacheTimeout(String timeoutProperty, long expectedTimeout) {
+
+        Assert.assertEquals(NotificationUtil.getBrandingPreferenceCacheTimeout(timeoutProperty), expectedTimeout);
+    }
 }